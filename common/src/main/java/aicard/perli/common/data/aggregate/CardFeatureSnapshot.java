@@ -0,0 +1,184 @@
+package aicard.perli.common.data.aggregate;
+
+import aicard.perli.common.model.StringDictionary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 카드별 집계 상태({@link CardFeatureAggregates})를 압축된 바이너리 스냅샷으로 저장/복원하는 유틸리티 클래스입니다.
+ * <p>증분(delta) 집계 시 전체 거래 내역을 다시 스캔하지 않고, 직전 스냅샷에 신규 거래만 누적하기 위해 사용합니다.
+ * 카드 순번 체계까지 그대로 복원되므로, 스냅샷 + 신규 거래의 결과는 전체 재집계 결과와 동일합니다.</p>
+ * <p>스냅샷에 누적된 신규 거래 파일의 식별자({@link #deltaIdentity(Path)}, 내용 SHA-256)를 함께 기록하여
+ * 같은 파일이 두 번 누적되는 것을 막을 수 있습니다. 식별자 목록은 헤더 바로 뒤에 있어 {@link #appliedDeltas(Path)}는 집계 배열을 읽지 않습니다.</p>
+ * <p>파일 구조 (big-endian):
+ * <pre>
+ * int    MAGIC ("PFS1")
+ * int    VERSION
+ * int    누적된 신규 거래 파일 수 D (VERSION 2부터)
+ * D x    (unsigned short 길이 + UTF-8 식별자)
+ * int    카드 수 N
+ * N x    (unsigned short 길이 + UTF-8 card_id)
+ * N x    double totalSum
+ * N x    double maxVal
+ * N x    int    count
+ * N x    int    totalInst
+ * N x    int    authCount
+ * </pre>
+ * 저장은 임시 파일에 기록한 뒤 원자적으로 교체하므로, 저장 도중 실패해도 기존 스냅샷이 손상되지 않습니다.</p>
+ */
+public final class CardFeatureSnapshot {
+
+    private static final int MAGIC = 0x50465331;
+    private static final int VERSION = 2;
+    /** 신규 거래 식별자 목록이 없는 이전 버전 (읽기만 지원) */
+    private static final int VERSION_WITHOUT_DELTAS = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private CardFeatureSnapshot() {
+    }
+
+    /**
+     * 집계 상태를 스냅샷 파일로 저장합니다. (전체 재집계 결과, 누적된 신규 거래 없음)
+     *
+     * @param aggregates 저장할 집계 상태
+     * @param path       스냅샷 파일 경로
+     * @throws IOException 파일 쓰기 실패 시
+     */
+    public static void write(CardFeatureAggregates aggregates, Path path) throws IOException {
+        write(aggregates, List.of(), path);
+    }
+
+    /**
+     * 집계 상태와 지금까지 누적된 신규 거래 파일 식별자를 스냅샷 파일로 저장합니다.
+     *
+     * @param aggregates    저장할 집계 상태
+     * @param appliedDeltas 누적된 신규 거래 파일 식별자 ({@link #deltaIdentity(Path)})
+     * @param path          스냅샷 파일 경로
+     * @throws IOException 파일 쓰기 실패 시
+     */
+    public static void write(CardFeatureAggregates aggregates, List<String> appliedDeltas, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        int n = aggregates.size();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(appliedDeltas.size());
+            for (String delta : appliedDeltas) out.writeUTF(delta);
+            out.writeInt(n);
+            for (int i = 0; i < n; i++) {
+                byte[] id = aggregates.cardId(i).getBytes(StandardCharsets.UTF_8);
+                out.writeShort(id.length);
+                out.write(id);
+            }
+            for (int i = 0; i < n; i++) out.writeDouble(aggregates.totalSum(i));
+            for (int i = 0; i < n; i++) out.writeDouble(aggregates.maxVal(i));
+            for (int i = 0; i < n; i++) out.writeInt(aggregates.count(i));
+            for (int i = 0; i < n; i++) out.writeInt(aggregates.totalInst(i));
+            for (int i = 0; i < n; i++) out.writeInt(aggregates.authCount(i));
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 파일에서 집계 상태를 복원합니다. 카드 순번은 저장 당시와 동일하게 부여됩니다.
+     *
+     * @param path 스냅샷 파일 경로
+     * @return 복원된 집계 상태
+     * @throws IOException 파일 읽기 실패 또는 형식 불일치 시
+     */
+    public static CardFeatureAggregates read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            readAppliedDeltas(in, path);
+
+            int n = in.readInt();
+            StringDictionary cards = new StringDictionary(n);
+            byte[] buf = new byte[64];
+            for (int i = 0; i < n; i++) {
+                int len = in.readUnsignedShort();
+                if (len > buf.length) buf = new byte[len];
+                in.readFully(buf, 0, len);
+                if (cards.intern(new String(buf, 0, len, StandardCharsets.UTF_8)) != i) {
+                    throw new IOException("스냅샷에 중복된 카드 식별자가 존재합니다: index=" + i);
+                }
+            }
+
+            double[] sums = new double[n];
+            double[] maxes = new double[n];
+            for (int i = 0; i < n; i++) sums[i] = in.readDouble();
+            for (int i = 0; i < n; i++) maxes[i] = in.readDouble();
+            int[] counts = new int[n];
+            int[] insts = new int[n];
+            for (int i = 0; i < n; i++) counts[i] = in.readInt();
+            for (int i = 0; i < n; i++) insts[i] = in.readInt();
+
+            CardFeatureAggregates aggregates = new CardFeatureAggregates(cards);
+            for (int i = 0; i < n; i++) aggregates.restore(i, sums[i], maxes[i], counts[i], insts[i], in.readInt());
+            return aggregates;
+        }
+    }
+
+    /**
+     * 스냅샷에 누적된 신규 거래 파일 식별자를 읽습니다. (집계 배열은 읽지 않음)
+     *
+     * @param path 스냅샷 파일 경로
+     * @return 누적 순서대로의 식별자 (이전 버전 스냅샷이면 빈 목록)
+     * @throws IOException 파일 읽기 실패 또는 형식 불일치 시
+     */
+    public static List<String> appliedDeltas(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readAppliedDeltas(in, path);
+        }
+    }
+
+    /**
+     * 신규 거래 파일의 식별자를 계산합니다. 경로나 수정 시각이 아니라 내용의 SHA-256이므로 같은 파일을 복사/이동해도 같은 값입니다.
+     *
+     * @param deltaFile 신규 거래 파일
+     * @return {@code sha256:<16진수>}
+     * @throws IOException 파일 읽기 실패 시
+     */
+    public static String deltaIdentity(Path deltaFile) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+        byte[] buf = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(deltaFile)) {
+            int read;
+            while ((read = in.read(buf)) > 0) digest.update(buf, 0, read);
+        }
+        return "sha256:" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 헤더를 검증하고 신규 거래 식별자 목록까지 읽습니다. 스트림은 카드 수 직전에 위치합니다.
+     */
+    private static List<String> readAppliedDeltas(DataInputStream in, Path path) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("카드 집계 스냅샷 형식이 아닙니다: " + path);
+        int version = in.readInt();
+        if (version == VERSION_WITHOUT_DELTAS) return new ArrayList<>();
+        if (version != VERSION) throw new IOException("지원하지 않는 스냅샷 버전: " + version);
+
+        int d = in.readInt();
+        List<String> deltas = new ArrayList<>(d);
+        for (int i = 0; i < d; i++) deltas.add(in.readUTF());
+        return deltas;
+    }
+}
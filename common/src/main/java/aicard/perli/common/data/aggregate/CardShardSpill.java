@@ -0,0 +1,286 @@
+package aicard.perli.common.data.aggregate;
+
+import aicard.perli.common.model.StringDictionary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 카드 식별자 해시로 거래/타겟 레코드를 N개의 디스크 샤드 파일에 분배(spill)하고, 샤드 단위로 다시 읽어 집계하는 클래스입니다.
+ * <p>같은 카드의 레코드는 항상 같은 샤드에 원본 순서대로 기록되므로, 샤드별 집계 결과는 전체를 한 번에 집계한 결과와
+ * 카드 단위로 동일합니다. (합계 누적 순서 포함) 한 샤드의 집계 상태만 메모리에 올리면 되므로, 최대 메모리 사용량은
+ * 전체 카드 수가 아니라 샤드 수와 동시에 처리하는 샤드 수로 조절됩니다.</p>
+ * <p>샤드마다 고정 크기 비트맵(linear counting)을 유지하여 고유 카드 수를 추정하며, 호출자는 {@link #estimatedBytes(int)}로
+ * 샤드 집계에 필요한 메모리를 미리 가늠해 동시 처리 수를 정할 수 있습니다.</p>
+ * <p>레코드 구조 (big-endian):
+ * <pre>
+ * 거래: unsigned short 길이 + UTF-8 card_id, double amount, int installments, boolean authorized
+ * 타겟: unsigned short 길이 + UTF-8 card_id, double target
+ * </pre>
+ * 샤드 파일은 생성 시 만든 임시 디렉터리에 기록되며 {@link #close()} 시 모두 삭제됩니다.</p>
+ * <p>분배 단계({@code add*})는 스레드 안전하지 않으며, {@link #finish()} 이후의 샤드별 읽기는 서로 다른 샤드에 한해 동시에 호출할 수 있습니다.</p>
+ */
+public class CardShardSpill implements Closeable {
+
+    /** 카드 1개당 집계 상태 추정 크기 (식별자 문자열 + 사전 슬롯 + 집계/타겟 배열) */
+    public static final int BYTES_PER_CARD = 192;
+
+    private static final int MIN_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+    /** 샤드 사전 초기 용량 하한 */
+    private static final int MIN_EXPECTED_CARDS = 16;
+
+    /** 샤드별 고유 카드 수 추정용 비트맵 크기 (비트) */
+    private static final int SKETCH_BITS = 1 << 15;
+
+    private final Path dir;
+    private final int shards;
+    private final int bufferSize;
+    /** 예산 안에 들어가는 최대 카드 수 (샤드 사전 초기 용량 상한) */
+    private final long maxCards;
+
+    private final DataOutputStream[] eventOut;
+    private final DataOutputStream[] targetOut;
+    private final long[] eventCounts;
+    private final long[] targetCounts;
+    private final long[][] sketches;
+    private boolean finished;
+
+    /**
+     * @param parentDir         샤드 임시 디렉터리를 만들 위치
+     * @param shards            샤드 수
+     * @param memoryBudgetBytes 메모리 예산 (분배 단계의 쓰기 버퍼는 예산의 1/4 이내로 제한)
+     */
+    public CardShardSpill(Path parentDir, int shards, long memoryBudgetBytes) throws IOException {
+        if (shards <= 0) throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다: " + shards);
+        this.shards = shards;
+        long perStream = memoryBudgetBytes / 4 / (2L * shards);
+        this.bufferSize = (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, perStream));
+        this.maxCards = Math.max(MIN_EXPECTED_CARDS, memoryBudgetBytes / BYTES_PER_CARD);
+
+        Files.createDirectories(parentDir);
+        this.dir = Files.createTempDirectory(parentDir, "perli-shards");
+        this.eventOut = new DataOutputStream[shards];
+        this.targetOut = new DataOutputStream[shards];
+        this.eventCounts = new long[shards];
+        this.targetCounts = new long[shards];
+        this.sketches = new long[shards][SKETCH_BITS / 64];
+    }
+
+    /**
+     * @return 카드 식별자가 배정되는 샤드 번호
+     */
+    public static int shardOf(String cardId, int shards) {
+        return Math.floorMod(mix(cardId.hashCode()), shards);
+    }
+
+    /**
+     * 정답지의 카드 타겟 한 건을 해당 샤드에 기록합니다.
+     */
+    public void addTarget(String cardId, double target) throws IOException {
+        int shard = shardOf(cardId, shards);
+        DataOutputStream out = targetOut[shard];
+        if (out == null) out = targetOut[shard] = open(targetFile(shard));
+        writeCardId(out, cardId);
+        out.writeDouble(target);
+        targetCounts[shard]++;
+        mark(shard, cardId);
+    }
+
+    /**
+     * 거래 한 건을 해당 샤드에 기록합니다.
+     */
+    public void addEvent(String cardId, double amount, int installments, boolean authorized) throws IOException {
+        addEvent(shardOf(cardId, shards), cardId.getBytes(StandardCharsets.UTF_8), amount, installments, authorized);
+    }
+
+    /**
+     * 샤드 번호와 인코딩된 식별자를 미리 계산해 둔 호출자(배치 단위 분배 등)를 위한 거래 기록 메서드입니다.
+     *
+     * @param shard  {@link #shardOf(String, int)}로 계산한 샤드 번호
+     * @param cardId UTF-8로 인코딩된 카드 식별자
+     */
+    public void addEvent(int shard, byte[] cardId, double amount, int installments, boolean authorized) throws IOException {
+        DataOutputStream out = eventOut[shard];
+        if (out == null) out = eventOut[shard] = open(eventFile(shard));
+        out.writeShort(cardId.length);
+        out.write(cardId);
+        out.writeDouble(amount);
+        out.writeInt(installments);
+        out.writeBoolean(authorized);
+        eventCounts[shard]++;
+        mark(shard, cardId);
+    }
+
+    /**
+     * 분배 단계를 마치고 모든 샤드 파일을 닫습니다. 이후 샤드별 읽기가 가능합니다.
+     */
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        IOException error = closeAll(eventOut, null);
+        error = closeAll(targetOut, error);
+        if (error != null) throw error;
+    }
+
+    /**
+     * 샤드의 타겟을 카드 사전에 등록하고, 카드 순번 인덱스의 타겟 배열을 반환합니다. (정답지 순서대로 순번 부여)
+     */
+    public double[] loadTargets(int shard, StringDictionary cards) throws IOException {
+        requireFinished();
+        double[] targets = new double[Math.max(16, cards.size())];
+        if (targetCounts[shard] == 0) return Arrays.copyOf(targets, cards.size());
+
+        try (DataInputStream in = open(targetFile(shard), bufferSize)) {
+            for (long i = 0; i < targetCounts[shard]; i++) {
+                int ord = cards.intern(readCardId(in));
+                if (ord >= targets.length) targets = Arrays.copyOf(targets, Math.max(ord + 1, targets.length * 2));
+                targets[ord] = in.readDouble();
+            }
+        }
+        return Arrays.copyOf(targets, cards.size());
+    }
+
+    /**
+     * 샤드의 거래를 기록된 순서대로 집계 상태에 누적합니다.
+     */
+    public void aggregate(int shard, CardFeatureAggregates aggregates) throws IOException {
+        requireFinished();
+        if (eventCounts[shard] == 0) return;
+
+        StringDictionary cards = aggregates.cards();
+        byte[] id = new byte[64];
+        try (DataInputStream in = open(eventFile(shard), bufferSize)) {
+            for (long i = 0; i < eventCounts[shard]; i++) {
+                int length = in.readUnsignedShort();
+                if (length > id.length) id = new byte[Math.max(length, id.length * 2)];
+                in.readFully(id, 0, length);
+                int ord = cards.intern(id, 0, length);
+                aggregates.addTransaction(ord, in.readDouble(), in.readInt(), in.readBoolean());
+            }
+        }
+    }
+
+    /**
+     * 처리가 끝난 샤드 파일을 삭제하여 디스크 공간을 반환합니다.
+     */
+    public void delete(int shard) throws IOException {
+        Files.deleteIfExists(eventFile(shard));
+        Files.deleteIfExists(targetFile(shard));
+    }
+
+    /** @return 샤드 수 */
+    public int shards() { return shards; }
+
+    /** @return 샤드에 기록된 거래 수 */
+    public long eventCount(int shard) { return eventCounts[shard]; }
+
+    /**
+     * 비트맵의 빈 비트 비율로 샤드의 고유 카드 수를 추정합니다. (linear counting, 비트맵이 포화되면 기록 건수 상한 사용)
+     */
+    public long estimatedCards(int shard) {
+        long[] sketch = sketches[shard];
+        int set = 0;
+        for (long word : sketch) set += Long.bitCount(word);
+        int zeros = SKETCH_BITS - set;
+        if (zeros == 0) return eventCounts[shard] + targetCounts[shard];
+        return Math.round(-SKETCH_BITS * Math.log((double) zeros / SKETCH_BITS));
+    }
+
+    /**
+     * 샤드 집계용 카드 사전의 초기 용량을 반환합니다. {@link #estimatedCards(int)}를 메모리 예산 안에 들어가는 카드 수로 제한하므로
+     * 비트맵이 포화되어 기록 건수가 추정치로 쓰여도 예산을 넘는 배열을 미리 할당하지 않습니다. (초과분은 사전이 필요할 때 확장)
+     */
+    public int expectedCards(int shard) {
+        return (int) Math.min(Integer.MAX_VALUE / 4, Math.max(MIN_EXPECTED_CARDS, Math.min(maxCards, estimatedCards(shard))));
+    }
+
+    /** @return 샤드 집계 상태의 추정 메모리 크기 (바이트) */
+    public long estimatedBytes(int shard) {
+        return estimatedCards(shard) * BYTES_PER_CARD;
+    }
+
+    /**
+     * 분배 단계의 파일을 닫고 임시 디렉터리를 삭제합니다.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private void requireFinished() {
+        if (!finished) throw new IllegalStateException("샤드 분배가 끝나지 않았습니다. finish()를 먼저 호출하세요.");
+    }
+
+    private void mark(int shard, String cardId) {
+        setBit(shard, cardId.hashCode());
+    }
+
+    private void mark(int shard, byte[] cardId) {
+        // ASCII 식별자는 String.hashCode()와 같은 값이 되도록 계산
+        int h = 0;
+        for (byte b : cardId) h = 31 * h + b;
+        setBit(shard, h);
+    }
+
+    /** 샤드 선택과 독립적인 비트를 쓰도록 상위 비트를 사용 */
+    private void setBit(int shard, int hash) {
+        int bit = (mix(hash ^ 0x5BD1E995) >>> 17) & (SKETCH_BITS - 1);
+        sketches[shard][bit >>> 6] |= 1L << bit;
+    }
+
+    private Path eventFile(int shard) { return dir.resolve("events-" + shard + ".bin"); }
+
+    private Path targetFile(int shard) { return dir.resolve("targets-" + shard + ".bin"); }
+
+    private DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), bufferSize));
+    }
+
+    private static DataInputStream open(Path file, int bufferSize) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+    }
+
+    private static void writeCardId(DataOutputStream out, String cardId) throws IOException {
+        byte[] id = cardId.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(id.length);
+        out.write(id);
+    }
+
+    private static String readCardId(DataInputStream in) throws IOException {
+        byte[] id = new byte[in.readUnsignedShort()];
+        in.readFully(id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    /** 모든 스트림을 닫되, 최초 예외만 보관하여 반환합니다. */
+    private static IOException closeAll(DataOutputStream[] streams, IOException error) {
+        for (DataOutputStream out : streams) {
+            if (out == null) continue;
+            try {
+                out.close();
+            } catch (IOException e) {
+                if (error == null) error = e;
+            }
+        }
+        return error;
+    }
+
+    /** 하위 비트 편중을 줄이기 위한 해시 확산 ({@link StringDictionary}와 동일) */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,264 @@
+package aicard.perli.common.data.aggregate;
+
+import aicard.perli.common.model.StringDictionary;
+
+import java.util.Arrays;
+
+/**
+ * 카드별 최근 거래 통계를 월 단위 버킷의 링 버퍼로 유지하여, 슬라이딩 윈도우(최근 1/3/6개월 등) 집계와
+ * 월별 시퀀스를 한 번의 거래 순회로 산출하는 집계 상태 클래스입니다.
+ * <p>카드마다 {@code ringMonths}개의 월 버킷(합계/최대/건수/승인 건수)을 카드 순번 인덱스의 원시 배열에 연속 배치합니다.
+ * 버킷 위치는 {@code monthIndex mod ringMonths}로 정해지며, 카드의 최신 월이 앞으로 이동할 때 지나간 버킷만 비웁니다.
+ * 카드의 최신 월 기준 링 범위보다 오래된 거래는 어떤 윈도우에도 포함될 수 없으므로 버려지고 {@link #droppedEvents()}로 집계됩니다.
+ * 기준 월이 모든 카드의 최신 월 이상({@link #maxMonth()} 등)이면 입력 순서와 무관하게 같은 결과를 얻습니다.</p>
+ * <p>윈도우 값은 기준 월({@code asOfMonth})부터 과거 방향으로 계산되므로, 모든 카드를 같은 기준 시점으로 비교할 수 있습니다.
+ * 일 단위 30/90/180일 윈도우는 각각 1/3/6개월 버킷으로 근사합니다.</p>
+ * <p>인스턴스는 스레드 안전하지 않습니다.</p>
+ */
+public class CardWindowAggregates {
+
+    /** 기본 윈도우 (개월): 30/90/180일 근사 */
+    public static final int[] DEFAULT_WINDOWS = {1, 3, 6};
+
+    /** LSTM 입력 시퀀스 길이 (개월) */
+    public static final int DEFAULT_SEQUENCE_LENGTH = 6;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int NO_MONTH = Integer.MIN_VALUE;
+
+    private final StringDictionary cards;
+    private final int[] windows;
+    private final int ringMonths;
+
+    /** 카드 순번 -> 링에 반영된 최신 월 순번 */
+    private int[] lastMonth;
+    /** (카드 순번 * ringMonths + 버킷) 위치의 월별 통계 */
+    private double[] sums;
+    private double[] maxes;
+    private int[] counts;
+    private int[] auths;
+
+    private int maxMonth = NO_MONTH;
+    private long droppedEvents;
+
+    /**
+     * 기본 윈도우(1/3/6개월)와 6개월 시퀀스를 지원하는 집계 상태를 생성합니다.
+     */
+    public CardWindowAggregates(StringDictionary cards) {
+        this(cards, DEFAULT_WINDOWS, DEFAULT_SEQUENCE_LENGTH);
+    }
+
+    /**
+     * @param cards          카드 식별자 사전 (누적 집계와 순번 체계를 공유할 때 주입)
+     * @param windows        윈도우 길이 목록 (개월)
+     * @param sequenceLength 월별 시퀀스 길이 (개월)
+     */
+    public CardWindowAggregates(StringDictionary cards, int[] windows, int sequenceLength) {
+        int ring = sequenceLength;
+        for (int w : windows) {
+            if (w <= 0) throw new IllegalArgumentException("윈도우 길이는 1개월 이상이어야 합니다: " + w);
+            ring = Math.max(ring, w);
+        }
+        this.cards = cards;
+        this.windows = windows.clone();
+        this.ringMonths = ring;
+
+        int cap = Math.max(DEFAULT_CAPACITY, cards.size());
+        this.lastMonth = new int[cap];
+        Arrays.fill(lastMonth, NO_MONTH);
+        this.sums = new double[cap * ring];
+        this.maxes = new double[cap * ring];
+        this.counts = new int[cap * ring];
+        this.auths = new int[cap * ring];
+    }
+
+    /**
+     * 거래 한 건을 해당 월 버킷에 누적합니다.
+     *
+     * @param ord        카드 순번
+     * @param monthIndex 거래 월 순번 ({@link aicard.perli.common.model.EpochCalendar#monthIndex})
+     */
+    public void add(int ord, int monthIndex, double amount, boolean authorized) {
+        ensureCapacity(ord);
+        int last = lastMonth[ord];
+
+        if (last == NO_MONTH || monthIndex > last) {
+            advance(ord, last, monthIndex);
+            lastMonth[ord] = monthIndex;
+            if (monthIndex > maxMonth) maxMonth = monthIndex;
+        } else if (monthIndex <= last - ringMonths) {
+            droppedEvents++;
+            return;
+        }
+
+        int i = slot(ord, monthIndex);
+        if (counts[i] == 0 || amount > maxes[i]) maxes[i] = amount;
+        sums[i] += amount;
+        counts[i]++;
+        if (authorized) auths[i]++;
+    }
+
+    /**
+     * 다른 기간 집계 상태의 카드 한 건을 월 버킷 단위로 병합합니다. (병렬 청크의 부분 집계 병합용)
+     * <p>버킷마다 거래를 한 건씩 추가한 것과 같은 규칙으로 최신 월 이동/링 밖 버킷 제외를 적용하며,
+     * 부분 집계가 버린 거래 수는 {@link #droppedEvents()}에 더해집니다.</p>
+     *
+     * @param ord        이 집계 상태의 카드 순번
+     * @param partial    병합할 부분 집계 상태 (링 크기가 같아야 함)
+     * @param partialOrd 부분 집계 상태의 카드 순번
+     */
+    public void merge(int ord, CardWindowAggregates partial, int partialOrd) {
+        if (partial.ringMonths != ringMonths) throw new IllegalArgumentException("링 크기가 다른 집계 상태는 병합할 수 없습니다.");
+        if (partialOrd >= partial.lastMonth.length || partial.lastMonth[partialOrd] == NO_MONTH) return;
+        ensureCapacity(ord);
+
+        int partialLast = partial.lastMonth[partialOrd];
+        for (int m = partialLast - ringMonths + 1; m <= partialLast; m++) {
+            int from = partial.slot(partialOrd, m);
+            int n = partial.counts[from];
+            if (n == 0) continue;
+
+            int last = lastMonth[ord];
+            if (last == NO_MONTH || m > last) {
+                advance(ord, last, m);
+                lastMonth[ord] = m;
+                if (m > maxMonth) maxMonth = m;
+            } else if (m <= last - ringMonths) {
+                droppedEvents += n;
+                continue;
+            }
+
+            int i = slot(ord, m);
+            if (counts[i] == 0 || partial.maxes[from] > maxes[i]) maxes[i] = partial.maxes[from];
+            sums[i] += partial.sums[from];
+            counts[i] += n;
+            auths[i] += partial.auths[from];
+        }
+    }
+
+    /** 부분 집계 상태가 링 범위 밖이라 버린 거래 수를 더합니다. (부분 집계 병합 후 한 번 호출) */
+    public void addDroppedEvents(long dropped) {
+        droppedEvents += dropped;
+    }
+
+    /** 최신 월이 이동할 때 링에서 밀려난 월의 버킷을 비웁니다. */
+    private void advance(int ord, int last, int next) {
+        int base = ord * ringMonths;
+        if (last == NO_MONTH || next - last >= ringMonths) {
+            Arrays.fill(sums, base, base + ringMonths, 0.0);
+            Arrays.fill(maxes, base, base + ringMonths, 0.0);
+            Arrays.fill(counts, base, base + ringMonths, 0);
+            Arrays.fill(auths, base, base + ringMonths, 0);
+            return;
+        }
+        for (int m = last + 1; m <= next; m++) {
+            int i = slot(ord, m);
+            sums[i] = 0.0;
+            maxes[i] = 0.0;
+            counts[i] = 0;
+            auths[i] = 0;
+        }
+    }
+
+    private int slot(int ord, int monthIndex) {
+        return ord * ringMonths + Math.floorMod(monthIndex, ringMonths);
+    }
+
+    /** 해당 카드 링에 유효한 월인지 여부 */
+    private boolean inRing(int ord, int monthIndex) {
+        if (ord >= lastMonth.length) return false;
+        int last = lastMonth[ord];
+        return last != NO_MONTH && monthIndex <= last && monthIndex > last - ringMonths;
+    }
+
+    private void ensureCapacity(int ord) {
+        if (ord < lastMonth.length) return;
+        int oldCap = lastMonth.length;
+        int cap = Math.max(ord + 1, oldCap * 2);
+        lastMonth = Arrays.copyOf(lastMonth, cap);
+        Arrays.fill(lastMonth, oldCap, cap, NO_MONTH);
+        sums = Arrays.copyOf(sums, cap * ringMonths);
+        maxes = Arrays.copyOf(maxes, cap * ringMonths);
+        counts = Arrays.copyOf(counts, cap * ringMonths);
+        auths = Arrays.copyOf(auths, cap * ringMonths);
+    }
+
+    /* ===== 윈도우 조회: 기준 월 asOfMonth를 포함한 최근 months개월 ===== */
+
+    public double windowSum(int ord, int months, int asOfMonth) {
+        double sum = 0.0;
+        for (int m = asOfMonth - months + 1; m <= asOfMonth; m++) {
+            if (inRing(ord, m)) sum += sums[slot(ord, m)];
+        }
+        return sum;
+    }
+
+    public int windowCount(int ord, int months, int asOfMonth) {
+        int count = 0;
+        for (int m = asOfMonth - months + 1; m <= asOfMonth; m++) {
+            if (inRing(ord, m)) count += counts[slot(ord, m)];
+        }
+        return count;
+    }
+
+    /** @return 윈도우 내 최대 금액 (거래가 없으면 0) */
+    public double windowMax(int ord, int months, int asOfMonth) {
+        double max = 0.0;
+        boolean found = false;
+        for (int m = asOfMonth - months + 1; m <= asOfMonth; m++) {
+            if (!inRing(ord, m)) continue;
+            int i = slot(ord, m);
+            if (counts[i] > 0 && (!found || maxes[i] > max)) {
+                max = maxes[i];
+                found = true;
+            }
+        }
+        return max;
+    }
+
+    /** @return 윈도우 내 승인 비율 (거래가 없으면 0) */
+    public double windowAuthRatio(int ord, int months, int asOfMonth) {
+        int count = 0;
+        int auth = 0;
+        for (int m = asOfMonth - months + 1; m <= asOfMonth; m++) {
+            if (!inRing(ord, m)) continue;
+            int i = slot(ord, m);
+            count += counts[i];
+            auth += auths[i];
+        }
+        return count == 0 ? 0.0 : (double) auth / count;
+    }
+
+    /**
+     * 기준 월까지의 월별 금액 합계/건수 시퀀스를 과거 → 최근 순서로 채웁니다. 거래가 없는 월은 0입니다.
+     *
+     * @param amounts 월별 금액 합계를 받을 배열 (길이 = 시퀀스 길이, 링 크기 이하)
+     * @param counts  월별 건수를 받을 배열 (amounts와 같은 길이, null 허용)
+     */
+    public void fillSequence(int ord, int asOfMonth, double[] amounts, int[] counts) {
+        int length = amounts.length;
+        if (length > ringMonths) throw new IllegalArgumentException("시퀀스 길이가 링 크기를 초과합니다: " + length);
+        for (int step = 0; step < length; step++) {
+            int m = asOfMonth - length + 1 + step;
+            boolean valid = inRing(ord, m);
+            int i = valid ? slot(ord, m) : -1;
+            amounts[step] = valid ? sums[i] : 0.0;
+            if (counts != null) counts[step] = valid ? this.counts[i] : 0;
+        }
+    }
+
+    /** @return 카드 식별자 사전 */
+    public StringDictionary cards() { return cards; }
+
+    /** @return 윈도우 길이 목록 (개월, 복사본) */
+    public int[] windows() { return windows.clone(); }
+
+    /** @return 카드별 유지 월 수 */
+    public int ringMonths() { return ringMonths; }
+
+    /** @return 전체 거래 중 가장 최근 월 순번 (거래가 없으면 {@link Integer#MIN_VALUE}) */
+    public int maxMonth() { return maxMonth; }
+
+    /** @return 링 범위보다 오래되어 반영되지 않은 거래 수 */
+    public long droppedEvents() { return droppedEvents; }
+}
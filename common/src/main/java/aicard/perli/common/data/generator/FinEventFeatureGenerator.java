@@ -2,12 +2,22 @@ package aicard.perli.common.data.generator;
 
 import aicard.perli.common.data.loader.CsvDataLoader;
 import aicard.perli.common.data.parser.FinEventParser;
+import aicard.perli.common.data.store.FeatureFile;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * <p>FinEvent 표준 모델 기반 기본 피처 생성기</p>
  * <p>FinEventParser와 CsvDataLoader를 사용하여 원본 데이터를 분석하고,
  * 시스템의 가장 기초가 되는 'train_features_advanced.csv'를 생성합니다.</p>
+ * <p>병렬 워커 수는 {@code -Dperli.ingest.workers=N}으로 지정하며, 미지정 시 가용 코어 수를 사용합니다.</p>
+ * <p>{@code -Dperli.ingest.delta=신규거래파일}을 지정하면 전체 재집계 대신 저장된 집계 상태 스냅샷에
+ * 신규 거래만 누적하는 증분 모드로 동작합니다. (전체/기간 재집계 시 스냅샷이 함께 갱신되고, 외부 메모리 모드는 스냅샷을 삭제함.
+ * 이미 누적한 신규 거래 파일은 다시 누적하지 않음)</p>
+ * <p>{@code -Dperli.feature.windows=true}를 지정하면 같은 순회에서 최근 1/3/6개월 기간 피처와 6개월 월별 시퀀스를
+ * 'train_features_window.csv'로 함께 생성합니다. (전체 재집계 모드 전용)</p>
+ * <p>{@code -Dperli.ingest.memoryMb=N}을 지정하면 카드 식별자 해시로 거래 내역을 디스크 샤드에 분배한 뒤 샤드별로 집계하는
+ * 외부 메모리 모드로 동작합니다. 샤드 수는 {@code -Dperli.ingest.shards=N}(기본 64)으로 지정합니다.</p>
+ * <p>{@code -Dperli.feature.format=feat}을 지정하면 CSV 대신 바이너리 피처 파일(train_features_advanced.feat)로 저장합니다.</p>
  */
 @Slf4j
 public class FinEventFeatureGenerator {
@@ -20,8 +30,19 @@ public class FinEventFeatureGenerator {
         String trainPath = rawDir + "train.csv";
         String historyPath = rawDir + "historical_transactions.csv";
         String outputPath = processedDir + "train_features_advanced.csv";
+        String windowOutputPath = processedDir + "train_features_window.csv";
+        if ("feat".equalsIgnoreCase(System.getProperty("perli.feature.format"))) {
+            outputPath = FeatureFile.siblingOf(outputPath);
+            windowOutputPath = FeatureFile.siblingOf(windowOutputPath);
+        }
+        boolean windowed = Boolean.getBoolean("perli.feature.windows");
+        String snapshotPath = processedDir + "card_feature_state.bin";
+        String deltaPath = System.getProperty("perli.ingest.delta");
+        int workers = Integer.getInteger("perli.ingest.workers", Runtime.getRuntime().availableProcessors());
+        Integer memoryMb = Integer.getInteger("perli.ingest.memoryMb");
+        int shards = Integer.getInteger("perli.ingest.shards", 64);
 
-        log.info("FinEvent 기반 표준 피처 추출 시작");
+        log.info("FinEvent 기반 표준 피처 추출 시작 (워커 수: {})", workers);
 
         try {
             // FinEvent 모델 규격을 따르는 파서 및 로더 준비
@@ -31,7 +52,19 @@ public class FinEventFeatureGenerator {
             // 집계 및 파일 쓰기 실행
             long startTime = System.currentTimeMillis();
 
-            dataLoader.aggregateAndSave(trainPath, historyPath, outputPath);
+            if (deltaPath != null) {
+                log.info("증분 모드: 신규 거래 {} 누적", deltaPath);
+                dataLoader.applyDelta(trainPath, deltaPath, snapshotPath, outputPath, workers);
+            } else if (memoryMb != null) {
+                log.info("외부 메모리 모드: 샤드 {}개, 메모리 예산 {}MB", shards, memoryMb);
+                dataLoader.aggregateShardedAndSave(trainPath, historyPath, outputPath, processedDir + "spill/",
+                        shards, memoryMb * 1024L * 1024L, workers, snapshotPath);
+            } else if (windowed) {
+                dataLoader.aggregateWithWindowsAndSave(trainPath, historyPath, outputPath, windowOutputPath, workers, snapshotPath);
+                log.info("기간 피처 파일 경로: " + windowOutputPath);
+            } else {
+                dataLoader.aggregateAndSave(trainPath, historyPath, outputPath, workers, snapshotPath);
+            }
 
             long endTime = System.currentTimeMillis();
 
@@ -1,23 +1,59 @@
 package aicard.perli.common.data.loader;
 
+import aicard.perli.common.data.aggregate.CardFeatureAggregates;
+import aicard.perli.common.data.aggregate.CardFeatureSnapshot;
+import aicard.perli.common.data.aggregate.CardShardSpill;
+import aicard.perli.common.data.aggregate.CardWindowAggregates;
 import aicard.perli.common.data.parser.FinEventParser;
+import aicard.perli.common.data.parser.FinEventTokenizer;
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.CsvFeatureWriter;
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileWriter;
+import aicard.perli.common.data.stream.CsvEventSource;
+import aicard.perli.common.data.stream.EventPipeline;
+import aicard.perli.common.data.stream.EventSource;
 import aicard.perli.common.model.FinEvent;
+import aicard.perli.common.model.FinEventBatch;
+import aicard.perli.common.model.StringDictionary;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 대용량 금융 데이터를 로드하고 공용 모델을 거쳐 학습용 피처셋을 생성하는 로더 클래스입니다.
- * <p>스트리밍 방식을 사용하여 메모리 점유를 최소화하며, 카드별 소비 패턴(합계, 최대, 평균, 승인율)을 집계합니다.</p>
+ * <p>스트리밍 방식을 사용하여 메모리 점유를 최소화하며, 카드별 소비 패턴(합계, 최대, 평균, 승인율)을 집계합니다.
+ * 카드 식별자는 {@link StringDictionary}로 정수 순번에 매핑되고, 집계 상태와 타겟은 순번 인덱스의 원시 배열에 보관됩니다.</p>
  */
 @RequiredArgsConstructor
 public class CsvDataLoader {
 
+    /** 병렬 모드에서 워커 1개당 분할할 청크 수 (청크별 처리 시간 편차 흡수용) */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /** 헤더 라인 탐색 시 한 번에 읽어 들이는 바이트 수 */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /** 카드 사전 초기 용량 (Elo train.csv 기준 약 20만 카드) */
+    private static final int EXPECTED_CARDS = 1 << 18;
+
+    /** 결과 피처셋 컬럼 (CSV/바이너리 공통) */
+    private static final String[] FEATURE_HEADERS =
+            {"card_id", "total_amount", "tx_count", "avg_installments", "max_amount", "avg_amount", "authorized_ratio", "target"};
+
     private final FinEventParser eventParser;
 
     /**
@@ -28,66 +64,640 @@ public class CsvDataLoader {
      * @param outputPath  가공된 결과 저장 경로 (train_features_advanced.csv)
      */
     public void aggregateAndSave(String trainPath, String historyPath, String outputPath) {
-        Map<String, Double> targetMap = loadTargetMap(trainPath);
-        Map<String, AggregatedFeature> featureMap = new HashMap<>();
+        aggregateAndSave(trainPath, historyPath, outputPath, 1);
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(historyPath, StandardCharsets.UTF_8))) {
-            Iterable<CSVRecord> records = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(br);
+    /**
+     * 원본 거래 내역을 개행 기준 바이트 구간으로 분할하여 여러 워커가 동시에 파싱/집계한 뒤 결과를 저장합니다.
+     * <p>각 청크는 단일 스트림 경로와 같은 {@link CsvEventSource}로 읽혀 청크별 카드 집계 상태에 부분 집계되고, 청크 순서대로 병합되어
+     * 단일 스트림 경로와 같은 카드 순서/건수/최댓값을 만듭니다. 금액 합계는 청크별 부분 합계를 더하므로 마지막 자릿수(ulp) 수준에서 다를 수 있습니다.</p>
+     *
+     * @param trainPath   타겟 데이터 경로 (train.csv)
+     * @param historyPath 원본 거래 내역 경로 (historical_transactions.csv)
+     * @param outputPath  가공된 결과 저장 경로 (train_features_advanced.csv)
+     * @param workers     파싱/집계를 수행할 워커 스레드 수 (1 이하이면 단일 스트림 경로로 처리)
+     */
+    public void aggregateAndSave(String trainPath, String historyPath, String outputPath, int workers) {
+        aggregateAndSave(trainPath, historyPath, outputPath, workers, null);
+    }
 
+    /**
+     * 전체 거래 내역을 집계하여 피처셋을 저장하고, 이후 증분 집계의 기준이 될 카드별 집계 상태 스냅샷을 함께 저장합니다.
+     *
+     * @param trainPath    타겟 데이터 경로 (train.csv)
+     * @param historyPath  원본 거래 내역 경로 (historical_transactions.csv)
+     * @param outputPath   가공된 결과 저장 경로 (train_features_advanced.csv, {@code .feat} 확장자이면 바이너리 피처 파일)
+     * @param workers      파싱/집계를 수행할 워커 스레드 수 (1 이하이면 단일 스트림 경로로 처리)
+     * @param snapshotPath 집계 상태 스냅샷 저장 경로 (null이면 저장하지 않음)
+     */
+    public void aggregateAndSave(String trainPath, String historyPath, String outputPath, int workers, String snapshotPath) {
+        StringDictionary cards = new StringDictionary(EXPECTED_CARDS);
+        double[] targets = loadTargets(trainPath, cards);
+        CardFeatureAggregates aggregates = new CardFeatureAggregates(cards);
+
+        try {
+            aggregateInto(historyPath, aggregates, null, workers);
+            saveFeatures(aggregates, targets, outputPath);
+            if (snapshotPath != null) CardFeatureSnapshot.write(aggregates, Paths.get(snapshotPath));
+        } catch (Exception e) {
+            throw new RuntimeException("피처 가공 프로세스 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 거래 내역을 집계하여 카드별 집계 상태와 타겟을 메모리에 반환합니다. 파일로 저장하지 않으므로,
+     * 학습 프레임을 텍스트 직렬화 없이 바로 구성할 때 사용합니다. 피처 값은 {@link #aggregateAndSave(String, String, String)}와 동일합니다.
+     *
+     * @param trainPath   타겟 데이터 경로 (train.csv)
+     * @param historyPath 원본 거래 내역 경로 (historical_transactions.csv)
+     * @param workers     파싱/집계를 수행할 워커 스레드 수 (1 이하이면 단일 스트림 경로로 처리)
+     */
+    public Aggregated aggregate(String trainPath, String historyPath, int workers) {
+        StringDictionary cards = new StringDictionary(EXPECTED_CARDS);
+        double[] targets = loadTargets(trainPath, cards);
+        CardFeatureAggregates aggregates = new CardFeatureAggregates(cards);
+
+        try {
+            aggregateInto(historyPath, aggregates, null, workers);
+        } catch (Exception e) {
+            throw new RuntimeException("피처 집계 프로세스 중 오류 발생", e);
+        }
+        return new Aggregated(aggregates, targets);
+    }
+
+    /**
+     * @return 누적 피처셋 컬럼명 (파일 저장 시 헤더와 동일한 순서)
+     */
+    public static String[] featureHeaders() {
+        return FEATURE_HEADERS.clone();
+    }
+
+    /**
+     * 누적 피처셋과 함께 카드별 기간 집계(최근 1/3/6개월 합계/건수/최대/승인율) 및 6개월 월별 시퀀스를
+     * 거래 내역 한 번의 순회로 산출하여 별도 파일로 저장합니다.
+     * <p>기간 피처의 기준 월은 전체 거래 중 가장 최근 월이며, 누적 피처 파일의 컬럼 구성은 변경되지 않습니다.</p>
+     *
+     * @param trainPath        타겟 데이터 경로 (train.csv)
+     * @param historyPath      원본 거래 내역 경로 (historical_transactions.csv)
+     * @param outputPath       누적 피처 저장 경로 (train_features_advanced.csv)
+     * @param windowOutputPath 기간 피처 저장 경로 (예: train_features_window.csv, {@code .feat} 확장자이면 바이너리 피처 파일)
+     * @param workers          파싱/집계를 수행할 워커 스레드 수 (1 이하이면 단일 스트림 경로로 처리)
+     */
+    public void aggregateWithWindowsAndSave(String trainPath, String historyPath, String outputPath,
+                                            String windowOutputPath, int workers) {
+        aggregateWithWindowsAndSave(trainPath, historyPath, outputPath, windowOutputPath, workers, null);
+    }
+
+    /**
+     * 기간 피처와 누적 피처를 저장하고, 이후 증분 집계의 기준이 될 카드별 집계 상태 스냅샷을 함께 갱신합니다.
+     *
+     * @param snapshotPath 집계 상태 스냅샷 저장 경로 (null이면 저장하지 않음)
+     * @see #aggregateWithWindowsAndSave(String, String, String, String, int)
+     */
+    public void aggregateWithWindowsAndSave(String trainPath, String historyPath, String outputPath,
+                                            String windowOutputPath, int workers, String snapshotPath) {
+        StringDictionary cards = new StringDictionary(EXPECTED_CARDS);
+        double[] targets = loadTargets(trainPath, cards);
+        CardFeatureAggregates aggregates = new CardFeatureAggregates(cards);
+        CardWindowAggregates windows = new CardWindowAggregates(cards);
+
+        try {
+            aggregateInto(historyPath, aggregates, windows, workers);
+            saveFeatures(aggregates, targets, outputPath);
+            saveWindowFeatures(aggregates, windows, windowOutputPath);
+            if (snapshotPath != null) CardFeatureSnapshot.write(aggregates, Paths.get(snapshotPath));
+        } catch (Exception e) {
+            throw new RuntimeException("기간 피처 가공 프로세스 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 직전 집계 상태 스냅샷에 신규 거래 파일만 누적하여 피처셋을 갱신합니다. (증분 모드)
+     * <p>전체 거래 내역을 다시 스캔하지 않으며, 결과는 기존 거래 내역 뒤에 신규 거래를 이어 붙여 전체 재집계한 것과 동일합니다.
+     * 스냅샷은 피처 파일 저장이 끝난 뒤 원자적으로 교체되므로, 도중에 실패하면 같은 신규 거래 파일로 다시 실행하면 됩니다.</p>
+     * <p>누적한 신규 거래 파일의 내용 식별자({@link CardFeatureSnapshot#deltaIdentity(Path)})를 스냅샷에 기록하며,
+     * 이미 누적된 파일을 다시 지정하면 합계/건수가 이중으로 더해지지 않도록 {@link IllegalArgumentException}으로 거부합니다.</p>
+     *
+     * @param trainPath    타겟 데이터 경로 (train.csv)
+     * @param deltaPath    신규 거래 내역 경로 (예: 일별 거래 파일)
+     * @param snapshotPath 기준 집계 상태 스냅샷 경로 (완료 후 갱신됨)
+     * @param outputPath   가공된 결과 저장 경로 (train_features_advanced.csv)
+     * @param workers      파싱/집계를 수행할 워커 스레드 수 (1 이하이면 단일 스트림 경로로 처리)
+     */
+    public void applyDelta(String trainPath, String deltaPath, String snapshotPath, String outputPath, int workers) {
+        Path snapshot = Paths.get(snapshotPath);
+        List<String> applied;
+        String identity;
+        try {
+            applied = CardFeatureSnapshot.appliedDeltas(snapshot);
+            identity = CardFeatureSnapshot.deltaIdentity(Paths.get(deltaPath));
+        } catch (IOException e) {
+            throw new RuntimeException("증분 피처 가공 프로세스 중 오류 발생", e);
+        }
+        if (applied.contains(identity)) {
+            throw new IllegalArgumentException("이미 스냅샷에 누적된 신규 거래 파일입니다: " + deltaPath + " (" + identity + ")");
+        }
+
+        try {
+            CardFeatureAggregates aggregates = CardFeatureSnapshot.read(snapshot);
+            double[] targets = loadTargets(trainPath, aggregates.cards());
+
+            aggregateInto(deltaPath, aggregates, null, workers);
+            saveFeatures(aggregates, targets, outputPath);
+            applied.add(identity);
+            CardFeatureSnapshot.write(aggregates, applied, snapshot);
+        } catch (Exception e) {
+            throw new RuntimeException("증분 피처 가공 프로세스 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 카드 수가 힙에 모두 올라가지 않는 대용량 거래 내역을 디스크 샤드로 분할하여 집계한 뒤 피처셋을 저장합니다. (외부 메모리 모드)
+     * <p>1단계에서 정답지와 거래 내역을 카드 식별자 해시로 {@code shards}개의 샤드 파일에 분배하고, 2단계에서 샤드마다
+     * 독립적으로 집계합니다. 동시에 처리하는 샤드는 추정 집계 상태 크기의 합이 메모리 예산을 넘지 않는 범위에서 최대 워커 수까지이며,
+     * 최대 메모리 사용량은 전체 카드 수가 아니라 예산과 샤드 크기로 정해집니다.</p>
+     * <p>카드별 피처 값은 {@link #aggregateAndSave(String, String, String)}와 동일하며, 행은 샤드 순서대로 기록됩니다.
+     * (샤드 내에서는 정답지 순서 → 거래 최초 등장 순서) 샤드 하나의 추정 크기가 예산을 넘으면 샤드 수를 늘려야 합니다.
+     * {@code .feat} 출력도 샤드 결과를 컬럼 세그먼트로 바로 흘려 쓰므로 전체 카드를 힙에 모으지 않습니다.</p>
+     *
+     * @param trainPath         타겟 데이터 경로 (train.csv)
+     * @param historyPath       원본 거래 내역 경로 (historical_transactions.csv)
+     * @param outputPath        가공된 결과 저장 경로 (train_features_advanced.csv, {@code .feat} 확장자이면 바이너리 피처 파일)
+     * @param spillDir          샤드 임시 파일을 기록할 디렉터리 (완료 후 삭제됨)
+     * @param shards            샤드 수
+     * @param memoryBudgetBytes 집계 상태에 허용할 메모리 예산 (바이트)
+     * @param workers           샤드를 동시에 집계할 최대 워커 스레드 수
+     */
+    public void aggregateShardedAndSave(String trainPath, String historyPath, String outputPath, String spillDir,
+                                        int shards, long memoryBudgetBytes, int workers) {
+        aggregateShardedAndSave(trainPath, historyPath, outputPath, spillDir, shards, memoryBudgetBytes, workers, null);
+    }
+
+    /**
+     * 외부 메모리 모드로 피처셋을 저장하고, 기존 집계 상태 스냅샷을 무효화(삭제)합니다.
+     * <p>샤드별 집계 상태는 한꺼번에 메모리에 올라가지 않으므로 스냅샷을 새로 쓰지 않습니다. 새 피처 파일과 맞지 않는
+     * 이전 스냅샷에 증분이 누적되지 않도록 저장 완료 후 삭제하며, 이후 증분 모드는 전체 재집계로 스냅샷을 만든 뒤 사용할 수 있습니다.</p>
+     *
+     * @param snapshotPath 무효화할 집계 상태 스냅샷 경로 (null이면 건드리지 않음)
+     * @see #aggregateShardedAndSave(String, String, String, String, int, long, int)
+     */
+    public void aggregateShardedAndSave(String trainPath, String historyPath, String outputPath, String spillDir,
+                                        int shards, long memoryBudgetBytes, int workers, String snapshotPath) {
+        try (CardShardSpill spill = new CardShardSpill(Paths.get(spillDir), shards, memoryBudgetBytes)) {
+            partitionTargets(trainPath, spill);
+            partitionEvents(historyPath, spill);
+            spill.finish();
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, workers));
+            try (FeatureRowWriter writer = new FeatureRowWriter(outputPath)) {
+                aggregateShards(spill, writer, memoryBudgetBytes, Math.max(1, workers), pool);
+                writer.commit();
+            } finally {
+                pool.shutdownNow();
+            }
+            if (snapshotPath != null) Files.deleteIfExists(Paths.get(snapshotPath));
+        } catch (Exception e) {
+            throw new RuntimeException("샤드 피처 가공 프로세스 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 정답지의 카드 타겟을 샤드에 분배합니다.
+     */
+    private void partitionTargets(String trainPath, CardShardSpill spill) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(trainPath, StandardCharsets.UTF_8))) {
+            Iterable<CSVRecord> records = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(br);
             for (CSVRecord record : records) {
-                // 공용 모델(FinEvent)을 거쳐 데이터의 규격과 정합성 확보
-                FinEvent event = eventParser.parse(record, targetMap);
+                spill.addTarget(record.get("card_id"), Double.parseDouble(record.get("target")));
+            }
+        }
+    }
 
-                if (event != null) {
-                    AggregatedFeature feat = featureMap.computeIfAbsent(event.getCardId(), k -> new AggregatedFeature());
-                    feat.addTransaction(event.getAmount(), event.getInstallments(), event.isAuthorized());
+    /**
+     * 거래 내역을 {@link EventPipeline}으로 스트리밍하며 샤드에 분배합니다.
+     * 배치 로컬 카드마다 샤드 번호와 인코딩된 식별자를 한 번만 계산합니다.
+     */
+    private void partitionEvents(String historyPath, CardShardSpill spill) throws IOException {
+        try (EventSource source = new CsvEventSource(Paths.get(historyPath))) {
+            new EventPipeline(source).run(batch -> {
+                StringDictionary local = batch.cardDictionary();
+                int[] shardOf = new int[local.size()];
+                byte[][] ids = new byte[local.size()][];
+                for (int i = 0; i < shardOf.length; i++) {
+                    shardOf[i] = CardShardSpill.shardOf(local.get(i), spill.shards());
+                    ids[i] = local.get(i).getBytes(StandardCharsets.UTF_8);
                 }
+
+                FinEventBatch.Cursor cursor = batch.cursor();
+                while (cursor.next()) {
+                    int card = cursor.cardOrdinal();
+                    spill.addEvent(shardOf[card], ids[card], cursor.amount(), cursor.installments(), cursor.authorized());
+                }
+            });
+        }
+    }
+
+    /**
+     * 샤드를 병렬로 집계하고, 완료된 샤드를 샤드 순서대로 기록합니다.
+     * <p>진행 중인 샤드의 추정 크기 합이 예산을 넘지 않도록 제출을 제한하며, 예산을 넘는 샤드도 단독으로는 처리합니다.</p>
+     */
+    private void aggregateShards(CardShardSpill spill, FeatureRowWriter writer, long memoryBudgetBytes,
+                                 int workers, ExecutorService pool) throws Exception {
+        Deque<Future<ShardResult>> inFlight = new ArrayDeque<>();
+        Deque<Long> reserved = new ArrayDeque<>();
+        long inUse = 0;
+        int next = 0;
+
+        while (next < spill.shards() || !inFlight.isEmpty()) {
+            while (next < spill.shards() && inFlight.size() < workers) {
+                long bytes = spill.estimatedBytes(next);
+                if (!inFlight.isEmpty() && inUse + bytes > memoryBudgetBytes) break;
+                int shard = next++;
+                inFlight.add(pool.submit(() -> aggregateShard(spill, shard)));
+                reserved.add(bytes);
+                inUse += bytes;
             }
-            saveToProcessedCsv(featureMap, targetMap, outputPath);
-        } catch (Exception e) {
-            throw new RuntimeException("피처 가공 프로세스 중 오류 발생", e);
+            ShardResult result = inFlight.poll().get();
+            inUse -= reserved.poll();
+            writer.write(result.aggregates, result.targets);
+        }
+    }
+
+    /**
+     * 샤드 하나의 타겟과 거래를 읽어 샤드 전용 집계 상태를 만들고, 샤드 파일을 삭제합니다.
+     */
+    private ShardResult aggregateShard(CardShardSpill spill, int shard) throws IOException {
+        StringDictionary cards = new StringDictionary(spill.expectedCards(shard));
+        double[] targets = spill.loadTargets(shard, cards);
+        CardFeatureAggregates aggregates = new CardFeatureAggregates(cards);
+        spill.aggregate(shard, aggregates);
+        spill.delete(shard);
+        return new ShardResult(aggregates, targets);
+    }
+
+    /** 샤드 하나의 집계 결과 */
+    private static class ShardResult {
+        final CardFeatureAggregates aggregates;
+        final double[] targets;
+
+        ShardResult(CardFeatureAggregates aggregates, double[] targets) {
+            this.aggregates = aggregates; this.targets = targets;
         }
     }
 
     /**
-     * 집계된 통계 맵을 최종 CSV 파일로 출력합니다.
+     * 메모리 집계 결과입니다. 타겟은 카드 순번 인덱스이며, 범위를 벗어나는 순번의 타겟은 0.0으로 취급합니다.
      */
-    private void saveToProcessedCsv(Map<String, AggregatedFeature> features, Map<String, Double> targets, String outputPath) throws IOException {
-        File file = new File(outputPath);
-        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+    public static final class Aggregated {
+        private final CardFeatureAggregates aggregates;
+        private final double[] targets;
 
-        String[] headers = {"card_id", "total_amount", "tx_count", "avg_installments", "max_amount", "avg_amount", "authorized_ratio", "target"};
+        Aggregated(CardFeatureAggregates aggregates, double[] targets) {
+            this.aggregates = aggregates;
+            this.targets = targets;
+        }
+
+        public CardFeatureAggregates aggregates() { return aggregates; }
+
+        public double[] targets() { return targets; }
+    }
+
+    /**
+     * 거래 내역 파일을 기존 집계 상태에 누적합니다. 워커 수에 따라 스트리밍 또는 청크 병렬 경로를 선택합니다.
+     */
+    private void aggregateInto(String historyPath, CardFeatureAggregates aggregates, CardWindowAggregates windows,
+                               int workers) throws Exception {
+        if (workers <= 1) {
+            aggregateStreaming(historyPath, aggregates, windows);
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            aggregateParallel(Paths.get(historyPath), aggregates, windows, workers, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 거래 내역을 {@link EventPipeline}으로 스트리밍하며 집계 상태에 누적합니다.
+     * <p>파싱은 원천 스레드, 집계는 호출 스레드에서 동시에 수행되며, 배치는 파일 순서대로 집계되므로
+     * 합계 누적 순서는 단일 스레드 순회와 동일합니다.</p>
+     */
+    private void aggregateStreaming(String historyPath, CardFeatureAggregates aggregates, CardWindowAggregates windows) throws IOException {
+        try (EventSource source = new CsvEventSource(Paths.get(historyPath))) {
+            new EventPipeline(source).run(batch -> foldBatch(batch, aggregates, windows));
+        }
+    }
+
+    /**
+     * 배치 로컬 카드 순번을 전역 순번으로 한 번만 변환한 뒤, 행 단위로 원시 값을 누적합니다.
+     * 기간 집계가 지정되면 같은 순회에서 월 버킷에도 누적합니다.
+     */
+    private static void foldBatch(FinEventBatch batch, CardFeatureAggregates aggregates, CardWindowAggregates windows) {
+        StringDictionary local = batch.cardDictionary();
+        int[] toGlobal = new int[local.size()];
+        for (int i = 0; i < toGlobal.length; i++) toGlobal[i] = aggregates.cards().intern(local.get(i));
+
+        FinEventBatch.Cursor cursor = batch.cursor();
+        while (cursor.next()) {
+            int ord = toGlobal[cursor.cardOrdinal()];
+            aggregates.addTransaction(ord, cursor.amount(), cursor.installments(), cursor.authorized());
+            if (windows != null) windows.add(ord, cursor.monthIndex(), cursor.amount(), cursor.authorized());
+        }
+    }
+
+    /**
+     * 파일을 청크 단위로 분할하여 병렬 집계하고, 완료된 청크를 파일 순서대로 전역 집계 상태에 병합합니다.
+     * <p>청크는 단일 스트림 경로와 같은 {@link CsvEventSource}(바이트 구간 지정)로 읽어 같은 규칙으로 파싱/결함 처리하며,
+     * 행을 보관하지 않고 청크 전용 카드별 원시 집계 상태에 바로 누적합니다. 동시에 진행 중인 청크 수를 워커 수의 2배로 제한하므로
+     * 메모리 점유는 행 수가 아니라 청크별 카드 수에 비례합니다.</p>
+     */
+    private void aggregateParallel(Path historyPath, CardFeatureAggregates aggregates, CardWindowAggregates windows,
+                                   int workers, ExecutorService pool) throws Exception {
+        long[] bounds;
+        try (FileChannel channel = FileChannel.open(historyPath, StandardOpenOption.READ)) {
+            bounds = splitByLines(channel, findDataStart(channel), workers * CHUNKS_PER_WORKER);
+        }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath));
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(headers))) {
+        Deque<Future<ChunkAggregate>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        int chunks = bounds.length - 1;
 
-            for (Map.Entry<String, AggregatedFeature> entry : features.entrySet()) {
-                String cardId = entry.getKey();
-                AggregatedFeature f = entry.getValue();
-                csvPrinter.printRecord(cardId, f.totalSum, f.count, (double)f.totalInst/f.count, f.maxVal, f.totalSum/f.count, (double)f.authCount/f.count, targets.getOrDefault(cardId, 0.0));
+        while (next < chunks || !inFlight.isEmpty()) {
+            while (next < chunks && inFlight.size() < workers * 2) {
+                long start = bounds[next];
+                long end = bounds[next + 1];
+                inFlight.add(pool.submit(() -> aggregateChunk(historyPath, start, end, windows)));
+                next++;
             }
+            // 파일 순서대로 병합해야 단일 스트림 경로와 동일한 카드 순번이 보장됨
+            inFlight.poll().get().mergeInto(aggregates, windows);
         }
     }
 
     /**
-     * 학습용 정답지 데이터를 로드합니다.
+     * 단일 바이트 구간을 읽어 청크 전용 집계 상태에 부분 집계합니다.
+     * <p>청크 사전의 순번은 카드 최초 등장 순서대로 부여되므로, 병합 시 전역 순번도 단일 스트림 경로와 동일하게 부여됩니다.</p>
+     *
+     * @param windows 전역 기간 집계 상태 (null이면 기간 집계 생략, 링 크기만 참조)
+     */
+    private ChunkAggregate aggregateChunk(Path historyPath, long start, long end, CardWindowAggregates windows)
+            throws IOException {
+        ChunkAggregate chunk = new ChunkAggregate(windows);
+        if (start >= end) return chunk;
+
+        try (EventSource source = new CsvEventSource(historyPath, start, end, CsvEventSource.DEFAULT_BATCH_SIZE)) {
+            FinEventBatch batch;
+            while ((batch = source.nextBatch()) != null) foldBatch(batch, chunk.aggregates, chunk.windows);
+        }
+        return chunk;
+    }
+
+    /**
+     * 헤더 라인 바로 다음 바이트 위치(데이터 시작 오프셋)를 반환합니다.
+     */
+    private long findDataStart(FileChannel channel) throws IOException {
+        long lineEnd = findNextLineStart(channel, 0);
+        if (lineEnd < 0) throw new IOException("헤더 라인을 찾을 수 없습니다.");
+        return lineEnd;
+    }
+
+    /**
+     * 데이터 구간을 지정한 개수로 균등 분할하되, 각 경계를 다음 개행 직후로 보정합니다.
+     *
+     * @return 오름차순 경계 오프셋 배열 (길이 = 청크 수 + 1)
+     */
+    private long[] splitByLines(FileChannel channel, long dataStart, int chunks) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = dataStart;
+        bounds[chunks] = size;
+
+        for (int i = 1; i < chunks; i++) {
+            long pos = dataStart + (size - dataStart) * i / chunks;
+            long aligned = pos <= bounds[i - 1] ? bounds[i - 1] : findNextLineStart(channel, pos - 1);
+            bounds[i] = aligned < 0 ? size : aligned;
+        }
+        return bounds;
+    }
+
+    /**
+     * 지정 위치부터 최초의 개행 문자를 찾아 그 다음 바이트 오프셋을 반환합니다. (없으면 -1)
+     */
+    private long findNextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long pos = from;
+        int read;
+        while ((read = channel.read(buf, pos)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+            buf.clear();
+        }
+        return -1;
+    }
+
+    /**
+     * 거래 내역 파일을 {@link FinEventTokenizer}로 읽어 컬럼형 {@link FinEventBatch}로 적재합니다.
+     * <p>행마다 {@link FinEvent} 객체를 생성하지 않으며, 결함 레코드는 {@link FinEventParser}와 동일하게 건너뜁니다.</p>
+     *
+     * @param historyPath 거래 내역 경로 (historical_transactions.csv 등)
+     * @return 파일 순서대로 적재된 이벤트 배치
      */
-    private Map<String, Double> loadTargetMap(String trainPath) {
-        Map<String, Double> map = new HashMap<>();
+    public FinEventBatch loadEventBatch(String historyPath) {
+        FinEventBatch batch = new FinEventBatch();
+
+        try (FinEventTokenizer tokenizer = new FinEventTokenizer(Paths.get(historyPath))) {
+            while (tokenizer.next()) {
+                // 데이터 결함 발생 시 해당 레코드만 스킵
+                tokenizer.appendTo(batch);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("거래 내역 배치 적재 실패", e);
+        }
+        return batch;
+    }
+
+    /**
+     * 출력 경로 확장자에 따라 CSV 또는 바이너리 피처 파일({@link FeatureFile#EXTENSION})로 저장합니다.
+     */
+    private void saveFeatures(CardFeatureAggregates features, double[] targets, String outputPath) throws IOException {
+        try (FeatureRowWriter writer = new FeatureRowWriter(outputPath)) {
+            writer.write(features, targets);
+            writer.commit();
+        }
+    }
+
+    /**
+     * 기간 피처를 출력합니다. 컬럼은 card_id, 윈도우별 (amt_sum, tx_count, amt_max, auth_ratio), 월별 시퀀스
+     * (seq_amt_1..N, seq_cnt_1..N: 과거 → 최근) 순서이며, 누적 피처 파일과 같은 카드 순서로 기록합니다.
+     */
+    private void saveWindowFeatures(CardFeatureAggregates features, CardWindowAggregates windows, String outputPath) throws IOException {
+        int[] months = windows.windows();
+        int length = CardWindowAggregates.DEFAULT_SEQUENCE_LENGTH;
+        int asOf = windows.maxMonth();
+
+        List<String> headers = new ArrayList<>();
+        headers.add("card_id");
+        for (int w : months) {
+            headers.add("amt_sum_" + w + "m");
+            headers.add("tx_count_" + w + "m");
+            headers.add("amt_max_" + w + "m");
+            headers.add("auth_ratio_" + w + "m");
+        }
+        for (int i = 1; i <= length; i++) headers.add("seq_amt_" + i);
+        for (int i = 1; i <= length; i++) headers.add("seq_cnt_" + i);
+        String[] names = headers.toArray(new String[0]);
+
+        double[] seqAmounts = new double[length];
+        int[] seqCounts = new int[length];
+        double[] row = new double[names.length - 1];
+        boolean binary = FeatureFile.isFeatureFile(outputPath);
+
+        ColumnType[] types = new ColumnType[names.length];
+        Arrays.fill(types, ColumnType.FLOAT64);
+        types[0] = ColumnType.STRING;
+        for (int w = 0; w < months.length; w++) types[2 + w * 4] = ColumnType.INT32;
+        for (int i = 0; i < length; i++) types[1 + months.length * 4 + length + i] = ColumnType.INT32;
+
+        try (FeatureFileWriter featureWriter = binary ? new FeatureFileWriter(Paths.get(outputPath), names, types) : null;
+             CsvFeatureWriter csvWriter = binary ? null : new CsvFeatureWriter(Paths.get(outputPath), names)) {
+
+            for (int ord = 0; ord < features.size(); ord++) {
+                if (features.count(ord) == 0) continue;
+
+                int c = 0;
+                for (int w : months) {
+                    row[c++] = windows.windowSum(ord, w, asOf);
+                    row[c++] = windows.windowCount(ord, w, asOf);
+                    row[c++] = windows.windowMax(ord, w, asOf);
+                    row[c++] = windows.windowAuthRatio(ord, w, asOf);
+                }
+                windows.fillSequence(ord, asOf, seqAmounts, seqCounts);
+                for (int i = 0; i < length; i++) row[c++] = seqAmounts[i];
+                for (int i = 0; i < length; i++) row[c++] = seqCounts[i];
+
+                if (binary) {
+                    featureWriter.setString(0, features.cardId(ord));
+                    for (int i = 0; i < row.length; i++) featureWriter.setNumber(i + 1, row[i]);
+                    featureWriter.endRow();
+                } else {
+                    csvWriter.value(features.cardId(ord));
+                    for (int i = 0; i < row.length; i++) {
+                        if (types[i + 1] == ColumnType.INT32) csvWriter.value((int) row[i]);
+                        else csvWriter.value(row[i]);
+                    }
+                    csvWriter.endRow();
+                }
+            }
+            if (featureWriter != null) featureWriter.commit();
+        }
+    }
+
+    /**
+     * 학습용 정답지 데이터를 로드하여 카드 사전에 등록하고, 카드 순번 인덱스의 타겟 배열을 반환합니다.
+     * <p>배열 범위를 벗어나는 순번(정답지에 없는 카드)의 타겟은 0.0으로 취급합니다.</p>
+     */
+    private double[] loadTargets(String trainPath, StringDictionary cards) {
+        double[] targets = new double[EXPECTED_CARDS];
         try (BufferedReader br = new BufferedReader(new FileReader(trainPath, StandardCharsets.UTF_8))) {
             Iterable<CSVRecord> records = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(br);
-            for (CSVRecord record : records) { map.put(record.get("card_id"), Double.parseDouble(record.get("target"))); }
+            for (CSVRecord record : records) {
+                int ord = cards.intern(record.get("card_id"));
+                if (ord >= targets.length) targets = Arrays.copyOf(targets, Math.max(ord + 1, targets.length * 2));
+                targets[ord] = Double.parseDouble(record.get("target"));
+            }
         } catch (Exception e) { throw new RuntimeException("타겟 맵 로드 실패", e); }
-        return map;
+        return Arrays.copyOf(targets, cards.size());
     }
 
     /**
-     * 카드별 소비 패턴을 집계하기 위한 내부 통계 컨테이너 클래스입니다.
+     * 누적 피처 행을 CSV 또는 바이너리 피처 파일로 기록하는 출력기입니다.
+     * <p>거래가 없는 카드(타겟만 존재)는 제외하며, 집계 상태의 카드 순번 순서로 기록합니다.
+     * 샤드 모드에서는 여러 집계 상태를 순서대로 이어서 기록합니다.</p>
      */
-    private static class AggregatedFeature {
-        double totalSum = 0; double maxVal = -Double.MAX_VALUE; int count = 0; int totalInst = 0; int authCount = 0;
-        void addTransaction(double amt, int inst, boolean auth) {
-            totalSum += amt; if (amt > maxVal) maxVal = amt; count++; totalInst += inst; if (auth) authCount++;
+    private static class FeatureRowWriter implements Closeable {
+        private static final ColumnType[] TYPES = {ColumnType.STRING, ColumnType.FLOAT64, ColumnType.INT32, ColumnType.FLOAT64,
+                ColumnType.FLOAT64, ColumnType.FLOAT64, ColumnType.FLOAT64, ColumnType.FLOAT64};
+
+        private final FeatureFileWriter featureWriter;
+        private final CsvFeatureWriter csvWriter;
+
+        FeatureRowWriter(String outputPath) throws IOException {
+            if (FeatureFile.isFeatureFile(outputPath)) {
+                this.featureWriter = new FeatureFileWriter(Paths.get(outputPath), FEATURE_HEADERS, TYPES);
+                this.csvWriter = null;
+            } else {
+                this.featureWriter = null;
+                this.csvWriter = new CsvFeatureWriter(Paths.get(outputPath), FEATURE_HEADERS);
+            }
+        }
+
+        void write(CardFeatureAggregates features, double[] targets) throws IOException {
+            for (int ord = 0; ord < features.size(); ord++) {
+                int count = features.count(ord);
+                if (count == 0) continue;
+                double totalSum = features.totalSum(ord);
+                double avgInst = (double) features.totalInst(ord) / count;
+                double authRatio = (double) features.authCount(ord) / count;
+                double target = ord < targets.length ? targets[ord] : 0.0;
+                if (featureWriter != null) {
+                    featureWriter.setString(0, features.cardId(ord))
+                            .setDouble(1, totalSum)
+                            .setInt(2, count)
+                            .setDouble(3, avgInst)
+                            .setDouble(4, features.maxVal(ord))
+                            .setDouble(5, totalSum / count)
+                            .setDouble(6, authRatio)
+                            .setDouble(7, target)
+                            .endRow();
+                } else {
+                    csvWriter.value(features.cardId(ord)).value(totalSum).value(count).value(avgInst)
+                            .value(features.maxVal(ord)).value(totalSum / count).value(authRatio).value(target)
+                            .endRow();
+                }
+            }
+        }
+
+        /** 바이너리 피처 파일을 확정합니다. (확정 없이 닫히면 기존 파일 유지) */
+        void commit() throws IOException {
+            if (featureWriter != null) featureWriter.commit();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (featureWriter != null) featureWriter.close();
+            if (csvWriter != null) csvWriter.close();
+        }
+    }
+
+    /**
+     * 병렬 모드에서 청크 단위 부분 집계를 담는 컨테이너 클래스입니다.
+     * <p>행 단위 값은 보관하지 않고 청크 사전 순번의 카드별 원시 집계 상태만 유지합니다.</p>
+     */
+    private static class ChunkAggregate {
+        final CardFeatureAggregates aggregates = new CardFeatureAggregates();
+        final CardWindowAggregates windows;
+
+        ChunkAggregate(CardWindowAggregates global) {
+            this.windows = global == null ? null
+                    : new CardWindowAggregates(aggregates.cards(), global.windows(), global.ringMonths());
+        }
+
+        /**
+         * 청크 카드를 최초 등장 순서대로 전역 사전에 등록하며 카드 단위로 병합합니다.
+         * 기간 집계가 지정되면 같은 순회에서 월 버킷도 병합합니다.
+         */
+        void mergeInto(CardFeatureAggregates target, CardWindowAggregates targetWindows) {
+            for (int i = 0; i < aggregates.size(); i++) {
+                int ord = target.cards().intern(aggregates.cardId(i));
+                target.merge(ord, aggregates, i);
+                if (targetWindows != null) targetWindows.merge(ord, windows, i);
+            }
+            if (targetWindows != null) targetWindows.addDroppedEvents(windows.droppedEvents());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,358 @@
+package aicard.perli.common.data.merchant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 가맹점 마스터(merchants.csv)를 거래 보강(enrichment)용으로 압축 보관하는 조회 인덱스입니다.
+ * <p>가맹점 ID는 {@code M_ID_} + 16진수 형식이므로 16진수 부분을 {@code long} 키 하나로 인코딩하여 정렬 배열에 보관하고,
+ * 이진 탐색으로 행 번호를 찾습니다. 형식에 맞지 않는 ID는 별도의 정렬 문자열 배열로 조회합니다.
+ * 매출/구매 등급(A~E)과 범주 값은 바이트 코드로, 업종/세부 업종 ID는 int로 행 번호 인덱스의 병렬 배열에 저장하므로
+ * 가맹점마다 문자열이나 엔트리 객체를 만들지 않습니다.</p>
+ * <p>{@link #save(Path)}로 저장한 바이너리 파일은 {@link #load(Path)}에서 배열 일괄 복사만으로 복원되어 수 밀리초 내에 적재됩니다.
+ * 같은 ID가 마스터에 여러 번 등장하면 마지막 행의 속성을 사용합니다.</p>
+ * <p>파일 구조 (little-endian):
+ * <pre>
+ * int    MAGIC ("PMI1")
+ * int    VERSION
+ * int    인코딩 키 가맹점 수 N
+ * int    기타 ID 가맹점 수 K
+ * N x    long  인코딩 키 (오름차순)
+ * K x    (int 길이 + UTF-8 ID, 사전순)
+ * (N+K) x int  업종 ID, (N+K) x int 세부 업종 ID
+ * (N+K) x byte 매출 등급, 구매 등급, category_1, category_4
+ * </pre></p>
+ * <p>생성 이후 불변이므로 여러 스레드에서 동시에 조회해도 안전합니다.</p>
+ */
+@Slf4j
+public final class MerchantIndex {
+
+    /** 알 수 없는 코드 값 (등급/범주 결측, 미등록 가맹점 등) */
+    public static final byte UNKNOWN = -1;
+
+    /** 가맹점 ID 접두어 */
+    public static final String ID_PREFIX = "M_ID_";
+
+    private static final int MAGIC = 0x31494D50;
+    private static final int VERSION = 2;
+    /** 키 하위 56비트에 담을 수 있는 16진수 자릿수 */
+    private static final int MAX_HEX_DIGITS = 14;
+    /** fromCsv가 읽는 컬럼 (첫 컬럼이 가맹점 ID) */
+    private static final String[] COLUMNS = {"merchant_id", "merchant_category_id", "subsector_id",
+            "most_recent_sales_range", "most_recent_purchases_range", "category_1", "category_4"};
+
+    /** 인코딩 키 (오름차순), 행 번호 = 배열 위치 */
+    private final long[] keys;
+    /** 형식에 맞지 않는 ID (사전순), 행 번호 = keys.length + 배열 위치 */
+    private final String[] otherIds;
+
+    private final int[] categoryIds;
+    private final int[] subsectorIds;
+    private final byte[] salesRanges;
+    private final byte[] purchasesRanges;
+    private final byte[] category1;
+    private final byte[] category4;
+
+    private MerchantIndex(long[] keys, String[] otherIds, int[] categoryIds, int[] subsectorIds,
+                          byte[] salesRanges, byte[] purchasesRanges, byte[] category1, byte[] category4) {
+        this.keys = keys;
+        this.otherIds = otherIds;
+        this.categoryIds = categoryIds;
+        this.subsectorIds = subsectorIds;
+        this.salesRanges = salesRanges;
+        this.purchasesRanges = purchasesRanges;
+        this.category1 = category1;
+        this.category4 = category4;
+    }
+
+    /**
+     * 가맹점 마스터 CSV를 읽어 인덱스를 생성합니다. 컬럼은 헤더 이름으로 찾으며, 필요한 컬럼까지 값이 없는 잘린 행은 건너뜁니다.
+     *
+     * @param merchantsPath merchants.csv 경로
+     */
+    public static MerchantIndex fromCsv(Path merchantsPath) throws IOException {
+        Map<String, Integer> rowOf = new HashMap<>();
+        int[] categoryIds = new int[1024];
+        int[] subsectorIds = new int[1024];
+        byte[][] codes = new byte[4][1024];
+        int rows = 0;
+        int skipped = 0;
+
+        try (BufferedReader br = Files.newBufferedReader(merchantsPath, StandardCharsets.UTF_8)) {
+            CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(br);
+            int[] col = new int[COLUMNS.length];
+            int minSize = 0;
+            for (int c = 0; c < COLUMNS.length; c++) {
+                Integer idx = parser.getHeaderMap().get(COLUMNS[c]);
+                if (idx == null) throw new IOException("가맹점 마스터에 컬럼이 없습니다: " + COLUMNS[c]);
+                col[c] = idx;
+                minSize = Math.max(minSize, idx + 1);
+            }
+
+            for (CSVRecord record : parser) {
+                if (record.size() < minSize) {
+                    skipped++;
+                    continue;
+                }
+                String id = record.get(col[0]);
+                Integer existing = rowOf.get(id);
+                int row = existing != null ? existing : rows;
+                if (existing == null) {
+                    rowOf.put(id, row);
+                    if (++rows > categoryIds.length) {
+                        categoryIds = Arrays.copyOf(categoryIds, rows * 2);
+                        subsectorIds = Arrays.copyOf(subsectorIds, rows * 2);
+                        for (int c = 0; c < codes.length; c++) codes[c] = Arrays.copyOf(codes[c], rows * 2);
+                    }
+                }
+                categoryIds[row] = parseInt(record.get(col[1]));
+                subsectorIds[row] = parseInt(record.get(col[2]));
+                codes[0][row] = rangeCode(record.get(col[3]));
+                codes[1][row] = rangeCode(record.get(col[4]));
+                codes[2][row] = flagCode(record.get(col[5]));
+                codes[3][row] = flagCode(record.get(col[6]));
+            }
+        }
+        if (skipped > 0) log.warn("컬럼이 부족한 가맹점 행 {}건 제외: {}", skipped, merchantsPath);
+
+        // 인코딩 가능한 ID는 키 오름차순, 나머지는 사전순으로 행을 재배치
+        int encodable = 0;
+        long[] encoded = new long[rows];
+        String[] ids = new String[rows];
+        for (Map.Entry<String, Integer> e : rowOf.entrySet()) {
+            ids[e.getValue()] = e.getKey();
+            encoded[e.getValue()] = encodeId(e.getKey());
+            if (encoded[e.getValue()] >= 0) encodable++;
+        }
+
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++) order[i] = i;
+        long[] sortKeys = encoded;
+        String[] sortIds = ids;
+        Arrays.sort(order, (a, b) -> {
+            boolean ea = sortKeys[a] >= 0, eb = sortKeys[b] >= 0;
+            if (ea != eb) return ea ? -1 : 1;
+            return ea ? Long.compare(sortKeys[a], sortKeys[b]) : sortIds[a].compareTo(sortIds[b]);
+        });
+
+        long[] keys = new long[encodable];
+        String[] otherIds = new String[rows - encodable];
+        int[] cat = new int[rows];
+        int[] sub = new int[rows];
+        byte[][] sorted = new byte[4][rows];
+        for (int i = 0; i < rows; i++) {
+            int src = order[i];
+            if (i < encodable) keys[i] = encoded[src];
+            else otherIds[i - encodable] = ids[src];
+            cat[i] = categoryIds[src];
+            sub[i] = subsectorIds[src];
+            for (int c = 0; c < sorted.length; c++) sorted[c][i] = codes[c][src];
+        }
+        return new MerchantIndex(keys, otherIds, cat, sub, sorted[0], sorted[1], sorted[2], sorted[3]);
+    }
+
+    /**
+     * 인덱스 파일이 가맹점 마스터보다 최신이면 적재하고, 없거나 오래되었거나 버전이 다르면 마스터 CSV로 다시 생성하여 저장합니다.
+     *
+     * @param merchantsPath merchants.csv 경로
+     * @param indexPath     바이너리 인덱스 파일 경로
+     */
+    public static MerchantIndex loadOrBuild(Path merchantsPath, Path indexPath) throws IOException {
+        if (Files.exists(indexPath)
+                && Files.getLastModifiedTime(indexPath).compareTo(Files.getLastModifiedTime(merchantsPath)) >= 0) {
+            try {
+                return load(indexPath);
+            } catch (IOException e) {
+                // 이전 버전 또는 손상된 파일은 다시 생성
+                log.warn("가맹점 인덱스 적재 실패, 마스터 CSV로 재생성합니다: {} ({})", indexPath, e.getMessage());
+            }
+        }
+        MerchantIndex index = fromCsv(merchantsPath);
+        index.save(indexPath);
+        return index;
+    }
+
+    /**
+     * 저장된 바이너리 인덱스 파일을 적재합니다.
+     */
+    public static MerchantIndex load(Path path) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("2GB를 초과하는 가맹점 인덱스는 지원하지 않습니다: " + path);
+            buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                // 전체 파일을 한 번에 적재
+            }
+        }
+        buf.flip().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buf.remaining() < 16 || buf.getInt() != MAGIC) throw new IOException("가맹점 인덱스 파일 형식이 아닙니다: " + path);
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("지원하지 않는 가맹점 인덱스 버전: " + version);
+        int n = buf.getInt();
+        int k = buf.getInt();
+        int rows = n + k;
+
+        long[] keys = new long[n];
+        buf.asLongBuffer().get(keys);
+        buf.position(buf.position() + n * 8);
+
+        String[] otherIds = new String[k];
+        for (int i = 0; i < k; i++) {
+            byte[] id = new byte[buf.getInt()];
+            buf.get(id);
+            otherIds[i] = new String(id, StandardCharsets.UTF_8);
+        }
+
+        int[] categoryIds = new int[rows];
+        int[] subsectorIds = new int[rows];
+        buf.asIntBuffer().get(categoryIds);
+        buf.position(buf.position() + rows * 4);
+        buf.asIntBuffer().get(subsectorIds);
+        buf.position(buf.position() + rows * 4);
+
+        byte[][] codes = new byte[4][rows];
+        for (byte[] code : codes) buf.get(code);
+        return new MerchantIndex(keys, otherIds, categoryIds, subsectorIds, codes[0], codes[1], codes[2], codes[3]);
+    }
+
+    /**
+     * 바이너리 인덱스 파일로 저장합니다. 임시 파일에 기록한 뒤 원자적으로 교체합니다.
+     */
+    public void save(Path path) throws IOException {
+        int rows = size();
+        byte[][] otherBytes = new byte[otherIds.length][];
+        long length = 16 + keys.length * 8L + rows * (4L + 4L + 4L);
+        for (int i = 0; i < otherIds.length; i++) {
+            otherBytes[i] = otherIds[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + otherBytes[i].length;
+        }
+        if (length > Integer.MAX_VALUE) throw new IOException("가맹점 인덱스 크기 초과: " + length);
+
+        ByteBuffer buf = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(keys.length).putInt(otherIds.length);
+        buf.asLongBuffer().put(keys);
+        buf.position(buf.position() + keys.length * 8);
+        for (byte[] id : otherBytes) buf.putInt(id.length).put(id);
+        buf.asIntBuffer().put(categoryIds);
+        buf.position(buf.position() + rows * 4);
+        buf.asIntBuffer().put(subsectorIds);
+        buf.position(buf.position() + rows * 4);
+        buf.put(salesRanges).put(purchasesRanges).put(category1).put(category4);
+        buf.flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) channel.write(buf);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 가맹점 ID의 행 번호를 조회합니다. {@code M_ID_} + 16진수 형식이면 문자열을 생성하지 않습니다.
+     *
+     * @return 행 번호 (미등록 시 -1)
+     */
+    public int find(CharSequence merchantId) {
+        if (merchantId == null) return -1;
+        long key = encodeId(merchantId);
+        if (key >= 0) {
+            int pos = Arrays.binarySearch(keys, key);
+            return pos >= 0 ? pos : -1;
+        }
+        if (otherIds.length == 0) return -1;
+        int pos = Arrays.binarySearch(otherIds, merchantId.toString());
+        return pos >= 0 ? keys.length + pos : -1;
+    }
+
+    /** @return 등록된 가맹점 수 */
+    public int size() {
+        return keys.length + otherIds.length;
+    }
+
+    /** @return 업종 ID (merchant_category_id) */
+    public int categoryId(int row) { return categoryIds[row]; }
+
+    /** @return 세부 업종 ID (subsector_id) */
+    public int subsectorId(int row) { return subsectorIds[row]; }
+
+    /** @return 최근 매출 등급 코드 (A=0 ... E=4, 결측 시 {@link #UNKNOWN}) */
+    public byte salesRange(int row) { return salesRanges[row]; }
+
+    /** @return 최근 구매 건수 등급 코드 (A=0 ... E=4, 결측 시 {@link #UNKNOWN}) */
+    public byte purchasesRange(int row) { return purchasesRanges[row]; }
+
+    /** @return category_1 코드 (Y=1, N=0, 결측 시 {@link #UNKNOWN}) */
+    public byte category1(int row) { return category1[row]; }
+
+    /** @return category_4 코드 (Y=1, N=0, 결측 시 {@link #UNKNOWN}) */
+    public byte category4(int row) { return category4[row]; }
+
+    /**
+     * 가맹점 ID를 조회 키로 인코딩합니다. 비트 56~59는 16진수 자릿수, 하위 56비트는 16진수 값이므로
+     * 앞자리 0의 개수가 다른 ID도 서로 다른 키가 되고, 부호 비트는 항상 0입니다.
+     *
+     * @return 0 이상의 키 (형식에 맞지 않으면 -1)
+     */
+    public static long encodeId(CharSequence id) {
+        int length = id.length();
+        int digits = length - ID_PREFIX.length();
+        if (digits <= 0 || digits > MAX_HEX_DIGITS) return -1;
+        for (int i = 0; i < ID_PREFIX.length(); i++) {
+            if (id.charAt(i) != ID_PREFIX.charAt(i)) return -1;
+        }
+
+        long value = 0;
+        for (int i = ID_PREFIX.length(); i < length; i++) {
+            int d = Character.digit(id.charAt(i), 16);
+            if (d < 0 || Character.isUpperCase(id.charAt(i))) return -1;
+            value = (value << 4) | d;
+        }
+        return ((long) digits << 56) | value;
+    }
+
+    /**
+     * 등급 문자(A~E)를 코드로 변환합니다.
+     */
+    public static byte rangeCode(String range) {
+        if (range == null || range.length() != 1) return UNKNOWN;
+        char c = range.charAt(0);
+        return c >= 'A' && c <= 'E' ? (byte) (c - 'A') : UNKNOWN;
+    }
+
+    private static byte flagCode(String flag) {
+        if ("Y".equals(flag)) return 1;
+        if ("N".equals(flag)) return 0;
+        return UNKNOWN;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
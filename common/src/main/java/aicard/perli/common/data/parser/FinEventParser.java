@@ -2,19 +2,15 @@ package aicard.perli.common.data.parser;
 
 import aicard.perli.common.model.FinEvent;
 import org.apache.commons.csv.CSVRecord;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Map;
 
 /**
  * CSV 레코드 데이터를 시스템 표준 모델인 {@link FinEvent} 객체로 변환하는 파서 클래스입니다.
- * <p>데이터 원천으로부터 읽어온 문자열 데이터를 검증하고, 날짜 및 수치 타입으로의 정밀한 변환을 담당합니다.</p>
+ * <p>데이터 원천으로부터 읽어온 문자열 데이터를 검증하고, 날짜 및 수치 타입으로의 정밀한 변환을 담당합니다.
+ * 거래 일시는 {@link TimestampDecoder}로 epoch 초에 바로 변환하며, 월 순번/요일/시간대 피처도 함께 산출됩니다.</p>
  */
 public class FinEventParser {
 
-    /** Elo 데이터셋 표준 날짜 형식 규격 */
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
     /**
      * {@link CSVRecord}의 로우 데이터를 분석하여 {@link FinEvent} 도메인 모델을 생성합니다.
      *
@@ -29,8 +25,8 @@ public class FinEventParser {
             FinEvent event = new FinEvent();
             event.setCardId(cardId);
 
-            // 시계열 분석을 위한 날짜 변환
-            event.setTxDate(LocalDateTime.parse(record.get("purchase_date"), formatter));
+            // 시계열 분석을 위한 날짜 변환 (yyyy-MM-dd HH:mm:ss 고정 형식, 달력 피처 동시 산출)
+            event.setEpochSecond(TimestampDecoder.decode(record.get("purchase_date")));
 
             // 수치 및 상태값 변환
             event.setAmount(Double.parseDouble(record.get("purchase_amount")));
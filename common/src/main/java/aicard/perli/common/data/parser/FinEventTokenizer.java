@@ -0,0 +1,470 @@
+package aicard.perli.common.data.parser;
+
+import aicard.perli.common.model.EpochCalendar;
+import aicard.perli.common.model.FinEvent;
+import aicard.perli.common.model.FinEventBatch;
+import aicard.perli.common.model.StringDictionary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 메모리 매핑({@link FileChannel#map}) 기반의 무할당(zero-copy) CSV 토크나이저입니다.
+ * <p>행을 읽을 때 필드를 {@link String}으로 만들지 않고 바이트 오프셋으로만 분리하며,
+ * 숫자, {@code Y/N} 플래그, 고정 형식({@code yyyy-MM-dd HH:mm:ss}) 일시를 바이트에서 직접 해석합니다.
+ * 호출자는 {@link #next()}로 행을 이동하며 필요한 컬럼만 원시 타입으로 꺼내 쓸 수 있고,
+ * 기존 파이프라인과의 호환이 필요할 때만 {@link #toFinEvent(Map)}로 객체를 생성합니다.</p>
+ * <p>2GB를 넘는 파일은 일정 크기의 매핑 윈도우를 이동시키며 읽습니다. 인스턴스는 스레드 안전하지 않으므로
+ * 병렬 처리 시 워커마다 개행 경계에 맞춘 바이트 구간으로 별도 인스턴스를 생성해야 합니다.</p>
+ */
+public class FinEventTokenizer implements Closeable {
+
+    /** 한 번에 매핑하는 윈도우 크기 (행은 윈도우 경계를 넘지 않도록 재매핑됨) */
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    /** 한 행에서 허용하는 최대 필드 수 */
+    private static final int MAX_FIELDS = 64;
+
+    /** Double 빠른 경로에서 정확히 표현 가능한 10의 거듭제곱 (10^0 ~ 10^22) */
+    private static final double[] POW10 = new double[23];
+
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long end;
+
+    private MappedByteBuffer window;
+    private long windowBase;
+    private long cursor;
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private int fieldCount;
+
+    /** 사전 조회용 필드 바이트 임시 버퍼 */
+    private byte[] scratch = new byte[64];
+
+    private final String[] header;
+    private final int cardIdx;
+    private final int dateIdx;
+    private final int amountIdx;
+    private final int instIdx;
+    private final int authIdx;
+    private final int mctIdx;
+    private final int cityIdx;
+    private final int stateIdx;
+
+    /**
+     * 파일 전체를 읽는 토크나이저를 생성합니다.
+     *
+     * @param path 헤더가 포함된 CSV 파일 경로
+     * @throws IOException 파일 접근 실패 시
+     */
+    public FinEventTokenizer(Path path) throws IOException {
+        this(path, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * 지정한 바이트 구간에서 시작하는 행만 읽는 토크나이저를 생성합니다.
+     * <p>{@code start}는 행 시작 위치(개행 직후)여야 하며, 0이면 헤더 행을 건너뜁니다.
+     * 헤더는 구간과 무관하게 항상 파일 첫 줄에서 읽습니다.</p>
+     *
+     * @param path  헤더가 포함된 CSV 파일 경로
+     * @param start 구간 시작 오프셋 (포함)
+     * @param end   구간 종료 오프셋 (이 위치 이전에 시작하는 행까지 읽음)
+     * @throws IOException 파일 접근 실패 또는 헤더가 없을 시
+     */
+    public FinEventTokenizer(Path path, long start, long end) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.end = Math.min(end, fileSize);
+
+        try {
+            if (fileSize == 0 || !tokenize(0)) throw new IOException("헤더 라인을 찾을 수 없습니다: " + path);
+            this.header = new String[fieldCount];
+            for (int i = 0; i < fieldCount; i++) header[i] = string(i);
+            if (start > 0) this.cursor = start;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.cardIdx = column("card_id");
+        this.dateIdx = column("purchase_date");
+        this.amountIdx = column("purchase_amount");
+        this.instIdx = column("installments");
+        this.authIdx = column("authorized_flag");
+        this.mctIdx = column("merchant_category_id");
+        this.cityIdx = column("city_id");
+        this.stateIdx = column("state_id");
+    }
+
+    /**
+     * 다음 행으로 이동하여 필드 오프셋을 분리합니다. 빈 행은 건너뜁니다.
+     *
+     * @return 읽을 행이 있으면 true, 구간 끝이면 false
+     * @throws IOException 매핑 실패 또는 단일 행이 윈도우 크기를 초과할 시
+     */
+    public boolean next() throws IOException {
+        while (cursor < end && cursor < fileSize) {
+            long rowStart = cursor;
+            if (!tokenize(rowStart)) {
+                // 행이 윈도우 경계를 넘는 경우 행 시작 위치로 윈도우를 옮겨 다시 분리
+                remap(rowStart);
+                if (!tokenize(rowStart)) throw new IOException("행 길이가 매핑 윈도우를 초과합니다: offset=" + rowStart);
+            }
+            if (fieldCount > 1 || fieldEnd[0] > fieldStart[0]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 현재 윈도우 안에서 한 행을 분리합니다. 행 끝이 윈도우 밖에 있으면 false를 반환합니다.
+     */
+    private boolean tokenize(long rowStart) throws IOException {
+        if (window == null || rowStart < windowBase || rowStart >= windowBase + window.limit()) remap(rowStart);
+
+        int limit = window.limit();
+        int pos = (int) (rowStart - windowBase);
+        int fields = 0;
+        int start = pos;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            if (pos == limit) {
+                // 파일 끝이 아닌데 윈도우가 끝났다면 재매핑 필요
+                if (windowBase + limit < fileSize) return false;
+                break;
+            }
+            byte b = window.get(pos);
+            if (quoted) {
+                if (b == '"') quoted = false;
+            } else if (b == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (b == ',' || b == '\n') {
+                if (fields == MAX_FIELDS) throw new IOException("필드 수가 허용치를 초과합니다: offset=" + rowStart);
+                addField(fields++, start, pos, wasQuoted);
+                wasQuoted = false;
+                start = pos + 1;
+                if (b == '\n') {
+                    pos++;
+                    fieldCount = fields;
+                    cursor = windowBase + pos;
+                    return true;
+                }
+            }
+            pos++;
+        }
+
+        // 마지막 행에 개행이 없는 경우
+        if (fields == MAX_FIELDS) throw new IOException("필드 수가 허용치를 초과합니다: offset=" + rowStart);
+        addField(fields++, start, pos, wasQuoted);
+        fieldCount = fields;
+        cursor = windowBase + pos;
+        return true;
+    }
+
+    private void addField(int idx, int start, int stop, boolean wasQuoted) {
+        if (stop > start && window.get(stop - 1) == '\r') stop--;
+        if (wasQuoted && stop - start >= 2 && window.get(start) == '"' && window.get(stop - 1) == '"') {
+            start++;
+            stop--;
+        }
+        fieldStart[idx] = start;
+        fieldEnd[idx] = stop;
+    }
+
+    private void remap(long base) throws IOException {
+        long size = Math.min(WINDOW_SIZE, fileSize - base);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, base, size);
+        windowBase = base;
+    }
+
+    /** @return 헤더 컬럼명 배열의 복사본 */
+    public String[] header() {
+        return Arrays.copyOf(header, header.length);
+    }
+
+    /**
+     * 헤더에서 컬럼 인덱스를 찾습니다.
+     *
+     * @return 컬럼 인덱스 (없으면 -1)
+     */
+    public int column(String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /** @return 현재 행의 필드 수 */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /** @return 현재 행 필드의 바이트 길이 */
+    public int fieldLength(int col) {
+        checkField(col);
+        return fieldEnd[col] - fieldStart[col];
+    }
+
+    /**
+     * 현재 행 필드의 바이트를 대상 배열로 복사합니다. 카드 ID 사전 인코딩 등 문자열 생성 없이 키를 다룰 때 사용합니다.
+     *
+     * @return 복사한 바이트 수
+     */
+    public int copyField(int col, byte[] dst, int offset) {
+        int len = fieldLength(col);
+        window.get(fieldStart[col], dst, offset, len);
+        return len;
+    }
+
+    /**
+     * 현재 행 필드를 사전에 등록하고 순번을 반환합니다. 이미 등록된 값이면 문자열을 생성하지 않습니다.
+     */
+    public int internField(int col, StringDictionary dictionary) {
+        int len = fieldLength(col);
+        if (len > scratch.length) scratch = new byte[Math.max(len, scratch.length * 2)];
+        window.get(fieldStart[col], scratch, 0, len);
+        return dictionary.intern(scratch, 0, len);
+    }
+
+    /** 현재 행 필드를 문자열로 생성합니다. (할당 발생) */
+    public String string(int col) {
+        int len = fieldLength(col);
+        byte[] bytes = new byte[len];
+        window.get(fieldStart[col], bytes, 0, len);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 현재 행 필드를 부호 있는 정수로 해석합니다.
+     *
+     * @throws NumberFormatException 숫자가 아니거나 범위를 벗어날 시
+     */
+    public long parseLong(int col) {
+        checkField(col);
+        int pos = fieldStart[col];
+        int stop = fieldEnd[col];
+        if (pos == stop) throw new NumberFormatException("빈 필드");
+
+        boolean negative = false;
+        byte first = window.get(pos);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++pos == stop) throw new NumberFormatException("부호만 존재하는 필드");
+        }
+
+        long value = 0;
+        for (; pos < stop; pos++) {
+            int d = window.get(pos) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("숫자가 아닌 문자: " + string(col));
+            if (value > (Long.MAX_VALUE - d) / 10) throw new NumberFormatException("범위 초과: " + string(col));
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 현재 행 필드를 int로 해석합니다.
+     *
+     * @throws NumberFormatException 숫자가 아니거나 int 범위를 벗어날 시
+     */
+    public int parseInt(int col) {
+        long v = parseLong(col);
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) throw new NumberFormatException("int 범위 초과: " + v);
+        return (int) v;
+    }
+
+    /**
+     * 현재 행 필드를 double로 해석합니다.
+     * <p>유효 숫자 15자리 이하, 소수 22자리 이하, 지수 표기가 없는 값은 바이트에서 직접 계산하며
+     * (두 정확한 double의 한 번의 나눗셈이므로 {@link Double#parseDouble}과 동일한 결과),
+     * 그 외 형식은 {@link Double#parseDouble}로 위임합니다.</p>
+     *
+     * @throws NumberFormatException 숫자가 아닐 시
+     */
+    public double parseDouble(int col) {
+        checkField(col);
+        int pos = fieldStart[col];
+        int stop = fieldEnd[col];
+
+        boolean negative = false;
+        if (pos < stop) {
+            byte first = window.get(pos);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                pos++;
+            }
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean any = false;
+
+        for (; pos < stop; pos++) {
+            byte b = window.get(pos);
+            if (b == '.' && !dot) {
+                dot = true;
+                continue;
+            }
+            int d = b - '0';
+            if (d < 0 || d > 9 || digits >= 15 || scale >= 22) return Double.parseDouble(string(col));
+            any = true;
+            if (mantissa != 0 || d != 0) digits++;
+            mantissa = mantissa * 10 + d;
+            if (dot) scale++;
+        }
+        if (!any) return Double.parseDouble(string(col));
+
+        double value = (double) mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * 현재 행 필드를 {@code Y/N} 플래그로 해석합니다. (대소문자 무시, Y 이외는 false)
+     */
+    public boolean parseFlag(int col) {
+        if (fieldLength(col) != 1) return false;
+        byte b = window.get(fieldStart[col]);
+        return b == 'Y' || b == 'y';
+    }
+
+    /**
+     * 현재 행 필드를 {@code yyyy-MM-dd HH:mm:ss} 형식의 일시로 해석하여 UTC 기준 epoch 초를 반환합니다.
+     *
+     * @throws NumberFormatException 형식이 다르거나 존재하지 않는 일시일 시
+     */
+    public long parseEpochSecond(int col) {
+        checkField(col);
+        int p = fieldStart[col];
+        if (fieldEnd[col] - p != 19
+                || window.get(p + 4) != '-' || window.get(p + 7) != '-' || window.get(p + 10) != ' '
+                || window.get(p + 13) != ':' || window.get(p + 16) != ':') {
+            throw new NumberFormatException("일시 형식 불일치: " + string(col));
+        }
+
+        int year = digits(p, 4);
+        int month = digits(p + 5, 2);
+        int day = digits(p + 8, 2);
+        int hour = digits(p + 11, 2);
+        int minute = digits(p + 14, 2);
+        int second = digits(p + 17, 2);
+
+        return EpochCalendar.toEpochSecond(year, month, day, hour, minute, second);
+    }
+
+    private int digits(int pos, int len) {
+        int v = 0;
+        for (int i = 0; i < len; i++) {
+            int d = window.get(pos + i) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("일시에 숫자가 아닌 문자 포함");
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private void checkField(int col) {
+        if (col < 0 || col >= fieldCount) throw new IllegalStateException("필드가 존재하지 않습니다: index=" + col);
+    }
+
+    /* ===== FinEvent 표준 컬럼 접근자 ===== */
+
+    /** @return card_id 문자열 (할당 발생) */
+    public String cardId() { return string(cardIdx); }
+
+    /** @return card_id 컬럼 인덱스 (없으면 -1) */
+    public int cardIdColumn() { return cardIdx; }
+
+    /** @return purchase_date의 UTC 기준 epoch 초 */
+    public long purchaseEpochSecond() { return parseEpochSecond(dateIdx); }
+
+    /** @return purchase_amount */
+    public double amount() { return parseDouble(amountIdx); }
+
+    /** @return installments */
+    public int installments() { return parseInt(instIdx); }
+
+    /** @return authorized_flag가 Y이면 true */
+    public boolean authorized() { return parseFlag(authIdx); }
+
+    /** @return merchant_category_id */
+    public int mctCatId() { return parseInt(mctIdx); }
+
+    /** @return city_id 문자열 (할당 발생) */
+    public String cityId() { return string(cityIdx); }
+
+    /** @return state_id 문자열 (할당 발생) */
+    public String stateId() { return string(stateIdx); }
+
+    /**
+     * 현재 행을 {@link FinEvent}로 생성합니다. {@link FinEventParser#parse}와 동일한 규격을 따릅니다.
+     *
+     * @param targetMap 카드 식별자(card_id)별 타겟 점수가 매핑된 캐시 맵
+     * @return 변환된 {@link FinEvent} 객체 (데이터 결함 시 null)
+     */
+    public FinEvent toFinEvent(Map<String, Double> targetMap) {
+        try {
+            String cardId = cardId();
+
+            FinEvent event = new FinEvent();
+            event.setCardId(cardId);
+            event.setEpochSecond(purchaseEpochSecond());
+            event.setAmount(amount());
+            event.setInstallments(installments());
+            event.setAuthorized(authorized());
+            event.setMctCatId(mctCatId());
+            event.setCityId(cityId());
+            event.setStateId(stateId());
+            event.setTarget(targetMap.getOrDefault(cardId, 0.0));
+            return event;
+        } catch (RuntimeException e) {
+            // FinEventParser와 동일하게 결함 레코드는 무시
+            return null;
+        }
+    }
+
+    /**
+     * 현재 행을 문자열 생성 없이 {@link FinEventBatch}에 추가합니다. 식별자는 배치의 사전 순번으로 인코딩됩니다.
+     *
+     * @return 추가 성공 여부 (데이터 결함 시 false, 배치는 변경되지 않음)
+     */
+    public boolean appendTo(FinEventBatch batch) {
+        try {
+            // 수치 필드를 먼저 해석하여 결함 레코드가 사전에 등록되지 않도록 함
+            long epoch = purchaseEpochSecond();
+            double amount = amount();
+            int inst = installments();
+            boolean auth = authorized();
+            int mctCatId = mctCatId();
+
+            batch.addEncoded(internField(cardIdx, batch.cardDictionary()), epoch, amount, inst, auth, mctCatId,
+                    internField(cityIdx, batch.cityDictionary()),
+                    internField(stateIdx, batch.stateDictionary()), false);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,42 @@
+package aicard.perli.common.data.parser;
+
+import aicard.perli.common.model.EpochCalendar;
+
+/**
+ * Elo 데이터셋 고정 형식({@code yyyy-MM-dd HH:mm:ss}) 일시 문자열을 UTC 기준 epoch 초로 직접 변환하는 디코더입니다.
+ * <p>{@code LocalDateTime.parse(text, formatter)}가 행마다 생성하는 파싱 컨텍스트와 중간 객체 없이
+ * 문자 위치 기반 정수 연산만 수행합니다. 해석 규칙(범위 검증, 말일 보정)은 {@code DateTimeFormatter}의 기본 동작과 동일합니다.</p>
+ */
+public final class TimestampDecoder {
+
+    /** 고정 형식 일시 문자열 길이 */
+    public static final int LENGTH = 19;
+
+    private TimestampDecoder() {
+    }
+
+    /**
+     * @param text {@code yyyy-MM-dd HH:mm:ss} 형식 문자열
+     * @return UTC 기준 epoch 초
+     * @throws NumberFormatException 형식이 다르거나 존재하지 않는 일시인 경우
+     */
+    public static long decode(CharSequence text) {
+        if (text.length() != LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw new NumberFormatException("일시 형식 불일치: " + text);
+        }
+        return EpochCalendar.toEpochSecond(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                digits(text, 11, 2), digits(text, 14, 2), digits(text, 17, 2));
+    }
+
+    private static int digits(CharSequence text, int pos, int len) {
+        int v = 0;
+        for (int i = 0; i < len; i++) {
+            int d = text.charAt(pos + i) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("일시에 숫자가 아닌 문자 포함: " + text);
+            v = v * 10 + d;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,41 @@
+package aicard.perli.common.data.store;
+
+/**
+ * 피처 파일 컬럼의 저장 타입입니다.
+ * <p>숫자 타입은 고정 폭 little-endian 블록으로 저장되며, 문자열은 오프셋 배열 + UTF-8 바이트 블록으로 저장됩니다.</p>
+ */
+public enum ColumnType {
+
+    /** 32비트 정수 */
+    INT32(1, 4),
+    /** 64비트 정수 */
+    INT64(2, 8),
+    /** 64비트 부동소수점 */
+    FLOAT64(3, 8),
+    /** 가변 길이 UTF-8 문자열 (식별자 등) */
+    STRING(4, -1);
+
+    /** 파일 헤더에 기록되는 타입 코드 */
+    private final int code;
+    /** 값 하나의 바이트 폭 (가변 길이는 -1) */
+    private final int width;
+
+    ColumnType(int code, int width) {
+        this.code = code;
+        this.width = width;
+    }
+
+    public int code() { return code; }
+
+    public int width() { return width; }
+
+    /** @return 고정 폭 숫자 타입 여부 */
+    public boolean isNumeric() { return width > 0; }
+
+    static ColumnType fromCode(int code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("알 수 없는 컬럼 타입 코드: " + code);
+    }
+}
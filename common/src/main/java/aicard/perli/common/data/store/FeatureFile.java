@@ -0,0 +1,51 @@
+package aicard.perli.common.data.store;
+
+/**
+ * 컬럼형 바이너리 피처 파일(.feat) 형식 정의입니다.
+ * <p>학습 데이터 적재 시 대부분의 비용을 차지하는 CSV 숫자 파싱을 없애기 위해, 단계 간 중간 산출물을
+ * 타입이 지정된 헤더와 고정 폭 little-endian 컬럼 블록으로 저장합니다. 리더는 파일을 메모리 매핑하여
+ * 파싱 없이 값을 바로 읽습니다.</p>
+ * <p>파일 구조 (little-endian):
+ * <pre>
+ * int    MAGIC ("PFT1")
+ * int    VERSION
+ * int    행 수 R
+ * int    컬럼 수 C
+ * C x    (byte 타입 코드 + unsigned short 길이 + UTF-8 컬럼명 + long 블록 오프셋 + long 블록 길이)
+ * C x    컬럼 블록 (8바이트 정렬)
+ *        - INT32/INT64/FLOAT64: R x 고정 폭 값
+ *        - STRING: (R + 1) x int 바이트 오프셋 + UTF-8 바이트
+ * </pre></p>
+ */
+public final class FeatureFile {
+
+    /** 피처 파일 확장자 */
+    public static final String EXTENSION = ".feat";
+
+    static final int MAGIC = 0x31544650;
+    static final int VERSION = 1;
+    static final int ALIGNMENT = 8;
+
+    private FeatureFile() {
+    }
+
+    /**
+     * @return 경로가 바이너리 피처 파일 확장자로 끝나면 true (그 외에는 CSV로 취급)
+     */
+    public static boolean isFeatureFile(String path) {
+        return path.endsWith(EXTENSION);
+    }
+
+    /**
+     * CSV 경로의 확장자를 피처 파일 확장자로 바꾼 경로를 반환합니다.
+     */
+    public static String siblingOf(String csvPath) {
+        int dot = csvPath.lastIndexOf('.');
+        int slash = Math.max(csvPath.lastIndexOf('/'), csvPath.lastIndexOf('\\'));
+        return (dot > slash ? csvPath.substring(0, dot) : csvPath) + EXTENSION;
+    }
+
+    static long align(long offset) {
+        return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
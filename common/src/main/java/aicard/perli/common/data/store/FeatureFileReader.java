@@ -0,0 +1,181 @@
+package aicard.perli.common.data.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link FeatureFile} 형식의 피처 파일을 메모리 매핑하여 읽는 리더입니다.
+ * <p>숫자 컬럼은 little-endian 뷰 버퍼로 바로 접근하므로 문자열 파싱이 전혀 발생하지 않으며,
+ * {@link #readDoubles(int)} 등으로 컬럼 전체를 원시 배열에 일괄 복사할 수 있습니다.
+ * 파일 하나는 최대 2GB까지 지원합니다.</p>
+ * <p>읽기 메서드는 내부 상태를 변경하지 않으므로 여러 스레드에서 동시에 호출해도 안전합니다.</p>
+ */
+public class FeatureFileReader implements Closeable {
+
+    private final FileChannel channel;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final int rows;
+
+    private final IntBuffer[] ints;
+    private final LongBuffer[] longs;
+    private final DoubleBuffer[] doubles;
+    /** STRING 컬럼의 (R + 1)개 바이트 오프셋 */
+    private final IntBuffer[] stringOffsets;
+    /** STRING 컬럼의 UTF-8 바이트 블록 */
+    private final ByteBuffer[] stringBytes;
+
+    public FeatureFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("2GB를 초과하는 피처 파일은 지원하지 않습니다: " + path);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (size < 16 || map.getInt(0) != FeatureFile.MAGIC) throw new IOException("피처 파일 형식이 아닙니다: " + path);
+            int version = map.getInt(4);
+            if (version != FeatureFile.VERSION) throw new IOException("지원하지 않는 피처 파일 버전: " + version);
+            this.rows = map.getInt(8);
+            int n = map.getInt(12);
+
+            this.names = new String[n];
+            this.types = new ColumnType[n];
+            this.ints = new IntBuffer[n];
+            this.longs = new LongBuffer[n];
+            this.doubles = new DoubleBuffer[n];
+            this.stringOffsets = new IntBuffer[n];
+            this.stringBytes = new ByteBuffer[n];
+
+            int pos = 16;
+            for (int c = 0; c < n; c++) {
+                types[c] = ColumnType.fromCode(map.get(pos));
+                int nameLen = Short.toUnsignedInt(map.getShort(pos + 1));
+                byte[] name = new byte[nameLen];
+                map.get(pos + 3, name);
+                names[c] = new String(name, StandardCharsets.UTF_8);
+                pos += 3 + nameLen;
+                long offset = map.getLong(pos);
+                long length = map.getLong(pos + 8);
+                pos += 16;
+
+                if (offset + length > size) throw new IOException("손상된 피처 파일입니다 (컬럼 블록 범위 초과): " + names[c]);
+                ByteBuffer block = map.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+                switch (types[c]) {
+                    case INT32 -> ints[c] = block.asIntBuffer();
+                    case INT64 -> longs[c] = block.asLongBuffer();
+                    case FLOAT64 -> doubles[c] = block.asDoubleBuffer();
+                    case STRING -> {
+                        int offsetsLength = 4 * (rows + 1);
+                        stringOffsets[c] = block.slice(0, offsetsLength).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                        stringBytes[c] = block.slice(offsetsLength, (int) length - offsetsLength);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return 행 수 */
+    public int rowCount() { return rows; }
+
+    /** @return 컬럼 수 */
+    public int columnCount() { return names.length; }
+
+    public String columnName(int col) { return names[col]; }
+
+    public ColumnType columnType(int col) { return types[col]; }
+
+    /** @return 컬럼명 배열 (복사본) */
+    public String[] columnNames() { return names.clone(); }
+
+    /**
+     * @return 컬럼 인덱스 (없으면 -1)
+     */
+    public int column(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) return c;
+        }
+        return -1;
+    }
+
+    /**
+     * @return 컬럼 인덱스 (없으면 예외)
+     */
+    public int requireColumn(String name) {
+        int col = column(name);
+        if (col < 0) throw new IllegalArgumentException("피처 파일에 컬럼이 없습니다: " + name);
+        return col;
+    }
+
+    public int getInt(int col, int row) { return ints[col].get(row); }
+
+    public long getLong(int col, int row) { return longs[col].get(row); }
+
+    public double getDouble(int col, int row) { return doubles[col].get(row); }
+
+    /**
+     * 숫자 컬럼 값을 타입과 무관하게 double로 반환합니다.
+     */
+    public double getNumber(int col, int row) {
+        return switch (types[col]) {
+            case INT32 -> ints[col].get(row);
+            case INT64 -> longs[col].get(row);
+            case FLOAT64 -> doubles[col].get(row);
+            case STRING -> throw new IllegalArgumentException("숫자 컬럼이 아닙니다: " + names[col]);
+        };
+    }
+
+    /**
+     * 문자열 컬럼 값을 반환합니다. (할당 발생)
+     */
+    public String getString(int col, int row) {
+        IntBuffer offsets = stringOffsets[col];
+        if (offsets == null) throw new IllegalArgumentException("문자열 컬럼이 아닙니다: " + names[col]);
+        int from = offsets.get(row);
+        int to = offsets.get(row + 1);
+        byte[] bytes = new byte[to - from];
+        stringBytes[col].get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 숫자 컬럼 전체를 double 배열로 복사합니다. FLOAT64 컬럼은 일괄 복사됩니다.
+     */
+    public double[] readDoubles(int col) {
+        double[] values = new double[rows];
+        if (types[col] == ColumnType.FLOAT64) {
+            doubles[col].get(0, values);
+        } else {
+            for (int r = 0; r < rows; r++) values[r] = getNumber(col, r);
+        }
+        return values;
+    }
+
+    /**
+     * INT32 컬럼 전체를 int 배열로 복사합니다.
+     */
+    public int[] readInts(int col) {
+        if (types[col] != ColumnType.INT32) throw new IllegalArgumentException("INT32 컬럼이 아닙니다: " + names[col]);
+        int[] values = new int[rows];
+        ints[col].get(0, values);
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,330 @@
+package aicard.perli.common.data.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 행 단위로 값을 받아 컬럼별 임시 세그먼트 파일에 바로 흘려 쓰고, {@link #commit()} 시점에 세그먼트를 이어 붙여
+ * {@link FeatureFile} 형식으로 기록하는 작성기입니다.
+ * <p>행마다 {@code set*}으로 컬럼 값을 채운 뒤 {@link #endRow()}로 확정합니다. 설정하지 않은 컬럼은 0 또는 빈 문자열로 기록됩니다.
+ * 확정된 행은 힙에 쌓지 않고 컬럼마다 작은 버퍼를 거쳐 세그먼트로 내보내므로 행 수와 무관하게 메모리 사용량이 일정합니다.
+ * (문자열 컬럼은 오프셋/바이트 세그먼트 2개)</p>
+ * <p>{@link #commit()}은 임시 파일에 기록한 뒤 원자적으로 교체하므로, 리더가 작성 중인 파일을 읽는 일은 없습니다.
+ * {@link #commit()} 없이 {@link #close()}되면(작성 도중 예외 등) 세그먼트만 삭제하고 기존 파일은 그대로 둡니다.</p>
+ * <pre>{@code
+ * try (FeatureFileWriter writer = new FeatureFileWriter(path, new String[]{"card_id", "total_amount"},
+ *         new ColumnType[]{ColumnType.STRING, ColumnType.FLOAT64})) {
+ *     writer.setString(0, cardId).setDouble(1, total).endRow();
+ *     writer.commit();
+ * }
+ * }</pre>
+ * <p>인스턴스는 스레드 안전하지 않습니다.</p>
+ */
+public class FeatureFileWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** 컬럼 세그먼트별 쓰기 버퍼 크기 */
+    private static final int SEGMENT_BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Path parent;
+    private final String[] names;
+    private final ColumnType[] types;
+
+    /** 컬럼별 값 세그먼트 (문자열 컬럼은 끝 오프셋 세그먼트) */
+    private final Segment[] values;
+    /** 문자열 컬럼별 UTF-8 바이트 세그먼트 (숫자 컬럼은 null) */
+    private final Segment[] bytes;
+
+    /** 현재 행 값 */
+    private final long[] longRow;
+    private final double[] doubleRow;
+    private final String[] stringRow;
+
+    private int rows;
+    private boolean closed;
+
+    /**
+     * @param path  저장할 피처 파일 경로 (상위 디렉터리가 없으면 생성)
+     * @param names 컬럼명
+     * @param types 컬럼 타입 (컬럼명과 같은 순서)
+     */
+    public FeatureFileWriter(Path path, String[] names, ColumnType[] types) throws IOException {
+        if (names.length != types.length) {
+            throw new IllegalArgumentException("컬럼명과 타입 수가 일치하지 않습니다: " + names.length + " != " + types.length);
+        }
+        this.path = path;
+        this.names = names.clone();
+        this.types = types.clone();
+
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        this.parent = dir;
+
+        int n = names.length;
+        this.values = new Segment[n];
+        this.bytes = new Segment[n];
+        this.longRow = new long[n];
+        this.doubleRow = new double[n];
+        this.stringRow = new String[n];
+        try {
+            String prefix = path.getFileName().toString() + ".";
+            for (int c = 0; c < n; c++) {
+                values[c] = new Segment(parent, prefix + c);
+                if (types[c] == ColumnType.STRING) {
+                    bytes[c] = new Segment(parent, prefix + c + "s");
+                    values[c].out.putInt(0);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            discardSegments(e);
+            throw e;
+        }
+    }
+
+    public FeatureFileWriter setInt(int col, int value) {
+        longRow[col] = value;
+        return this;
+    }
+
+    public FeatureFileWriter setLong(int col, long value) {
+        longRow[col] = value;
+        return this;
+    }
+
+    public FeatureFileWriter setDouble(int col, double value) {
+        doubleRow[col] = value;
+        return this;
+    }
+
+    public FeatureFileWriter setString(int col, String value) {
+        stringRow[col] = value;
+        return this;
+    }
+
+    /**
+     * 컬럼 타입에 맞게 숫자 값을 변환하여 설정합니다. (원본 타입이 double인 범용 변환기용)
+     */
+    public FeatureFileWriter setNumber(int col, double value) {
+        switch (types[col]) {
+            case INT32 -> longRow[col] = (int) value;
+            case INT64 -> longRow[col] = (long) value;
+            case FLOAT64 -> doubleRow[col] = value;
+            case STRING -> stringRow[col] = Double.toString(value);
+        }
+        return this;
+    }
+
+    /**
+     * 현재 행을 컬럼 세그먼트로 내보내고 다음 행으로 이동합니다.
+     */
+    public void endRow() throws IOException {
+        if (closed) throw new IllegalStateException("이미 닫힌 작성기입니다: " + path);
+        if (rows == Integer.MAX_VALUE) throw new IOException("행 수 초과: " + path);
+        for (int c = 0; c < types.length; c++) {
+            BlockWriter out = values[c].out;
+            switch (types[c]) {
+                case INT32 -> out.putInt((int) longRow[c]);
+                case INT64 -> out.putLong(longRow[c]);
+                case FLOAT64 -> out.putDouble(doubleRow[c]);
+                case STRING -> {
+                    String value = stringRow[c];
+                    if (value != null) bytes[c].out.putBytes(value.getBytes(StandardCharsets.UTF_8));
+                    if (bytes[c].out.position > Integer.MAX_VALUE) throw new IOException("문자열 컬럼 크기 초과: " + names[c]);
+                    out.putInt((int) bytes[c].out.position);
+                }
+            }
+        }
+        Arrays.fill(longRow, 0L);
+        Arrays.fill(doubleRow, 0.0);
+        Arrays.fill(stringRow, null);
+        rows++;
+    }
+
+    /** @return 확정된 행 수 */
+    public int rowCount() {
+        return rows;
+    }
+
+    /**
+     * 확정된 행을 파일로 기록하고 작성기를 닫습니다. 확정되지 않은 마지막 행은 버려집니다.
+     * <p>세그먼트를 헤더 뒤에 순서대로 이어 붙인 임시 파일을 대상 경로로 원자적으로 교체합니다.
+     * 기록에 실패하면 임시 파일을 지우고 예외를 던지며, 이후 {@link #close()}가 세그먼트를 정리합니다.</p>
+     */
+    public void commit() throws IOException {
+        if (closed) throw new IllegalStateException("이미 닫힌 작성기입니다: " + path);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        close();
+    }
+
+    /**
+     * 임시 세그먼트를 삭제합니다. {@link #commit()}되지 않았으면 대상 파일은 만들거나 바꾸지 않습니다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        IOException failure = discardSegments(null);
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * 열린 세그먼트를 모두 닫고 삭제합니다.
+     *
+     * @param cause 이미 발생한 예외 (있으면 정리 실패를 여기에 덧붙임)
+     * @return cause가 없을 때 처음 발생한 정리 실패 (없으면 null)
+     */
+    private IOException discardSegments(Exception cause) {
+        IOException failure = null;
+        for (Segment[] group : new Segment[][]{values, bytes}) {
+            for (Segment segment : group) {
+                if (segment == null) continue;
+                try {
+                    segment.discard();
+                } catch (IOException e) {
+                    if (cause != null) cause.addSuppressed(e);
+                    else if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    private void write(FileChannel channel) throws IOException {
+        int n = names.length;
+        byte[][] nameBytes = new byte[n][];
+        long[] blockLength = new long[n];
+
+        long headerLength = 16;
+        for (int c = 0; c < n; c++) {
+            nameBytes[c] = names[c].getBytes(StandardCharsets.UTF_8);
+            headerLength += 1 + 2 + nameBytes[c].length + 8 + 8;
+            blockLength[c] = values[c].out.position + (bytes[c] != null ? bytes[c].out.position : 0);
+        }
+
+        long[] blockOffset = new long[n];
+        long offset = FeatureFile.align(headerLength);
+        for (int c = 0; c < n; c++) {
+            blockOffset[c] = offset;
+            offset = FeatureFile.align(offset + blockLength[c]);
+        }
+
+        BlockWriter out = new BlockWriter(channel, BUFFER_SIZE);
+        out.putInt(FeatureFile.MAGIC);
+        out.putInt(FeatureFile.VERSION);
+        out.putInt(rows);
+        out.putInt(n);
+        for (int c = 0; c < n; c++) {
+            out.putByte((byte) types[c].code());
+            out.putShort((short) nameBytes[c].length);
+            out.putBytes(nameBytes[c]);
+            out.putLong(blockOffset[c]);
+            out.putLong(blockLength[c]);
+        }
+
+        for (int c = 0; c < n; c++) {
+            out.padTo(blockOffset[c]);
+            out.transfer(values[c]);
+            if (bytes[c] != null) out.transfer(bytes[c]);
+        }
+        out.flush();
+    }
+
+    /** 컬럼 하나의 임시 세그먼트 파일 */
+    private static final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final BlockWriter out;
+
+        Segment(Path dir, String prefix) throws IOException {
+            this.file = Files.createTempFile(dir, prefix, ".seg");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.out = new BlockWriter(channel, SEGMENT_BUFFER_SIZE);
+        }
+
+        void discard() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** 고정 크기 little-endian 버퍼를 채울 때마다 채널로 내보내는 블록 기록기 */
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        BlockWriter(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void putByte(byte v) throws IOException { ensure(1); buffer.put(v); position += 1; }
+
+        void putShort(short v) throws IOException { ensure(2); buffer.putShort(v); position += 2; }
+
+        void putInt(int v) throws IOException { ensure(4); buffer.putInt(v); position += 4; }
+
+        void putLong(long v) throws IOException { ensure(8); buffer.putLong(v); position += 8; }
+
+        void putDouble(double v) throws IOException { ensure(8); buffer.putDouble(v); position += 8; }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int off = 0;
+            while (off < bytes.length) {
+                ensure(1);
+                int len = Math.min(buffer.remaining(), bytes.length - off);
+                buffer.put(bytes, off, len);
+                off += len;
+                position += len;
+            }
+        }
+
+        void padTo(long target) throws IOException {
+            while (position < target) putByte((byte) 0);
+        }
+
+        /**
+         * 세그먼트에 남은 버퍼를 내보낸 뒤 세그먼트 전체를 이 채널의 현재 위치로 복사합니다.
+         */
+        void transfer(Segment segment) throws IOException {
+            flush();
+            segment.out.flush();
+            long size = segment.out.position;
+            long done = 0;
+            while (done < size) done += segment.channel.transferTo(done, size - done, channel);
+            position += size;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.data.parser.FinEventTokenizer;
+import aicard.perli.common.model.FinEventBatch;
+import aicard.perli.common.model.StringDictionary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Elo 거래 내역 CSV를 {@link FinEventTokenizer}로 읽어 지정한 크기의 {@link FinEventBatch}로 공급하는 원천입니다.
+ * <p>배치마다 새 식별자 사전을 사용하므로, 배치가 다른 스레드로 넘어간 뒤에도 원천 스레드와 상태를 공유하지 않습니다.
+ * 결함 레코드는 {@link aicard.perli.common.data.parser.FinEventParser}와 동일하게 건너뜁니다.</p>
+ */
+public class CsvEventSource implements EventSource {
+
+    /** 기본 배치 크기 (약 250KB 수준의 컬럼 배열) */
+    public static final int DEFAULT_BATCH_SIZE = 8192;
+
+    private final FinEventTokenizer tokenizer;
+    private final int batchSize;
+    private boolean exhausted;
+
+    public CsvEventSource(Path path) throws IOException {
+        this(path, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param path      거래 내역 CSV 경로
+     * @param batchSize 배치당 최대 이벤트 수
+     */
+    public CsvEventSource(Path path, int batchSize) throws IOException {
+        this(new FinEventTokenizer(path), batchSize);
+    }
+
+    /**
+     * 파일의 [start, end) 바이트 구간만 읽는 원천을 생성합니다. (구간 경계는 개행 직후여야 함)
+     */
+    public CsvEventSource(Path path, long start, long end, int batchSize) throws IOException {
+        this(new FinEventTokenizer(path, start, end), batchSize);
+    }
+
+    private CsvEventSource(FinEventTokenizer tokenizer, int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("배치 크기는 1 이상이어야 합니다: " + batchSize);
+        this.tokenizer = tokenizer;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public FinEventBatch nextBatch() throws IOException {
+        if (exhausted) return null;
+
+        FinEventBatch batch = new FinEventBatch(batchSize, new StringDictionary(), new StringDictionary(), new StringDictionary());
+        while (batch.size() < batchSize) {
+            if (!tokenizer.next()) {
+                exhausted = true;
+                break;
+            }
+            tokenizer.appendTo(batch);
+        }
+        return batch.size() == 0 ? null : batch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
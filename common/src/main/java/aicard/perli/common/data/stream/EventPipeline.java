@@ -0,0 +1,172 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.model.FinEventBatch;
+import aicard.perli.common.model.StringDictionary;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 원천(읽기/파싱) → 처리 단계(정제/보강) → 싱크(집계)를 각각 별도 스레드로 동시에 실행하는 이벤트 파이프라인입니다.
+ * <p>단계 사이는 용량이 제한된 {@link ArrayBlockingQueue}로 연결되어, 하위 단계가 느리면 상위 단계가 대기하는
+ * 배압(backpressure)이 걸립니다. 따라서 메모리 사용량은 (단계 수 + 1) × 큐 용량 × 배치 크기로 상한이 정해지며,
+ * 전체 처리 시간은 가장 느린 단일 단계의 합이 아니라 가장 느린 단계 하나에 수렴합니다.</p>
+ * <p>배치는 원천 순서대로 싱크에 전달됩니다. 어느 단계에서든 예외가 발생하면 나머지 스레드를 중단시키고
+ * {@link #run(EventSink)}에서 최초 예외를 원인으로 하는 {@link RuntimeException}을 던집니다.</p>
+ * <pre>{@code
+ * try (EventSource source = new CsvEventSource(path, 8192)) {
+ *     new EventPipeline(source).stage(enricher).run(batch -> aggregate(batch));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class EventPipeline {
+
+    /** 단계 간 큐의 기본 용량 (배치 수) */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    /** 싱크 스레드가 상위 단계 실패 여부를 확인하는 주기 */
+    private static final long POLL_MILLIS = 100;
+
+    /** 스트림 종료 표식 (식별 비교 전용) */
+    private static final FinEventBatch END =
+            new FinEventBatch(0, new StringDictionary(), new StringDictionary(), new StringDictionary());
+
+    private final EventSource source;
+    private final int queueCapacity;
+    private final List<EventStage> stages = new ArrayList<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    public EventPipeline(EventSource source) {
+        this(source, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param source        이벤트 원천 (파이프라인 종료 시 닫히지 않으므로 호출자가 관리)
+     * @param queueCapacity 단계 간 큐에 대기할 수 있는 최대 배치 수
+     */
+    public EventPipeline(EventSource source, int queueCapacity) {
+        if (queueCapacity <= 0) throw new IllegalArgumentException("큐 용량은 1 이상이어야 합니다: " + queueCapacity);
+        this.source = source;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 처리 단계를 추가합니다. 추가한 순서대로 각각 별도 스레드에서 실행됩니다.
+     */
+    public EventPipeline stage(EventStage stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    /**
+     * 파이프라인을 실행하고 모든 배치가 싱크에 전달될 때까지 대기합니다. 싱크는 호출 스레드에서 실행됩니다.
+     * 한 인스턴스는 한 번만 실행할 수 있습니다.
+     *
+     * @param sink 최종 소비자
+     * @return 싱크에 전달된 이벤트 수
+     */
+    public long run(EventSink sink) {
+        if (!workers.isEmpty()) throw new IllegalStateException("이미 실행된 파이프라인입니다.");
+
+        List<BlockingQueue<FinEventBatch>> queues = new ArrayList<>(stages.size() + 1);
+        for (int i = 0; i <= stages.size(); i++) queues.add(new ArrayBlockingQueue<>(queueCapacity));
+
+        workers.add(newWorker("perli-pipeline-source", () -> produce(queues.get(0))));
+        for (int i = 0; i < stages.size(); i++) {
+            EventStage stage = stages.get(i);
+            BlockingQueue<FinEventBatch> in = queues.get(i);
+            BlockingQueue<FinEventBatch> out = queues.get(i + 1);
+            workers.add(newWorker("perli-pipeline-stage-" + (i + 1), () -> transform(stage, in, out)));
+        }
+        workers.forEach(Thread::start);
+
+        long events = 0;
+        try {
+            BlockingQueue<FinEventBatch> last = queues.get(stages.size());
+            while (failure.get() == null) {
+                FinEventBatch batch = last.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch == null) continue;
+                if (batch == END) {
+                    sink.complete();
+                    break;
+                }
+                sink.accept(batch);
+                events += batch.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (Throwable t) {
+            fail(t);
+        } finally {
+            joinWorkers();
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) throw new RuntimeException("이벤트 파이프라인 처리 중 오류 발생", cause);
+        log.debug("이벤트 파이프라인 완료: {}건", events);
+        return events;
+    }
+
+    private void produce(BlockingQueue<FinEventBatch> out) {
+        try {
+            FinEventBatch batch;
+            while ((batch = source.nextBatch()) != null) {
+                if (batch.size() > 0) out.put(batch);
+            }
+            out.put(END);
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void transform(EventStage stage, BlockingQueue<FinEventBatch> in, BlockingQueue<FinEventBatch> out) {
+        try {
+            while (true) {
+                FinEventBatch batch = in.take();
+                if (batch == END) break;
+                FinEventBatch result = stage.process(batch);
+                if (result != null && result.size() > 0) out.put(result);
+            }
+            out.put(END);
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    /** 최초 예외만 기록하고, 대기 중인 모든 작업 스레드를 깨워 종료시킵니다. */
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            for (Thread worker : workers) worker.interrupt();
+        }
+    }
+
+    private void joinWorkers() {
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    fail(e);
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static Thread newWorker(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
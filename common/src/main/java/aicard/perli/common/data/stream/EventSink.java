@@ -0,0 +1,24 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.model.FinEventBatch;
+
+/**
+ * 파이프라인의 최종 소비자(집계, 저장 등)입니다.
+ * <p>{@link EventPipeline#run(EventSink)}을 호출한 스레드에서 실행되므로, 싱크가 보관하는 집계 상태는
+ * 별도 동기화 없이 호출자가 그대로 사용할 수 있습니다.</p>
+ */
+@FunctionalInterface
+public interface EventSink {
+
+    /**
+     * @param batch 처리할 이벤트 배치 (원천 순서 유지)
+     * @throws Exception 처리 실패 시 파이프라인 전체가 중단됨
+     */
+    void accept(FinEventBatch batch) throws Exception;
+
+    /**
+     * 모든 배치가 정상적으로 전달된 뒤 한 번 호출됩니다. (실패 시 호출되지 않음)
+     */
+    default void complete() throws Exception {
+    }
+}
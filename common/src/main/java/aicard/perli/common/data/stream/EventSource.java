@@ -0,0 +1,26 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.model.FinEventBatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 금융 이벤트를 배치 단위로 공급하는 스트림 원천 인터페이스입니다.
+ * <p>{@link EventPipeline}은 전용 스레드 하나에서만 {@link #nextBatch()}를 호출하므로 구현체는 스레드 안전할 필요가 없습니다.
+ * 반환된 배치는 하위 단계로 소유권이 넘어가므로, 구현체는 같은 배치 인스턴스를 재사용해서는 안 됩니다.</p>
+ * <p>적용 범위는 거래 단위 {@code FinEvent} 스트림({@code CsvDataLoader})입니다. 카드 단위 피처 행을 읽는
+ * {@code TribuoDataConverterV2}/{@code LstmDataLoaderV2}는 {@code .feat} 경로({@code FeatureFileReader})를 사용하고,
+ * 가맹점 프리미엄 조인이 필요한 {@code UpliftDataPipelineV2}는 {@code FinEventBatch}에 없는 merchant_id 컬럼이 필요해
+ * 자체 청크 병렬 집계를 유지합니다.</p>
+ */
+public interface EventSource extends Closeable {
+
+    /**
+     * 다음 이벤트 배치를 읽어옵니다.
+     *
+     * @return 이벤트 배치 (더 이상 읽을 이벤트가 없으면 null)
+     * @throws IOException 원천 데이터 읽기 실패 시 발생
+     */
+    FinEventBatch nextBatch() throws IOException;
+}
@@ -0,0 +1,18 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.model.FinEventBatch;
+
+/**
+ * 파이프라인 중간에서 이벤트 배치를 정제/보강(enrichment)하는 처리 단계입니다.
+ * <p>각 단계는 {@link EventPipeline}에서 별도 스레드로 실행되며, 배치는 도착 순서대로 하나씩 전달됩니다.</p>
+ */
+@FunctionalInterface
+public interface EventStage {
+
+    /**
+     * @param batch 상위 단계에서 전달된 배치
+     * @return 하위 단계로 전달할 배치 (null이면 해당 배치를 폐기)
+     * @throws Exception 처리 실패 시 파이프라인 전체가 중단됨
+     */
+    FinEventBatch process(FinEventBatch batch) throws Exception;
+}
@@ -0,0 +1,90 @@
+package aicard.perli.common.model;
+
+/**
+ * UTC 기준 epoch 초와 달력 필드 사이의 변환을 객체 생성 없이 정수 연산만으로 수행하는 유틸리티 클래스입니다.
+ * <p>{@link java.time.LocalDateTime} 등을 거치지 않으므로 이벤트 단위로 호출해도 할당이 발생하지 않으며,
+ * 결과는 proleptic 그레고리력 기준 {@code java.time} 계산과 동일합니다.</p>
+ */
+public final class EpochCalendar {
+
+    /** 하루의 초 */
+    public static final int SECONDS_PER_DAY = 86400;
+
+    /** 시간대 구간 폭 (시간) */
+    public static final int HOURS_PER_BUCKET = 6;
+
+    /** 시간대 구간 수 (0: 새벽 0~5시, 1: 오전 6~11시, 2: 오후 12~17시, 3: 저녁 18~23시) */
+    public static final int HOUR_BUCKETS = 24 / HOURS_PER_BUCKET;
+
+    private EpochCalendar() {
+    }
+
+    /**
+     * 달력 필드를 epoch 초로 변환합니다. 말일을 넘는 일자는 {@code DateTimeFormatter}의 기본(SMART) 해석과 동일하게 해당 월 말일로 보정합니다.
+     *
+     * @throws NumberFormatException 범위를 벗어난 필드가 있는 경우
+     */
+    public static long toEpochSecond(int year, int month, int day, int hour, int minute, int second) {
+        if (month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            throw new NumberFormatException("존재하지 않는 일시: " + year + "-" + month + "-" + day + " " + hour + ":" + minute + ":" + second);
+        }
+        day = Math.min(day, lengthOfMonth(year, month));
+        return daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    /**
+     * @return 1970년 1월을 0으로 하는 월 순번 (월별 집계/시퀀스의 인덱스로 사용)
+     */
+    public static int monthIndex(long epochSecond) {
+        // civil_from_days (Howard Hinnant) 에서 연/월만 계산
+        long z = Math.floorDiv(epochSecond, SECONDS_PER_DAY) + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) ((year - 1970) * 12 + month - 1);
+    }
+
+    /**
+     * @return 요일 (ISO-8601, 1: 월요일 ... 7: 일요일)
+     */
+    public static int dayOfWeek(long epochSecond) {
+        // 1970-01-01은 목요일(4)
+        return Math.floorMod(Math.floorDiv(epochSecond, SECONDS_PER_DAY) + 3, 7) + 1;
+    }
+
+    /** @return 주말(토/일) 여부 */
+    public static boolean isWeekend(long epochSecond) {
+        return dayOfWeek(epochSecond) >= 6;
+    }
+
+    /** @return 시 (0~23) */
+    public static int hourOfDay(long epochSecond) {
+        return Math.floorMod(epochSecond, SECONDS_PER_DAY) / 3600;
+    }
+
+    /** @return 시간대 구간 (0 ~ {@link #HOUR_BUCKETS} - 1) */
+    public static int hourBucket(long epochSecond) {
+        return hourOfDay(epochSecond) / HOURS_PER_BUCKET;
+    }
+
+    /** @return 해당 월의 일수 */
+    public static int lengthOfMonth(int year, int month) {
+        if (month == 2) return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /** 그레고리력 날짜를 1970-01-01 기준 일수로 변환합니다. (proleptic Gregorian) */
+    public static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468L;
+    }
+}
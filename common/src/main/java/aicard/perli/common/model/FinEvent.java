@@ -1,10 +1,12 @@
 package aicard.perli.common.model;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * AI 학습 및 분석을 위한 전 모듈 공용 통합 금융 이벤트 객체.
@@ -15,7 +17,6 @@ import java.time.LocalDateTime;
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class FinEvent {
 
     /**
@@ -33,9 +34,37 @@ public class FinEvent {
     /**
      * 거래 발생 일시.
      * 시계열 분석(LSTM 등) 및 시간 기반 피처(주중/주말, 시간대) 추출에 사용.
+     * epoch 초로만 설정된 경우 null이며, 조회 시 epoch 초로부터 생성됨.
      */
     private LocalDateTime txDate;
 
+    /**
+     * 거래 발생 일시 (UTC 기준 epoch 초).
+     * 일시가 설정되면 아래 달력 피처가 정수 연산으로 함께 산출됨. (일시가 없으면 0)
+     */
+    private long epochSecond;
+
+    /**
+     * 월 순번 (1970년 1월 = 0).
+     * 월별 집계 및 시퀀스 구성의 인덱스로 활용.
+     */
+    @Setter(AccessLevel.NONE)
+    private int monthIndex;
+
+    /**
+     * 요일 (1: 월요일 ... 7: 일요일, 일시가 없으면 0).
+     * 주중/주말 소비 패턴 피처로 활용.
+     */
+    @Setter(AccessLevel.NONE)
+    private int dayOfWeek;
+
+    /**
+     * 시간대 구간 (0: 새벽, 1: 오전, 2: 오후, 3: 저녁).
+     * 6시간 단위로 나눈 거래 시간대 피처.
+     */
+    @Setter(AccessLevel.NONE)
+    private int hourBucket;
+
     /**
      * 거래 금액.
      * 분석 모델의 핵심 수치 피처 (정규화 또는 스케일링 대상).
@@ -92,4 +121,68 @@ public class FinEvent {
      */
     private boolean isPerf;
 
+    /**
+     * 원본 필드로 이벤트를 생성합니다. epoch 초와 달력 피처(월 순번, 요일, 시간대)는 거래 일시로부터 산출됩니다.
+     *
+     * @param txDate 거래 발생 일시 (null이면 epoch 초와 달력 피처는 0)
+     */
+    public FinEvent(String cardId, String userId, LocalDateTime txDate, double amount, int installments,
+                    boolean authorized, int mctCatId, String cityId, String stateId, double target,
+                    double limitBal, boolean isPerf) {
+        this.cardId = cardId;
+        this.userId = userId;
+        setTxDate(txDate);
+        this.amount = amount;
+        this.installments = installments;
+        this.authorized = authorized;
+        this.mctCatId = mctCatId;
+        this.cityId = cityId;
+        this.stateId = stateId;
+        this.target = target;
+        this.limitBal = limitBal;
+        this.isPerf = isPerf;
+    }
+
+    /**
+     * 거래 일시를 설정하고 epoch 초 및 달력 피처를 동기화합니다.
+     */
+    public void setTxDate(LocalDateTime txDate) {
+        if (txDate == null) {
+            this.txDate = null;
+            this.epochSecond = 0L;
+            this.monthIndex = 0;
+            this.dayOfWeek = 0;
+            this.hourBucket = 0;
+            return;
+        }
+        setEpochSecond(txDate.toEpochSecond(ZoneOffset.UTC));
+        this.txDate = txDate;
+    }
+
+    /**
+     * 거래 일시를 epoch 초로 설정하고 달력 피처를 산출합니다. {@link LocalDateTime}은 생성하지 않습니다.
+     */
+    public void setEpochSecond(long epochSecond) {
+        this.txDate = null;
+        this.epochSecond = epochSecond;
+        this.monthIndex = EpochCalendar.monthIndex(epochSecond);
+        this.dayOfWeek = EpochCalendar.dayOfWeek(epochSecond);
+        this.hourBucket = EpochCalendar.hourBucket(epochSecond);
+    }
+
+    /**
+     * epoch 초로만 설정된 경우 호출마다 새 {@link LocalDateTime}을 생성하며 필드는 바꾸지 않습니다.
+     *
+     * @return 거래 발생 일시 (설정되지 않았으면 null)
+     */
+    public LocalDateTime getTxDate() {
+        if (txDate != null || dayOfWeek == 0) return txDate;
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /** @return 주말(토/일) 거래 여부 */
+    public boolean isWeekend() {
+        return dayOfWeek >= 6;
+    }
+
 }
\ No newline at end of file
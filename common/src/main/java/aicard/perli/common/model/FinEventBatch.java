@@ -0,0 +1,291 @@
+package aicard.perli.common.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@link FinEvent} 다건을 컬럼 단위 원시 배열(struct-of-arrays)로 보관하는 배치 컨테이너입니다.
+ * <p>거래 일시는 UTC 기준 epoch 초({@code long[]}), 금액/할부/업종은 원시 배열, 승인 여부와 실적 포함 여부는
+ * {@link BitSet}으로 저장하며, 카드/도시/주 식별자는 {@link StringDictionary}로 사전 인코딩된 순번만 보관합니다.
+ * 이벤트당 약 30바이트 수준으로, 객체 리스트 대비 수 배 이상 메모리를 절감합니다.</p>
+ * <p>{@link #slice(int, int)}는 배열을 복사하지 않는 읽기 전용 뷰를 반환하며,
+ * {@link #cursor()}는 객체 생성 없이 행을 순회하는 플라이웨이트 커서를 제공합니다.
+ * 타겟, 한도 등 카드 단위 속성은 이벤트마다 중복 저장하지 않으므로 보관 대상에서 제외됩니다.</p>
+ */
+public class FinEventBatch {
+
+    /** 거래 일시가 없는 행의 epoch 초 (epoch 0인 실제 일시와 구분) */
+    public static final long NO_EPOCH_SECOND = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final StringDictionary cardDictionary;
+    private final StringDictionary cityDictionary;
+    private final StringDictionary stateDictionary;
+
+    private long[] epochSeconds;
+    private double[] amounts;
+    private int[] installments;
+    private int[] mctCatIds;
+    private int[] cardOrdinals;
+    private int[] cityOrdinals;
+    private int[] stateOrdinals;
+    private final BitSet authorized;
+    private final BitSet perf;
+
+    /** 원본 배열 내 시작 위치 (슬라이스 뷰에서만 0이 아님) */
+    private final int offset;
+    private int size;
+    private final boolean readOnly;
+
+    /** 새 사전을 사용하는 빈 배치를 생성합니다. */
+    public FinEventBatch() {
+        this(DEFAULT_CAPACITY, new StringDictionary(), new StringDictionary(), new StringDictionary());
+    }
+
+    /**
+     * 여러 배치가 동일한 순번 체계를 공유하도록 외부 사전을 주입하여 빈 배치를 생성합니다.
+     *
+     * @param capacity        초기 용량
+     * @param cardDictionary  카드 식별자 사전
+     * @param cityDictionary  도시 식별자 사전
+     * @param stateDictionary 주 식별자 사전
+     */
+    public FinEventBatch(int capacity, StringDictionary cardDictionary,
+                         StringDictionary cityDictionary, StringDictionary stateDictionary) {
+        int cap = Math.max(16, capacity);
+        this.cardDictionary = cardDictionary;
+        this.cityDictionary = cityDictionary;
+        this.stateDictionary = stateDictionary;
+        this.epochSeconds = new long[cap];
+        this.amounts = new double[cap];
+        this.installments = new int[cap];
+        this.mctCatIds = new int[cap];
+        this.cardOrdinals = new int[cap];
+        this.cityOrdinals = new int[cap];
+        this.stateOrdinals = new int[cap];
+        this.authorized = new BitSet(cap);
+        this.perf = new BitSet(cap);
+        this.offset = 0;
+        this.size = 0;
+        this.readOnly = false;
+    }
+
+    /** 슬라이스 뷰 생성자 */
+    private FinEventBatch(FinEventBatch parent, int from, int to) {
+        this.cardDictionary = parent.cardDictionary;
+        this.cityDictionary = parent.cityDictionary;
+        this.stateDictionary = parent.stateDictionary;
+        this.epochSeconds = parent.epochSeconds;
+        this.amounts = parent.amounts;
+        this.installments = parent.installments;
+        this.mctCatIds = parent.mctCatIds;
+        this.cardOrdinals = parent.cardOrdinals;
+        this.cityOrdinals = parent.cityOrdinals;
+        this.stateOrdinals = parent.stateOrdinals;
+        this.authorized = parent.authorized;
+        this.perf = parent.perf;
+        this.offset = parent.offset + from;
+        this.size = to - from;
+        this.readOnly = true;
+    }
+
+    /**
+     * {@link FinEvent} 리스트를 배치로 변환합니다.
+     */
+    public static FinEventBatch of(List<FinEvent> events) {
+        FinEventBatch batch = new FinEventBatch(events.size(), new StringDictionary(), new StringDictionary(), new StringDictionary());
+        for (FinEvent event : events) batch.add(event);
+        return batch;
+    }
+
+    /**
+     * {@link FinEvent} 한 건을 추가합니다. 거래 일시가 없으면 {@link #NO_EPOCH_SECOND}로 기록됩니다.
+     */
+    public void add(FinEvent event) {
+        // 일시가 없는 이벤트는 요일이 0 (일시가 있으면 1~7)
+        long epochSecond = event.getDayOfWeek() == 0 ? NO_EPOCH_SECOND : event.getEpochSecond();
+        add(event.getCardId(), epochSecond, event.getAmount(), event.getInstallments(), event.isAuthorized(),
+                event.getMctCatId(), event.getCityId(), event.getStateId(), event.isPerf());
+    }
+
+    /**
+     * 원시 값으로 이벤트 한 건을 추가합니다. 식별자 문자열은 사전 순번으로 인코딩됩니다.
+     */
+    public void add(String cardId, long epochSecond, double amount, int installment, boolean auth,
+                    int mctCatId, String cityId, String stateId, boolean isPerf) {
+        addEncoded(cardDictionary.intern(cardId), epochSecond, amount, installment, auth, mctCatId,
+                cityId == null ? -1 : cityDictionary.intern(cityId),
+                stateId == null ? -1 : stateDictionary.intern(stateId), isPerf);
+    }
+
+    /**
+     * 이미 사전 인코딩된 순번으로 이벤트 한 건을 추가합니다. (문자열 조회 없음)
+     * 식별자가 없는 경우 순번 -1을 사용합니다.
+     */
+    public void addEncoded(int cardOrdinal, long epochSecond, double amount, int installment, boolean auth,
+                           int mctCatId, int cityOrdinal, int stateOrdinal, boolean isPerf) {
+        if (readOnly) throw new UnsupportedOperationException("슬라이스 뷰에는 이벤트를 추가할 수 없습니다.");
+        if (size == epochSeconds.length) grow();
+
+        int i = size++;
+        epochSeconds[i] = epochSecond;
+        amounts[i] = amount;
+        installments[i] = installment;
+        mctCatIds[i] = mctCatId;
+        cardOrdinals[i] = cardOrdinal;
+        cityOrdinals[i] = cityOrdinal;
+        stateOrdinals[i] = stateOrdinal;
+        authorized.set(i, auth);
+        perf.set(i, isPerf);
+    }
+
+    private void grow() {
+        int cap = epochSeconds.length * 2;
+        epochSeconds = Arrays.copyOf(epochSeconds, cap);
+        amounts = Arrays.copyOf(amounts, cap);
+        installments = Arrays.copyOf(installments, cap);
+        mctCatIds = Arrays.copyOf(mctCatIds, cap);
+        cardOrdinals = Arrays.copyOf(cardOrdinals, cap);
+        cityOrdinals = Arrays.copyOf(cityOrdinals, cap);
+        stateOrdinals = Arrays.copyOf(stateOrdinals, cap);
+    }
+
+    /**
+     * 배열 복사 없이 [from, to) 구간을 공유하는 읽기 전용 뷰를 반환합니다.
+     */
+    public FinEventBatch slice(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("슬라이스 범위 오류: [" + from + ", " + to + "), size=" + size);
+        }
+        return new FinEventBatch(this, from, to);
+    }
+
+    /** @return 행 순회용 플라이웨이트 커서 */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * 모든 행을 {@link FinEvent} 리스트로 변환합니다. (기존 List 기반 API와의 호환용)
+     */
+    public List<FinEvent> toEvents() {
+        List<FinEvent> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) events.add(toEvent(i));
+        return events;
+    }
+
+    /** i번째 행을 {@link FinEvent} 객체로 생성합니다. */
+    public FinEvent toEvent(int i) {
+        FinEvent event = new FinEvent();
+        event.setCardId(cardId(i));
+        if (hasDate(i)) event.setEpochSecond(epochSecond(i));
+        event.setAmount(amount(i));
+        event.setInstallments(installments(i));
+        event.setAuthorized(authorized(i));
+        event.setMctCatId(mctCatId(i));
+        event.setCityId(cityId(i));
+        event.setStateId(stateId(i));
+        event.setPerf(perf(i));
+        return event;
+    }
+
+    /** @return 행 수 */
+    public int size() { return size; }
+
+    /** @return 거래 일시의 epoch 초 (일시가 없으면 {@link #NO_EPOCH_SECOND}) */
+    public long epochSecond(int i) { return epochSeconds[index(i)]; }
+
+    /** @return 거래 일시 보유 여부 */
+    public boolean hasDate(int i) { return epochSecond(i) != NO_EPOCH_SECOND; }
+
+    public double amount(int i) { return amounts[index(i)]; }
+
+    public int installments(int i) { return installments[index(i)]; }
+
+    public boolean authorized(int i) { return authorized.get(index(i)); }
+
+    public boolean perf(int i) { return perf.get(index(i)); }
+
+    public int mctCatId(int i) { return mctCatIds[index(i)]; }
+
+    public int cardOrdinal(int i) { return cardOrdinals[index(i)]; }
+
+    public int cityOrdinal(int i) { return cityOrdinals[index(i)]; }
+
+    public int stateOrdinal(int i) { return stateOrdinals[index(i)]; }
+
+    public String cardId(int i) { return cardDictionary.get(cardOrdinal(i)); }
+
+    public String cityId(int i) {
+        int ord = cityOrdinal(i);
+        return ord < 0 ? null : cityDictionary.get(ord);
+    }
+
+    public String stateId(int i) {
+        int ord = stateOrdinal(i);
+        return ord < 0 ? null : stateDictionary.get(ord);
+    }
+
+    public StringDictionary cardDictionary() { return cardDictionary; }
+
+    public StringDictionary cityDictionary() { return cityDictionary; }
+
+    public StringDictionary stateDictionary() { return stateDictionary; }
+
+    private int index(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("행 범위 초과: " + i + ", size=" + size);
+        return offset + i;
+    }
+
+    /**
+     * 객체 생성 없이 배치의 행을 순서대로 순회하는 커서입니다.
+     * <pre>{@code
+     * FinEventBatch.Cursor c = batch.cursor();
+     * while (c.next()) total += c.amount();
+     * }</pre>
+     */
+    public class Cursor {
+        private int row = -1;
+
+        /** @return 다음 행이 있으면 true */
+        public boolean next() { return ++row < size; }
+
+        /** 처음 위치로 되돌립니다. */
+        public void reset() { row = -1; }
+
+        public int index() { return row; }
+
+        public long epochSecond() { return epochSeconds[offset + row]; }
+
+        /** @return 거래 일시 보유 여부 (없으면 달력 피처는 의미 없음) */
+        public boolean hasDate() { return epochSecond() != NO_EPOCH_SECOND; }
+
+        /** @return 1970년 1월 기준 월 순번 */
+        public int monthIndex() { return EpochCalendar.monthIndex(epochSecond()); }
+
+        /** @return 요일 (1: 월요일 ... 7: 일요일) */
+        public int dayOfWeek() { return EpochCalendar.dayOfWeek(epochSecond()); }
+
+        /** @return 시간대 구간 (0~3) */
+        public int hourBucket() { return EpochCalendar.hourBucket(epochSecond()); }
+
+        public double amount() { return amounts[offset + row]; }
+
+        public int installments() { return installments[offset + row]; }
+
+        public boolean authorized() { return authorized.get(offset + row); }
+
+        public boolean perf() { return perf.get(offset + row); }
+
+        public int mctCatId() { return mctCatIds[offset + row]; }
+
+        public int cardOrdinal() { return cardOrdinals[offset + row]; }
+
+        public int cityOrdinal() { return cityOrdinals[offset + row]; }
+
+        public int stateOrdinal() { return stateOrdinals[offset + row]; }
+    }
+}
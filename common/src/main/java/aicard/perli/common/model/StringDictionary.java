@@ -0,0 +1,135 @@
+package aicard.perli.common.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 문자열 식별자(card_id, city_id 등)를 0부터 시작하는 조밀한 정수 순번(ordinal)으로 인코딩하는 사전 클래스입니다.
+ * <p>개방 주소법(open addressing) 해시 테이블을 사용하여 키마다 별도 엔트리 객체나 박싱된 Integer를 만들지 않으며,
+ * 순번은 최초 등록 순서대로 부여됩니다. 인스턴스는 스레드 안전하지 않습니다.</p>
+ */
+public class StringDictionary {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** 순번 -> 문자열 */
+    private String[] values;
+    /** 해시 슬롯 -> 순번 (+1, 0은 빈 슬롯) */
+    private int[] slots;
+    private int size;
+
+    public StringDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 예상 고유 키 수 (재해싱 횟수를 줄이기 위한 초기 용량)
+     */
+    public StringDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.values = new String[Math.max(16, expectedSize)];
+        this.slots = new int[capacity];
+    }
+
+    /**
+     * 문자열의 순번을 반환하며, 처음 보는 문자열이면 새 순번을 부여합니다.
+     *
+     * @param value 인코딩할 문자열 (null 불가)
+     * @return 0 이상의 순번
+     */
+    public int intern(String value) {
+        int mask = slots.length - 1;
+        int slot = mix(value.hashCode()) & mask;
+        while (true) {
+            int ord = slots[slot] - 1;
+            if (ord < 0) break;
+            if (values[ord].equals(value)) return ord;
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size] = value;
+        slots[slot] = size + 1;
+        int ord = size++;
+        if (size * 2 > slots.length) rehash();
+        return ord;
+    }
+
+    /**
+     * 바이트 구간으로 표현된 식별자의 순번을 반환합니다. 이미 등록된 키라면 문자열을 생성하지 않습니다.
+     * <p>ASCII 바이트의 해시는 동일 내용 {@link String#hashCode()}와 같으므로 {@link #intern(String)}과
+     * 같은 순번 체계를 공유합니다. ASCII가 아닌 바이트가 포함되면 UTF-8 문자열로 변환하여 처리합니다.</p>
+     *
+     * @return 0 이상의 순번
+     */
+    public int intern(byte[] bytes, int offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[offset + i];
+            if (b < 0) return intern(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            h = 31 * h + b;
+        }
+
+        int mask = slots.length - 1;
+        int slot = mix(h) & mask;
+        while (true) {
+            int ord = slots[slot] - 1;
+            if (ord < 0) break;
+            if (matches(values[ord], bytes, offset, length)) return ord;
+            slot = (slot + 1) & mask;
+        }
+        return intern(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean matches(String value, byte[] bytes, int offset, int length) {
+        if (value.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != bytes[offset + i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 등록된 문자열의 순번을 조회합니다.
+     *
+     * @return 순번 (미등록 시 -1)
+     */
+    public int find(String value) {
+        int mask = slots.length - 1;
+        int slot = mix(value.hashCode()) & mask;
+        while (true) {
+            int ord = slots[slot] - 1;
+            if (ord < 0) return -1;
+            if (values[ord].equals(value)) return ord;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /** @return 순번에 해당하는 문자열 */
+    public String get(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) throw new IndexOutOfBoundsException("순번 범위 초과: " + ordinal);
+        return values[ordinal];
+    }
+
+    /** @return 등록된 고유 문자열 수 */
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] next = new int[slots.length * 2];
+        int mask = next.length - 1;
+        for (int ord = 0; ord < size; ord++) {
+            int slot = mix(values[ord].hashCode()) & mask;
+            while (next[slot] != 0) slot = (slot + 1) & mask;
+            next[slot] = ord + 1;
+        }
+        slots = next;
+    }
+
+    /** 하위 비트 편중을 줄이기 위한 해시 확산 */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,267 @@
+package aicard.perli.common.warmup;
+
+import aicard.perli.common.data.store.FeatureFileReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 모델 적재 직후 예측 경로를 예열(warm-up)하는 유틸리티입니다.
+ * <p>갓 적재된 모델은 JIT(C2)가 트리 순회/행렬 연산 코드를 컴파일하기 전까지 수천 건의 예측이 정상보다 수십 배 느립니다.
+ * 본 클래스는 합성 또는 기록된 피처 행 표본을 라운드 단위로 반복 재생하면서 라운드별 지연 시간 중앙값을 측정하고,
+ * 연속 {@code stableRounds}개 라운드의 중앙값이 서로 {@code tolerance} 이내로 수렴했을 때 준비 완료로 판정합니다.
+ * 최대 라운드 수나 최대 시간에 도달하면 수렴하지 않았더라도 종료합니다.</p>
+ * <p>기본값은 시스템 속성으로 조정할 수 있습니다.
+ * (-Dperli.warmup.maxRounds, -Dperli.warmup.maxMillis, -Dperli.warmup.tolerance, -Dperli.warmup.stableRounds,
+ * -Dperli.warmup=false 지정 시 {@link #isEnabled()}가 false, 표본은 {@link #sample(String...)} 참고)</p>
+ * <pre>{@code
+ * ModelWarmUp.Result result = new ModelWarmUp().run(ModelWarmUp.syntheticRows(256, 5, 42L), scorer::score);
+ * log.info("예열 완료: {}", result);
+ * }</pre>
+ */
+public class ModelWarmUp {
+
+    /** 서비스 예열용 합성 표본 시드 */
+    private static final long SAMPLE_SEED = 42L;
+
+    private int maxRounds = Integer.getInteger("perli.warmup.maxRounds", 50);
+    private long maxMillis = Long.getLong("perli.warmup.maxMillis", 10_000L);
+    private double tolerance = Double.parseDouble(System.getProperty("perli.warmup.tolerance", "0.1"));
+    private int stableRounds = Integer.getInteger("perli.warmup.stableRounds", 3);
+
+    /** 예측 결과를 소비하여 JIT의 불필요 코드 제거를 막기 위한 값 */
+    private volatile double sink;
+
+    /**
+     * @return 예열 사용 여부 (-Dperli.warmup=false로 끌 수 있음, 기본 true)
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("perli.warmup"));
+    }
+
+    public ModelWarmUp maxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+        return this;
+    }
+
+    public ModelWarmUp maxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+        return this;
+    }
+
+    /** @param tolerance 라운드 간 중앙값의 허용 상대 편차 (예: 0.1 = 10%) */
+    public ModelWarmUp tolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    public ModelWarmUp stableRounds(int stableRounds) {
+        this.stableRounds = stableRounds;
+        return this;
+    }
+
+    /**
+     * 표본 행을 예측 함수로 반복 재생하여 지연 시간이 안정될 때까지 예열합니다.
+     *
+     * @param sample    피처 행 표본
+     * @param predictor 예측 함수 (서비스의 실제 예측 경로)
+     * @return 예열 결과
+     */
+    public <R> Result run(R[] sample, ToDoubleFunction<R> predictor) {
+        if (sample.length == 0) throw new IllegalArgumentException("예열 표본이 비어 있습니다.");
+        long start = System.nanoTime();
+        long deadline = start + maxMillis * 1_000_000L;
+        int limit = Math.max(1, maxRounds);
+        long[] latencies = new long[sample.length];
+        double[] medians = new double[limit];
+
+        double acc = 0;
+        int rounds = 0;
+        boolean stable = false;
+        while (rounds < limit) {
+            for (int i = 0; i < sample.length; i++) {
+                long t0 = System.nanoTime();
+                acc += predictor.applyAsDouble(sample[i]);
+                latencies[i] = System.nanoTime() - t0;
+            }
+            Arrays.sort(latencies);
+            medians[rounds++] = latencies[latencies.length / 2];
+
+            if (rounds >= stableRounds && converged(medians, rounds)) {
+                stable = true;
+                break;
+            }
+            if (System.nanoTime() > deadline) break;
+        }
+        sink = acc;
+
+        return new Result(rounds, (long) rounds * sample.length, medians[0], medians[rounds - 1], stable,
+                (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private boolean converged(double[] medians, int rounds) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int i = rounds - stableRounds; i < rounds; i++) {
+            min = Math.min(min, medians[i]);
+            max = Math.max(max, medians[i]);
+        }
+        return max <= Math.max(min, 1) * (1 + tolerance);
+    }
+
+    /**
+     * 평균 0, 표준편차 1 정규분포 값으로 합성 피처 행을 생성합니다. 같은 시드는 같은 행을 만듭니다.
+     * 실제 피처의 척도와 무관하므로 트리 모델에서는 분기 일부만 지나갈 수 있습니다. (척도를 알면 {@link #syntheticRows(int, double[], double[], long)})
+     *
+     * @param rows  행 수
+     * @param width 행당 피처 수
+     * @param seed  난수 시드
+     */
+    public static double[][] syntheticRows(int rows, int width, long seed) {
+        double[] location = new double[width];
+        double[] scale = new double[width];
+        Arrays.fill(scale, 1.0);
+        return syntheticRows(rows, location, scale, seed);
+    }
+
+    /**
+     * 피처별 위치/척도의 정규분포 값({@code location[c] + scale[c] * N(0, 1)})으로 합성 피처 행을 생성합니다.
+     * 같은 시드는 같은 행을 만듭니다.
+     *
+     * @param rows     행 수
+     * @param location 피처별 위치 (보통 학습 데이터 평균)
+     * @param scale    피처별 척도 (보통 학습 데이터 표준편차)
+     * @param seed     난수 시드
+     */
+    public static double[][] syntheticRows(int rows, double[] location, double[] scale, long seed) {
+        if (location.length != scale.length) throw new IllegalArgumentException("위치/척도 배열 길이가 다릅니다.");
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] sample = new double[rows][location.length];
+        for (double[] row : sample) {
+            for (int c = 0; c < row.length; c++) row[c] = location[c] + scale[c] * gaussian(random);
+        }
+        return sample;
+    }
+
+    /**
+     * 실제 피처 파일({@code .feat})에서 앞쪽 행을 읽어 예열 표본으로 사용합니다. 파일에 없는 컬럼은 결측(NaN)으로 채웁니다.
+     *
+     * @param featureFile 피처 파일 경로
+     * @param limit       최대 행 수
+     * @param columns     표본 행의 컬럼 순서
+     */
+    public static double[][] recordedRows(Path featureFile, int limit, String... columns) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(featureFile)) {
+            int rows = Math.min(limit, reader.rowCount());
+            double[][] sample = new double[rows][columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                int col = reader.column(columns[c]);
+                for (int r = 0; r < rows; r++) sample[r][c] = col < 0 ? Double.NaN : reader.getNumber(col, r);
+            }
+            return sample;
+        }
+    }
+
+    /**
+     * 서비스 예열 표본을 준비합니다. -Dperli.warmup.sample에 피처 파일 경로가 지정되면 기록 표본을,
+     * 아니면 고정 시드의 합성 표본(N(0, 1))을 사용합니다. 표본 크기는 -Dperli.warmup.rows(기본 256)로 지정합니다.
+     *
+     * @param columns 표본 행의 컬럼 순서
+     */
+    public static double[][] sample(String... columns) throws IOException {
+        return sample((Path) null, columns);
+    }
+
+    /**
+     * 서비스 예열 표본을 준비합니다. 우선순위는 -Dperli.warmup.sample 지정 파일, {@code defaultSample}(있을 때, 보통 학습 시 모델 옆에 기록한 표본),
+     * 고정 시드의 합성 표본(N(0, 1)) 순입니다.
+     *
+     * @param defaultSample 기본 기록 표본 피처 파일 (null 가능)
+     * @param columns       표본 행의 컬럼 순서
+     */
+    public static double[][] sample(Path defaultSample, String... columns) throws IOException {
+        int rows = sampleRows();
+        Path recorded = recordedSample(defaultSample);
+        if (recorded != null) return recordedRows(recorded, rows, columns);
+        return syntheticRows(rows, columns.length, SAMPLE_SEED);
+    }
+
+    /**
+     * 서비스 예열 표본을 준비합니다. -Dperli.warmup.sample에 피처 파일 경로가 지정되면 기록 표본을,
+     * 아니면 피처별 위치/척도에 맞춘 고정 시드의 합성 표본을 사용합니다.
+     *
+     * @param location 피처별 위치 ({@code columns} 순서)
+     * @param scale    피처별 척도 ({@code columns} 순서)
+     * @param columns  표본 행의 컬럼 순서
+     */
+    public static double[][] sample(double[] location, double[] scale, String... columns) throws IOException {
+        if (location.length != columns.length) throw new IllegalArgumentException("위치/컬럼 배열 길이가 다릅니다.");
+        int rows = sampleRows();
+        Path recorded = recordedSample(null);
+        if (recorded != null) return recordedRows(recorded, rows, columns);
+        return syntheticRows(rows, location, scale, SAMPLE_SEED);
+    }
+
+    private static int sampleRows() {
+        return Integer.getInteger("perli.warmup.rows", 256);
+    }
+
+    private static Path recordedSample(Path defaultSample) {
+        String recorded = System.getProperty("perli.warmup.sample");
+        if (recorded != null) return Path.of(recorded);
+        return defaultSample != null && Files.isRegularFile(defaultSample) ? defaultSample : null;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller 변환
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    /**
+     * 예열 결과입니다.
+     */
+    public static final class Result {
+        private final int rounds;
+        private final long calls;
+        private final double firstMedianNanos;
+        private final double lastMedianNanos;
+        private final boolean stable;
+        private final long elapsedMillis;
+
+        Result(int rounds, long calls, double firstMedianNanos, double lastMedianNanos, boolean stable, long elapsedMillis) {
+            this.rounds = rounds;
+            this.calls = calls;
+            this.firstMedianNanos = firstMedianNanos;
+            this.lastMedianNanos = lastMedianNanos;
+            this.stable = stable;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** @return 지연 시간이 수렴하여 준비 완료로 판정되었는지 여부 */
+        public boolean isStable() { return stable; }
+
+        public int rounds() { return rounds; }
+
+        public long calls() { return calls; }
+
+        /** @return 첫 라운드 지연 시간 중앙값 (나노초) */
+        public double firstMedianNanos() { return firstMedianNanos; }
+
+        /** @return 마지막 라운드 지연 시간 중앙값 (나노초) */
+        public double lastMedianNanos() { return lastMedianNanos; }
+
+        public long elapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (라운드 %d, 호출 %d건, 중앙값 %.1fus -> %.1fus, %dms)",
+                    stable ? "안정" : "미수렴", rounds, calls, firstMedianNanos / 1000.0, lastMedianNanos / 1000.0, elapsedMillis);
+        }
+    }
+}
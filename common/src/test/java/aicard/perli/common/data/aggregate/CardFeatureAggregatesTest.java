@@ -0,0 +1,75 @@
+package aicard.perli.common.data.aggregate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardFeatureAggregatesTest {
+
+    @TempDir
+    Path tempDir;
+
+    /** 카드 식별자 문자열 키 맵에 카드별 객체로 집계하던 기존 방식 (비교 기준) */
+    private static final class ObjectAggregate {
+        double totalSum = 0;
+        double maxVal = -Double.MAX_VALUE;
+        int count = 0;
+        int totalInst = 0;
+        int authCount = 0;
+
+        void addTransaction(double amt, int inst, boolean auth) {
+            totalSum += amt;
+            if (amt > maxVal) maxVal = amt;
+            count++;
+            totalInst += inst;
+            if (auth) authCount++;
+        }
+    }
+
+    @Test
+    @DisplayName("순번 인덱스 원시 배열 집계와 스냅샷 복원 결과가 기존 객체 맵 집계와 동일")
+    void testMatchesObjectAggregation() throws Exception {
+        Random random = new Random(3L);
+        Map<String, ObjectAggregate> reference = new HashMap<>();
+        CardFeatureAggregates aggregates = new CardFeatureAggregates();
+
+        for (int r = 0; r < 20_000; r++) {
+            // 기본 용량(1024)을 넘는 카드 수로 배열 확장 경로 포함
+            String card = "C_ID_" + Integer.toHexString(random.nextInt(2500));
+            double amount = r % 997 == 0 ? -0.74 : random.nextGaussian() * 0.7;
+            int inst = random.nextInt(12) == 0 ? -1 : random.nextInt(4);
+            boolean auth = random.nextInt(10) < 9;
+            reference.computeIfAbsent(card, k -> new ObjectAggregate()).addTransaction(amount, inst, auth);
+            aggregates.addTransaction(card, amount, inst, auth);
+        }
+
+        Path snapshot = tempDir.resolve("card_feature_state.bin");
+        CardFeatureSnapshot.write(aggregates, snapshot);
+        CardFeatureAggregates restored = CardFeatureSnapshot.read(snapshot);
+
+        assertEquals(reference.size(), aggregates.size());
+        assertEquals(reference.size(), restored.size());
+        for (CardFeatureAggregates actual : new CardFeatureAggregates[]{aggregates, restored}) {
+            for (int ord = 0; ord < actual.size(); ord++) {
+                String card = actual.cardId(ord);
+                ObjectAggregate expected = reference.get(card);
+                assertNotNull(expected, card);
+                assertEquals(expected.totalSum, actual.totalSum(ord), card);
+                assertEquals(expected.maxVal, actual.maxVal(ord), card);
+                assertEquals(expected.count, actual.count(ord), card);
+                assertEquals(expected.totalInst, actual.totalInst(ord), card);
+                assertEquals(expected.authCount, actual.authCount(ord), card);
+            }
+        }
+        // 거래가 없는 순번은 기존 초기값과 같게 조회
+        assertEquals(0, aggregates.count(aggregates.size() + 10_000));
+        assertEquals(-Double.MAX_VALUE, aggregates.maxVal(aggregates.size() + 10_000));
+    }
+}
@@ -0,0 +1,46 @@
+package aicard.perli.common.data.aggregate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardFeatureSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("누적한 신규 거래 식별자를 집계 상태와 함께 저장/복원")
+    void testAppliedDeltas() throws Exception {
+        CardFeatureAggregates aggregates = new CardFeatureAggregates();
+        aggregates.addTransaction("C_ID_1", 10.5, 1, true);
+        aggregates.addTransaction("C_ID_2", -3.0, 0, false);
+        aggregates.addTransaction("C_ID_1", 2.0, 3, false);
+
+        Path delta = tempDir.resolve("delta_20240301.csv");
+        Files.writeString(delta, "card_id,purchase_amount\nC_ID_1,1.0\n");
+        Path copy = Files.copy(delta, tempDir.resolve("copy.csv"));
+        String identity = CardFeatureSnapshot.deltaIdentity(delta);
+        assertEquals(identity, CardFeatureSnapshot.deltaIdentity(copy));
+
+        Path snapshot = tempDir.resolve("card_feature_state.bin");
+        CardFeatureSnapshot.write(aggregates, snapshot);
+        assertTrue(CardFeatureSnapshot.appliedDeltas(snapshot).isEmpty());
+
+        CardFeatureSnapshot.write(aggregates, List.of(identity), snapshot);
+        assertEquals(List.of(identity), CardFeatureSnapshot.appliedDeltas(snapshot));
+
+        CardFeatureAggregates restored = CardFeatureSnapshot.read(snapshot);
+        assertEquals(2, restored.size());
+        assertEquals("C_ID_1", restored.cardId(0));
+        assertEquals(12.5, restored.totalSum(0));
+        assertEquals(2, restored.count(0));
+        assertEquals(1, restored.authCount(0));
+    }
+}
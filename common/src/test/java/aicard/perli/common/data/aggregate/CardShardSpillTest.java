@@ -0,0 +1,82 @@
+package aicard.perli.common.data.aggregate;
+
+import aicard.perli.common.model.StringDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardShardSpillTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("작은 메모리 예산으로 샤드에 분배한 뒤 샤드별로 집계해도 메모리 집계와 카드 단위로 동일")
+    void testSpillMatchesInMemory() throws Exception {
+        int shards = 8;
+        long budget = 4 * 1024;
+        Random random = new Random(11L);
+        CardFeatureAggregates expected = new CardFeatureAggregates();
+        double[] expectedTargets = new double[300];
+
+        try (CardShardSpill spill = new CardShardSpill(tempDir, shards, budget)) {
+            for (int c = 0; c < 300; c += 2) {
+                expectedTargets[c] = c * 0.25;
+                spill.addTarget("C_ID_" + c, expectedTargets[c]);
+            }
+            for (int r = 0; r < 5000; r++) {
+                String card = "C_ID_" + random.nextInt(300);
+                double amount = random.nextGaussian() * 0.7;
+                int inst = random.nextInt(4);
+                boolean auth = random.nextInt(10) < 8;
+                expected.addTransaction(card, amount, inst, auth);
+                spill.addEvent(card, amount, inst, auth);
+            }
+            spill.finish();
+
+            long events = 0;
+            int cards = 0;
+            boolean overBudget = false;
+            for (int shard = 0; shard < shards; shard++) {
+                events += spill.eventCount(shard);
+                overBudget |= spill.estimatedBytes(shard) > budget;
+
+                StringDictionary shardCards = new StringDictionary(spill.expectedCards(shard));
+                double[] targets = spill.loadTargets(shard, shardCards);
+                CardFeatureAggregates actual = new CardFeatureAggregates(shardCards);
+                spill.aggregate(shard, actual);
+                spill.delete(shard);
+
+                for (int ord = 0; ord < actual.size(); ord++) {
+                    String cardId = actual.cardId(ord);
+                    int id = Integer.parseInt(cardId.substring("C_ID_".length()));
+                    assertEquals(shard, CardShardSpill.shardOf(cardId, shards));
+                    assertEquals(expectedTargets[id], ord < targets.length ? targets[ord] : 0.0);
+
+                    int e = expected.cards().find(cardId);
+                    assertEquals(expected.count(e), actual.count(ord), cardId);
+                    assertEquals(expected.totalSum(e), actual.totalSum(ord), cardId);
+                    assertEquals(expected.maxVal(e), actual.maxVal(ord), cardId);
+                    assertEquals(expected.totalInst(e), actual.totalInst(ord), cardId);
+                    assertEquals(expected.authCount(e), actual.authCount(ord), cardId);
+                    if (actual.count(ord) > 0) cards++;
+                }
+            }
+            assertEquals(5000, events);
+            assertEquals(expected.size(), cards);
+            // 예산보다 큰 샤드가 있어 동시 집계 없이 한 샤드씩 처리되는 조건
+            assertTrue(overBudget);
+        }
+
+        try (Stream<Path> left = Files.list(tempDir)) {
+            assertEquals(0, left.count(), "close() 후 샤드 임시 디렉터리가 남음");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package aicard.perli.common.data.aggregate;
+
+import aicard.perli.common.model.StringDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardWindowAggregatesTest {
+
+    private static final double EPSILON = 1e-12;
+
+    @Test
+    @DisplayName("윈도우는 기준 월을 포함한 최근 N개월만 집계하고 링 범위 밖 거래는 버림")
+    void testWindowBoundaries() {
+        StringDictionary cards = new StringDictionary();
+        CardWindowAggregates windows = new CardWindowAggregates(cards);
+        int ord = cards.intern("C_ID_1");
+
+        windows.add(ord, 100, 10.0, true);
+        windows.add(ord, 98, 5.0, false);
+        windows.add(ord, 95, 7.0, true);
+        // 링(6개월) 범위는 95~100이므로 94월 거래는 버려짐
+        windows.add(ord, 94, 99.0, true);
+
+        assertEquals(10.0, windows.windowSum(ord, 1, 100), EPSILON);
+        assertEquals(15.0, windows.windowSum(ord, 3, 100), EPSILON);
+        assertEquals(22.0, windows.windowSum(ord, 6, 100), EPSILON);
+        assertEquals(1, windows.windowCount(ord, 1, 100));
+        assertEquals(2, windows.windowCount(ord, 3, 100));
+        assertEquals(3, windows.windowCount(ord, 6, 100));
+        assertEquals(10.0, windows.windowMax(ord, 6, 100), EPSILON);
+        assertEquals(2.0 / 3, windows.windowAuthRatio(ord, 6, 100), EPSILON);
+        assertEquals(1, windows.droppedEvents());
+
+        // 기준 월이 최신 월보다 뒤면 그만큼 윈도우가 밀려남
+        assertEquals(0.0, windows.windowSum(ord, 1, 101), EPSILON);
+        assertEquals(10.0, windows.windowSum(ord, 3, 101), EPSILON);
+        assertEquals(0, windows.windowCount(ord, 6, 110));
+        assertEquals(0.0, windows.windowMax(ord, 6, 110), EPSILON);
+        assertEquals(0.0, windows.windowAuthRatio(ord, 6, 110), EPSILON);
+
+        // 거래가 없는 카드
+        int empty = cards.intern("C_ID_2");
+        assertEquals(0.0, windows.windowSum(empty, 6, 100), EPSILON);
+        assertEquals(0, windows.windowCount(empty, 6, 100));
+    }
+
+    @Test
+    @DisplayName("최신 월이 앞으로 이동하면 밀려난 월 버킷만 비우고, 링 크기 이상 이동하면 모두 비움")
+    void testRingEviction() {
+        StringDictionary cards = new StringDictionary();
+        CardWindowAggregates windows = new CardWindowAggregates(cards);
+        int ord = cards.intern("C_ID_1");
+
+        windows.add(ord, 95, 7.0, true);
+        windows.add(ord, 98, 5.0, false);
+        windows.add(ord, 100, 10.0, true);
+        // 95월과 같은 버킷(mod 6)을 쓰는 101월로 이동하면 95월 값은 지워짐
+        windows.add(ord, 101, 1.0, true);
+
+        assertEquals(16.0, windows.windowSum(ord, 6, 101), EPSILON);
+        assertEquals(3, windows.windowCount(ord, 6, 101));
+        assertEquals(0.0, windows.windowSum(ord, 1, 95), EPSILON);
+
+        // 링 밖(96월 이하)으로 밀려난 월의 거래는 버려지고, 링 안의 과거 월은 그대로 누적
+        windows.add(ord, 95, 3.0, true);
+        windows.add(ord, 96, 2.0, true);
+        assertEquals(1, windows.droppedEvents());
+        assertEquals(18.0, windows.windowSum(ord, 6, 101), EPSILON);
+
+        double[] amounts = new double[6];
+        int[] counts = new int[6];
+        windows.fillSequence(ord, 101, amounts, counts);
+        assertArrayEquals(new double[]{2.0, 0.0, 5.0, 0.0, 10.0, 1.0}, amounts, EPSILON);
+        assertArrayEquals(new int[]{1, 0, 1, 0, 1, 1}, counts);
+
+        // 링 크기(6개월) 이상 건너뛰면 이전 버킷 전체가 비워짐
+        windows.add(ord, 107, 4.0, false);
+        assertEquals(4.0, windows.windowSum(ord, 6, 107), EPSILON);
+        assertEquals(1, windows.windowCount(ord, 6, 107));
+        assertEquals(107, windows.maxMonth());
+    }
+
+    @Test
+    @DisplayName("부분 집계 병합은 같은 거래를 한 상태에 순서대로 넣은 결과와 동일")
+    void testMergeMatchesSequential() {
+        int[][] months = {{90, 93, 95}, {96, 99, 101}};
+        StringDictionary cards = new StringDictionary();
+        CardWindowAggregates sequential = new CardWindowAggregates(cards);
+        CardWindowAggregates merged = new CardWindowAggregates(cards);
+        int ord = cards.intern("C_ID_1");
+
+        for (int[] chunk : months) {
+            StringDictionary partialCards = new StringDictionary();
+            CardWindowAggregates partial = new CardWindowAggregates(partialCards);
+            int partialOrd = partialCards.intern("C_ID_1");
+            for (int m : chunk) {
+                sequential.add(ord, m, m * 0.5, m % 2 == 0);
+                partial.add(partialOrd, m, m * 0.5, m % 2 == 0);
+            }
+            merged.merge(ord, partial, partialOrd);
+            merged.addDroppedEvents(partial.droppedEvents());
+        }
+
+        for (int w : CardWindowAggregates.DEFAULT_WINDOWS) {
+            assertEquals(sequential.windowSum(ord, w, 101), merged.windowSum(ord, w, 101), EPSILON);
+            assertEquals(sequential.windowCount(ord, w, 101), merged.windowCount(ord, w, 101));
+            assertEquals(sequential.windowMax(ord, w, 101), merged.windowMax(ord, w, 101), EPSILON);
+            assertEquals(sequential.windowAuthRatio(ord, w, 101), merged.windowAuthRatio(ord, w, 101), EPSILON);
+        }
+        assertEquals(sequential.droppedEvents(), merged.droppedEvents());
+    }
+}
@@ -0,0 +1,150 @@
+package aicard.perli.common.data.loader;
+
+import aicard.perli.common.data.aggregate.CardFeatureAggregates;
+import aicard.perli.common.data.parser.FinEventParser;
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvDataLoaderTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 카드 40개, 14개월에 걸친 거래 내역과 결함 레코드를 가진 작은 데이터셋을 만듭니다.
+     */
+    private Path[] writeDataset() throws Exception {
+        Random random = new Random(7L);
+        StringBuilder history = new StringBuilder(
+                "authorized_flag,card_id,city_id,installments,merchant_category_id,purchase_amount,purchase_date,state_id\n");
+        for (int r = 0; r < 3000; r++) {
+            String card = "C_ID_" + random.nextInt(40);
+            String amount = r % 250 == 0 ? "N/A" : String.format("%.8f", random.nextGaussian() * 0.7);
+            history.append(random.nextInt(10) < 8 ? 'Y' : 'N').append(',').append(card).append(',')
+                    .append(random.nextInt(300)).append(',').append(random.nextInt(4)).append(',')
+                    .append(random.nextInt(500)).append(',').append(amount).append(',')
+                    .append(String.format("%d-%02d-%02d %02d:%02d:%02d", 2017 + random.nextInt(2), 1 + random.nextInt(12),
+                            1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60)))
+                    .append(',').append(random.nextInt(25)).append('\n');
+        }
+        StringBuilder train = new StringBuilder("card_id,target\n");
+        for (int c = 0; c < 50; c += 2) train.append("C_ID_").append(c).append(',').append(c * 0.1).append('\n');
+
+        Path trainPath = tempDir.resolve("train.csv");
+        Path historyPath = tempDir.resolve("historical_transactions.csv");
+        Files.writeString(trainPath, train);
+        Files.writeString(historyPath, history);
+        return new Path[]{trainPath, historyPath};
+    }
+
+    @Test
+    @DisplayName("병렬 청크 집계는 단일 스트림 집계와 같은 카드 순서와 집계 값을 생성")
+    void testParallelMatchesSequential() throws Exception {
+        Path[] data = writeDataset();
+        CsvDataLoader loader = new CsvDataLoader(new FinEventParser());
+
+        CsvDataLoader.Aggregated sequential = loader.aggregate(data[0].toString(), data[1].toString(), 1);
+        CsvDataLoader.Aggregated parallel = loader.aggregate(data[0].toString(), data[1].toString(), 4);
+
+        CardFeatureAggregates a = sequential.aggregates();
+        CardFeatureAggregates b = parallel.aggregates();
+        assertEquals(a.size(), b.size());
+        assertArrayEquals(sequential.targets(), parallel.targets());
+        long rows = 0;
+        for (int ord = 0; ord < a.size(); ord++) {
+            assertEquals(a.cardId(ord), b.cardId(ord));
+            assertEquals(a.count(ord), b.count(ord));
+            assertEquals(a.totalInst(ord), b.totalInst(ord));
+            assertEquals(a.authCount(ord), b.authCount(ord));
+            assertEquals(a.maxVal(ord), b.maxVal(ord));
+            assertEquals(a.totalSum(ord), b.totalSum(ord), EPSILON);
+            rows += a.count(ord);
+        }
+        assertEquals(3000 - 12, rows);
+    }
+
+    @Test
+    @DisplayName("기간 피처 파일도 병렬/단일 스트림 경로의 결과가 동일")
+    void testParallelWindowsMatchSequential() throws Exception {
+        Path[] data = writeDataset();
+        CsvDataLoader loader = new CsvDataLoader(new FinEventParser());
+
+        Path[] outputs = new Path[2];
+        Path[] windows = new Path[2];
+        int[] workers = {1, 4};
+        for (int i = 0; i < 2; i++) {
+            outputs[i] = tempDir.resolve("features_" + workers[i] + FeatureFile.EXTENSION);
+            windows[i] = tempDir.resolve("window_" + workers[i] + FeatureFile.EXTENSION);
+            loader.aggregateWithWindowsAndSave(data[0].toString(), data[1].toString(), outputs[i].toString(),
+                    windows[i].toString(), workers[i]);
+        }
+        assertSameFeatures(outputs[0], outputs[1]);
+        assertSameFeatures(windows[0], windows[1]);
+    }
+
+    @Test
+    @DisplayName("작은 메모리 예산의 샤드 분할 집계는 메모리 집계와 카드별로 같은 피처를 생성")
+    void testShardedMatchesInMemory() throws Exception {
+        Path[] data = writeDataset();
+        CsvDataLoader loader = new CsvDataLoader(new FinEventParser());
+
+        Path inMemory = tempDir.resolve("features_memory" + FeatureFile.EXTENSION);
+        Path sharded = tempDir.resolve("features_sharded" + FeatureFile.EXTENSION);
+        Path spillDir = tempDir.resolve("spill");
+        loader.aggregateAndSave(data[0].toString(), data[1].toString(), inMemory.toString());
+        loader.aggregateShardedAndSave(data[0].toString(), data[1].toString(), sharded.toString(), spillDir.toString(),
+                8, 2 * 1024, 4);
+
+        try (FeatureFileReader a = new FeatureFileReader(inMemory); FeatureFileReader b = new FeatureFileReader(sharded)) {
+            assertArrayEquals(a.columnNames(), b.columnNames());
+            assertEquals(a.rowCount(), b.rowCount());
+            int cardCol = a.requireColumn("card_id");
+            Map<String, Integer> rows = new HashMap<>();
+            for (int r = 0; r < b.rowCount(); r++) rows.put(b.getString(cardCol, r), r);
+
+            for (int r = 0; r < a.rowCount(); r++) {
+                String card = a.getString(cardCol, r);
+                Integer other = rows.get(card);
+                assertNotNull(other, card);
+                for (int c = 0; c < a.columnCount(); c++) {
+                    if (c == cardCol) continue;
+                    assertEquals(a.getNumber(c, r), b.getNumber(c, other), EPSILON, a.columnName(c) + " " + card);
+                }
+            }
+        }
+        try (Stream<Path> left = Files.list(spillDir)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    private static void assertSameFeatures(Path expected, Path actual) throws Exception {
+        try (FeatureFileReader a = new FeatureFileReader(expected); FeatureFileReader b = new FeatureFileReader(actual)) {
+            assertArrayEquals(a.columnNames(), b.columnNames());
+            assertEquals(a.rowCount(), b.rowCount());
+            for (int c = 0; c < a.columnCount(); c++) {
+                for (int r = 0; r < a.rowCount(); r++) {
+                    if (a.columnType(c) == ColumnType.STRING) {
+                        assertEquals(a.getString(c, r), b.getString(c, r));
+                    } else {
+                        assertEquals(a.getNumber(c, r), b.getNumber(c, r), EPSILON, a.columnName(c) + " row " + r);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package aicard.perli.common.data.merchant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerchantIndexTest {
+
+    private static final String HEADER = "merchant_id,merchant_group_id,merchant_category_id,subsector_id,"
+            + "category_1,most_recent_sales_range,most_recent_purchases_range,category_4\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("ID 형식과 무관하게 조회하고 중복 ID는 마지막 행 사용")
+    void testLookup() throws Exception {
+        Path csv = tempDir.resolve("merchants.csv");
+        Files.writeString(csv, HEADER
+                + "M_ID_838061e48c,8353,792,9,N,E,E,N\n"
+                + "M_ID_0a,1,10,2,Y,A,B,Y\n"
+                + "M_ID_a,2,20,3,N,B,C,N\n"
+                + "\"MERCHANT,X\",3,30,4,,C,D,\n"
+                + "M_ID_838061e48c,8353,705,33,N,D,C,Y\n");
+
+        MerchantIndex index = MerchantIndex.fromCsv(csv);
+        assertEquals(4, index.size());
+
+        int row = index.find("M_ID_838061e48c");
+        assertEquals(705, index.categoryId(row));
+        assertEquals(33, index.subsectorId(row));
+        assertEquals(MerchantIndex.rangeCode("D"), index.salesRange(row));
+        assertEquals(1, index.category4(row));
+
+        int zeroPadded = index.find("M_ID_0a");
+        int plain = index.find("M_ID_a");
+        assertNotEquals(zeroPadded, plain);
+        assertEquals(0, index.salesRange(zeroPadded));
+        assertEquals(1, index.salesRange(plain));
+
+        int other = index.find(new StringBuilder("MERCHANT,X"));
+        assertEquals(30, index.categoryId(other));
+        assertEquals(MerchantIndex.UNKNOWN, index.category1(other));
+
+        assertEquals(-1, index.find("M_ID_ffffffffff"));
+        assertEquals(-1, index.find("M_ID_0A"));
+        assertEquals(-1, index.find(null));
+    }
+
+    @Test
+    @DisplayName("필요한 컬럼까지 값이 없는 잘린 행은 건너뜀")
+    void testSkipsShortRows() throws Exception {
+        Path csv = tempDir.resolve("merchants.csv");
+        Files.writeString(csv, HEADER
+                + "M_ID_0a,1,10,2,Y,A,B,Y\n"
+                + "M_ID_0b,1,10\n"
+                + "M_ID_0c,2,20,3,N,B,C,N\n");
+
+        MerchantIndex index = MerchantIndex.fromCsv(csv);
+        assertEquals(2, index.size());
+        assertEquals(-1, index.find("M_ID_0b"));
+        assertEquals(20, index.categoryId(index.find("M_ID_0c")));
+    }
+
+    @Test
+    @DisplayName("10자리 이상 16진수 ID도 음수가 아닌 키로 인코딩되어 키 배열에서 조회")
+    void testLongIdUsesKeyPath() throws Exception {
+        assertTrue(MerchantIndex.encodeId("M_ID_838061e48c") >= 0);
+        assertTrue(MerchantIndex.encodeId("M_ID_ffffffffffffff") >= 0);
+        assertNotEquals(MerchantIndex.encodeId("M_ID_0838061e48c"), MerchantIndex.encodeId("M_ID_838061e48c"));
+        assertEquals(-1, MerchantIndex.encodeId("M_ID_fffffffffffffff"));
+
+        Path csv = tempDir.resolve("merchants.csv");
+        Files.writeString(csv, HEADER
+                + "legacy-01,0,1,2,N,A,A,N\n"
+                + "M_ID_838061e48c,8353,792,9,N,E,E,N\n"
+                + "M_ID_ffffffffffffff,1,10,2,Y,A,B,Y\n");
+        MerchantIndex index = MerchantIndex.fromCsv(csv);
+
+        // 키 배열 행이 먼저, 형식 외 ID 행이 마지막에 배치됩니다.
+        assertEquals(index.size() - 1, index.find("legacy-01"));
+        assertTrue(index.find("M_ID_838061e48c") < index.size() - 1);
+        assertTrue(index.find("M_ID_ffffffffffffff") < index.size() - 1);
+        assertEquals(792, index.categoryId(index.find("M_ID_838061e48c")));
+    }
+
+    @Test
+    @DisplayName("바이너리 파일로 저장 후 동일하게 복원")
+    void testRoundTrip() throws Exception {
+        StringBuilder sb = new StringBuilder(HEADER);
+        for (int i = 0; i < 5000; i++) {
+            sb.append(String.format("M_ID_%010x,%d,%d,%d,%s,%c,%c,N%n", i * 7919L, i, i % 300, i % 41,
+                    i % 2 == 0 ? "Y" : "N", (char) ('A' + i % 5), (char) ('A' + i % 3)));
+        }
+        sb.append("legacy-01,0,1,2,N,A,A,N\n");
+        Path csv = tempDir.resolve("merchants.csv");
+        Files.writeString(csv, sb.toString());
+
+        MerchantIndex built = MerchantIndex.fromCsv(csv);
+        Path bin = tempDir.resolve("merchant_index.bin");
+        built.save(bin);
+        MerchantIndex loaded = MerchantIndex.load(bin);
+
+        assertEquals(built.size(), loaded.size());
+        for (int i = 0; i < 5000; i++) {
+            String id = String.format("M_ID_%010x", i * 7919L);
+            int row = loaded.find(id);
+            assertEquals(built.find(id), row);
+            assertEquals(i % 300, loaded.categoryId(row));
+            assertEquals(i % 41, loaded.subsectorId(row));
+            assertEquals(i % 5, loaded.salesRange(row));
+            assertEquals(i % 3, loaded.purchasesRange(row));
+            assertEquals(i % 2 == 0 ? 1 : 0, loaded.category1(row));
+        }
+        assertEquals(1, loaded.categoryId(loaded.find("legacy-01")));
+        assertEquals(loaded.size(), MerchantIndex.loadOrBuild(csv, bin).size());
+    }
+}
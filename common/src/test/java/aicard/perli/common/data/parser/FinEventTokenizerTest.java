@@ -0,0 +1,97 @@
+package aicard.perli.common.data.parser;
+
+import aicard.perli.common.model.FinEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinEventTokenizerTest {
+
+    private static final String HEADER = "authorized_flag,card_id,city_id,installments,merchant_category_id,purchase_amount,purchase_date,state_id";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("바이트 기반 해석 결과가 표준 파서 규격과 일치")
+    void testParseRow() throws Exception {
+        Path csv = write(HEADER + "\r\n"
+                + "Y,C_ID_4e6213e9bc,88,0,80,-0.70333091,2017-06-25 15:33:07,16\r\n"
+                + "N,\"C_ID_4e6213e9bc\",-1,3,367,1.5E-4,2017-02-30 00:00:00,-1\n");
+
+        try (FinEventTokenizer tokenizer = new FinEventTokenizer(csv)) {
+            assertTrue(tokenizer.next());
+            assertEquals("C_ID_4e6213e9bc", tokenizer.cardId());
+            assertEquals(-0.70333091, tokenizer.amount());
+            assertEquals(0, tokenizer.installments());
+            assertTrue(tokenizer.authorized());
+            assertEquals(80, tokenizer.mctCatId());
+            assertEquals(LocalDateTime.of(2017, 6, 25, 15, 33, 7),
+                    LocalDateTime.ofEpochSecond(tokenizer.purchaseEpochSecond(), 0, ZoneOffset.UTC));
+
+            assertTrue(tokenizer.next());
+            FinEvent event = tokenizer.toFinEvent(Map.of("C_ID_4e6213e9bc", 0.5));
+            assertNotNull(event);
+            assertEquals("C_ID_4e6213e9bc", event.getCardId());
+            assertEquals(1.5E-4, event.getAmount());
+            assertFalse(event.isAuthorized());
+            assertEquals("-1", event.getCityId());
+            // DateTimeFormatter(SMART)와 동일하게 말일 보정
+            assertEquals(LocalDateTime.of(2017, 2, 28, 0, 0, 0), event.getTxDate());
+            assertEquals(0.5, event.getTarget());
+
+            assertFalse(tokenizer.next());
+        }
+    }
+
+    @Test
+    @DisplayName("결함 레코드는 null로 무시")
+    void testMalformedRow() throws Exception {
+        Path csv = write(HEADER + "\nY,C_ID_1,1,x,80,1.0,2017-06-25 15:33:07,16\n");
+
+        try (FinEventTokenizer tokenizer = new FinEventTokenizer(csv)) {
+            assertTrue(tokenizer.next());
+            assertNull(tokenizer.toFinEvent(Map.of()));
+        }
+    }
+
+    @Test
+    @DisplayName("개행 경계로 분할한 구간을 합치면 전체 행과 동일")
+    void testRangeSplit() throws Exception {
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < 100; i++) {
+            sb.append("Y,C_ID_").append(i).append(",1,1,80,").append(i).append(".25,2017-06-25 15:33:07,16\n");
+        }
+        Path csv = write(sb.toString());
+
+        byte[] bytes = Files.readAllBytes(csv);
+        int mid = bytes.length / 2;
+        while (bytes[mid - 1] != '\n') mid++;
+
+        double sum = 0;
+        int rows = 0;
+        try (FinEventTokenizer first = new FinEventTokenizer(csv, 0, mid);
+             FinEventTokenizer second = new FinEventTokenizer(csv, mid, bytes.length)) {
+            while (first.next()) { sum += first.amount(); rows++; }
+            while (second.next()) { sum += second.amount(); rows++; }
+        }
+
+        assertEquals(100, rows);
+        assertEquals(4950 + 25.0, sum, 1e-9);
+    }
+
+    private Path write(String content) throws Exception {
+        Path csv = tempDir.resolve("transactions.csv");
+        Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+        return csv;
+    }
+}
@@ -0,0 +1,73 @@
+package aicard.perli.common.data.parser;
+
+import aicard.perli.common.model.EpochCalendar;
+import aicard.perli.common.model.FinEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampDecoderTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Test
+    @DisplayName("epoch 초 및 달력 피처가 java.time 계산과 일치")
+    void testMatchesJavaTime() {
+        Random random = new Random(42);
+        long from = LocalDateTime.of(1960, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long to = LocalDateTime.of(2030, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime expected = LocalDateTime.ofEpochSecond(from + (long) (random.nextDouble() * (to - from)), 0, ZoneOffset.UTC);
+            long epoch = TimestampDecoder.decode(expected.format(FORMATTER));
+
+            assertEquals(expected.toEpochSecond(ZoneOffset.UTC), epoch);
+            assertEquals((expected.getYear() - 1970) * 12 + expected.getMonthValue() - 1, EpochCalendar.monthIndex(epoch));
+            assertEquals(expected.getDayOfWeek().getValue(), EpochCalendar.dayOfWeek(epoch));
+            assertEquals(expected.getHour() / 6, EpochCalendar.hourBucket(epoch));
+        }
+    }
+
+    @Test
+    @DisplayName("말일 초과 일자는 보정하고 형식 오류는 예외")
+    void testSmartResolution() {
+        assertEquals(LocalDateTime.parse("2016-02-30 10:00:00", FORMATTER).toEpochSecond(ZoneOffset.UTC),
+                TimestampDecoder.decode("2016-02-30 10:00:00"));
+        assertThrows(NumberFormatException.class, () -> TimestampDecoder.decode("2017-13-01 00:00:00"));
+        assertThrows(NumberFormatException.class, () -> TimestampDecoder.decode("2017-06-25 24:00:00"));
+        assertThrows(NumberFormatException.class, () -> TimestampDecoder.decode("2017-06-25T15:33:07"));
+        assertThrows(NumberFormatException.class, () -> TimestampDecoder.decode("2017-06-25 15:33"));
+    }
+
+    @Test
+    @DisplayName("FinEvent 일시 설정 시 달력 피처 동기화")
+    void testFinEventCalendarFields() {
+        FinEvent event = new FinEvent();
+        assertNull(event.getTxDate());
+
+        event.setEpochSecond(TimestampDecoder.decode("2017-06-25 15:33:07"));
+        assertEquals(LocalDateTime.of(2017, 6, 25, 15, 33, 7), event.getTxDate());
+        assertEquals(7, event.getDayOfWeek());
+        assertTrue(event.isWeekend());
+        assertEquals(2, event.getHourBucket());
+        assertEquals(569, event.getMonthIndex());
+
+        event.setTxDate(LocalDateTime.of(2018, 1, 1, 5, 0));
+        assertEquals(1, event.getDayOfWeek());
+        assertEquals(0, event.getHourBucket());
+        assertEquals(576, event.getMonthIndex());
+
+        FinEvent created = new FinEvent("C_ID_1", null, LocalDateTime.of(2017, 6, 25, 15, 33, 7), 10.0, 1,
+                true, 80, "69", "9", 0.0, 0.0, false);
+        assertEquals(TimestampDecoder.decode("2017-06-25 15:33:07"), created.getEpochSecond());
+        assertEquals(569, created.getMonthIndex());
+        assertEquals(7, created.getDayOfWeek());
+        assertEquals(2, created.getHourBucket());
+    }
+}
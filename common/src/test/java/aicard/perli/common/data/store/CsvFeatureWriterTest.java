@@ -0,0 +1,64 @@
+package aicard.perli.common.data.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvFeatureWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("CSVFormat.DEFAULT와 같은 표기 및 인용 규칙으로 기록")
+    void testDefaultFormat() throws Exception {
+        Path path = tempDir.resolve("out/features.csv");
+
+        try (CsvFeatureWriter writer = new CsvFeatureWriter(path, "card_id", "amount", "tx_count")) {
+            writer.value("C_ID_1").value(-0.7152).value(3).endRow();
+            writer.value("a,b").value(1.0E-5).value(Integer.MAX_VALUE).endRow();
+            writer.value("say \"hi\"").value(Double.NaN).value(0L).endRow();
+            writer.value("#1").value(123456789.0).value(-1).endRow();
+            writer.value("").value(0.1 + 0.2).value(7).endRow();
+            writer.value("카드 ").value(-0.0).value(2).endRow();
+            assertEquals(6, writer.rowCount());
+        }
+
+        String expected = "card_id,amount,tx_count\r\n"
+                + "C_ID_1,-0.7152,3\r\n"
+                + "\"a,b\",1.0E-5,2147483647\r\n"
+                + "\"say \"\"hi\"\"\",NaN,0\r\n"
+                + "\"#1\",1.23456789E8,-1\r\n"
+                + "\"\"," + (0.1 + 0.2) + ",7\r\n"
+                + "\"카드 \",-0.0,2\r\n";
+        assertEquals(expected, Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("gzip 경로는 백그라운드 압축 후 동일한 내용으로 복원")
+    void testGzip() throws Exception {
+        Path plain = tempDir.resolve("features.csv");
+        Path gzip = tempDir.resolve("features.csv" + CsvFeatureWriter.GZIP_EXTENSION);
+        int rows = 200_000;
+
+        try (CsvFeatureWriter a = new CsvFeatureWriter(plain, "card_id", "amount");
+             CsvFeatureWriter b = new CsvFeatureWriter(gzip, "card_id", "amount")) {
+            for (int r = 0; r < rows; r++) {
+                a.value("C_ID_" + r).value(r * 0.37).endRow();
+                b.value("C_ID_" + r).value(r * 0.37).endRow();
+            }
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            assertArrayEquals(Files.readAllBytes(plain), in.readAllBytes());
+        }
+    }
+}
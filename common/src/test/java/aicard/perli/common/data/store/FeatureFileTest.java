@@ -0,0 +1,95 @@
+package aicard.perli.common.data.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureFileTest {
+
+    private static final String[] NAMES = {"card_id", "total_amount", "tx_count", "first_epoch"};
+    private static final ColumnType[] TYPES = {ColumnType.STRING, ColumnType.FLOAT64, ColumnType.INT32, ColumnType.INT64};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("작성한 값을 타입 그대로 복원")
+    void testRoundTrip() throws Exception {
+        Path path = tempDir.resolve("features" + FeatureFile.EXTENSION);
+        int rows = 3000;
+
+        try (FeatureFileWriter writer = new FeatureFileWriter(path, NAMES, TYPES)) {
+            for (int r = 0; r < rows; r++) {
+                writer.setString(0, r == 7 ? "카드_7" : "C_ID_" + r)
+                        .setDouble(1, r * -0.1)
+                        .setInt(2, r)
+                        .setLong(3, 1_500_000_000_000L + r)
+                        .endRow();
+            }
+            writer.setString(0, "미확정 행");
+            writer.commit();
+        }
+
+        try (FeatureFileReader reader = new FeatureFileReader(path)) {
+            assertEquals(rows, reader.rowCount());
+            assertArrayEquals(NAMES, reader.columnNames());
+            assertEquals(ColumnType.INT64, reader.columnType(3));
+            assertEquals(2, reader.requireColumn("tx_count"));
+            assertEquals(-1, reader.column("target"));
+
+            assertEquals("C_ID_0", reader.getString(0, 0));
+            assertEquals("카드_7", reader.getString(0, 7));
+            assertEquals("C_ID_2999", reader.getString(0, rows - 1));
+            assertEquals(1_500_000_000_123L, reader.getLong(3, 123));
+            assertEquals(123.0, reader.getNumber(2, 123));
+
+            double[] amounts = reader.readDoubles(1);
+            int[] counts = reader.readInts(2);
+            for (int r = 0; r < rows; r++) {
+                assertEquals(r * -0.1, amounts[r]);
+                assertEquals(r, counts[r]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("확정하지 않고 닫으면 기존 파일을 유지하고 임시 세그먼트 삭제")
+    void testAbortKeepsExistingFile() throws Exception {
+        Path path = tempDir.resolve("features" + FeatureFile.EXTENSION);
+        try (FeatureFileWriter writer = new FeatureFileWriter(path, NAMES, TYPES)) {
+            writer.setString(0, "C_ID_0").setDouble(1, 1.0).setInt(2, 1).setLong(3, 1L).endRow();
+            writer.commit();
+        }
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (FeatureFileWriter writer = new FeatureFileWriter(path, NAMES, TYPES)) {
+                for (int r = 0; r < 10; r++) writer.setString(0, "C_ID_new").endRow();
+                throw new IllegalStateException("작성 도중 실패");
+            }
+        });
+
+        try (FeatureFileReader reader = new FeatureFileReader(path)) {
+            assertEquals(1, reader.rowCount());
+            assertEquals("C_ID_0", reader.getString(0, 0));
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("피처 파일이 아니면 읽기 거부")
+    void testRejectCsv() throws Exception {
+        Path csv = tempDir.resolve("features.csv");
+        Files.writeString(csv, "card_id,total_amount\nC_ID_1,1.0\n");
+
+        assertThrows(IOException.class, () -> new FeatureFileReader(csv));
+        assertEquals(tempDir.resolve("features").toString() + FeatureFile.EXTENSION, FeatureFile.siblingOf(csv.toString()));
+    }
+}
@@ -0,0 +1,71 @@
+package aicard.perli.common.data.stream;
+
+import aicard.perli.common.model.FinEventBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPipelineTest {
+
+    @Test
+    @DisplayName("처리 단계를 거쳐도 원천 순서대로 싱크에 전달")
+    void testOrderPreserved() {
+        List<Double> amounts = new ArrayList<>();
+
+        long events = new EventPipeline(new CountingSource(50, 10), 2)
+                .stage(batch -> batch)
+                .stage(batch -> batch)
+                .run(batch -> {
+                    FinEventBatch.Cursor cursor = batch.cursor();
+                    while (cursor.next()) amounts.add(cursor.amount());
+                });
+
+        assertEquals(500, events);
+        for (int i = 0; i < amounts.size(); i++) assertEquals(i, amounts.get(i).doubleValue());
+    }
+
+    @Test
+    @DisplayName("단계 예외 발생 시 파이프라인이 중단되고 원인 예외 전달")
+    void testFailurePropagation() {
+        IllegalStateException cause = new IllegalStateException("enrich 실패");
+        EventPipeline pipeline = new EventPipeline(new CountingSource(10_000, 10), 1)
+                .stage(batch -> {
+                    if (batch.amount(0) >= 30) throw cause;
+                    return batch;
+                });
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pipeline.run(batch -> { }));
+        assertSame(cause, e.getCause());
+    }
+
+    /** amount에 0부터 증가하는 일련번호를 담아 배치를 생성하는 원천 */
+    private static class CountingSource implements EventSource {
+        private final int batches;
+        private final int batchSize;
+        private int produced;
+
+        CountingSource(int batches, int batchSize) {
+            this.batches = batches;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public FinEventBatch nextBatch() {
+            if (produced == batches) return null;
+            FinEventBatch batch = new FinEventBatch();
+            for (int i = 0; i < batchSize; i++) {
+                batch.add("C_ID_1", 0L, produced * batchSize + i, 0, true, 80, null, null, false);
+            }
+            produced++;
+            return batch;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package aicard.perli.common.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinEventBatchTest {
+
+    private static FinEvent event(int i) {
+        LocalDateTime txDate = i % 7 == 0 ? null : LocalDateTime.of(2017, 1 + i % 12, 1 + i % 28, i % 24, i % 60, 0);
+        return new FinEvent("C_ID_" + (i % 37), null, txDate, i * 0.5 - 100, i % 4, i % 3 != 0, i % 50,
+                i % 5 == 0 ? null : "CITY_" + i % 11, i % 6 == 0 ? null : "STATE_" + i % 3, 0.0, 0.0, i % 2 == 0);
+    }
+
+    @Test
+    @DisplayName("초기 용량을 넘어 추가해도 모든 행이 FinEvent로 그대로 복원")
+    void testGrowthAndRoundTrip() {
+        FinEventBatch batch = new FinEventBatch(16, new StringDictionary(), new StringDictionary(), new StringDictionary());
+        List<FinEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            FinEvent event = event(i);
+            events.add(event);
+            batch.add(event);
+        }
+        assertEquals(3000, batch.size());
+        assertEquals(37, batch.cardDictionary().size());
+
+        for (int i = 0; i < events.size(); i++) {
+            FinEvent expected = events.get(i);
+            FinEvent actual = batch.toEvent(i);
+            assertEquals(expected.getCardId(), actual.getCardId());
+            assertEquals(expected.getTxDate(), actual.getTxDate(), "row " + i);
+            assertEquals(expected.getEpochSecond(), actual.getEpochSecond());
+            assertEquals(expected.getMonthIndex(), actual.getMonthIndex());
+            assertEquals(expected.getDayOfWeek(), actual.getDayOfWeek());
+            assertEquals(expected.getHourBucket(), actual.getHourBucket());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getInstallments(), actual.getInstallments());
+            assertEquals(expected.isAuthorized(), actual.isAuthorized());
+            assertEquals(expected.getMctCatId(), actual.getMctCatId());
+            assertEquals(expected.getCityId(), actual.getCityId());
+            assertEquals(expected.getStateId(), actual.getStateId());
+            assertEquals(expected.isPerf(), actual.isPerf());
+        }
+    }
+
+    @Test
+    @DisplayName("거래 일시와 지역 식별자가 없는 행은 센티널/순번 -1로 보관되고 null로 복원")
+    void testMissingValues() {
+        FinEventBatch batch = FinEventBatch.of(List.of(event(0), event(1)));
+
+        assertFalse(batch.hasDate(0));
+        assertEquals(FinEventBatch.NO_EPOCH_SECOND, batch.epochSecond(0));
+        assertEquals(-1, batch.cityOrdinal(0));
+        assertEquals(-1, batch.stateOrdinal(0));
+        assertNull(batch.cityId(0));
+        assertNull(batch.stateId(0));
+
+        FinEvent restored = batch.toEvent(0);
+        assertNull(restored.getTxDate());
+        assertEquals(0, restored.getDayOfWeek());
+        assertNull(restored.getCityId());
+
+        // epoch 0(1970-01-01 목요일)은 실제 일시로 유지
+        FinEvent epochZero = event(1);
+        epochZero.setEpochSecond(0L);
+        FinEventBatch single = FinEventBatch.of(List.of(epochZero));
+        assertTrue(single.hasDate(0));
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), single.toEvent(0).getTxDate());
+    }
+
+    @Test
+    @DisplayName("슬라이스 뷰와 커서는 원본 배열을 공유하며 슬라이스에는 추가할 수 없음")
+    void testSliceAndCursor() {
+        FinEventBatch batch = new FinEventBatch();
+        for (int i = 0; i < 100; i++) batch.add(event(i));
+
+        FinEventBatch slice = batch.slice(10, 20);
+        assertEquals(10, slice.size());
+        assertEquals(batch.amount(10), slice.amount(0));
+        assertEquals(batch.cardId(19), slice.cardId(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.amount(10));
+        assertThrows(UnsupportedOperationException.class, () -> slice.add(event(0)));
+
+        FinEventBatch.Cursor cursor = slice.cursor();
+        double total = 0;
+        int rows = 0;
+        while (cursor.next()) {
+            assertEquals(slice.hasDate(rows), cursor.hasDate());
+            total += cursor.amount();
+            rows++;
+        }
+        double expected = 0;
+        for (int i = 10; i < 20; i++) expected += batch.amount(i);
+        assertEquals(10, rows);
+        assertEquals(expected, total);
+    }
+}
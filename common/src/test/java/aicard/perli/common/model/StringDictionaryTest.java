@@ -0,0 +1,51 @@
+package aicard.perli.common.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("초기 용량을 넘어 재해싱되어도 최초 등록 순서의 순번을 유지")
+    void testGrowth() {
+        StringDictionary dictionary = new StringDictionary(4);
+        for (int i = 0; i < 5000; i++) assertEquals(i, dictionary.intern("C_ID_" + i));
+        assertEquals(5000, dictionary.size());
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, dictionary.intern("C_ID_" + i));
+            assertEquals(i, dictionary.find("C_ID_" + i));
+            assertEquals("C_ID_" + i, dictionary.get(i));
+        }
+        assertEquals(5000, dictionary.size());
+        assertEquals(-1, dictionary.find("C_ID_5000"));
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.get(5000));
+    }
+
+    @Test
+    @DisplayName("바이트 구간 인코딩은 문자열 인코딩과 같은 순번 체계를 공유")
+    void testInternBytes() {
+        StringDictionary dictionary = new StringDictionary();
+        int ascii = dictionary.intern("C_ID_a1");
+        byte[] line = "x,C_ID_a1,y".getBytes(StandardCharsets.UTF_8);
+        assertEquals(ascii, dictionary.intern(line, 2, 7));
+
+        byte[] utf8 = "서울".getBytes(StandardCharsets.UTF_8);
+        int korean = dictionary.intern(utf8, 0, utf8.length);
+        assertEquals(korean, dictionary.intern("서울"));
+        assertEquals("서울", dictionary.get(korean));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("null은 인코딩할 수 없음 (결측 식별자는 호출 측에서 순번 -1로 처리)")
+    void testNull() {
+        StringDictionary dictionary = new StringDictionary();
+        assertThrows(NullPointerException.class, () -> dictionary.intern(null));
+        assertEquals(0, dictionary.size());
+    }
+}
@@ -0,0 +1,65 @@
+package aicard.perli.common.warmup;
+
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelWarmUpTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("지연 시간이 수렴하면 안정 판정 후 종료")
+    void testStabilizes() {
+        double[][] sample = ModelWarmUp.syntheticRows(64, 5, 42L);
+        ModelWarmUp.Result result = new ModelWarmUp().maxRounds(1000).maxMillis(5_000).tolerance(10.0).stableRounds(3)
+                .run(sample, row -> row[0] * row[1] + row[4]);
+
+        assertTrue(result.isStable());
+        assertTrue(result.rounds() >= 3 && result.rounds() < 1000);
+        assertEquals(result.rounds() * 64L, result.calls());
+    }
+
+    @Test
+    @DisplayName("최대 라운드에 도달하면 미수렴으로 종료")
+    void testMaxRounds() {
+        ModelWarmUp.Result result = new ModelWarmUp().maxRounds(2).stableRounds(3)
+                .run(ModelWarmUp.syntheticRows(8, 2, 1L), row -> row[0]);
+
+        assertFalse(result.isStable());
+        assertEquals(2, result.rounds());
+    }
+
+    @Test
+    @DisplayName("합성 표본은 시드별로 재현되고 기록 표본은 피처 파일 값을 사용")
+    void testSamples() throws Exception {
+        assertArrayEquals(ModelWarmUp.syntheticRows(10, 3, 7L), ModelWarmUp.syntheticRows(10, 3, 7L));
+
+        Path path = tempDir.resolve("sample" + FeatureFile.EXTENSION);
+        try (FeatureFileWriter writer = new FeatureFileWriter(path, new String[]{"card_id", "amount", "count"},
+                new ColumnType[]{ColumnType.STRING, ColumnType.FLOAT64, ColumnType.INT32})) {
+            for (int r = 0; r < 20; r++) writer.setString(0, "C_ID_" + r).setDouble(1, r * 0.5).setInt(2, r).endRow();
+            writer.commit();
+        }
+
+        double[][] rows = ModelWarmUp.recordedRows(path, 5, "count", "missing", "amount");
+        assertEquals(5, rows.length);
+        assertArrayEquals(new double[]{4, Double.NaN, 2.0}, rows[4]);
+        assertArrayEquals(ModelWarmUp.recordedRows(path, 256, "count", "missing", "amount"),
+                ModelWarmUp.sample(path, "count", "missing", "amount"));
+        assertEquals(256, ModelWarmUp.sample(tempDir.resolve("none" + FeatureFile.EXTENSION), "count").length);
+
+        double[][] scaled = ModelWarmUp.syntheticRows(2000, new double[]{0, 50_000}, new double[]{1, 10_000}, 7L);
+        double mean = 0;
+        for (double[] row : scaled) mean += row[1] / scaled.length;
+        assertEquals(50_000, mean, 1_000);
+    }
+}
@@ -1,5 +1,6 @@
 package aicard.perli.dl.lstm.app.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
 import aicard.perli.dl.lstm.dto.request.v2.LstmAdvancedRequestV2;
 import aicard.perli.dl.lstm.service.v2.LstmPredictorV2;
 import aicard.perli.dl.lstm.util.converter.v2.LstmDataConverterV2;
@@ -25,6 +26,8 @@ public class LstmAppV2 {
 
         // 경로 설정
         String csvPath = "C:/Coding/perli-ai/resources/processed/lstm/v2/train_lstm_v2.csv";
+        // 바이너리 피처 파일 사용 시 숫자 파싱 없이 로드
+        if ("feat".equalsIgnoreCase(System.getProperty("perli.feature.format"))) csvPath = FeatureFile.siblingOf(csvPath);
         String modelPath = "C:/Coding/perli-ai/resources/output/models/lstm/v2/dl4j_lstm_model_v2.zip";
 
         try {
@@ -1,24 +1,38 @@
 package aicard.perli.dl.lstm.service.v2;
 
+import aicard.perli.common.warmup.ModelWarmUp;
 import aicard.perli.dl.lstm.dto.request.v2.LstmAdvancedRequestV2;
 import aicard.perli.dl.lstm.util.converter.v2.LstmDataConverterV2;
+import aicard.perli.dl.lstm.util.loader.v2.LstmDataLoaderV2;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * 학습된 모델을 사용하여 지출을 예측하는 서비스
+ * <p>모델 로드 직후 {@link ModelWarmUp}으로 추론 경로(ND4J 워크스페이스 초기화 포함)를 예열하며,
+ * 예열이 끝나면 {@link #isReady()}가 true가 됩니다.</p>
  * */
 @Slf4j
 public class LstmInferenceServiceV2 {
 
+    /** 입력 텐서 형태 [Batch(1), Feature(16), TimeStep(6)] */
+    private static final int FEATURES = 16;
+    private static final int TIME_STEPS = 6;
+
     private MultiLayerNetwork model;
     private final LstmDataConverterV2 converter = new LstmDataConverterV2();
 
+    /** 로드 및 예열 완료 여부 */
+    private volatile boolean ready;
+
     /**
      * 저장된 모델 로드
      * @param modelPath 모델 파일 경로 (.zip)
@@ -28,8 +42,69 @@ public class LstmInferenceServiceV2 {
         if (!file.exists()) {
             throw new IOException("모델 파일을 찾을 수 없습니다: " + modelPath);
         }
+        this.ready = false;
         this.model = MultiLayerNetwork.load(file, true);
         log.info("LSTM 모델 로드 완료: {}", modelPath);
+        warmUp();
+        this.ready = true;
+    }
+
+    /**
+     * 기록된(또는 합성) 입력 텐서로 추론을 반복 호출하여 지연 시간이 안정될 때까지 예열합니다.
+     * 표본 행은 [16 x 6] 텐서를 펼친 값이며, 입력 텐서 하나를 재사용하여 행마다 값만 채웁니다.
+     */
+    private void warmUp() {
+        if (!ModelWarmUp.isEnabled()) return;
+        try {
+            double[][] sample = warmUpSample(Integer.getInteger("perli.warmup.rows", 256));
+            INDArray input = Nd4j.create(new int[]{1, FEATURES, TIME_STEPS});
+            ModelWarmUp.Result result = new ModelWarmUp().run(sample, row -> {
+                for (int f = 0; f < FEATURES; f++) {
+                    for (int t = 0; t < TIME_STEPS; t++) input.putScalar(0, f, t, row[f * TIME_STEPS + t]);
+                }
+                return model.output(input).getDouble(0, 0, TIME_STEPS - 1);
+            });
+            log.info("LSTM 추론 엔진 예열 완료: {}", result);
+        } catch (Exception e) {
+            log.warn("LSTM 추론 엔진 예열 생략: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * -Dperli.warmup.sample에 학습 데이터(CSV 또는 .feat)가 지정되면 앞쪽 레코드를 학습과 같은 변환기로 정규화한 텐서를,
+     * 아니면 정규화 후 입력 범위(대략 0~1)에 맞춘 고정 시드의 합성 텐서를 사용합니다.
+     *
+     * @param rows 최대 표본 수
+     * @return 펼친 입력 텐서 표본 ([feature * TIME_STEPS + t])
+     */
+    private double[][] warmUpSample(int rows) throws IOException {
+        int width = FEATURES * TIME_STEPS;
+        String recorded = System.getProperty("perli.warmup.sample");
+        if (recorded == null) {
+            double[] location = new double[width];
+            double[] scale = new double[width];
+            Arrays.fill(location, 0.5);
+            Arrays.fill(scale, 0.25);
+            return ModelWarmUp.syntheticRows(rows, location, scale, 42L);
+        }
+
+        List<LstmAdvancedRequestV2> records = new LstmDataLoaderV2().loadTrainingData(recorded);
+        records = records.subList(0, Math.min(rows, records.size()));
+        INDArray tensor = converter.toTrainingTensor(records);
+        double[][] sample = new double[records.size()][width];
+        for (int r = 0; r < sample.length; r++) {
+            for (int f = 0; f < FEATURES; f++) {
+                for (int t = 0; t < TIME_STEPS; t++) sample[r][f * TIME_STEPS + t] = tensor.getDouble(r, f, t);
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * @return 모델 로드와 예열을 마쳐 추론 준비가 되었는지 여부
+     */
+    public boolean isReady() {
+        return ready;
     }
 
     /**
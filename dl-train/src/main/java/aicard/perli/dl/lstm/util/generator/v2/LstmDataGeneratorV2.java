@@ -1,16 +1,23 @@
 package aicard.perli.dl.lstm.util.generator.v2;
 
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileReader;
+import aicard.perli.common.data.store.FeatureFileWriter;
 import lombok.extern.slf4j.Slf4j;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * 고도화된 LSTM V2 학습용 통합 데이터셋 생성 유틸리티.
  * UCI, Advanced, CC 데이터를 결합하여 'train_lstm_v2.csv'를 생성함.
+ * -Dperli.feature.format=feat 지정 시 바이너리 피처 파일(train_features_advanced.feat)을 읽고
+ * 'train_lstm_v2.feat'로 저장하여, 학습 시 숫자 파싱 비용을 제거함.
  */
 @Slf4j
 public class LstmDataGeneratorV2 {
@@ -22,10 +29,22 @@ public class LstmDataGeneratorV2 {
         String ccCsv = "C:/Coding/perli-ai/resources/raw/CC GENERAL.csv";
         String targetPath = basePath + "/lstm/v2/train_lstm_v2.csv";
 
+        boolean binary = "feat".equalsIgnoreCase(System.getProperty("perli.feature.format"));
+        if (binary) {
+            advancedCsv = FeatureFile.siblingOf(advancedCsv);
+            targetPath = FeatureFile.siblingOf(targetPath);
+        }
+
         try {
             Path targetDir = Paths.get(basePath + "/lstm/v2");
             if (Files.notExists(targetDir)) Files.createDirectories(targetDir);
 
+            if (binary) {
+                // 확장 피처를 문자열로 되돌리지 않고 컬럼 배열로 로드 (Advanced: 통계 4종, CC: 성향 2종)
+                writeFeatureFile(uciCsv, targetPath, loadAdvancedColumns(advancedCsv), loadCcColumns(ccCsv));
+                return;
+            }
+
             // 피처 리스트 로드 (Advanced: 통계 4종, CC: 성향 2종)
             List<String> advancedList = loadList(advancedCsv, 4);
             List<String> ccList = loadList(ccCsv, 2);
@@ -86,4 +105,93 @@ public class LstmDataGeneratorV2 {
         }
         return list;
     }
-}
\ No newline at end of file
+
+    /**
+     * 바이너리 피처 파일에서 Advanced 통계 4종을 CSV 경로와 동일한 순서의 컬럼 배열로 추출
+     *
+     * @return [total_amount, tx_count, avg_installments, authorized_ratio][행]
+     */
+    private static double[][] loadAdvancedColumns(String path) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(Paths.get(path))) {
+            return new double[][]{
+                    reader.readDoubles(reader.requireColumn("total_amount")),
+                    reader.readDoubles(reader.requireColumn("tx_count")),
+                    reader.readDoubles(reader.requireColumn("avg_installments")),
+                    reader.readDoubles(reader.requireColumn("authorized_ratio"))};
+        }
+    }
+
+    /**
+     * CC 원본 CSV에서 BALANCE, PURCHASES를 한 번만 파싱하여 컬럼 배열로 추출 (빈 값은 NaN)
+     *
+     * @return [BALANCE, PURCHASES][행]
+     */
+    private static double[][] loadCcColumns(String path) throws IOException {
+        double[] balance = new double[1024];
+        double[] purchases = new double[1024];
+        int rows = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            br.readLine(); // 헤더 스킵
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] v = line.split(",");
+                if (rows == balance.length) {
+                    balance = Arrays.copyOf(balance, rows * 2);
+                    purchases = Arrays.copyOf(purchases, rows * 2);
+                }
+                balance[rows] = parseOrNaN(v[1]);
+                purchases[rows] = parseOrNaN(v[3]);
+                rows++;
+            }
+        }
+        return new double[][]{Arrays.copyOf(balance, rows), Arrays.copyOf(purchases, rows)};
+    }
+
+    private static double parseOrNaN(String value) {
+        return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    /**
+     * UCI 원본에 확장 피처 컬럼 배열을 순환 결합하여 바이너리 피처 파일로 저장 (ID는 문자열, 나머지는 FLOAT64)
+     *
+     * @param advanced Advanced 통계 4종 컬럼 배열
+     * @param cc       CC 성향 2종 컬럼 배열
+     */
+    private static void writeFeatureFile(String uciCsv, String targetPath,
+                                         double[][] advanced, double[][] cc) throws IOException {
+        int advancedRows = advanced[0].length;
+        int ccRows = cc[0].length;
+        if (advancedRows == 0 || ccRows == 0) throw new IOException("결합할 확장 피처가 없습니다.");
+
+        try (BufferedReader brUci = new BufferedReader(new FileReader(uciCsv))) {
+            String[] uciColumns = brUci.readLine().split(",");
+            String[] columns = Arrays.copyOf(uciColumns, uciColumns.length + advanced.length + cc.length);
+            String[] extra = {"total_amount", "tx_count", "avg_installments", "authorized_ratio", "BALANCE", "PURCHASES"};
+            System.arraycopy(extra, 0, columns, uciColumns.length, extra.length);
+            ColumnType[] types = new ColumnType[columns.length];
+            Arrays.fill(types, ColumnType.FLOAT64);
+            types[0] = ColumnType.STRING;
+
+            int count = 0;
+            try (FeatureFileWriter writer = new FeatureFileWriter(Paths.get(targetPath), columns, types)) {
+                String line;
+                while ((line = brUci.readLine()) != null) {
+                    String[] v = line.split(",");
+                    writer.setString(0, v[0]);
+                    for (int c = 1; c < uciColumns.length; c++) writer.setDouble(c, Double.parseDouble(v[c]));
+
+                    int c = uciColumns.length;
+                    for (double[] column : advanced) writer.setDouble(c++, column[count % advancedRows]);
+                    for (double[] column : cc) writer.setDouble(c++, column[count % ccRows]);
+                    writer.endRow();
+                    count++;
+                }
+                writer.commit();
+            }
+
+            log.info("==== V2 데이터 통합 완료 (바이너리) ====");
+            log.info("저장 경로: " + targetPath);
+            log.info("총 데이터 건수: " + count + "건");
+        }
+    }
+}
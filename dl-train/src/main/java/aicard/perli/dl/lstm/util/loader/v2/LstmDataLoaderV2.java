@@ -1,12 +1,16 @@
 package aicard.perli.dl.lstm.util.loader.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileReader;
 import aicard.perli.dl.lstm.dto.request.v2.LstmAdvancedRequestV2;
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
  * 고도화된 학습 데이터셋 로더.
  * 기존 시계열 데이터와 인구통계학적 피처(SEX, AGE 등)를 통합하여 로드함.
+ * 경로가 바이너리 피처 파일(.feat)이면 숫자 파싱 없이 메모리 매핑으로 로드하며, 컬럼은 헤더 이름으로 찾음.
  */
 public class LstmDataLoaderV2 {
 
@@ -17,6 +21,8 @@ public class LstmDataLoaderV2 {
      * @throws IOException 파일 읽기 실패 시 발생
      */
     public List<LstmAdvancedRequestV2> loadTrainingData(String path) throws IOException {
+        if (FeatureFile.isFeatureFile(path)) return loadFeatureFile(path);
+
         List<LstmAdvancedRequestV2> list = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(path))) {
             br.readLine(); // 헤더 건너뛰기
@@ -64,4 +70,79 @@ public class LstmDataLoaderV2 {
         }
         return list;
     }
-}
\ No newline at end of file
+
+    /** UCI 결제 상태 컬럼명 (6개월, 과거 순서는 CSV 경로와 동일) */
+    private static final String[] PAY_STATUS_COLUMNS = {"PAY_0", "PAY_2", "PAY_3", "PAY_4", "PAY_5", "PAY_6"};
+
+    /** UCI 라벨 컬럼명 */
+    private static final String LABEL_COLUMN = "default.payment.next.month";
+
+    /**
+     * 바이너리 피처 파일을 읽어 V2용 고도화 DTO 리스트로 변환함. 컬럼은 헤더 이름으로 찾으므로 컬럼 순서가 바뀌어도 같은 결과를 얻음.
+     *
+     * @throws IllegalArgumentException 필요한 컬럼이 없을 시
+     */
+    private List<LstmAdvancedRequestV2> loadFeatureFile(String path) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(Paths.get(path))) {
+            int id = reader.requireColumn("ID");
+            int limitBal = reader.requireColumn("LIMIT_BAL");
+            int sex = reader.requireColumn("SEX");
+            int education = reader.requireColumn("EDUCATION");
+            int marriage = reader.requireColumn("MARRIAGE");
+            int age = reader.requireColumn("AGE");
+            int[] statusCols = new int[6];
+            int[] billCols = new int[6];
+            int[] payCols = new int[6];
+            for (int i = 0; i < 6; i++) {
+                statusCols[i] = reader.requireColumn(PAY_STATUS_COLUMNS[i]);
+                billCols[i] = reader.requireColumn("BILL_AMT" + (i + 1));
+                payCols[i] = reader.requireColumn("PAY_AMT" + (i + 1));
+            }
+            int label = reader.requireColumn(LABEL_COLUMN);
+            int totalAmount = reader.requireColumn("total_amount");
+            int txCount = reader.requireColumn("tx_count");
+            int avgInstallments = reader.requireColumn("avg_installments");
+            int authorizedRatio = reader.requireColumn("authorized_ratio");
+            int balance = reader.requireColumn("BALANCE");
+            int purchases = reader.requireColumn("PURCHASES");
+
+            int rows = reader.rowCount();
+            List<LstmAdvancedRequestV2> list = new ArrayList<>(rows);
+
+            for (int r = 0; r < rows; r++) {
+                LstmAdvancedRequestV2 dto = new LstmAdvancedRequestV2();
+
+                dto.setId(reader.getString(id, r));
+                dto.setLimitBal(reader.getNumber(limitBal, r));
+
+                dto.setSex((int) reader.getNumber(sex, r));
+                dto.setEducation((int) reader.getNumber(education, r));
+                dto.setMarriage((int) reader.getNumber(marriage, r));
+                dto.setAge((int) reader.getNumber(age, r));
+
+                int[] status = new int[6];
+                double[] bills = new double[6];
+                double[] pays = new double[6];
+                for (int i = 0; i < 6; i++) {
+                    status[i] = (int) reader.getNumber(statusCols[i], r);
+                    bills[i] = reader.getNumber(billCols[i], r);
+                    pays[i] = reader.getNumber(payCols[i], r);
+                }
+                dto.setPayStatus(status);
+                dto.setBillAmts(bills);
+                dto.setPayAmts(pays);
+
+                dto.setLabel((int) reader.getNumber(label, r));
+                dto.setTotalAmount(reader.getNumber(totalAmount, r));
+                dto.setTxCount((int) reader.getNumber(txCount, r));
+                dto.setAvgInstallments(reader.getNumber(avgInstallments, r));
+                dto.setAuthorizedRatio(reader.getNumber(authorizedRatio, r));
+                dto.setBalance(reader.getNumber(balance, r));
+                dto.setPurchases(reader.getNumber(purchases, r));
+
+                list.add(dto);
+            }
+            return list;
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package aicard.perli.ml.benchmark;
 
 import aicard.perli.ml.h2o.service.v1.H2oInferenceServiceV1;
+import aicard.perli.ml.h2o.util.ModelPaths;
 import org.openjdk.jmh.annotations.*;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 업리프트 추론 엔진의 성능을 측정하는 벤치마크 클래스입니다.
- * S-Learner 특성상 1회 추론 시 내부적으로 2번의 모델 예측이 발생함을 검증합니다.
+ * S-Learner 특성상 1회 추론 시 내부적으로 2번의 모델 예측이 발생하며,
+ * 입력 행을 한 번만 구성하는 단일/배치 경로의 비용을 측정합니다.
  */
 @State(Scope.Thread)
 @BenchmarkMode(Mode.AverageTime) // 평균 응답 시간 측정
 @OutputTimeUnit(TimeUnit.MILLISECONDS) // 결과를 밀리초 단위로 출력
 public class UpliftBenchmark {
 
+    private static final int BATCH_SIZE = 1024;
+
     private H2oInferenceServiceV1 inferenceService;
+    private double[][] batch;
+    private double[] treated;
+    private double[] control;
 
     @Setup // 벤치마크 시작 전 딱 한 번 실행 (모델 로드)
     public void setup() {
-        String modelPath = "C:/Coding/perli-ai/resources/output/models/h2o/gbm_uplift_model.zip";
+        String modelPath = ModelPaths.v1Model();
         inferenceService = new H2oInferenceServiceV1(modelPath);
+
+        batch = new double[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) batch[i] = new double[]{3000.0 + i, 50, 1.5, 1000.0, 60.0, 0.97};
+        treated = new double[BATCH_SIZE];
+        control = new double[BATCH_SIZE];
     }
 
     @Benchmark // 실제 성능 측정 대상 메서드
@@ -26,4 +38,11 @@ public class UpliftBenchmark {
         // 실제 API 호출 시와 동일한 데이터 입력
         return inferenceService.predictUplift(3000.0, 50, 1.5, 1000.0, 60.0, 0.97);
     }
-}
\ No newline at end of file
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double[] benchmarkPredictUpliftBatch() {
+        inferenceService.predictUpliftBatch(batch, treated, control);
+        return control;
+    }
+}
@@ -0,0 +1,146 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import aicard.perli.common.data.store.FeatureFileReader;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>업리프트 평가용 검증(holdout) 데이터입니다. 피처는 컬럼 단위 블록({@code block[c][r]}),
+ * 처치 여부와 반응은 행 순서 배열로 보관합니다.</p>
+ * <p>피처는 처치/반응/제외 컬럼을 뺀 숫자 컬럼 전부이며, 모델에 없는 컬럼은 점수 산출기({@code MojoRowScorer})가 무시합니다.
+ * 도메인이 "0"/"1" 같은 숫자 문자열인 범주형 처치/반응 컬럼은 도메인 값으로 변환하고, 결측은 NaN으로 둡니다.</p>
+ */
+public final class HoldoutData {
+
+    private final String[] features;
+    private final double[][] block;
+    private final double[] treatment;
+    private final double[] response;
+
+    private HoldoutData(String[] features, double[][] block, double[] treatment, double[] response) {
+        this.features = features;
+        this.block = block;
+        this.treatment = treatment;
+        this.response = response;
+    }
+
+    /**
+     * H2O 프레임에서 추출합니다. 컬럼마다 청크를 순서대로 읽습니다.
+     *
+     * @param fr              검증 프레임
+     * @param treatmentColumn 처치 여부 컬럼명
+     * @param responseColumn  반응 컬럼명
+     * @param excluded        피처에서 제외할 컬럼명 (식별자 등)
+     */
+    public static HoldoutData of(Frame fr, String treatmentColumn, String responseColumn, String... excluded) {
+        Set<String> skip = skipSet(treatmentColumn, responseColumn, excluded);
+        List<String> names = new ArrayList<>();
+        List<double[]> columns = new ArrayList<>();
+        for (String name : fr.names()) {
+            Vec vec = fr.vec(name);
+            if (skip.contains(name) || !vec.isNumeric() || vec.isCategorical()) continue;
+            names.add(name);
+            columns.add(read(vec));
+        }
+        return new HoldoutData(names.toArray(new String[0]), columns.toArray(new double[0][]),
+                read(requireVec(fr, treatmentColumn)), read(requireVec(fr, responseColumn)));
+    }
+
+    /**
+     * 바이너리 피처 파일({@code .feat})에서 추출합니다.
+     *
+     * @param featureFile     검증 피처 파일
+     * @param treatmentColumn 처치 여부 컬럼명
+     * @param responseColumn  반응 컬럼명
+     * @param excluded        피처에서 제외할 컬럼명
+     */
+    public static HoldoutData of(Path featureFile, String treatmentColumn, String responseColumn, String... excluded)
+            throws IOException {
+        Set<String> skip = skipSet(treatmentColumn, responseColumn, excluded);
+        try (FeatureFileReader reader = new FeatureFileReader(featureFile)) {
+            List<String> names = new ArrayList<>();
+            List<double[]> columns = new ArrayList<>();
+            for (int c = 0; c < reader.columnCount(); c++) {
+                if (skip.contains(reader.columnName(c)) || !reader.columnType(c).isNumeric()) continue;
+                names.add(reader.columnName(c));
+                columns.add(reader.readDoubles(c));
+            }
+            return new HoldoutData(names.toArray(new String[0]), columns.toArray(new double[0][]),
+                    reader.readDoubles(reader.requireColumn(treatmentColumn)),
+                    reader.readDoubles(reader.requireColumn(responseColumn)));
+        }
+    }
+
+    private static Set<String> skipSet(String treatmentColumn, String responseColumn, String... excluded) {
+        Set<String> skip = new HashSet<>(Arrays.asList(excluded));
+        skip.add(treatmentColumn);
+        skip.add(responseColumn);
+        return skip;
+    }
+
+    private static Vec requireVec(Frame fr, String column) {
+        Vec vec = fr.vec(column);
+        if (vec == null) throw new IllegalArgumentException("프레임에 컬럼이 없습니다: " + column);
+        return vec;
+    }
+
+    /**
+     * 벡터 전체를 배열로 읽습니다. 범주형이면 도메인 문자열을 숫자로 변환합니다.
+     */
+    private static double[] read(Vec vec) {
+        double[] domainValues = null;
+        if (vec.isCategorical()) {
+            String[] domain = vec.domain();
+            domainValues = new double[domain.length];
+            for (int i = 0; i < domain.length; i++) {
+                try {
+                    domainValues[i] = Double.parseDouble(domain[i]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("숫자로 변환할 수 없는 범주형 수준입니다: " + domain[i], e);
+                }
+            }
+        }
+        double[] values = new double[(int) vec.length()];
+        for (int ci = 0; ci < vec.nChunks(); ci++) {
+            Chunk chunk = vec.chunkForChunkIdx(ci);
+            int start = (int) chunk.start();
+            for (int i = 0; i < chunk._len; i++) {
+                if (chunk.isNA(i)) values[start + i] = Double.NaN;
+                else values[start + i] = domainValues != null ? domainValues[(int) chunk.at8(i)] : chunk.atd(i);
+            }
+        }
+        return values;
+    }
+
+    /** @return 행 수 */
+    public int rows() { return treatment.length; }
+
+    /** @return 피처 컬럼명 ({@link #block()} 순서) */
+    public String[] features() { return features.clone(); }
+
+    /** @return 피처 블록 ({@code block[c][r]}, 내부 배열 그대로) */
+    public double[][] block() { return block; }
+
+    /** @return 행별 처치 여부 (내부 배열 그대로) */
+    public double[] treatment() { return treatment; }
+
+    /** @return 행별 반응 값 (내부 배열 그대로) */
+    public double[] response() { return response; }
+
+    /**
+     * @return 행 {@code r}의 피처 값을 {@code values}에 채워 반환
+     */
+    public double[] row(int r, double[] values) {
+        for (int c = 0; c < block.length; c++) values[c] = block[c][r];
+        return values;
+    }
+}
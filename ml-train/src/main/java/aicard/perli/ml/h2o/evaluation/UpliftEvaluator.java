@@ -0,0 +1,272 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import aicard.perli.ml.h2o.service.mojo.BatchUpliftScorer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>검증(holdout) 데이터로 업리프트 모델을 평가하는 엔진입니다.</p>
+ * <p>MOJO 배치 점수 산출기({@link BatchUpliftScorer})로 전체 행을 점수화한 뒤
+ * <ul>
+ * <li>점수를 {@link Arrays#parallelSort(double[])}로 정렬해 분위 경계를 구해 최대 {@code buckets}개의 점수 구간을 만들고,</li>
+ * <li>워커 풀이 행 구간별로 구간마다 처치군/통제군 건수, 반응 수, 점수 합을 한 번에 집계하여 합친 뒤,</li>
+ * <li>구간 집계만으로 AUUC/Qini 곡선({@link UpliftMetrics#fromGroups}), 점수 십분위별 업리프트, 처치군/통제군 보정(calibration)을 계산합니다.</li>
+ * </ul>
+ * 같은 점수는 항상 같은 구간에 들어가므로 구간 집계는 행 순서와 워커 수에 영향을 받지 않으며, 행 단위 정렬/객체 생성이 없어 수백만 행으로 확장됩니다.
+ * 구간 수가 행 수보다 작으면 곡선은 구간 경계에서만 계산되는 근사값입니다.</p>
+ * <p>반응은 {@code responseThreshold}(기본 0)보다 크면 1로 봅니다. (학습 시 target 이진화와 동일)
+ * 점수/처치/반응 중 결측이 있는 행은 제외합니다. (-Dperli.eval.buckets, -Dperli.eval.workers)</p>
+ * <pre>{@code
+ * try (BatchUpliftScorer batch = service.batchScorer(8)) {
+ *     UpliftReport report = new UpliftEvaluator().evaluate(HoldoutData.of(holdoutFile, "is_recommended", "target"), batch);
+ *     report.write(Paths.get(ModelPaths.v2Report()));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class UpliftEvaluator {
+
+    /** 십분위 수 */
+    static final int DECILES = 10;
+
+    /** 리포트에 남길 곡선 점 간격 (누적 비율) */
+    private static final double CURVE_STEP = 0.01;
+
+    /** 워커 1개당 분할할 청크 수 */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private int buckets = Integer.getInteger("perli.eval.buckets", 1000);
+    private int workers = Integer.getInteger("perli.eval.workers", Runtime.getRuntime().availableProcessors());
+    private double responseThreshold = 0.0;
+
+    /** @param buckets 최대 점수 구간 수 (클수록 곡선이 정확) */
+    public UpliftEvaluator buckets(int buckets) {
+        this.buckets = Math.max(DECILES, buckets);
+        return this;
+    }
+
+    public UpliftEvaluator workers(int workers) {
+        this.workers = Math.max(1, workers);
+        return this;
+    }
+
+    /** @param responseThreshold 이 값보다 큰 반응을 긍정(1)으로 판정 */
+    public UpliftEvaluator responseThreshold(double responseThreshold) {
+        this.responseThreshold = responseThreshold;
+        return this;
+    }
+
+    /**
+     * 검증 데이터를 배치 점수화하여 평가합니다. 점수 산출기의 입력 컬럼은 이름으로 찾으며, 검증 데이터에 없는 컬럼은 결측(NaN)입니다.
+     *
+     * @param holdout 검증 데이터
+     * @param scorer  MOJO 배치 점수 산출기
+     */
+    public UpliftReport evaluate(HoldoutData holdout, BatchUpliftScorer scorer) {
+        long start = System.currentTimeMillis();
+        String[] columns = scorer.columns();
+        List<String> features = Arrays.asList(holdout.features());
+        double[][] block = new double[columns.length][];
+        for (int c = 0; c < columns.length; c++) {
+            int index = features.indexOf(columns[c]);
+            if (index >= 0) {
+                block[c] = holdout.block()[index];
+            } else {
+                block[c] = new double[holdout.rows()];
+                Arrays.fill(block[c], Double.NaN);
+            }
+        }
+        double[] uplift = new double[holdout.rows()];
+        scorer.score(block, uplift);
+        log.info("검증 데이터 배치 점수 산출 완료: {}행 ({}ms)", holdout.rows(), System.currentTimeMillis() - start);
+        return evaluate(uplift, holdout.treatment(), holdout.response());
+    }
+
+    /**
+     * 산출된 점수로 평가합니다.
+     *
+     * @param uplift    행별 업리프트 점수
+     * @param treatment 행별 처치 여부 (0이 아니면 처치군)
+     * @param response  행별 반응 값
+     */
+    public UpliftReport evaluate(double[] uplift, double[] treatment, double[] response) {
+        int n = uplift.length;
+        if (treatment.length != n || response.length != n) throw new IllegalArgumentException("배열 길이가 다릅니다.");
+        long start = System.currentTimeMillis();
+
+        // 분위 경계 계산 (결측 제외 점수의 병렬 정렬)
+        double[] sorted = new double[n];
+        int m = 0;
+        for (int r = 0; r < n; r++) {
+            if (valid(uplift, treatment, response, r)) sorted[m++] = uplift[r];
+        }
+        sorted = Arrays.copyOf(sorted, m);
+        Arrays.parallelSort(sorted);
+        double[] bounds = bounds(sorted, buckets);
+
+        // 행 구간별 병렬 집계
+        Histogram hist = aggregate(uplift, treatment, response, bounds);
+
+        UpliftMetrics metrics = UpliftMetrics.fromGroups(hist.nt, hist.nc, hist.yt, hist.yc, bounds.length);
+        UpliftReport report = new UpliftReport(m, n - m, bounds.length, metrics, curve(metrics), deciles(hist, m),
+                System.currentTimeMillis() - start);
+        log.info("업리프트 평가 완료: {}", report);
+        return report;
+    }
+
+    private boolean valid(double[] uplift, double[] treatment, double[] response, int r) {
+        return !Double.isNaN(uplift[r]) && !Double.isNaN(treatment[r]) && !Double.isNaN(response[r]);
+    }
+
+    /**
+     * 오름차순 점수에서 내림차순 구간별 하한을 구합니다. 중복 하한은 합쳐 같은 점수가 한 구간에 모이게 합니다.
+     */
+    static double[] bounds(double[] sorted, int buckets) {
+        int m = sorted.length;
+        double[] bounds = new double[Math.min(buckets, m)];
+        int count = 0;
+        for (int k = 0; k < bounds.length; k++) {
+            long end = (long) m * (k + 1) / bounds.length;
+            double lower = sorted[(int) (m - end)];
+            if (count == 0 || lower < bounds[count - 1]) bounds[count++] = lower;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * @return 점수가 속한 구간 번호 (하한이 점수 이하인 첫 구간)
+     */
+    static int bucketOf(double[] bounds, double score) {
+        int lo = 0;
+        int hi = bounds.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bounds[mid] <= score) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    private Histogram aggregate(double[] uplift, double[] treatment, double[] response, double[] bounds) {
+        int n = uplift.length;
+        int chunks = Math.max(1, Math.min(n, workers * CHUNKS_PER_WORKER));
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, chunks), r -> {
+            Thread t = new Thread(r, "perli-uplift-eval");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Histogram>> futures = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                int from = (int) ((long) n * i / chunks);
+                int to = (int) ((long) n * (i + 1) / chunks);
+                futures.add(pool.submit(() -> {
+                    Histogram local = new Histogram(bounds.length);
+                    for (int r = from; r < to; r++) {
+                        if (!valid(uplift, treatment, response, r)) continue;
+                        local.add(bucketOf(bounds, uplift[r]), uplift[r], treatment[r] != 0,
+                                response[r] > responseThreshold ? 1 : 0);
+                    }
+                    return local;
+                }));
+            }
+            Histogram total = new Histogram(bounds.length);
+            for (Future<Histogram> future : futures) total.merge(future.get());
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("업리프트 평가 집계 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("업리프트 평가 집계 중 오류 발생", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 점수 구간을 누적 건수 기준으로 십분위에 배정하여 십분위별 업리프트와 보정 지표를 계산합니다.
+     */
+    private static List<UpliftReport.Decile> deciles(Histogram hist, int total) {
+        double[][] acc = new double[DECILES][5];
+        double cumulative = 0;
+        for (int b = 0; b < hist.nt.length; b++) {
+            double count = hist.nt[b] + hist.nc[b];
+            int d = total == 0 ? 0 : Math.min(DECILES - 1, (int) (cumulative * DECILES / total));
+            acc[d][0] += hist.nt[b];
+            acc[d][1] += hist.nc[b];
+            acc[d][2] += hist.yt[b];
+            acc[d][3] += hist.yc[b];
+            acc[d][4] += hist.scoreSum[b];
+            cumulative += count;
+        }
+        List<UpliftReport.Decile> deciles = new ArrayList<>(DECILES);
+        for (int d = 0; d < DECILES; d++) {
+            double[] a = acc[d];
+            if (a[0] + a[1] == 0) continue;
+            deciles.add(new UpliftReport.Decile(d + 1, (long) a[0], (long) a[1], (long) a[2], (long) a[3],
+                    a[4] / (a[0] + a[1])));
+        }
+        return deciles;
+    }
+
+    /**
+     * 곡선을 {@value #CURVE_STEP} 누적 비율 간격으로 줄여 리포트용 점 목록을 만듭니다.
+     */
+    private static double[][] curve(UpliftMetrics metrics) {
+        double[] x = metrics.fractions();
+        double[] u = metrics.upliftCurve();
+        double[] q = metrics.qiniCurve();
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[]{0, 0, 0});
+        double next = CURVE_STEP;
+        for (int g = 0; g < x.length; g++) {
+            if (x[g] + 1e-12 >= next || g == x.length - 1) {
+                points.add(new double[]{x[g], u[g], q[g]});
+                while (next <= x[g] + 1e-12) next += CURVE_STEP;
+            }
+        }
+        return points.toArray(new double[0][]);
+    }
+
+    /**
+     * 점수 구간별 처치군/통제군 집계입니다.
+     */
+    private static final class Histogram {
+        final double[] nt;
+        final double[] nc;
+        final double[] yt;
+        final double[] yc;
+        final double[] scoreSum;
+
+        Histogram(int buckets) {
+            nt = new double[buckets];
+            nc = new double[buckets];
+            yt = new double[buckets];
+            yc = new double[buckets];
+            scoreSum = new double[buckets];
+        }
+
+        void add(int b, double score, boolean treated, int positive) {
+            if (treated) { nt[b]++; yt[b] += positive; }
+            else { nc[b]++; yc[b] += positive; }
+            scoreSum[b] += score;
+        }
+
+        void merge(Histogram other) {
+            for (int b = 0; b < nt.length; b++) {
+                nt[b] += other.nt[b];
+                nc[b] += other.nc[b];
+                yt[b] += other.yt[b];
+                yc[b] += other.yc[b];
+                scoreSum[b] += other.scoreSum[b];
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import java.util.Arrays;
+
+/**
+ * <p>검증 데이터의 업리프트 점수로 AUUC와 Qini 계수를 계산합니다.</p>
+ * <p>점수 내림차순으로 고객을 누적하면서 상위 비율 x까지의 처치군/통제군 건수(nt, nc)와 반응 수(yt, yc)로
+ * <ul>
+ * <li>업리프트 곡선 U(x) = (yt / nt - yc / nc) × (nt + nc)</li>
+ * <li>Qini 곡선 Q(x) = yt - yc × nt / nc</li>
+ * </ul>
+ * 를 구하고, 사다리꼴 적분한 면적을 전체 건수로 나누어 반환합니다. AUUC는 U(x)의 면적, Qini 계수는 Q(x)와
+ * 무작위 타겟팅 직선(x × Q(1)) 사이의 면적입니다. 같은 점수의 고객은 한 묶음으로 누적하여 정렬 순서에 영향을 받지 않습니다.</p>
+ * <p>{@link #fromGroups}는 이미 점수 내림차순으로 묶인 구간(점수 히스토그램 등)의 집계로 같은 값을 계산하며,
+ * 곡선은 묶음 경계마다 한 점씩 기록됩니다.</p>
+ */
+public final class UpliftMetrics {
+
+    private final double auuc;
+    private final double qini;
+    private final double[] fractions;
+    private final double[] upliftCurve;
+    private final double[] qiniCurve;
+
+    private UpliftMetrics(double auuc, double qini, double[] fractions, double[] upliftCurve, double[] qiniCurve) {
+        this.auuc = auuc;
+        this.qini = qini;
+        this.fractions = fractions;
+        this.upliftCurve = upliftCurve;
+        this.qiniCurve = qiniCurve;
+    }
+
+    /**
+     * @param uplift    고객별 업리프트 점수
+     * @param treatment 고객별 처치 여부 (1 = 처치군, 0 = 통제군)
+     * @param response  고객별 반응 (0/1)
+     */
+    public static UpliftMetrics compute(double[] uplift, double[] treatment, double[] response) {
+        int n = uplift.length;
+        if (treatment.length != n || response.length != n) throw new IllegalArgumentException("배열 길이가 다릅니다.");
+
+        // 점수를 원시 배열로 정렬해 중복을 제거한 뒤, 행마다 이진 탐색으로 같은 점수 묶음에 집계 (박싱/비교자 없음)
+        double[] scores = uplift.clone();
+        Arrays.sort(scores);
+        int groups = 0;
+        for (int i = 0; i < n; i++) {
+            if (groups == 0 || Double.compare(scores[i], scores[groups - 1]) != 0) scores[groups++] = scores[i];
+        }
+
+        // 묶음 번호는 점수 내림차순 (0 = 최고 점수)
+        double[] nt = new double[groups];
+        double[] nc = new double[groups];
+        double[] yt = new double[groups];
+        double[] yc = new double[groups];
+        for (int r = 0; r < n; r++) {
+            int g = groups - 1 - Arrays.binarySearch(scores, 0, groups, uplift[r]);
+            if (treatment[r] != 0) { nt[g]++; yt[g] += response[r]; }
+            else { nc[g]++; yc[g] += response[r]; }
+        }
+        return fromGroups(nt, nc, yt, yc, groups);
+    }
+
+    /**
+     * 점수 내림차순으로 정렬된 묶음별 집계로 계산합니다.
+     *
+     * @param nt     묶음별 처치군 건수
+     * @param nc     묶음별 통제군 건수
+     * @param yt     묶음별 처치군 반응 수
+     * @param yc     묶음별 통제군 반응 수
+     * @param groups 사용할 묶음 수 (배열 앞부분)
+     */
+    public static UpliftMetrics fromGroups(double[] nt, double[] nc, double[] yt, double[] yc, int groups) {
+        double totalTreated = 0, totalControl = 0, totalYt = 0, totalYc = 0;
+        for (int g = 0; g < groups; g++) {
+            totalTreated += nt[g];
+            totalControl += nc[g];
+            totalYt += yt[g];
+            totalYc += yc[g];
+        }
+        double n = totalTreated + totalControl;
+        if (n == 0) return new UpliftMetrics(0, 0, new double[0], new double[0], new double[0]);
+        double qiniEnd = qiniPoint(totalYt, totalYc, totalTreated, totalControl);
+
+        double[] fractions = new double[groups];
+        double[] upliftCurve = new double[groups];
+        double[] qiniCurve = new double[groups];
+        double cumT = 0, cumC = 0, cumYt = 0, cumYc = 0;
+        double prevX = 0, prevU = 0, prevQ = 0;
+        double auucArea = 0, qiniArea = 0;
+        for (int g = 0; g < groups; g++) {
+            cumT += nt[g];
+            cumC += nc[g];
+            cumYt += yt[g];
+            cumYc += yc[g];
+
+            double x = (cumT + cumC) / n;
+            double u = cumT > 0 && cumC > 0 ? (cumYt / cumT - cumYc / cumC) * (cumT + cumC) : 0;
+            double rawQ = qiniPoint(cumYt, cumYc, cumT, cumC);
+            double q = rawQ - x * qiniEnd;
+            auucArea += (x - prevX) * (u + prevU) / 2;
+            qiniArea += (x - prevX) * (q + prevQ) / 2;
+            fractions[g] = x;
+            upliftCurve[g] = u;
+            qiniCurve[g] = rawQ;
+            prevX = x;
+            prevU = u;
+            prevQ = q;
+        }
+        return new UpliftMetrics(auucArea / n, qiniArea / n, fractions, upliftCurve, qiniCurve);
+    }
+
+    private static double qiniPoint(double yt, double yc, double nt, double nc) {
+        return nc > 0 ? yt - yc * nt / nc : yt;
+    }
+
+    /** @return 업리프트 곡선 아래 면적 (건수 정규화) */
+    public double auuc() { return auuc; }
+
+    /** @return Qini 계수 (Qini 곡선과 무작위 직선 사이 면적, 건수 정규화) */
+    public double qini() { return qini; }
+
+    /** @return 곡선 점별 누적 고객 비율 x (묶음 경계) */
+    public double[] fractions() { return fractions.clone(); }
+
+    /** @return 곡선 점별 업리프트 곡선 값 U(x) */
+    public double[] upliftCurve() { return upliftCurve.clone(); }
+
+    /** @return 곡선 점별 Qini 곡선 값 Q(x) (무작위 직선 차감 전) */
+    public double[] qiniCurve() { return qiniCurve.clone(); }
+
+    @Override
+    public String toString() {
+        return String.format("AUUC %.6f, Qini %.6f", auuc, qini);
+    }
+}
@@ -0,0 +1,212 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <p>{@link UpliftEvaluator}의 평가 결과입니다.</p>
+ * <p>전체 처치군/통제군 반응률과 평균 처치 효과(ATE), AUUC/Qini 계수, 1% 간격의 업리프트/Qini 곡선,
+ * 점수 십분위별 관측 업리프트와 예측 업리프트를 담습니다. 보정 오차(calibration error)는 십분위별
+ * |예측 평균 업리프트 - 관측 업리프트|를 건수 가중 평균한 값입니다. (처치군/통제군이 모두 있는 십분위만 사용)</p>
+ * <p>{@link #write(Path)}는 JSON으로 임시 파일에 쓴 뒤 원자적으로 교체합니다. 결측/무한대 값은 {@code null}로 기록합니다.</p>
+ */
+public final class UpliftReport {
+
+    private final Instant createdAt = Instant.now();
+    private final long rows;
+    private final long skippedRows;
+    private final int buckets;
+    private final long treated;
+    private final long control;
+    private final double treatedResponseRate;
+    private final double controlResponseRate;
+    private final double auuc;
+    private final double qini;
+    private final double calibrationError;
+    private final double[][] curve;
+    private final List<Decile> deciles;
+    private final long elapsedMillis;
+
+    UpliftReport(long rows, long skippedRows, int buckets, UpliftMetrics metrics, double[][] curve,
+                 List<Decile> deciles, long elapsedMillis) {
+        this.rows = rows;
+        this.skippedRows = skippedRows;
+        this.buckets = buckets;
+        this.auuc = metrics.auuc();
+        this.qini = metrics.qini();
+        this.curve = curve;
+        this.deciles = List.copyOf(deciles);
+        this.elapsedMillis = elapsedMillis;
+
+        long nt = 0, nc = 0, yt = 0, yc = 0;
+        double weighted = 0;
+        long calibrated = 0;
+        for (Decile d : deciles) {
+            nt += d.treated;
+            nc += d.control;
+            yt += d.treatedResponses;
+            yc += d.controlResponses;
+            if (d.treated > 0 && d.control > 0) {
+                weighted += d.rows() * Math.abs(d.predictedUplift - d.observedUplift());
+                calibrated += d.rows();
+            }
+        }
+        this.treated = nt;
+        this.control = nc;
+        this.treatedResponseRate = rate(yt, nt);
+        this.controlResponseRate = rate(yc, nc);
+        this.calibrationError = calibrated > 0 ? weighted / calibrated : Double.NaN;
+    }
+
+    private static double rate(long responses, long count) {
+        return count > 0 ? (double) responses / count : Double.NaN;
+    }
+
+    /** @return 평가에 사용한 행 수 (결측 제외) */
+    public long rows() { return rows; }
+
+    public long treated() { return treated; }
+
+    public long control() { return control; }
+
+    public double treatedResponseRate() { return treatedResponseRate; }
+
+    public double controlResponseRate() { return controlResponseRate; }
+
+    /** @return 관측 평균 처치 효과 (처치군 반응률 - 통제군 반응률) */
+    public double averageTreatmentEffect() { return treatedResponseRate - controlResponseRate; }
+
+    public double auuc() { return auuc; }
+
+    public double qini() { return qini; }
+
+    /** @return 십분위 보정 오차 (건수 가중 평균 절대 오차) */
+    public double calibrationError() { return calibrationError; }
+
+    /** @return 점수 십분위 (1 = 점수 상위 10%) */
+    public List<Decile> deciles() { return deciles; }
+
+    /**
+     * JSON으로 직렬화합니다.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(8192);
+        sb.append("{\n");
+        field(sb, "createdAt", "\"" + createdAt + "\"");
+        field(sb, "rows", rows);
+        field(sb, "skippedRows", skippedRows);
+        field(sb, "buckets", buckets);
+        field(sb, "treated", treated);
+        field(sb, "control", control);
+        field(sb, "treatedResponseRate", num(treatedResponseRate));
+        field(sb, "controlResponseRate", num(controlResponseRate));
+        field(sb, "averageTreatmentEffect", num(averageTreatmentEffect()));
+        field(sb, "auuc", num(auuc));
+        field(sb, "qini", num(qini));
+        field(sb, "calibrationError", num(calibrationError));
+        field(sb, "elapsedMillis", elapsedMillis);
+
+        sb.append("  \"deciles\": [");
+        for (int i = 0; i < deciles.size(); i++) {
+            Decile d = deciles.get(i);
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"decile\": ").append(d.decile)
+                    .append(", \"treated\": ").append(d.treated)
+                    .append(", \"control\": ").append(d.control)
+                    .append(", \"treatedResponseRate\": ").append(num(d.treatedResponseRate()))
+                    .append(", \"controlResponseRate\": ").append(num(d.controlResponseRate()))
+                    .append(", \"observedUplift\": ").append(num(d.observedUplift()))
+                    .append(", \"predictedUplift\": ").append(num(d.predictedUplift)).append('}');
+        }
+        sb.append("\n  ],\n");
+
+        sb.append("  \"curve\": [");
+        for (int i = 0; i < curve.length; i++) {
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"fraction\": ").append(num(curve[i][0]))
+                    .append(", \"uplift\": ").append(num(curve[i][1]))
+                    .append(", \"qini\": ").append(num(curve[i][2])).append('}');
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static void field(StringBuilder sb, String name, Object value) {
+        sb.append("  \"").append(name).append("\": ").append(value).append(",\n");
+    }
+
+    private static String num(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+
+    /**
+     * JSON 리포트를 저장합니다. 쓰는 도중 실패해도 기존 리포트가 남습니다.
+     *
+     * @param path 저장 경로
+     */
+    public void write(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.writeString(tmp, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d행, AUUC %.6f, Qini %.6f, ATE %.4f, 보정 오차 %.4f, 상위 10%% 업리프트 %.4f (%dms)",
+                rows, auuc, qini, averageTreatmentEffect(), calibrationError,
+                deciles.isEmpty() ? Double.NaN : deciles.get(0).observedUplift(), elapsedMillis);
+    }
+
+    /**
+     * 점수 십분위 하나의 집계입니다.
+     */
+    public static final class Decile {
+        private final int decile;
+        private final long treated;
+        private final long control;
+        private final long treatedResponses;
+        private final long controlResponses;
+        private final double predictedUplift;
+
+        Decile(int decile, long treated, long control, long treatedResponses, long controlResponses,
+               double predictedUplift) {
+            this.decile = decile;
+            this.treated = treated;
+            this.control = control;
+            this.treatedResponses = treatedResponses;
+            this.controlResponses = controlResponses;
+            this.predictedUplift = predictedUplift;
+        }
+
+        /** @return 십분위 번호 (1 = 점수 상위) */
+        public int decile() { return decile; }
+
+        public long rows() { return treated + control; }
+
+        public long treated() { return treated; }
+
+        public long control() { return control; }
+
+        public double treatedResponseRate() { return rate(treatedResponses, treated); }
+
+        public double controlResponseRate() { return rate(controlResponses, control); }
+
+        /** @return 관측 업리프트 (처치군 반응률 - 통제군 반응률, 한 그룹이 비면 NaN) */
+        public double observedUplift() { return treatedResponseRate() - controlResponseRate(); }
+
+        /** @return 예측 업리프트 평균 */
+        public double predictedUplift() { return predictedUplift; }
+    }
+}
@@ -0,0 +1,81 @@
+package aicard.perli.ml.h2o.frame;
+
+import aicard.perli.common.data.aggregate.CardFeatureAggregates;
+import aicard.perli.common.data.loader.CsvDataLoader;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
+
+import java.util.Arrays;
+
+/**
+ * 카드별 집계 상태를 누적 피처셋 컬럼으로 노출합니다.
+ * <p>거래가 있는 카드의 순번만 미리 추려 두고, 파생 피처(평균 할부, 평균 금액, 승인율)는 읽을 때 계산합니다.
+ * 생성 이후 집계 상태를 변경하지 않는다는 전제에서 스레드 안전합니다.</p>
+ */
+class AggregateSource implements ColumnarSource {
+
+    private static final String TREATMENT_COLUMN = "is_recommended";
+
+    private final CardFeatureAggregates aggregates;
+    private final double[] targets;
+    private final String[] names;
+    private final int[] ords;
+    private final byte[] treatments;
+
+    AggregateSource(CardFeatureAggregates aggregates, double[] targets, TreatmentAssigner assigner) {
+        this.aggregates = aggregates;
+        this.targets = targets;
+
+        String[] headers = CsvDataLoader.featureHeaders();
+        this.names = assigner == null ? headers : Arrays.copyOf(headers, headers.length + 1);
+        if (assigner != null) names[headers.length] = TREATMENT_COLUMN;
+
+        int[] active = new int[aggregates.size()];
+        int n = 0;
+        for (int ord = 0; ord < aggregates.size(); ord++) {
+            if (aggregates.count(ord) > 0) active[n++] = ord;
+        }
+        this.ords = Arrays.copyOf(active, n);
+
+        if (assigner != null) {
+            this.treatments = new byte[n];
+            for (int r = 0; r < n; r++) treatments[r] = (byte) assigner.assign(aggregates.cardId(ords[r]));
+        } else {
+            this.treatments = null;
+        }
+    }
+
+    @Override
+    public int rows() { return ords.length; }
+
+    @Override
+    public int columnCount() { return names.length; }
+
+    @Override
+    public String name(int col) { return names[col]; }
+
+    @Override
+    public boolean isString(int col) { return col == 0; }
+
+    @Override
+    public double number(int col, int row) {
+        int ord = ords[row];
+        int count = aggregates.count(ord);
+        switch (col) {
+            case 1: return aggregates.totalSum(ord);
+            case 2: return count;
+            case 3: return (double) aggregates.totalInst(ord) / count;
+            case 4: return aggregates.maxVal(ord);
+            case 5: return aggregates.totalSum(ord) / count;
+            case 6: return (double) aggregates.authCount(ord) / count;
+            case 7: return ord < targets.length ? targets[ord] : 0.0;
+            case 8: return treatments[row];
+            default: throw new IllegalArgumentException("숫자 컬럼이 아닙니다: " + names[col]);
+        }
+    }
+
+    @Override
+    public String string(int col, int row) {
+        if (col != 0) throw new IllegalArgumentException("문자열 컬럼이 아닙니다: " + names[col]);
+        return aggregates.cardId(ords[row]);
+    }
+}
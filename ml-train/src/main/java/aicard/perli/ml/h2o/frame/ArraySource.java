@@ -0,0 +1,43 @@
+package aicard.perli.ml.h2o.frame;
+
+/**
+ * 메모리의 숫자 컬럼 배열을 컬럼 원본으로 노출합니다.
+ */
+class ArraySource implements ColumnarSource {
+
+    private final String[] names;
+    private final double[][] columns;
+    private final int rows;
+
+    ArraySource(String[] names, double[][] columns) {
+        if (names.length != columns.length) {
+            throw new IllegalArgumentException("컬럼명 수와 컬럼 수가 다릅니다: " + names.length + " != " + columns.length);
+        }
+        this.rows = columns.length == 0 ? 0 : columns[0].length;
+        for (double[] column : columns) {
+            if (column.length != rows) throw new IllegalArgumentException("컬럼별 행 수가 다릅니다.");
+        }
+        this.names = names.clone();
+        this.columns = columns;
+    }
+
+    @Override
+    public int rows() { return rows; }
+
+    @Override
+    public int columnCount() { return names.length; }
+
+    @Override
+    public String name(int col) { return names[col]; }
+
+    @Override
+    public boolean isString(int col) { return false; }
+
+    @Override
+    public double number(int col, int row) { return columns[col][row]; }
+
+    @Override
+    public String string(int col, int row) {
+        throw new IllegalArgumentException("문자열 컬럼이 아닙니다: " + names[col]);
+    }
+}
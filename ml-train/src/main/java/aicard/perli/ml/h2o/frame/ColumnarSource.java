@@ -0,0 +1,60 @@
+package aicard.perli.ml.h2o.frame;
+
+import aicard.perli.common.data.aggregate.CardFeatureAggregates;
+import aicard.perli.common.data.store.FeatureFileReader;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
+
+/**
+ * <p>H2O 프레임으로 옮길 컬럼 단위 학습 데이터 원본입니다.</p>
+ * <p>{@link FrameBuilder}는 프레임의 청크마다 담당 행 구간의 값을 이 인터페이스로 읽어 채우므로,
+ * 구현체는 여러 스레드에서 동시에 읽어도 안전해야 합니다. (읽기 전용 상태만 사용)</p>
+ */
+public interface ColumnarSource {
+
+    /** @return 행 수 */
+    int rows();
+
+    /** @return 컬럼 수 */
+    int columnCount();
+
+    /** @return 컬럼명 */
+    String name(int col);
+
+    /** @return 문자열 컬럼 여부 (false이면 숫자 컬럼) */
+    boolean isString(int col);
+
+    /** @return 숫자 컬럼 값 (결측은 NaN) */
+    double number(int col, int row);
+
+    /** @return 문자열 컬럼 값 (결측은 null) */
+    String string(int col, int row);
+
+    /**
+     * 바이너리 피처 파일({@code .feat})을 원본으로 사용합니다. 리더는 프레임 구성이 끝날 때까지 열려 있어야 합니다.
+     */
+    static ColumnarSource of(FeatureFileReader reader) {
+        return new FeatureFileSource(reader);
+    }
+
+    /**
+     * 메모리의 숫자 컬럼 배열을 원본으로 사용합니다.
+     *
+     * @param names   컬럼명
+     * @param columns 컬럼별 값 배열 ({@code columns[c][r]})
+     */
+    static ColumnarSource of(String[] names, double[][] columns) {
+        return new ArraySource(names, columns);
+    }
+
+    /**
+     * 카드별 집계 상태를 누적 피처셋 컬럼(card_id ~ target)으로 노출합니다. 거래가 없는 카드는 제외하며,
+     * 값은 {@code CsvDataLoader}가 피처 파일에 기록하는 값과 동일합니다.
+     *
+     * @param aggregates 카드별 집계 상태
+     * @param targets    카드 순번 인덱스의 타겟 배열
+     * @param assigner   처치 배정기 (null이 아니면 card_id 기준 is_recommended 컬럼을 추가)
+     */
+    static ColumnarSource of(CardFeatureAggregates aggregates, double[] targets, TreatmentAssigner assigner) {
+        return new AggregateSource(aggregates, targets, assigner);
+    }
+}
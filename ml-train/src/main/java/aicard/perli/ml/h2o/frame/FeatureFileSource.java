@@ -0,0 +1,34 @@
+package aicard.perli.ml.h2o.frame;
+
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFileReader;
+
+/**
+ * 바이너리 피처 파일을 컬럼 원본으로 노출합니다. 리더의 절대 위치 읽기만 사용하므로 스레드 안전합니다.
+ */
+class FeatureFileSource implements ColumnarSource {
+
+    private final FeatureFileReader reader;
+
+    FeatureFileSource(FeatureFileReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public int rows() { return reader.rowCount(); }
+
+    @Override
+    public int columnCount() { return reader.columnCount(); }
+
+    @Override
+    public String name(int col) { return reader.columnName(col); }
+
+    @Override
+    public boolean isString(int col) { return reader.columnType(col) == ColumnType.STRING; }
+
+    @Override
+    public double number(int col, int row) { return reader.getNumber(col, row); }
+
+    @Override
+    public String string(int col, int row) { return reader.getString(col, row); }
+}
@@ -0,0 +1,113 @@
+package aicard.perli.ml.h2o.frame;
+
+import aicard.perli.common.data.store.FeatureFileReader;
+import lombok.extern.slf4j.Slf4j;
+import water.H2O;
+import water.Key;
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <p>컬럼 원본({@link ColumnarSource})으로부터 H2O {@link Frame}을 직접 구성하는 빌더입니다.</p>
+ * <p>기존 학습 경로는 메모리 집계 결과를 CSV 텍스트로 직렬화한 뒤 {@code NFSFileVec} + {@code ParseDataset}으로
+ * 타입 추정과 파싱을 다시 수행했습니다. 본 빌더는 행 수만큼의 상수 벡터로 청크 배치를 정한 뒤, MRTask가 청크마다
+ * 담당 행 구간의 값을 {@link NewChunk}에 바로 기록하므로 텍스트 직렬화/파싱 없이 청크 단위로 병렬 적재됩니다.</p>
+ * <p>컬럼 원본은 노드 간에 직렬화하지 않으므로 단일 노드(학습 프로세스 내장 H2O)에서만 사용할 수 있습니다.</p>
+ * <pre>{@code
+ * Frame fr = FrameBuilder.fromFeatureFile(Path.of("train_uplift_v2.feat"), "train_v2_frame");
+ * }</pre>
+ */
+@Slf4j
+public final class FrameBuilder {
+
+    private FrameBuilder() {
+    }
+
+    /**
+     * 컬럼 원본으로 프레임을 구성하여 DKV에 등록합니다. 문자열 컬럼은 String, 나머지는 숫자 컬럼이 됩니다.
+     *
+     * @param source   컬럼 원본
+     * @param frameKey 프레임 키 이름
+     * @return 구성된 프레임
+     */
+    public static Frame build(ColumnarSource source, String frameKey) {
+        if (H2O.CLOUD.size() > 1) {
+            throw new IllegalStateException("프레임 직접 적재는 단일 노드 클러스터에서만 지원합니다: " + H2O.CLOUD.size());
+        }
+        int rows = source.rows();
+        if (rows == 0) throw new IllegalArgumentException("적재할 행이 없습니다: " + frameKey);
+
+        int cols = source.columnCount();
+        String[] names = new String[cols];
+        byte[] types = new byte[cols];
+        for (int c = 0; c < cols; c++) {
+            names[c] = source.name(c);
+            types[c] = source.isString(c) ? Vec.T_STR : Vec.T_NUM;
+        }
+
+        long start = System.currentTimeMillis();
+        // 행 수만큼의 상수 벡터로 청크 배치(행 구간)만 정하고 값은 사용하지 않음
+        Vec layout = Vec.makeZero(rows);
+        Frame fr;
+        try {
+            fr = new FillTask(source).doAll(types, layout).outputFrame(Key.make(frameKey), names, null);
+        } finally {
+            layout.remove();
+        }
+        log.info("프레임 직접 적재 완료: {} ({}행 x {}열, 청크 {}개, {}ms)", frameKey, rows, cols,
+                fr.anyVec().nChunks(), System.currentTimeMillis() - start);
+        return fr;
+    }
+
+    /**
+     * 바이너리 피처 파일({@code .feat})로 프레임을 구성합니다.
+     *
+     * @param featureFile 피처 파일 경로
+     * @param frameKey    프레임 키 이름
+     */
+    public static Frame fromFeatureFile(Path featureFile, String frameKey) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(featureFile)) {
+            return build(ColumnarSource.of(reader), frameKey);
+        }
+    }
+
+    /**
+     * 청크마다 담당 행 구간의 원본 값을 출력 청크에 기록하는 MRTask입니다.
+     * <p>원본은 transient로 두어 로컬 복제본끼리만 공유합니다.</p>
+     */
+    static class FillTask extends MRTask<FillTask> {
+        private final transient ColumnarSource source;
+
+        FillTask(ColumnarSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public void map(Chunk[] cs, NewChunk[] ncs) {
+            int from = (int) cs[0].start();
+            int len = cs[0]._len;
+            for (int c = 0; c < ncs.length; c++) {
+                NewChunk nc = ncs[c];
+                if (source.isString(c)) {
+                    for (int i = 0; i < len; i++) {
+                        String value = source.string(c, from + i);
+                        if (value == null) nc.addNA();
+                        else nc.addStr(value);
+                    }
+                } else {
+                    for (int i = 0; i < len; i++) {
+                        double value = source.number(c, from + i);
+                        if (Double.isNaN(value)) nc.addNA();
+                        else nc.addNum(value);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package aicard.perli.ml.h2o.service.mojo;
+
+import aicard.perli.common.data.store.FeatureFileReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>대량 고객의 업리프트 점수를 워커 풀로 나누어 산출하는 배치 점수 산출기입니다.</p>
+ * <p>입력은 컬럼 단위 블록({@code columns[c][r]})이나 {@code .feat} 바이너리 피처 파일이며,
+ * 행 구간을 워커 수의 {@value #CHUNKS_PER_WORKER}배 청크로 나누어 병렬로 점수를 산출하고 미리 할당된 결과 배열의 같은 위치에 기록합니다.
+ * 행 점수 함수는 {@link MojoRowScorer}/{@link SLearnerScorer}처럼 스레드별 버퍼를 사용하는 것을 전제로 하며,
+ * 워커는 청크마다 입력 값 배열 하나만 재사용하므로 행 단위 할당이 없습니다.</p>
+ * <pre>{@code
+ * try (BatchUpliftScorer batch = service.batchScorer(8)) {
+ *     double[] uplift = batch.score(Path.of("train_uplift_v2.feat"));
+ * }
+ * }</pre>
+ * <p>결과는 워커 수와 무관하게 단일 스레드 산출과 같습니다.</p>
+ */
+public class BatchUpliftScorer implements Closeable {
+
+    /** 워커 1개당 분할할 청크 수 (청크별 처리 시간 편차 흡수용) */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ToDoubleFunction<double[]> rowScorer;
+    private final String[] columns;
+    private final int workers;
+    private final ExecutorService pool;
+
+    /**
+     * @param rowScorer 입력 값 배열(컬럼 순서)로 업리프트 점수를 산출하는 함수 (스레드 안전해야 함)
+     * @param columns   입력 값 순서대로의 피처 컬럼명
+     * @param workers   워커 수
+     */
+    public BatchUpliftScorer(ToDoubleFunction<double[]> rowScorer, String[] columns, int workers) {
+        this.rowScorer = rowScorer;
+        this.columns = columns.clone();
+        this.workers = Math.max(1, workers);
+        this.pool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "perli-uplift-batch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 컬럼 단위 블록의 점수를 산출합니다.
+     *
+     * @param block 컬럼별 값 배열 ({@code block[c][r]}, 생성자에 지정한 컬럼 순서)
+     * @param out   결과 배열 (길이 ≥ 행 수)
+     */
+    public void score(double[][] block, double[] out) {
+        if (block.length != columns.length) {
+            throw new IllegalArgumentException("입력 컬럼 수가 다릅니다: " + block.length + " != " + columns.length);
+        }
+        int rows = block.length == 0 ? 0 : block[0].length;
+        for (double[] column : block) {
+            if (column.length != rows) throw new IllegalArgumentException("컬럼별 행 수가 다릅니다.");
+        }
+        if (out.length < rows) throw new IllegalArgumentException("결과 배열이 작습니다: " + out.length + " < " + rows);
+
+        int chunks = Math.max(1, Math.min(rows, workers * CHUNKS_PER_WORKER));
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int from = (int) ((long) rows * i / chunks);
+            int to = (int) ((long) rows * (i + 1) / chunks);
+            futures.add(pool.submit(() -> scoreRange(block, out, from, to)));
+        }
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("배치 점수 산출 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException("배치 점수 산출 중 오류 발생", e.getCause());
+        }
+    }
+
+    /**
+     * 바이너리 피처 파일의 전체 행 점수를 산출합니다. 피처 컬럼은 이름으로 찾으며,
+     * 파일에 없는 컬럼은 단건 추론에서 값을 넣지 않은 경우와 같이 결측(NaN)으로 처리합니다.
+     *
+     * @return 행 순서대로의 업리프트 점수
+     */
+    public double[] score(Path featureFile) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(featureFile)) {
+            int rows = reader.rowCount();
+            double[][] block = new double[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                int col = reader.column(columns[c]);
+                if (col >= 0) {
+                    block[c] = reader.readDoubles(col);
+                } else {
+                    block[c] = new double[rows];
+                    Arrays.fill(block[c], Double.NaN);
+                }
+            }
+            double[] out = new double[rows];
+            score(block, out);
+            return out;
+        }
+    }
+
+    private void scoreRange(double[][] block, double[] out, int from, int to) {
+        double[] values = new double[block.length];
+        for (int r = from; r < to; r++) {
+            for (int c = 0; c < block.length; c++) values[c] = block[c][r];
+            out[r] = rowScorer.applyAsDouble(values);
+        }
+    }
+
+    /** @return 입력 컬럼명 */
+    public String[] columns() {
+        return columns.clone();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
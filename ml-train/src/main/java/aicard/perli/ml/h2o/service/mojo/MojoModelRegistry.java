@@ -0,0 +1,249 @@
+package aicard.perli.ml.h2o.service.mojo;
+
+import aicard.perli.ml.h2o.util.MojoExporter;
+import hex.genmodel.MojoModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>로컬 디렉터리의 MOJO 모델 버전을 추적하고 무중단으로 교체하는 모델 레지스트리입니다.</p>
+ * <p>디렉터리에서 glob 패턴에 맞는 {@code .zip} 파일 중 수정 시각이 가장 최근인 파일을 최신 버전으로 보고,
+ * 현재 버전과 다르면 백그라운드에서 적재 → 서빙 객체 생성 → 예열(warm-up)까지 마친 뒤 volatile 참조 하나로 교체합니다.
+ * 점수 산출 스레드는 {@link #get()}으로 참조를 한 번 읽어 그 호출 동안 사용하므로 교체 중에도 대기하지 않으며,
+ * 적재가 덜 끝난 모델을 보는 일도 없습니다.</p>
+ * <p>{@link MojoExporter}가 남긴 해시 파일({@code .sha256})이 있으면 적재 전에 내용을 검증합니다.
+ * 최신 파일 적재에 실패하면(쓰기 중인 파일, 해시 불일치 등) 그다음으로 최근인 파일을 차례로 시도하여 검증을 통과하는 가장 최근 버전을 서빙하고,
+ * 현재 버전보다 오래된 파일까지는 내려가지 않습니다. 실패한 파일은 수정 시각이나 크기가 바뀔 때까지 다시 시도하지 않습니다.</p>
+ * <pre>{@code
+ * MojoModelRegistry<MojoRowScorer> registry = new MojoModelRegistry<>(dir, "uplift_drf_model_v2*.zip",
+ *         model -> new MojoRowScorer(model, columns), scorer -> scorer.score(sample, 0));
+ * registry.refresh();
+ * registry.watch(30_000);
+ * double uplift = registry.get().score(values, 0);
+ * }</pre>
+ *
+ * @param <T> 모델로부터 만든 서빙 객체 타입 (점수 산출기 등)
+ */
+@Slf4j
+public class MojoModelRegistry<T> implements Closeable {
+
+    private final Path modelDir;
+    private final String glob;
+    private final Function<MojoModel, T> factory;
+    private final Consumer<T> warmUp;
+    private final ScheduledExecutorService loader;
+
+    private volatile Version<T> current;
+
+    /** 적재에 실패한 파일 식별자 (경로/수정 시각/크기, 디렉터리에 남아 있는 파일만 유지) */
+    private final Set<String> failedKeys = new HashSet<>();
+
+    /**
+     * @param modelDir 모델 디렉터리
+     * @param glob     모델 파일 glob 패턴 (예: {@code uplift_drf_model_v2*.zip})
+     * @param factory  적재된 모델로 서빙 객체를 만드는 함수
+     * @param warmUp   교체 전에 서빙 객체를 예열하는 함수 (null이면 생략)
+     */
+    public MojoModelRegistry(Path modelDir, String glob, Function<MojoModel, T> factory, Consumer<T> warmUp) {
+        this.modelDir = modelDir;
+        this.glob = glob;
+        this.factory = factory;
+        this.warmUp = warmUp;
+        this.loader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "perli-model-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return 현재 서빙 중인 객체 (아직 적재된 버전이 없으면 null)
+     */
+    public T get() {
+        Version<T> v = current;
+        return v == null ? null : v.serving;
+    }
+
+    /**
+     * @return 현재 버전 정보 (아직 적재된 버전이 없으면 null)
+     */
+    public Version<T> current() {
+        return current;
+    }
+
+    /**
+     * 디렉터리의 최신 버전을 확인하여 현재 버전과 다르면 적재/예열 후 교체합니다.
+     * 최신 파일이 검증/적재에 실패하면 현재 버전에 이르기 전까지 다음으로 최근인 파일을 시도하며, 모두 실패하면 마지막 예외를 던집니다.
+     * 호출 스레드에서 동기로 수행되며, 동시에 여러 번 호출되어도 적재는 한 번에 하나씩만 진행됩니다.
+     *
+     * @return 교체 여부
+     */
+    public synchronized boolean refresh() throws IOException {
+        List<Candidate> candidates = scan();
+        if (candidates.isEmpty()) throw new IOException("모델 파일을 찾을 수 없습니다: " + modelDir.resolve(glob));
+        Set<String> keys = new HashSet<>();
+        for (Candidate candidate : candidates) keys.add(candidate.key);
+        failedKeys.retainAll(keys);
+
+        // 최신 파일부터 적재를 시도하여, 손상된 파일은 건너뛰고 검증을 통과하는 가장 최근 파일로 대체
+        Version<T> active = current;
+        Exception failure = null;
+        for (Candidate candidate : candidates) {
+            if (active != null && active.path.equals(candidate.path) && active.modified.equals(candidate.modified)
+                    && active.size == candidate.size) {
+                return false;
+            }
+            if (failedKeys.contains(candidate.key)) continue;
+            try {
+                load(candidate);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                failedKeys.add(candidate.key);
+                log.warn("모델 적재 실패, 이전 파일로 대체를 시도합니다: {} ({})", candidate.path.getFileName(), e.getMessage());
+                failure = e;
+            }
+        }
+        if (failure instanceof IOException io) throw io;
+        if (failure != null) throw (RuntimeException) failure;
+        return false;
+    }
+
+    /**
+     * @return glob 패턴에 맞는 일반 파일 (최신순)
+     */
+    private List<Candidate> scan() throws IOException {
+        List<Candidate> candidates = new ArrayList<>();
+        if (Files.isDirectory(modelDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(modelDir, glob)) {
+                for (Path file : files) {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) candidates.add(new Candidate(file, attrs));
+                }
+            }
+        }
+        candidates.sort(Candidate.NEWEST_FIRST);
+        return candidates;
+    }
+
+    /**
+     * 해시 검증 → 적재 → 서빙 객체 생성 → 예열을 마친 뒤 현재 버전을 교체합니다.
+     */
+    private void load(Candidate candidate) throws IOException {
+        long start = System.currentTimeMillis();
+        if (!MojoExporter.verify(candidate.path)) {
+            throw new IOException("모델 파일 해시가 일치하지 않습니다: " + candidate.path);
+        }
+        MojoModel model = MojoModel.load(candidate.path.toString());
+        T serving = factory.apply(model);
+        if (warmUp != null) warmUp.accept(serving);
+
+        current = new Version<>(candidate.path, candidate.modified, candidate.size, model, serving);
+        log.info("모델 교체 완료: {} (수정 시각: {}, 적재+예열 {}ms)", candidate.path.getFileName(), candidate.modified,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 백그라운드 적재 스레드에서 {@link #refresh()}를 수행합니다.
+     *
+     * @return 교체 여부
+     */
+    public CompletableFuture<Boolean> refreshAsync() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        loader.execute(() -> {
+            try {
+                result.complete(refresh());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 주기적으로 디렉터리를 확인하여 새 버전이 있으면 백그라운드에서 교체합니다.
+     * 확인/적재 실패는 로그만 남기고 기존 버전으로 계속 서빙합니다.
+     *
+     * @param intervalMillis 확인 주기 (밀리초)
+     */
+    public void watch(long intervalMillis) {
+        loader.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Throwable t) {
+                log.error("모델 갱신 실패 (기존 버전 유지): {}", t.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * 디렉터리에서 찾은 모델 파일 후보입니다.
+     */
+    private static final class Candidate {
+        /** 수정 시각 내림차순, 같으면 파일명 내림차순 */
+        static final Comparator<Candidate> NEWEST_FIRST = Comparator.comparing((Candidate c) -> c.modified)
+                .thenComparing(c -> c.path.getFileName().toString()).reversed();
+
+        private final Path path;
+        private final Instant modified;
+        private final long size;
+        /** 적재 실패 기록용 식별자 (경로/수정 시각/크기) */
+        private final String key;
+
+        Candidate(Path path, BasicFileAttributes attrs) {
+            this.path = path;
+            this.modified = attrs.lastModifiedTime().toInstant();
+            this.size = attrs.size();
+            this.key = path + "@" + modified + "#" + size;
+        }
+    }
+
+    /**
+     * 적재된 모델 버전입니다.
+     */
+    public static final class Version<T> {
+        private final Path path;
+        private final Instant modified;
+        private final long size;
+        private final MojoModel model;
+        private final T serving;
+
+        Version(Path path, Instant modified, long size, MojoModel model, T serving) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+            this.model = model;
+            this.serving = serving;
+        }
+
+        public Path path() { return path; }
+
+        public Instant modified() { return modified; }
+
+        public MojoModel model() { return model; }
+
+        public T serving() { return serving; }
+    }
+}
@@ -0,0 +1,107 @@
+package aicard.perli.ml.h2o.service.mojo;
+
+import hex.genmodel.GenModel;
+
+import java.util.Arrays;
+
+/**
+ * <p>MOJO 모델을 {@link GenModel#score0(double[], double[])}로 직접 호출하는 저지연 수치 점수 산출기입니다.</p>
+ * <p>{@code EasyPredictModelWrapper}는 호출마다 {@code RowData}(박싱된 값의 {@code HashMap})를 만들고 컬럼명 매핑을 다시 수행합니다.
+ * 본 클래스는 입력 컬럼의 모델 내 인덱스를 생성 시점에 한 번만 계산하고, 스레드별로 재사용하는 입력 행/출력 배열에
+ * 값을 채워 넣으므로 점수 산출 경로에서 객체가 생성되지 않습니다.</p>
+ * <p>모델에 없는 입력 컬럼은 무시되고, 입력하지 않은 모델 컬럼은 결측(NaN)으로 처리되어 래퍼 경로와 같은 결과를 냅니다.
+ * 범주형(도메인이 있는) 컬럼은 지원하지 않습니다.</p>
+ * <pre>{@code
+ * MojoRowScorer scorer = new MojoRowScorer(MojoModel.load(path), "new_tx_count", "new_total_amt", "premium_ratio");
+ * double uplift = scorer.score(values, 0);
+ * }</pre>
+ * <p>인스턴스는 스레드 안전합니다.</p>
+ */
+public class MojoRowScorer {
+
+    private final GenModel model;
+    private final String[] columns;
+
+    /** 입력 컬럼별 모델 행 인덱스 (모델에 없으면 -1) */
+    private final int[] indices;
+    private final int rowWidth;
+    private final int predsSize;
+
+    private final ThreadLocal<Buffers> buffers;
+
+    /**
+     * @param model   로드된 MOJO 모델
+     * @param columns 입력 값 순서대로의 컬럼명
+     */
+    public MojoRowScorer(GenModel model, String... columns) {
+        this.model = model;
+        this.columns = columns.clone();
+
+        String[] names = model.getNames();
+        this.rowWidth = Math.max(names.length, model.nfeatures());
+        this.predsSize = model.getPredsSize(model.getModelCategory());
+        this.indices = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            int idx = Arrays.asList(names).indexOf(columns[i]);
+            if (idx >= 0 && model.getDomainValues(idx) != null) {
+                throw new IllegalArgumentException("범주형 컬럼은 원시 점수 산출을 지원하지 않습니다: " + columns[i]);
+            }
+            indices[i] = idx;
+        }
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(rowWidth, predsSize));
+    }
+
+    /**
+     * 입력 값을 스레드 전용 행에 채워 점수를 산출하고 지정한 출력 값을 반환합니다.
+     *
+     * @param values      생성자에 지정한 컬럼 순서의 입력 값
+     * @param outputIndex 출력 배열 인덱스 (업리프트 모델은 0이 증분 점수)
+     */
+    public double score(double[] values, int outputIndex) {
+        return score(values)[outputIndex];
+    }
+
+    /**
+     * 입력 값으로 점수를 산출합니다.
+     * <p>반환 배열은 스레드 전용 버퍼이므로 같은 스레드에서 다음 호출 전까지만 유효합니다.</p>
+     *
+     * @param values 생성자에 지정한 컬럼 순서의 입력 값
+     * @return 모델 출력 배열 ({@code EasyPredictModelWrapper} 예측 결과의 {@code predictions}와 같은 배치)
+     */
+    public double[] score(double[] values) {
+        if (values.length != indices.length) {
+            throw new IllegalArgumentException("입력 값 수가 컬럼 수와 다릅니다: " + values.length + " != " + indices.length);
+        }
+        Buffers b = buffers.get();
+        for (int i = 0; i < indices.length; i++) {
+            int idx = indices[i];
+            if (idx >= 0) b.row[idx] = values[i];
+        }
+        return model.score0(b.row, b.preds);
+    }
+
+    /** @return 입력 컬럼명 */
+    public String[] columns() {
+        return columns.clone();
+    }
+
+    /** @return 모델에 존재하는 입력 컬럼인지 여부 */
+    public boolean isMapped(int column) {
+        return indices[column] >= 0;
+    }
+
+    /**
+     * 스레드별로 재사용하는 입력 행과 출력 배열입니다.
+     * 입력하지 않는 모델 컬럼은 NaN으로 고정되고, 매핑된 컬럼은 매 호출마다 덮어씁니다.
+     */
+    private static final class Buffers {
+        final double[] row;
+        final double[] preds;
+
+        Buffers(int rowWidth, int predsSize) {
+            this.row = new double[rowWidth];
+            this.preds = new double[predsSize];
+            Arrays.fill(row, Double.NaN);
+        }
+    }
+}
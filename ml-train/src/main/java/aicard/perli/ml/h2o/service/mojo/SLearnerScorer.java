@@ -0,0 +1,132 @@
+package aicard.perli.ml.h2o.service.mojo;
+
+import hex.genmodel.GenModel;
+import hex.genmodel.ModelCategory;
+
+import java.util.Arrays;
+
+/**
+ * <p>S-Learner 방식 업리프트 점수 산출기입니다.</p>
+ * <p>처치 변수를 피처로 학습한 단일 모델에 대해 입력 행을 한 번만 구성한 뒤, 처치 컬럼 값만 1/0으로 바꿔
+ * {@link GenModel#score0(double[], double[])}를 두 번 호출하고 그 차이(Treatment - Control)를 반환합니다.
+ * {@code RowData} 두 개를 만들어 래퍼 예측을 두 번 수행하던 방식과 달리 컬럼 매핑, 박싱, 결과 객체 생성이 없습니다.</p>
+ * <p>처치 컬럼이 범주형이면 도메인의 "1"/"0" 인덱스를, 수치형이면 1.0/0.0을 사용합니다.
+ * 출력 값은 회귀 모델이면 예측값, 이진 분류 모델이면 양성(1) 클래스 확률입니다.</p>
+ * <p>{@link #scoreBatch}는 여러 행의 두 반사실(counterfactual) 점수를 한 번에 채웁니다.</p>
+ * <p>인스턴스는 스레드 안전합니다.</p>
+ */
+public class SLearnerScorer {
+
+    private final GenModel model;
+    private final int[] indices;
+    private final int treatmentIdx;
+    private final double treatedValue;
+    private final double controlValue;
+    private final int outputIndex;
+    private final int rowWidth;
+    private final int predsSize;
+
+    private final ThreadLocal<Buffers> buffers;
+
+    /**
+     * @param model           처치 변수를 피처로 포함해 학습한 MOJO 모델
+     * @param treatmentColumn 처치 변수 컬럼명 (예: is_recommended)
+     * @param columns         입력 값 순서대로의 피처 컬럼명
+     */
+    public SLearnerScorer(GenModel model, String treatmentColumn, String... columns) {
+        this.model = model;
+        String[] names = model.getNames();
+        this.rowWidth = Math.max(names.length, model.nfeatures());
+        this.predsSize = model.getPredsSize(model.getModelCategory());
+        this.outputIndex = model.getModelCategory() == ModelCategory.Binomial ? 2 : 0;
+
+        this.treatmentIdx = Arrays.asList(names).indexOf(treatmentColumn);
+        if (treatmentIdx < 0) throw new IllegalArgumentException("모델에 처치 컬럼이 없습니다: " + treatmentColumn);
+        String[] domain = model.getDomainValues(treatmentIdx);
+        if (domain == null) {
+            this.treatedValue = 1.0;
+            this.controlValue = 0.0;
+        } else {
+            this.treatedValue = domainIndex(domain, "1", treatmentColumn);
+            this.controlValue = domainIndex(domain, "0", treatmentColumn);
+        }
+
+        this.indices = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            int idx = Arrays.asList(names).indexOf(columns[i]);
+            if (idx >= 0 && model.getDomainValues(idx) != null) {
+                throw new IllegalArgumentException("범주형 컬럼은 원시 점수 산출을 지원하지 않습니다: " + columns[i]);
+            }
+            indices[i] = idx;
+        }
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(rowWidth, predsSize));
+    }
+
+    private static int domainIndex(String[] domain, String level, String column) {
+        int idx = Arrays.asList(domain).indexOf(level);
+        if (idx < 0) throw new IllegalArgumentException("처치 컬럼 도메인에 '" + level + "'이 없습니다: " + column);
+        return idx;
+    }
+
+    /**
+     * 한 행의 업리프트 점수를 산출합니다.
+     *
+     * @param values 생성자에 지정한 피처 순서의 입력 값
+     * @return 처치 시 점수 - 미처치 시 점수
+     */
+    public double uplift(double[] values) {
+        Buffers b = fill(values);
+        return scoreTreated(b) - scoreControl(b);
+    }
+
+    /**
+     * 여러 행의 두 반사실 점수를 한 번에 산출합니다. 행마다 입력 행을 한 번만 구성합니다.
+     *
+     * @param rows    행별 입력 값 (생성자에 지정한 피처 순서)
+     * @param treated 처치 시 점수 출력 (길이 ≥ rows.length)
+     * @param control 미처치 시 점수 출력 (길이 ≥ rows.length)
+     */
+    public void scoreBatch(double[][] rows, double[] treated, double[] control) {
+        for (int r = 0; r < rows.length; r++) {
+            Buffers b = fill(rows[r]);
+            treated[r] = scoreTreated(b);
+            control[r] = scoreControl(b);
+        }
+    }
+
+    private Buffers fill(double[] values) {
+        if (values.length != indices.length) {
+            throw new IllegalArgumentException("입력 값 수가 컬럼 수와 다릅니다: " + values.length + " != " + indices.length);
+        }
+        Buffers b = buffers.get();
+        for (int i = 0; i < indices.length; i++) {
+            int idx = indices[i];
+            if (idx >= 0) b.row[idx] = values[i];
+        }
+        return b;
+    }
+
+    private double scoreTreated(Buffers b) {
+        b.row[treatmentIdx] = treatedValue;
+        return model.score0(b.row, b.preds)[outputIndex];
+    }
+
+    private double scoreControl(Buffers b) {
+        b.row[treatmentIdx] = controlValue;
+        return model.score0(b.row, b.preds)[outputIndex];
+    }
+
+    /**
+     * 스레드별로 재사용하는 입력 행과 출력 배열입니다.
+     */
+    private static final class Buffers {
+        final double[] row;
+        final double[] preds;
+
+        Buffers(int rowWidth, int predsSize) {
+            this.row = new double[rowWidth];
+            this.preds = new double[predsSize];
+            Arrays.fill(row, Double.NaN);
+        }
+    }
+}
@@ -1,21 +1,41 @@
 package aicard.perli.ml.h2o.service.v1;
 
+import aicard.perli.common.warmup.ModelWarmUp;
+import aicard.perli.ml.h2o.service.mojo.BatchUpliftScorer;
+import aicard.perli.ml.h2o.service.mojo.SLearnerScorer;
+import aicard.perli.ml.h2o.util.ModelPaths;
 import hex.genmodel.MojoModel;
 import hex.genmodel.easy.EasyPredictModelWrapper;
 import hex.genmodel.easy.RowData;
 import hex.genmodel.easy.prediction.RegressionModelPrediction;
 import lombok.extern.slf4j.Slf4j;
 import java.io.File;
+import java.nio.file.Path;
 
 /**
  * <p>V1 학습 모델 전용 실시간 추론 서비스입니다.</p>
  * <p>뼈대 피처(과거 통계 8종)를 입력받아 S-Learner 기반의 업리프트 점수를 산출합니다.</p>
+ * <p>업리프트 점수는 {@link SLearnerScorer}가 입력 행을 한 번만 구성하고 처치 컬럼만 바꿔 산출합니다.</p>
+ * <p>모델 로드 직후 {@link ModelWarmUp}으로 업리프트 경로를 예열하며, 예열이 끝나면 {@link #isReady()}가 true가 됩니다.</p>
  */
 @Slf4j
 public class H2oInferenceServiceV1 {
 
+    /** V1 입력 피처 순서 */
+    private static final String[] FEATURE_COLUMNS = {"total_amount", "tx_count", "avg_installments",
+            "max_amount", "avg_amount", "authorized_ratio"};
+
     private EasyPredictModelWrapper modelWrapper;
 
+    /** S-Learner 점수 산출기 (처치 컬럼만 바꿔 score0 직접 호출) */
+    private SLearnerScorer upliftScorer;
+
+    /** 스레드별 입력 값 버퍼 */
+    private final ThreadLocal<double[]> inputs = ThreadLocal.withInitial(() -> new double[FEATURE_COLUMNS.length]);
+
+    /** 로드 및 예열 완료 여부 */
+    private volatile boolean ready;
+
     /**
      * 생성자를 통해 지정된 경로의 MOJO 모델을 로드합니다.
      *
@@ -28,13 +48,39 @@ public class H2oInferenceServiceV1 {
                 log.error("모델 파일을 찾을 수 없습니다: {}", modelPath);
                 return;
             }
-            this.modelWrapper = new EasyPredictModelWrapper(MojoModel.load(modelPath));
+            MojoModel model = MojoModel.load(modelPath);
+            this.modelWrapper = new EasyPredictModelWrapper(model);
+            this.upliftScorer = new SLearnerScorer(model, "is_recommended", FEATURE_COLUMNS);
+            warmUp(modelFile.toPath().resolveSibling(ModelPaths.WARMUP_SAMPLE_FILE));
+            this.ready = true;
             log.info("추론 엔진 준비 완료");
         } catch (Exception e) {
             log.error("엔진 로딩 중 치명적 오류: {}", e.getMessage());
         }
     }
 
+    /**
+     * 표본 행으로 업리프트 경로를 반복 호출하여 지연 시간이 안정될 때까지 예열합니다.
+     *
+     * @param defaultSample 학습 시 모델 옆에 기록된 예열 표본 (없으면 합성 표본)
+     */
+    private void warmUp(Path defaultSample) {
+        if (!ModelWarmUp.isEnabled()) return;
+        try {
+            ModelWarmUp.Result result = new ModelWarmUp().run(ModelWarmUp.sample(defaultSample, FEATURE_COLUMNS), upliftScorer::uplift);
+            log.info("V1 추론 엔진 예열 완료: {}", result);
+        } catch (Exception e) {
+            log.warn("V1 추론 엔진 예열 생략: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 모델 로드와 예열을 마쳐 점수 산출 준비가 되었는지 여부
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
     /**
      * <p>추천 처치에 따른 순수 증분 효과(Uplift)를 계산합니다.</p>
      * <p>S-Learner 원리에 따라 처치 변수를 1.0과 0.0으로 시뮬레이션한 차이값을 반환합니다.</p>
@@ -50,21 +96,19 @@ public class H2oInferenceServiceV1 {
     public double predictUplift(double totalAmount, int txCount, double avgInstallments,
                                 double maxAmount, double avgAmount, double authRatio) {
         try {
-            if (modelWrapper == null) return 0.0;
-
-            // 시나리오 A: 추천 제공
-            RowData treatmentRow = createBaseRow(totalAmount, txCount, avgInstallments, maxAmount, avgAmount, authRatio);
-            treatmentRow.put("is_recommended", 1.0);
-            double scoreWithAction = ((RegressionModelPrediction) modelWrapper.predict(treatmentRow)).value;
-
-            // 시나리오 B: 미제공 (통제군)
-            RowData controlRow = createBaseRow(totalAmount, txCount, avgInstallments, maxAmount, avgAmount, authRatio);
-            controlRow.put("is_recommended", 0.0);
-            double scoreWithoutAction = ((RegressionModelPrediction) modelWrapper.predict(controlRow)).value;
+            if (upliftScorer == null) return 0.0;
 
-            double uplift = scoreWithAction - scoreWithoutAction;
+            // 입력 행은 한 번만 구성하고, 추천 제공(1)/미제공(0) 시나리오는 처치 컬럼만 바꿔 산출
+            double[] values = inputs.get();
+            values[0] = totalAmount;
+            values[1] = txCount;
+            values[2] = avgInstallments;
+            values[3] = maxAmount;
+            values[4] = avgAmount;
+            values[5] = authRatio;
+            double uplift = upliftScorer.uplift(values);
 
-            log.info("ScoreDiff: {}", String.format("%.4f", uplift));
+            log.debug("ScoreDiff: {}", uplift);
             return uplift;
 
         } catch (Exception e) {
@@ -73,6 +117,29 @@ public class H2oInferenceServiceV1 {
         }
     }
 
+    /**
+     * <p>여러 고객의 추천 제공/미제공 점수를 한 번에 산출합니다.</p>
+     *
+     * @param rows    고객별 피처 (총 결제액, 결제 건수, 평균 할부, 최대 결제액, 평균 결제액, 승인율 순서)
+     * @param treated 추천 제공 시 점수 출력 (길이 ≥ rows.length)
+     * @param control 미제공 시 점수 출력 (길이 ≥ rows.length)
+     */
+    public void predictUpliftBatch(double[][] rows, double[] treated, double[] control) {
+        if (upliftScorer == null) throw new IllegalStateException("모델이 로드되지 않았습니다.");
+        upliftScorer.scoreBatch(rows, treated, control);
+    }
+
+    /**
+     * <p>전체 고객 배치 업리프트 산출기를 생성합니다. 입력 컬럼은 V1 피처 6종입니다.</p>
+     * <p>반환된 산출기는 자체 워커 풀을 가지므로 사용 후 닫아야 합니다.</p>
+     *
+     * @param workers 워커 수
+     */
+    public BatchUpliftScorer batchScorer(int workers) {
+        if (upliftScorer == null) throw new IllegalStateException("모델이 로드되지 않았습니다.");
+        return new BatchUpliftScorer(upliftScorer::uplift, FEATURE_COLUMNS, workers);
+    }
+
     /**
      * 단순 로열티 점수를 예측합니다.
      */
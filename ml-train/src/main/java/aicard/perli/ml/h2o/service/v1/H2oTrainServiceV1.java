@@ -1,5 +1,13 @@
 package aicard.perli.ml.h2o.service.v1;
 
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.ml.h2o.frame.ColumnarSource;
+import aicard.perli.ml.h2o.frame.FrameBuilder;
+import aicard.perli.ml.h2o.util.IncrementalTrainer;
+import aicard.perli.ml.h2o.util.ModelPaths;
+import aicard.perli.ml.h2o.util.MojoExporter;
+import aicard.perli.ml.h2o.util.WarmUpSample;
+import hex.ScoreKeeper.StoppingMetric;
 import hex.tree.gbm.GBM;
 import hex.tree.gbm.GBMModel;
 import hex.tree.gbm.GBMModel.GBMParameters;
@@ -11,26 +19,41 @@ import water.fvec.Frame;
 import water.fvec.NFSFileVec;
 import water.parser.ParseDataset;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.zip.ZipOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * <p>V1용 Gradient Boosting Machine(GBM) 모델 학습 및 MOJO 생성 서비스입니다.</p>
  * <p>과거 거래 내역 기반의 뼈대 피처셋을 학습하여 업리프트 시뮬레이션을 위한 기초 모델을 생성합니다.
- * H2O 엔진의 내장 MOJO 내보내기 기능 결함을 우회하기 위해 수동 ZIP 아카이브 조립 방식을 사용합니다.</p>
+ * 학습된 모델은 {@link MojoExporter}로 모델 상세 정보 없이 내보내므로 SchemaServer 연결이 필요하지 않습니다.</p>
  *
  */
 @Slf4j
 public class H2oTrainServiceV1 {
 
+    private static final String FRAME_KEY = "train_frame_v1";
+
     /**
-     * <p>지정된 경로의 CSV 데이터를 로드하여 V1 모델 학습을 수행합니다.</p>
+     * <p>지정된 경로의 학습 데이터를 로드하여 V1 모델 학습을 수행합니다.</p>
+     * <p>{@code .feat} 바이너리 피처 파일은 {@link FrameBuilder}로 프레임을 직접 구성하고, 그 외에는 CSV로 파싱합니다.</p>
      *
-     * @param dataPath 학습용 CSV 파일의 물리적 경로 (train_features_advanced.csv)
+     * @param dataPath 학습용 CSV 또는 바이너리 피처 파일의 물리적 경로 (train_uplift_v1.csv)
      */
     public void train(String dataPath) {
+        train(() -> loadFrame(dataPath));
+    }
+
+    /**
+     * <p>메모리의 컬럼 원본(카드별 집계 상태 등)으로 프레임을 직접 구성하여 V1 모델 학습을 수행합니다.</p>
+     * <p>CSV 직렬화와 H2O 파싱 단계를 거치지 않습니다.</p>
+     *
+     * @param source 학습 데이터 컬럼 원본 (target, is_recommended 컬럼 포함)
+     */
+    public void train(ColumnarSource source) {
+        train(() -> FrameBuilder.build(source, FRAME_KEY));
+    }
+
+    private void train(FrameLoader loader) {
         // JDK 버전 체크 우회 및 로그 환경 설정
         System.setProperty("h2o.ignore.jdk.version", "true");
         String logDirPath = new File("C:/Coding/perli-ai/resources/output/logs").getAbsolutePath();
@@ -38,26 +61,19 @@ public class H2oTrainServiceV1 {
 
         try {
             Scope.enter();
-            File f = new File(dataPath);
-            NFSFileVec nfs = NFSFileVec.make(f);
-            Frame fr = ParseDataset.parse(Key.make("train_frame_v1"), nfs._key);
+            Frame fr = loader.load();
 
-            // GBM 알고리즘 설정 (뼈대 학습용)
-            GBMParameters params = new GBMParameters();
-            params._train = fr._key;
-            params._response_column = "target";
-            params._ignored_columns = new String[]{"card_id"}; // 학습 제외 식별자
-            params._ntrees = 100;
-            params._max_depth = 10;
-            params._seed = 1234L;
-            params._learn_rate = 0.01;
+            GBMParameters params = defaultParams();
 
-            log.info("AI 모델 학습 프로세스 시작...");
-            GBM job = new GBM(params);
-            GBMModel model = job.trainModel().get();
-            log.info("학습 완료. MOJO 수동 조립을 시작합니다.");
+            // 증분 모드(-Dperli.h2o.retrain=incremental)는 검증 분할 조기 종료 + 직전 체크포인트에 트리 추가 (전체 프레임으로 학습)
+            // S-Learner는 반응 회귀 모델의 처치/비처치 예측 차이가 업리프트이므로 AUUC 대신 반응 예측 오차(deviance)로 조기 종료
+            IncrementalTrainer trainer = new IncrementalTrainer();
+            log.info("AI 모델 학습 프로세스 시작... (모드: {})", trainer.isIncremental() ? "incremental" : "full");
+            GBMModel model = trainer.train(fr, params, GBM::new, StoppingMetric.deviance, Paths.get(ModelPaths.v1Checkpoint()));
+            log.info("학습 완료. MOJO 내보내기를 시작합니다.");
 
-            forceManualMojoAssembly(model);
+            MojoExporter.export(model, Paths.get(ModelPaths.v1Model()));
+            WarmUpSample.write(fr, Paths.get(ModelPaths.v1WarmUpSample()), WarmUpSample.DEFAULT_ROWS);
 
         } catch (Exception e) {
             log.error("학습 중 예외 발생: {}", e.getMessage());
@@ -67,74 +83,37 @@ public class H2oTrainServiceV1 {
     }
 
     /**
-     * <p>H2O SchemaServer 연결 오류를 우회하여 MOJO ZIP 파일을 수동으로 생성합니다.</p>
-     * <p>Reflection을 통해 내부 writer의 스트림과 경로를 강제 제어합니다.</p>
-     *
-     * @param model 학습이 완료된 GBM 모델 객체
+     * <p>V1 GBM 기본 하이퍼파라미터를 생성합니다. ({@code _train}은 호출 측에서 지정)</p>
      */
-    private void forceManualMojoAssembly(GBMModel model) {
-        String modelPath = "C:/Coding/perli-ai/resources/output/models/h2o/v1/uplift_gbm_model_v1.zip";
-        try {
-            File modelFile = new File(modelPath);
-            if (modelFile.getParentFile() != null) modelFile.getParentFile().mkdirs();
-
-            Object mojoWriter = model.getMojo();
-            log.info("리플렉션 기반 MOJO 조립 중");
-
-            try (FileOutputStream fos = new FileOutputStream(modelFile);
-                 ZipOutputStream zos = new ZipOutputStream(fos)) {
-
-                // 파일 경로 접두사 null 방지 처리를 위한 targetdir 수정
-                Field dirField = findField(mojoWriter.getClass(), "targetdir");
-                dirField.setAccessible(true);
-                dirField.set(mojoWriter, "");
-
-                // 내부 스트림에 현재 ZipOutputStream 주입
-                Field zosField = findField(mojoWriter.getClass(), "zos");
-                zosField.setAccessible(true);
-                zosField.set(mojoWriter, zos);
-
-                // MOJO 구성 요소 순차 기록
-                invokeMethod(mojoWriter, "addCommonModelInfo");
-                invokeMethod(mojoWriter, "writeModelData");
-                invokeMethod(mojoWriter, "writeModelInfo");
-                invokeMethod(mojoWriter, "writeDomains");
-
-                zos.finish();
-            }
-            log.info("MOJO 파일 생성 성공: {}", modelPath);
-
-        } catch (Exception e) {
-            log.error("MOJO 조립 실패: {}", e.getMessage());
-        }
+    public static GBMParameters defaultParams() {
+        // GBM 알고리즘 설정 (뼈대 학습용)
+        GBMParameters params = new GBMParameters();
+        params._response_column = "target";
+        params._ignored_columns = new String[]{"card_id"}; // 학습 제외 식별자
+        params._ntrees = 100;
+        params._max_depth = 10;
+        params._seed = 1234L;
+        params._learn_rate = 0.01;
+        return params;
     }
 
     /**
-     * 클래스 상속 계층을 순회하며 필드를 탐색합니다.
+     * <p>학습 데이터를 H2O 프레임으로 적재합니다. {@code .feat}은 직접 적재, 그 외는 CSV 파싱입니다. (H2O 기동 이후 호출)</p>
+     * @param dataPath 학습용 CSV 또는 바이너리 피처 파일 경로
      */
-    private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        Class<?> current = clazz;
-        while (current != null) {
-            try { return current.getDeclaredField(fieldName); }
-            catch (NoSuchFieldException e) { current = current.getSuperclass(); }
-        }
-        throw new NoSuchFieldException(fieldName);
+    public Frame loadFrame(String dataPath) throws IOException {
+        return FeatureFile.isFeatureFile(dataPath)
+                ? FrameBuilder.fromFeatureFile(Paths.get(dataPath), FRAME_KEY)
+                : parseCsv(dataPath);
     }
 
-    /**
-     * 비공개 또는 보호된 메서드를 강제 실행합니다.
-     */
-    private void invokeMethod(Object obj, String methodName) throws Exception {
-        Class<?> clazz = obj.getClass();
-        while (clazz != null) {
-            try {
-                Method m = clazz.getDeclaredMethod(methodName);
-                m.setAccessible(true);
-                m.invoke(obj);
-                return;
-            } catch (NoSuchMethodException e) {
-                clazz = clazz.getSuperclass();
-            }
-        }
+    private Frame parseCsv(String dataPath) {
+        NFSFileVec nfs = NFSFileVec.make(new File(dataPath));
+        return ParseDataset.parse(Key.make(FRAME_KEY), nfs._key);
+    }
+
+    /** 학습 프레임 적재 방식 (H2O 기동 이후 호출) */
+    private interface FrameLoader {
+        Frame load() throws Exception;
     }
-}
\ No newline at end of file
+}
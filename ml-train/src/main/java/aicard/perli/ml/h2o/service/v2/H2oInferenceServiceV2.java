@@ -1,11 +1,21 @@
 package aicard.perli.ml.h2o.service.v2;
 
+import aicard.perli.common.warmup.ModelWarmUp;
+import aicard.perli.ml.h2o.service.mojo.BatchUpliftScorer;
+import aicard.perli.ml.h2o.service.mojo.MojoModelRegistry;
+import aicard.perli.ml.h2o.service.mojo.MojoRowScorer;
+import aicard.perli.ml.h2o.util.ModelPaths;
 import hex.genmodel.MojoModel;
 import hex.genmodel.easy.EasyPredictModelWrapper;
 import hex.genmodel.easy.RowData;
 import hex.genmodel.easy.prediction.UpliftBinomialModelPrediction;
 import lombok.extern.slf4j.Slf4j;
-import java.io.File;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>[V2] 고도화 Uplift 모델 기반 실시간 추론 서비스 클래스입니다.</p>
@@ -16,32 +26,60 @@ import java.io.File;
  * <li><b>Advanced Feature Integration:</b> 수혈된 최신 행동 데이터(금액, 건수, 프리미엄 비중) 반영</li>
  * <li><b>Direct Uplift Scoring:</b> 별도의 뺄셈 연산 없이 모델 내부에서 산출된 순수 증분값(ITE) 추출</li>
  * <li><b>High Performance:</b> MOJO(Model Object, Optimized) 포맷을 사용하여 밀리초(ms) 단위의 빠른 추론 속도 보장</li>
+ * <li><b>Raw Scoring:</b> {@link #scoreUpliftV2}는 {@link MojoRowScorer}로 {@code score0}을 직접 호출하여
+ * 호출당 객체 생성과 로그 없이 마이크로초 단위로 점수를 산출</li>
+ * <li><b>Hot Swap:</b> {@link MojoModelRegistry}로 모델 디렉터리를 감시하여 재학습된 모델을 재시작 없이 무중단 교체</li>
+ * <li><b>Warm-up:</b> 새 모델은 {@link ModelWarmUp}으로 지연 시간이 안정될 때까지 예열한 뒤 서빙에 투입</li>
  * </ul>
  * </p>
  */
 @Slf4j
-public class H2oInferenceServiceV2 {
+public class H2oInferenceServiceV2 implements Closeable {
+
+    /** V2 입력 피처 순서 (로드 시 모델 컬럼 인덱스로 한 번만 변환) */
+    private static final String[] FEATURE_COLUMNS = {"total_amount", "tx_count", "new_tx_count", "new_total_amt", "premium_ratio"};
+
+    /** 모델 버전 레지스트리 (래퍼/원시 점수 산출기 묶음을 한 번에 교체) */
+    private final MojoModelRegistry<Engine> registry;
 
-    /** H2O Easy Predict API를 위한 래퍼 객체 */
-    private EasyPredictModelWrapper modelWrapper;
+    /** 스레드별 입력 값 버퍼 */
+    private final ThreadLocal<double[]> inputs = ThreadLocal.withInitial(() -> new double[FEATURE_COLUMNS.length]);
 
     /**
      * <p>Uplift MOJO 모델 파일을 로드하여 추론 엔진을 초기화합니다.</p>
+     * <p>같은 경로에 모델이 다시 저장되면 {@link #reload()} 호출 시 무중단으로 교체됩니다.</p>
      * @param modelPath 학습 완료된 uplift_drf_model_v2.zip 파일의 물리적 경로
      */
     public H2oInferenceServiceV2(String modelPath) {
+        this(Paths.get(modelPath).toAbsolutePath().getParent(), Paths.get(modelPath).getFileName().toString(), 0);
+    }
+
+    /**
+     * <p>모델 디렉터리에서 glob 패턴에 맞는 최신 MOJO를 로드하고, 주기적으로 새 버전을 확인하여 교체합니다.</p>
+     * @param modelDir       모델 디렉터리
+     * @param glob           모델 파일 glob 패턴 (예: uplift_drf_model_v2*.zip)
+     * @param watchMillis    새 버전 확인 주기 (0 이하면 감시하지 않음)
+     */
+    public H2oInferenceServiceV2(Path modelDir, String glob, long watchMillis) {
+        this.registry = new MojoModelRegistry<>(modelDir, glob, Engine::new,
+                engine -> engine.warmUp(modelDir.resolve(ModelPaths.WARMUP_SAMPLE_FILE)));
         try {
-            File modelFile = new File(modelPath);
-            if (!modelFile.exists()) {
-                log.error("모델 파일을 찾을 수 없습니다: {}", modelPath);
-                return;
-            }
-            // MOJO 모델 로드 및 래퍼 생성
-            this.modelWrapper = new EasyPredictModelWrapper(MojoModel.load(modelPath));
+            registry.refresh();
             log.info("고도화 추론 엔진 로드 성공");
         } catch (Exception e) {
             log.error("엔진 초기화 중 치명적 오류 발생: {}", e.getMessage());
         }
+        if (watchMillis > 0) registry.watch(watchMillis);
+    }
+
+    /**
+     * <p>모델 디렉터리의 최신 버전을 백그라운드에서 적재/예열한 뒤 교체합니다.
+     * 교체 전까지는 기존 모델로 계속 점수를 산출합니다.</p>
+     *
+     * @return 교체 여부 (완료 시 결과 제공)
+     */
+    public CompletableFuture<Boolean> reload() {
+        return registry.refreshAsync();
     }
 
     /**
@@ -59,7 +97,8 @@ public class H2oInferenceServiceV2 {
     public double predictUpliftV2(double totalAmount, int txCount,
                                   double newTxCount, double newTotalAmt, double premiumRatio) {
         try {
-            if (modelWrapper == null) {
+            Engine engine = registry.get();
+            if (engine == null) {
                 log.warn("모델 래퍼가 초기화되지 않았습니다.");
                 return 0.0;
             }
@@ -69,14 +108,13 @@ public class H2oInferenceServiceV2 {
 
             // Uplift 전용 예측 수행
             // UpliftDRF 모델의 MOJO는 예측 결과로 UpliftBinomialModelPrediction을 반환합니다.
-            UpliftBinomialModelPrediction p = (UpliftBinomialModelPrediction) modelWrapper.predict(row);
+            UpliftBinomialModelPrediction p = (UpliftBinomialModelPrediction) engine.wrapper.predict(row);
 
             // 순수 업리프트 점수 추출
             // p.predictions[0] 에는 (P(Y=1|T=1) - P(Y=1|T=0)) 값이 미리 계산
             double upliftScore = p.predictions[0];
 
-            log.info("Input(Amt: {}, Ratio: {}) -> Result Uplift: {}",
-                    newTotalAmt, premiumRatio, String.format("%.6f", upliftScore));
+            log.debug("Input(Amt: {}, Ratio: {}) -> Result Uplift: {}", newTotalAmt, premiumRatio, upliftScore);
 
             return upliftScore;
 
@@ -86,6 +124,59 @@ public class H2oInferenceServiceV2 {
         }
     }
 
+    /**
+     * <p>{@link #predictUpliftV2}와 같은 업리프트 점수를 원시 점수 산출 경로로 계산합니다.</p>
+     * <p>컬럼 인덱스는 로드 시점에 한 번만 계산되어 있으며, 스레드 전용 입력/출력 배열을 재사용하므로
+     * {@code RowData}, 박싱, 예측 객체 생성과 호출별 로그가 없습니다. 추천 경로처럼 지연 시간이 중요한 곳에서 사용합니다.</p>
+     *
+     * @return Uplift Score (모델이 로드되지 않았으면 0.0)
+     */
+    public double scoreUpliftV2(double totalAmount, int txCount,
+                                double newTxCount, double newTotalAmt, double premiumRatio) {
+        Engine engine = registry.get();
+        if (engine == null) return 0.0;
+        double[] values = inputs.get();
+        values[0] = totalAmount;
+        values[1] = txCount;
+        values[2] = newTxCount;
+        values[3] = newTotalAmt;
+        values[4] = premiumRatio;
+        // UpliftDRF 출력 배치: [0] 업리프트, [1] P(Y=1|T=1), [2] P(Y=1|T=0)
+        return engine.scorer.score(values, 0);
+    }
+
+    /**
+     * <p>전체 고객 배치 업리프트 산출기를 생성합니다. 입력 컬럼은 {@link #scoreUpliftV2}와 같은 V2 피처 5종입니다.</p>
+     * <p>반환된 산출기는 생성 시점의 모델 버전에 고정되며(배치 도중 교체되어도 한 버전으로 산출), 자체 워커 풀을 가지므로 사용 후 닫아야 합니다.</p>
+     *
+     * @param workers 워커 수
+     */
+    public BatchUpliftScorer batchScorer(int workers) {
+        Engine engine = registry.get();
+        if (engine == null) throw new IllegalStateException("모델이 로드되지 않았습니다.");
+        return new BatchUpliftScorer(values -> engine.scorer.score(values, 0), FEATURE_COLUMNS, workers);
+    }
+
+    /**
+     * @return 예열까지 마친 모델이 서빙 중인지 여부
+     */
+    public boolean isReady() {
+        return registry.get() != null;
+    }
+
+    /** @return 현재 서빙 중인 모델 버전 (로드 전이면 null) */
+    public MojoModelRegistry.Version<?> currentVersion() {
+        return registry.current();
+    }
+
+    /**
+     * 모델 감시/적재 스레드를 종료합니다.
+     */
+    @Override
+    public void close() {
+        registry.close();
+    }
+
     /**
      * <p>추론을 위한 데이터 행(RowData) 객체를 생성하는 내부 헬퍼 메서드입니다.</p>
      *
@@ -106,4 +197,43 @@ public class H2oInferenceServiceV2 {
         row.put("premium_ratio", premiumRatio);
         return row;
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>한 모델 버전의 예측 래퍼와 원시 점수 산출기 묶음입니다. 레지스트리가 묶음 단위로 교체합니다.</p>
+     */
+    private static final class Engine {
+        final EasyPredictModelWrapper wrapper;
+        final MojoRowScorer scorer;
+
+        /**
+         * @throws IllegalArgumentException 모델 입력에 V2 추론 입력으로 채울 수 없는 파생 피처가 있으면 (레지스트리가 등록을 거부)
+         */
+        Engine(MojoModel model) {
+            for (String name : model.getNames()) {
+                if (H2oTrainServiceV2.DERIVED_COLUMNS.contains(name)) {
+                    throw new IllegalArgumentException("파생 피처(" + name + ")로 학습된 모델은 V2 추론 입력 "
+                            + Arrays.toString(FEATURE_COLUMNS) + "으로 점수를 산출할 수 없습니다. "
+                            + "-Dperli.h2o.transforms 없이 다시 학습하세요.");
+                }
+            }
+            this.wrapper = new EasyPredictModelWrapper(model);
+            this.scorer = new MojoRowScorer(model, FEATURE_COLUMNS);
+        }
+
+        /**
+         * 교체 전에 점수 산출 경로를 표본 행으로 반복 호출하여 새 모델의 트리 순회 코드가 JIT 컴파일되도록 합니다.
+         *
+         * @param defaultSample 학습 시 모델 디렉터리에 기록된 예열 표본 (없으면 합성 표본)
+         */
+        void warmUp(Path defaultSample) {
+            if (!ModelWarmUp.isEnabled()) return;
+            try {
+                ModelWarmUp.Result result = new ModelWarmUp()
+                        .run(ModelWarmUp.sample(defaultSample, FEATURE_COLUMNS), values -> scorer.score(values, 0));
+                log.info("V2 추론 엔진 예열 완료: {}", result);
+            } catch (Exception e) {
+                log.warn("V2 추론 엔진 예열 생략: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,5 +1,24 @@
 package aicard.perli.ml.h2o.service.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.ml.h2o.evaluation.HoldoutData;
+import aicard.perli.ml.h2o.evaluation.UpliftEvaluator;
+import aicard.perli.ml.h2o.evaluation.UpliftReport;
+import aicard.perli.ml.h2o.frame.ColumnarSource;
+import aicard.perli.ml.h2o.frame.FrameBuilder;
+import aicard.perli.ml.h2o.service.mojo.BatchUpliftScorer;
+import aicard.perli.ml.h2o.service.mojo.MojoRowScorer;
+import aicard.perli.ml.h2o.transform.LogScaleTransform;
+import aicard.perli.ml.h2o.transform.QuantileBinning;
+import aicard.perli.ml.h2o.transform.RatioTransform;
+import aicard.perli.ml.h2o.transform.StratifiedTargetEncoder;
+import aicard.perli.ml.h2o.util.IncrementalTrainer;
+import aicard.perli.ml.h2o.util.ModelPaths;
+import aicard.perli.ml.h2o.util.MojoExporter;
+import aicard.perli.ml.h2o.util.WarmUpSample;
+import hex.ScoreKeeper.StoppingMetric;
+import hex.genmodel.MojoModel;
+import hex.splitframe.ShuffleSplitFrame;
 import hex.tree.uplift.UpliftDRF;
 import hex.tree.uplift.UpliftDRFModel;
 import hex.tree.uplift.UpliftDRFModel.UpliftDRFParameters;
@@ -12,10 +31,10 @@ import water.parser.ParseDataset;
 import water.MRTask;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.zip.ZipOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * <p>[V2] 고도화 데이터 기반 Uplift 모델 학습 및 MOJO 아카이브 생성을 담당하는 서비스 클래스입니다.</p>
@@ -24,13 +43,40 @@ import java.util.zip.ZipOutputStream;
  * <li><b>UpliftDRF:</b> H2O 전용 업리프트 알고리즘을 사용하여 증분 효과를 직접 최적화합니다.</li>
  * <li><b>Data Binarization:</b> 연속형 타겟 점수를 이진 분류 형태로 변환하여 모델 학습 호환성을 확보합니다.</li>
  * <li><b>Distributed Computing:</b> 전용 MRTask 클래스를 활용하여 대용량 데이터의 병렬 전처리를 수행합니다.</li>
- * <li><b>Manual MOJO Assembly:</b> 리플렉션을 통해 H2O 프레임워크의 내부 결함을 우회하여 안정적으로 모델을 저장합니다.</li>
+ * <li><b>Feature Engineering:</b> {@code aicard.perli.ml.h2o.transform}의 MRTask 변환으로 파생 피처를 프레임 위에서 병렬 생성합니다. (선택)</li>
+ * <li><b>Holdout Evaluation:</b> 학습에서 분리한 홀드아웃(기본 20%)을 저장된 MOJO로 평가하여 {@link UpliftEvaluator} JSON 리포트를 남깁니다. (-Dperli.eval.holdout=false로 생략)</li>
+ * <li><b>MOJO Export:</b> {@link MojoExporter}로 해시 파일과 함께 원자적으로 교체 저장하여 레지스트리가 바로 적재할 수 있게 합니다.</li>
  * </ul>
  * </p>
  */
 @Slf4j
 public class H2oTrainServiceV2 {
 
+    private static final String FRAME_KEY = "train_v2_frame";
+
+    /** 신규 거래 금액 분위 구간 수 */
+    private static final int AMOUNT_BINS = 10;
+
+    /** 파생 피처 컬럼명 ({@link #engineerFeatures}가 추가하며 V2 추론 서비스 입력에는 없음) */
+    public static final List<String> DERIVED_COLUMNS = List.of(
+            LogScaleTransform.PREFIX + "new_total_amt",
+            "new_avg_amt",
+            LogScaleTransform.PREFIX + "new_total_amt" + QuantileBinning.SUFFIX,
+            StratifiedTargetEncoder.PREFIX + "feature_1_treated",
+            StratifiedTargetEncoder.PREFIX + "feature_1_control",
+            StratifiedTargetEncoder.PREFIX + LogScaleTransform.PREFIX + "new_total_amt" + QuantileBinning.SUFFIX + "_treated",
+            StratifiedTargetEncoder.PREFIX + LogScaleTransform.PREFIX + "new_total_amt" + QuantileBinning.SUFFIX + "_control");
+
+    /** 타겟 인코딩 수축 가중치 (가상 표본 수) */
+    private static final double TE_SMOOTHING = 20.0;
+
+    /** 학습 후 평가에 쓸 홀드아웃 비율 (기본 0.2, -Dperli.eval.holdout=false 또는 비율 0이면 분리/평가 없이 전체 데이터로 학습) */
+    private static final double HOLDOUT_RATIO = "false".equalsIgnoreCase(System.getProperty("perli.eval.holdout")) ? 0
+            : Double.parseDouble(System.getProperty("perli.eval.holdoutRatio", "0.2"));
+
+    /** 홀드아웃 분할 시드 */
+    private static final long HOLDOUT_SEED = 20240301L;
+
     /**
      * <p>데이터 전처리를 위한 분산 처리용 내부 클래스입니다.</p>
      * <p>H2O 클러스터의 각 노드에 코드를 전송하기 위해 정적(static) 클래스로 정의되었으며,
@@ -55,134 +101,198 @@ public class H2oTrainServiceV2 {
 
     /**
      * <p>V2 고도화 데이터셋을 학습하여 최적의 Uplift 모델을 생성하고 물리 파일로 저장합니다.</p>
-     * @param dataPath 전처리된 고도화 CSV 파일의 절대 경로
+     * <p>{@code .feat} 바이너리 피처 파일은 {@link FrameBuilder}로 프레임을 직접 구성하여 CSV 파싱을 생략합니다.</p>
+     * @param dataPath 전처리된 고도화 CSV 또는 바이너리 피처 파일의 절대 경로
      */
     public void trainV2(String dataPath) {
         log.info("고도화 학습 프로세스 시작. 데이터 소스: {}", dataPath);
+        trainV2(() -> loadFrame(dataPath));
+    }
+
+    /**
+     * <p>학습 데이터를 H2O 프레임으로 적재합니다. {@code .feat}은 직접 적재, 그 외는 CSV 파싱입니다.</p>
+     * @param dataPath 고도화 CSV 또는 바이너리 피처 파일 경로
+     */
+    public Frame loadFrame(String dataPath) throws IOException {
+        if (FeatureFile.isFeatureFile(dataPath)) {
+            log.info("바이너리 피처 파일 직접 적재 실행 중");
+            return FrameBuilder.fromFeatureFile(Paths.get(dataPath), FRAME_KEY);
+        }
+        log.info("H2O Distributed Parsing 실행 중");
+        NFSFileVec nfs = NFSFileVec.make(new File(dataPath));
+        return ParseDataset.parse(Key.make(FRAME_KEY), nfs._key);
+    }
+
+    /**
+     * <p>메모리의 컬럼 원본으로 프레임을 직접 구성하여 V2 모델을 학습합니다. (CSV 직렬화/파싱 생략)</p>
+     * @param source 학습 데이터 컬럼 원본 (target, is_recommended 컬럼 포함)
+     */
+    public void trainV2(ColumnarSource source) {
+        log.info("고도화 학습 프로세스 시작. 데이터 소스: 메모리 컬럼 원본 ({}행)", source.rows());
+        trainV2(() -> FrameBuilder.build(source, FRAME_KEY));
+    }
+
+    private void trainV2(FrameLoader loader) {
         System.setProperty("h2o.ignore.jdk.version", "true");
 
+        Frame[] parts = null;
         try {
             Scope.enter();
-            File f = new File(dataPath);
-            log.info("H2O Distributed Parsing 실행 중");
-            NFSFileVec nfs = NFSFileVec.make(f);
-            Frame fr = ParseDataset.parse(Key.make("train_v2_frame"), nfs._key);
-
-            log.info("병렬 전처리: Target 컬럼 이진화(Binarization) 착수");
-
-            // target 컬럼 이진화 (MRTask 활용)
-            Vec targetVec = fr.vec("target");
-            Frame inputFrame = new Frame(targetVec);
-
-            // 전용 Task를 호출하여 분산 환경에서 병렬 변환 수행
-            Frame resultFrame = new TargetBinarizer().doAll(new byte[]{Vec.T_NUM}, inputFrame).outputFrame();
-            Vec binarizedTarget = resultFrame.anyVec();
-
-            // 데이터 구조 재구성 및 타입 캐스팅
-            // UpliftDRF는 처치(Treatment)와 반응(Response) 변수가 반드시 Categorical(Enum) 타입
-            fr.replace(fr.find("target"), binarizedTarget);
-            fr.replace(fr.find("target"), fr.vec("target").toCategoricalVec());
-            fr.replace(fr.find("is_recommended"), fr.vec("is_recommended").toCategoricalVec());
-
-            // 변경 사항을 H2O 전역 키 저장소(DKV)에 업데이트
-            DKV.put(fr);
-            log.info("데이터 구조 최적화 완료");
-
-            // UpliftDRF 알고리즘 하이퍼파라미터 설정
-            UpliftDRFParameters params = new UpliftDRFParameters();
-            params._train = fr._key;
-            params._response_column = "target";           // 반응 여부 (0/1)
-            params._treatment_column = "is_recommended";   // 추천 여부 (0/1)
-            params._ignored_columns = new String[]{"card_id", "first_active_month"};
-
-            // 고도화 피처의 복합적 관계 학습을 위한 파라미터 튜닝
-            params._ntrees = 150;    // 앙상블 트리 개수
-            params._max_depth = 15;  // 결정 트리 최대 깊이
-            params._seed = 777;      // 재현성을 위한 시드값
-
-            // Kullback-Leibler Divergence: 처치군과 통제군 간의 분포 차이를 극대화하는 메트릭
-            params._uplift_metric = UpliftDRFParameters.UpliftMetricType.KL;
-
-            log.info("UpliftDRF 모델 학습 가동");
-            UpliftDRF job = new UpliftDRF(params);
-            UpliftDRFModel model = job.trainModel().get();
+            Frame fr = loader.load();
+
+            prepare(fr);
+            UpliftDRFParameters params = defaultParams();
+
+            // 검증 평가용 홀드아웃을 학습에서 분리 (기본 20%, -Dperli.eval.holdout=false로 생략)
+            if (HOLDOUT_RATIO > 0) {
+                parts = ShuffleSplitFrame.shuffleSplitFrame(fr,
+                        new Key[]{Key.make(FRAME_KEY + "_fit"), Key.make(FRAME_KEY + "_holdout")},
+                        new double[]{1 - HOLDOUT_RATIO, HOLDOUT_RATIO}, HOLDOUT_SEED);
+            }
+            Frame train = parts != null ? parts[0] : fr;
+
+            // 파생 피처는 분할 이후 학습 부분으로만 적합하여 홀드아웃 반응이 섞이지 않게 함
+            if (parts != null) engineerFeatures(train, parts[1]);
+            else engineerFeatures(train);
+
+            // 증분 모드(-Dperli.h2o.retrain=incremental)는 검증 AUUC가 정체되면 조기 종료하고 직전 체크포인트에 트리를 추가 (새 행만이 아닌 학습 분할 전체로 학습)
+            IncrementalTrainer trainer = new IncrementalTrainer();
+            log.info("UpliftDRF 모델 학습 가동 (모드: {})", trainer.isIncremental() ? "incremental" : "full");
+            UpliftDRFModel model = trainer.train(train, params, UpliftDRF::new, StoppingMetric.AUUC,
+                    Paths.get(ModelPaths.v2Checkpoint()));
             log.info("모델 빌드 성공 아카이빙 단계로 진입합니다.");
 
-            // 모델 저장 (수동 MOJO 조립)
-            saveMojoManually(model);
+            // 모델 저장 (임시 파일 기록 후 원자적 교체)
+            MojoExporter.export(model, Paths.get(ModelPaths.v2Model()));
+            WarmUpSample.write(train, Paths.get(ModelPaths.v2WarmUpSample()), WarmUpSample.DEFAULT_ROWS);
+
+            if (parts != null) evaluateHoldout(parts[1], params._ignored_columns);
 
         } catch (Exception e) {
             log.error("학습 도중 치명적 예외 발생: {}", e.getMessage());
             e.printStackTrace();
         } finally {
+            if (parts != null) for (Frame part : parts) part.remove();
             Scope.exit();
         }
     }
 
     /**
-     * <p>H2O 프레임워크의 MOJO 저장 경로 결함을 우회하여 ZIP 아카이브를 수동으로 조립합니다.</p>
-     * <p>Reflection 기술을 사용하여 비공개 필드에 직접 접근하며, 모델 데이터와 메타데이터를 순차적으로 기록합니다.</p>
-     * @param model 학습이 완료된 UpliftDRFModel 인스턴스
-     * @throws Exception 리플렉션 및 스트림 처리 중 발생하는 예외
+     * <p>저장된 MOJO로 홀드아웃 프레임을 배치 점수화하여 Qini/AUUC, 십분위 업리프트, 보정 지표를 평가하고 JSON 리포트로 저장합니다.</p>
+     * <p>평가 실패는 학습 결과에 영향을 주지 않도록 경고만 남깁니다.</p>
      */
-    private void saveMojoManually(UpliftDRFModel model) throws Exception {
-        String savePath = "C:/Coding/perli-ai/resources/output/models/h2o/v2/uplift_drf_model_v2.zip";
-        File file = new File(savePath);
-        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+    private void evaluateHoldout(Frame holdout, String[] ignoredColumns) {
+        try {
+            HoldoutData data = HoldoutData.of(holdout, "is_recommended", "target", ignoredColumns);
+            MojoRowScorer scorer = new MojoRowScorer(MojoModel.load(ModelPaths.v2Model()), data.features());
+            try (BatchUpliftScorer batch = new BatchUpliftScorer(values -> scorer.score(values, 0), data.features(),
+                    Runtime.getRuntime().availableProcessors())) {
+                UpliftReport report = new UpliftEvaluator().evaluate(data, batch);
+                report.write(Paths.get(ModelPaths.v2Report()));
+                log.info("홀드아웃 평가 리포트 저장: {}", ModelPaths.v2Report());
+            }
+        } catch (Exception e) {
+            log.warn("홀드아웃 평가 실패 (학습 결과는 유지): {}", e.getMessage());
+        }
+    }
 
-        Object mojoWriter = model.getMojo();
-        log.info("리플렉션 기반 MOJO 조립 절차 개시");
+    /**
+     * <p>적재된 프레임을 UpliftDRF 학습 형태로 전처리합니다. (target 이진화, 반응/처치 범주형 변환 후 DKV 갱신)</p>
+     * <p>행 단위 변환만 수행하므로 분할 전에 호출해도 됩니다. 데이터로 적합하는 파생 피처는 분할 후 {@link #engineerFeatures}로 생성합니다.</p>
+     * @param fr 적재된 학습 프레임 (제자리에서 변경됨)
+     * @return 같은 프레임
+     */
+    public Frame prepare(Frame fr) {
+        log.info("병렬 전처리: Target 컬럼 이진화(Binarization) 착수");
 
-        try (FileOutputStream fos = new FileOutputStream(file);
-             ZipOutputStream zos = new ZipOutputStream(fos)) {
+        // target 컬럼 이진화 (MRTask 활용)
+        Vec targetVec = fr.vec("target");
+        Frame inputFrame = new Frame(targetVec);
 
-            // MOJO 생성에 필요한 내부 객체 의존성 강제 주입
-            setFieldValue(mojoWriter, "targetdir", "");
-            setFieldValue(mojoWriter, "zos", zos);
+        // 전용 Task를 호출하여 분산 환경에서 병렬 변환 수행
+        Frame resultFrame = new TargetBinarizer().doAll(new byte[]{Vec.T_NUM}, inputFrame).outputFrame();
+        Vec binarizedTarget = resultFrame.anyVec();
 
-            // 저장 명세(addCommonModelInfo -> writeModelData -> writeModelInfo -> writeDomains) 준수
-            invokeMethod(mojoWriter, "addCommonModelInfo");
-            invokeMethod(mojoWriter, "writeModelData");
-            invokeMethod(mojoWriter, "writeModelInfo");
-            invokeMethod(mojoWriter, "writeDomains");
+        // 데이터 구조 재구성 및 타입 캐스팅
+        // UpliftDRF는 처치(Treatment)와 반응(Response) 변수가 반드시 Categorical(Enum) 타입
+        fr.replace(fr.find("target"), binarizedTarget);
 
-            zos.finish();
-        }
-        log.info("고도화 모델 파일 생성 완료: {}", savePath);
+        fr.replace(fr.find("target"), fr.vec("target").toCategoricalVec());
+        fr.replace(fr.find("is_recommended"), fr.vec("is_recommended").toCategoricalVec());
+
+        // 변경 사항을 H2O 전역 키 저장소(DKV)에 업데이트
+        DKV.put(fr);
+        log.info("데이터 구조 최적화 완료");
+        return fr;
     }
 
     /**
-     * <p>객체의 캡슐화된 필드에 접근하여 강제로 값을 설정합니다.</p>
-     *
-     * @param obj       대상 객체
-     * @param fieldName 필드명
-     * @param value     설정할 값
-     * @throws Exception 필드를 찾을 수 없거나 접근이 불가능할 경우
+     * <p>V2 UpliftDRF 기본 하이퍼파라미터를 생성합니다. ({@code _train}은 호출 측에서 지정)</p>
      */
-    private void setFieldValue(Object obj, String fieldName, Object value) throws Exception {
-        Field field = null;
-        Class<?> current = obj.getClass();
-        while (current != null) {
-            try { field = current.getDeclaredField(fieldName); break; }
-            catch (NoSuchFieldException e) { current = current.getSuperclass(); }
+    public static UpliftDRFParameters defaultParams() {
+        // UpliftDRF 알고리즘 하이퍼파라미터 설정
+        UpliftDRFParameters params = new UpliftDRFParameters();
+        params._response_column = "target";           // 반응 여부 (0/1)
+        params._treatment_column = "is_recommended";   // 추천 여부 (0/1)
+        params._ignored_columns = new String[]{"card_id", "first_active_month"};
+
+        // 고도화 피처의 복합적 관계 학습을 위한 파라미터 튜닝
+        params._ntrees = 150;    // 앙상블 트리 개수
+        params._max_depth = 15;  // 결정 트리 최대 깊이
+        params._seed = 777;      // 재현성을 위한 시드값
+
+        // Kullback-Leibler Divergence: 처치군과 통제군 간의 분포 차이를 극대화하는 메트릭
+        params._uplift_metric = UpliftDRFParameters.UpliftMetricType.KL;
+        return params;
+    }
+
+    /**
+     * <p>MRTask 기반 파생 피처를 청크 단위 병렬로 생성합니다. (-Dperli.h2o.transforms=true, 비활성이면 아무 것도 하지 않음)</p>
+     * <p>신규 거래 금액 로그 스케일/분위 구간, 건당 평균 금액, feature_1과 금액 구간의 처치군/통제군별 타겟 인코딩을 추가합니다.
+     * 분위 경계와 타겟 인코딩 통계는 {@code fit} 프레임으로만 구하고, {@code others}(홀드아웃/검증)에는 같은 경계와 통계를
+     * leave-one-out 없이 적용하므로 검증 반응이 학습 피처로 새지 않습니다. 변경된 프레임은 DKV에 다시 등록합니다.
+     * 파생 컬럼({@link #DERIVED_COLUMNS})은 MOJO에 포함되지 않고 {@link H2oInferenceServiceV2}는 원시 피처만 입력하므로,
+     * 이 옵션으로 학습한 모델은 V2 추론 서비스가 등록을 거부합니다. (오프라인 평가/튜닝 전용)</p>
+     * @param fit    변환을 적합할 학습 프레임 ({@link #prepare} 이후)
+     * @param others 적합된 변환만 적용할 프레임
+     */
+    public void engineerFeatures(Frame fit, Frame... others) {
+        if (!Boolean.getBoolean("perli.h2o.transforms")) return;
+        long start = System.currentTimeMillis();
+        String logAmount = deriveFeatures(fit);
+        String amountBin = logAmount + QuantileBinning.SUFFIX;
+        double[] cuts = QuantileBinning.apply(fit, logAmount, AMOUNT_BINS);
+        StratifiedTargetEncoder featureEncoder =
+                StratifiedTargetEncoder.fit(fit, "feature_1", "is_recommended", "target", TE_SMOOTHING);
+        StratifiedTargetEncoder amountEncoder =
+                StratifiedTargetEncoder.fit(fit, amountBin, "is_recommended", "target", TE_SMOOTHING);
+        featureEncoder.apply(fit, true);
+        amountEncoder.apply(fit, true);
+        DKV.put(fit);
+
+        for (Frame other : others) {
+            deriveFeatures(other);
+            QuantileBinning.apply(other, logAmount, cuts);
+            featureEncoder.apply(other, false);
+            amountEncoder.apply(other, false);
+            DKV.put(other);
         }
-        if (field != null) { field.setAccessible(true); field.set(obj, value); }
+        log.info("파생 피처 생성 완료 ({}ms, 금액 구간 경계: {})", System.currentTimeMillis() - start, Arrays.toString(cuts));
     }
 
     /**
-     * <p>객체의 캡슐화된 비공개 메서드를 강제로 실행합니다.</p>
+     * 데이터 적합이 필요 없는 행 단위 파생 피처(로그 스케일 금액, 건당 평균 금액)를 추가합니다.
      *
-     * @param obj        대상 객체
-     * @param methodName 메서드명
-     * @throws Exception 메서드 실행 중 발생한 예외
+     * @return 로그 스케일 금액 컬럼명
      */
-    private void invokeMethod(Object obj, String methodName) throws Exception {
-        Method m = null;
-        Class<?> current = obj.getClass();
-        while (current != null) {
-            try { m = current.getDeclaredMethod(methodName); break; }
-            catch (NoSuchMethodException e) { current = current.getSuperclass(); }
-        }
-        if (m != null) { m.setAccessible(true); m.invoke(obj); }
+    private static String deriveFeatures(Frame fr) {
+        String logAmount = LogScaleTransform.apply(fr, "new_total_amt")[0];
+        RatioTransform.apply(fr, "new_avg_amt", "new_total_amt", "new_tx_count", 0.0);
+        return logAmount;
+    }
+
+    /** 학습 프레임 적재 방식 */
+    private interface FrameLoader {
+        Frame load() throws Exception;
     }
-}
\ No newline at end of file
+}
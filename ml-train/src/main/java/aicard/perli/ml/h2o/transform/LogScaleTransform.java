@@ -0,0 +1,61 @@
+package aicard.perli.ml.h2o.transform;
+
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+import java.util.Arrays;
+
+/**
+ * <p>금액 컬럼을 부호 보존 로그 스케일({@code sign(x) * log(1 + |x|)})로 변환하는 MRTask입니다.</p>
+ * <p>Elo 거래 금액은 정규화 과정에서 음수가 포함되고 꼬리가 매우 길기 때문에, 0 근방은 선형에 가깝게 유지하면서
+ * 큰 값만 압축합니다. 결측은 결측으로 유지되며, 청크 단위로 병렬 변환됩니다.</p>
+ */
+public class LogScaleTransform extends MRTask<LogScaleTransform> {
+
+    /** 결과 컬럼명 접두사 */
+    public static final String PREFIX = "log_";
+
+    @Override
+    public void map(Chunk[] cs, NewChunk[] ncs) {
+        for (int c = 0; c < cs.length; c++) {
+            Chunk chunk = cs[c];
+            NewChunk nc = ncs[c];
+            for (int i = 0; i < chunk._len; i++) {
+                if (chunk.isNA(i)) nc.addNA();
+                else nc.addNum(signedLog1p(chunk.atd(i)));
+            }
+        }
+    }
+
+    /**
+     * 지정한 컬럼들을 변환하여 {@code log_<컬럼명>} 컬럼으로 프레임에 추가합니다.
+     *
+     * @param fr      대상 프레임
+     * @param columns 변환할 숫자 컬럼명
+     * @return 추가된 컬럼명
+     */
+    public static String[] apply(Frame fr, String... columns) {
+        Vec[] vecs = new Vec[columns.length];
+        String[] names = new String[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            vecs[c] = Transforms.numericVec(fr, columns[c]);
+            names[c] = PREFIX + columns[c];
+        }
+        byte[] types = new byte[columns.length];
+        Arrays.fill(types, Vec.T_NUM);
+
+        Frame result = new LogScaleTransform().doAll(types, new Frame(vecs)).outputFrame();
+        fr.add(names, result.vecs());
+        return names;
+    }
+
+    /**
+     * 추론 시 같은 변환을 적용할 수 있도록 공개된 단건 변환입니다.
+     */
+    public static double signedLog1p(double x) {
+        return Math.copySign(Math.log1p(Math.abs(x)), x);
+    }
+}
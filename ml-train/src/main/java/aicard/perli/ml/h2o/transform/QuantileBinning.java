@@ -0,0 +1,152 @@
+package aicard.perli.ml.h2o.transform;
+
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+import java.util.Arrays;
+
+/**
+ * <p>숫자 컬럼을 분위수 경계로 나누어 구간 번호(0 ~ 구간 수 - 1) 컬럼을 만드는 변환입니다.</p>
+ * <p>1단계에서 {@link Histogram} MRTask가 최솟값~최댓값을 {@value #FINE_BINS}개의 등폭 미세 구간으로 나눈 빈도를 청크별로 세어 합치고,
+ * 누적 빈도에서 분위수 경계를 구합니다. 2단계에서 {@link Assign} MRTask가 각 값을 이진 탐색으로 구간에 배정합니다.
+ * 경계 오차는 미세 구간 폭({@code (max - min) / FINE_BINS}) 이내이며, 꼬리가 긴 금액은 {@link LogScaleTransform} 결과에 적용하는 것이 좋습니다.</p>
+ * <p>같은 값이 몰려 경계가 겹치면 중복 경계를 제거하므로 실제 구간 수는 요청보다 적을 수 있습니다. 결측은 결측으로 유지됩니다.</p>
+ */
+public final class QuantileBinning {
+
+    /** 결과 컬럼명 접미사 */
+    public static final String SUFFIX = "_bin";
+
+    /** 분위수 추정용 미세 구간 수 */
+    private static final int FINE_BINS = 1 << 12;
+
+    private QuantileBinning() {
+    }
+
+    /**
+     * 컬럼의 분위수 경계를 구하고 {@code <컬럼명>_bin} 구간 번호 컬럼을 프레임에 추가합니다.
+     *
+     * @param fr     대상 프레임
+     * @param column 숫자 컬럼명
+     * @param bins   요청 구간 수
+     * @return 구간 경계 (추론 시 {@link #bin(double[], double)}에 사용)
+     */
+    public static double[] apply(Frame fr, String column, int bins) {
+        double[] cuts = fit(Transforms.numericVec(fr, column), bins);
+        apply(fr, column, cuts);
+        return cuts;
+    }
+
+    /**
+     * 다른 프레임에서 구한 구간 경계로 {@code <컬럼명>_bin} 구간 번호 컬럼을 프레임에 추가합니다. (검증/홀드아웃 프레임용)
+     *
+     * @param fr     대상 프레임
+     * @param column 숫자 컬럼명
+     * @param cuts   {@link #fit(Vec, int)}이 반환한 구간 경계
+     */
+    public static void apply(Frame fr, String column, double[] cuts) {
+        Vec vec = Transforms.numericVec(fr, column);
+        Frame result = new Assign(cuts).doAll(new byte[]{Vec.T_NUM}, new Frame(vec)).outputFrame();
+        fr.add(column + SUFFIX, result.anyVec());
+    }
+
+    /**
+     * 분위수 구간 경계를 계산합니다.
+     *
+     * @param vec  숫자 벡터
+     * @param bins 요청 구간 수 (2 이상)
+     * @return 오름차순 구간 경계 (길이 ≤ bins - 1)
+     */
+    public static double[] fit(Vec vec, int bins) {
+        if (bins < 2) throw new IllegalArgumentException("구간 수는 2 이상이어야 합니다: " + bins);
+        double min = vec.min();
+        double max = vec.max();
+        if (!(max > min)) return new double[0];
+
+        long[] counts = new Histogram(min, max).doAll(vec).counts;
+        long total = 0;
+        for (long c : counts) total += c;
+
+        double width = (max - min) / FINE_BINS;
+        double[] cuts = new double[bins - 1];
+        int n = 0;
+        long cumulative = 0;
+        int fine = 0;
+        for (int k = 1; k < bins; k++) {
+            // k번째 분위 순위를 처음 넘는 미세 구간의 상단을 경계로 사용
+            double rank = (double) total * k / bins;
+            while (fine < FINE_BINS && cumulative + counts[fine] <= rank) cumulative += counts[fine++];
+            double cut = fine >= FINE_BINS - 1 ? max : min + (fine + 1) * width;
+            if (n == 0 || cut > cuts[n - 1]) cuts[n++] = cut;
+        }
+        return Arrays.copyOf(cuts, n);
+    }
+
+    /**
+     * 값의 구간 번호를 반환합니다. 경계값과 같으면 위 구간에 속합니다. (추론 시 같은 배정을 위해 공개)
+     *
+     * @param cuts  {@link #fit(Vec, int)}이 반환한 구간 경계
+     * @param value 값
+     * @return 구간 번호 (0 ~ cuts.length)
+     */
+    public static int bin(double[] cuts, double value) {
+        int idx = Arrays.binarySearch(cuts, value);
+        return idx >= 0 ? idx + 1 : -(idx + 1);
+    }
+
+    /**
+     * 미세 구간 빈도를 청크별로 세어 합치는 MRTask입니다.
+     */
+    static class Histogram extends MRTask<Histogram> {
+        private final double min;
+        private final double max;
+        long[] counts;
+
+        Histogram(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void map(Chunk c) {
+            counts = new long[FINE_BINS];
+            double scale = FINE_BINS / (max - min);
+            for (int i = 0; i < c._len; i++) {
+                if (c.isNA(i)) continue;
+                int fine = (int) ((c.atd(i) - min) * scale);
+                counts[Math.min(Math.max(fine, 0), FINE_BINS - 1)]++;
+            }
+        }
+
+        @Override
+        public void reduce(Histogram other) {
+            if (counts == null) {
+                counts = other.counts;
+            } else if (other.counts != null) {
+                for (int i = 0; i < FINE_BINS; i++) counts[i] += other.counts[i];
+            }
+        }
+    }
+
+    /**
+     * 구간 경계로 각 값의 구간 번호를 기록하는 MRTask입니다.
+     */
+    static class Assign extends MRTask<Assign> {
+        private final double[] cuts;
+
+        Assign(double[] cuts) {
+            this.cuts = cuts;
+        }
+
+        @Override
+        public void map(Chunk c, NewChunk nc) {
+            for (int i = 0; i < c._len; i++) {
+                if (c.isNA(i)) nc.addNA();
+                else nc.addNum(bin(cuts, c.atd(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package aicard.perli.ml.h2o.transform;
+
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+/**
+ * <p>두 숫자 컬럼의 비율({@code numerator / denominator}) 피처를 만드는 MRTask입니다.</p>
+ * <p>분모가 0이면 {@code whenZero} 값(기본 결측)을, 어느 한쪽이 결측이면 결측을 기록합니다.
+ * 건당 평균 금액, 프리미엄 거래 비중처럼 생성기에서 단일 스레드로 계산하던 비율을 청크 단위로 병렬 계산합니다.</p>
+ */
+public class RatioTransform extends MRTask<RatioTransform> {
+
+    private final double whenZero;
+
+    /**
+     * @param whenZero 분모가 0일 때 기록할 값 (Double.NaN이면 결측)
+     */
+    public RatioTransform(double whenZero) {
+        this.whenZero = whenZero;
+    }
+
+    @Override
+    public void map(Chunk[] cs, NewChunk[] ncs) {
+        Chunk num = cs[0];
+        Chunk den = cs[1];
+        NewChunk nc = ncs[0];
+        for (int i = 0; i < num._len; i++) {
+            if (num.isNA(i) || den.isNA(i)) {
+                nc.addNA();
+                continue;
+            }
+            double value = ratio(num.atd(i), den.atd(i), whenZero);
+            if (Double.isNaN(value)) nc.addNA();
+            else nc.addNum(value);
+        }
+    }
+
+    /**
+     * 비율 컬럼을 계산하여 프레임에 추가합니다. 분모가 0인 행은 결측입니다.
+     *
+     * @param fr          대상 프레임
+     * @param name        추가할 컬럼명
+     * @param numerator   분자 컬럼명
+     * @param denominator 분모 컬럼명
+     */
+    public static void apply(Frame fr, String name, String numerator, String denominator) {
+        apply(fr, name, numerator, denominator, Double.NaN);
+    }
+
+    /**
+     * 비율 컬럼을 계산하여 프레임에 추가합니다.
+     *
+     * @param whenZero 분모가 0일 때 기록할 값 (예: 비중 피처는 0)
+     */
+    public static void apply(Frame fr, String name, String numerator, String denominator, double whenZero) {
+        Frame input = new Frame(Transforms.numericVec(fr, numerator), Transforms.numericVec(fr, denominator));
+        Frame result = new RatioTransform(whenZero).doAll(new byte[]{Vec.T_NUM}, input).outputFrame();
+        fr.add(name, result.anyVec());
+    }
+
+    /**
+     * 추론 시 같은 변환을 적용할 수 있도록 공개된 단건 변환입니다.
+     */
+    public static double ratio(double numerator, double denominator, double whenZero) {
+        return denominator == 0 ? whenZero : numerator / denominator;
+    }
+}
@@ -0,0 +1,223 @@
+package aicard.perli.ml.h2o.transform;
+
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+/**
+ * <p>처치군/통제군별로 나눈 타겟 인코딩(treatment-stratified target encoding) 변환입니다.</p>
+ * <p>범주형(또는 구간 번호) 컬럼의 수준마다 처치군과 통제군의 평균 반응을 각각 구해
+ * {@code te_<컬럼명>_treated}, {@code te_<컬럼명>_control} 두 컬럼을 추가합니다. 업리프트 모델은 두 값의 차이로
+ * 수준별 처치 효과를 바로 참고할 수 있습니다. 표본이 적은 수준은 {@code smoothing} 가중치로 그룹 전체 평균 쪽으로 수축합니다.</p>
+ * <p>{@link Stats} MRTask가 청크별 (그룹, 수준) 합계/건수를 모아 합치고, {@link Encode} MRTask가 행마다 인코딩 값을 기록합니다.
+ * 학습 프레임에 적용할 때 leave-one-out을 켜면 각 행 자신의 반응을 소속 그룹 통계에서 빼고 계산하여 타겟 누수를 줄입니다.
+ * 결측 수준은 그룹 전체 평균으로 인코딩하며, 반응/처치 컬럼은 0/1 숫자 또는 도메인이 {0, 1}인 범주형이어야 합니다.</p>
+ * <pre>{@code
+ * StratifiedTargetEncoder encoder = StratifiedTargetEncoder.fit(fr, "feature_1", "is_recommended", "target", 20);
+ * encoder.apply(fr, true);
+ * }</pre>
+ */
+public class StratifiedTargetEncoder {
+
+    /** 결과 컬럼명 접두사 */
+    public static final String PREFIX = "te_";
+
+    private static final int CONTROL = 0;
+    private static final int TREATED = 1;
+
+    private final String column;
+    private final String treatmentColumn;
+    private final String responseColumn;
+    private final double smoothing;
+    private final double[][] sums;
+    private final double[][] counts;
+    private final double[] priors;
+
+    private StratifiedTargetEncoder(String column, String treatmentColumn, String responseColumn, double smoothing,
+                                    double[][] sums, double[][] counts) {
+        this.column = column;
+        this.treatmentColumn = treatmentColumn;
+        this.responseColumn = responseColumn;
+        this.smoothing = smoothing;
+        this.sums = sums;
+        this.counts = counts;
+        this.priors = new double[2];
+        for (int g = 0; g < 2; g++) {
+            double sum = 0;
+            double count = 0;
+            for (int l = 0; l < sums[g].length; l++) {
+                sum += sums[g][l];
+                count += counts[g][l];
+            }
+            priors[g] = count > 0 ? sum / count : 0.0;
+        }
+    }
+
+    /**
+     * 프레임에서 그룹/수준별 반응 통계를 집계합니다.
+     *
+     * @param fr              학습 프레임
+     * @param column          인코딩할 범주형 또는 0 이상의 정수 컬럼명
+     * @param treatmentColumn 처치 여부 컬럼명 (1 = 처치군)
+     * @param responseColumn  반응 컬럼명 (0/1)
+     * @param smoothing       그룹 평균 쪽 수축 가중치 (가상 표본 수, 0이면 수축하지 않음)
+     */
+    public static StratifiedTargetEncoder fit(Frame fr, String column, String treatmentColumn, String responseColumn,
+                                              double smoothing) {
+        int levels = Transforms.levelCount(fr, column);
+        Frame input = new Frame(fr.vec(column), binaryVec(fr, treatmentColumn), binaryVec(fr, responseColumn));
+        Stats stats = new Stats(levels).doAll(input);
+        double[][] sums = stats.sums != null ? stats.sums : new double[2][levels];
+        double[][] counts = stats.counts != null ? stats.counts : new double[2][levels];
+        return new StratifiedTargetEncoder(column, treatmentColumn, responseColumn, smoothing, sums, counts);
+    }
+
+    /**
+     * 인코딩 컬럼 두 개를 프레임에 추가합니다.
+     *
+     * @param fr          대상 프레임 (처치/반응 컬럼은 leave-one-out일 때만 사용)
+     * @param leaveOneOut 학습 프레임이면 true (행 자신의 반응을 제외하고 인코딩)
+     * @return 추가된 컬럼명 (처치군, 통제군 순서)
+     */
+    public String[] apply(Frame fr, boolean leaveOneOut) {
+        Vec levelVec = fr.vec(column);
+        if (levelVec == null) throw new IllegalArgumentException("프레임에 컬럼이 없습니다: " + column);
+        Frame input = leaveOneOut
+                ? new Frame(levelVec, binaryVec(fr, treatmentColumn), binaryVec(fr, responseColumn))
+                : new Frame(levelVec);
+
+        String[] names = {PREFIX + column + "_treated", PREFIX + column + "_control"};
+        Frame result = new Encode(sums, counts, priors, smoothing, leaveOneOut)
+                .doAll(new byte[]{Vec.T_NUM, Vec.T_NUM}, input).outputFrame();
+        fr.add(names, result.vecs());
+        return names;
+    }
+
+    /**
+     * 수준의 인코딩 값을 반환합니다. (추론 시 같은 값을 넣기 위해 공개, leave-one-out 미적용)
+     *
+     * @param level   수준 (범주형 도메인 인덱스 또는 구간 번호, 범위 밖이면 그룹 평균)
+     * @param treated true면 처치군, false면 통제군 인코딩
+     */
+    public double encode(int level, boolean treated) {
+        int g = treated ? TREATED : CONTROL;
+        return smoothed(sums, counts, priors, smoothing, g, level, 0, 0);
+    }
+
+    /**
+     * @return 그룹 전체 평균 반응 (처치군 또는 통제군)
+     */
+    public double prior(boolean treated) {
+        return priors[treated ? TREATED : CONTROL];
+    }
+
+    /**
+     * 수준 통계에서 {@code excludeSum}/{@code excludeCount}만큼 뺀 뒤 그룹 평균 쪽으로 수축한 값을 반환합니다.
+     */
+    static double smoothed(double[][] sums, double[][] counts, double[] priors, double smoothing,
+                           int g, int level, double excludeSum, double excludeCount) {
+        if (level < 0 || level >= sums[g].length) return priors[g];
+        double count = counts[g][level] - excludeCount;
+        double sum = sums[g][level] - excludeSum;
+        double denom = count + smoothing;
+        return denom > 0 ? (sum + smoothing * priors[g]) / denom : priors[g];
+    }
+
+    private static Vec binaryVec(Frame fr, String column) {
+        Vec vec = fr.vec(column);
+        if (vec == null) throw new IllegalArgumentException("프레임에 컬럼이 없습니다: " + column);
+        if (vec.isCategorical() && vec.cardinality() > 2) {
+            throw new IllegalArgumentException("0/1 이진 컬럼이어야 합니다: " + column);
+        }
+        return vec;
+    }
+
+    /**
+     * 그룹/수준별 반응 합계와 건수를 청크별로 모아 합치는 MRTask입니다.
+     * <p>입력 컬럼 순서: 수준, 처치 여부, 반응. 세 값 중 하나라도 결측인 행은 제외합니다.</p>
+     */
+    static class Stats extends MRTask<Stats> {
+        private final int levels;
+        double[][] sums;
+        double[][] counts;
+
+        Stats(int levels) {
+            this.levels = levels;
+        }
+
+        @Override
+        public void map(Chunk[] cs) {
+            sums = new double[2][levels];
+            counts = new double[2][levels];
+            Chunk level = cs[0];
+            Chunk treatment = cs[1];
+            Chunk response = cs[2];
+            for (int i = 0; i < level._len; i++) {
+                if (level.isNA(i) || treatment.isNA(i) || response.isNA(i)) continue;
+                int l = (int) level.at8(i);
+                if (l < 0 || l >= levels) continue;
+                int g = treatment.at8(i) != 0 ? TREATED : CONTROL;
+                sums[g][l] += response.atd(i);
+                counts[g][l]++;
+            }
+        }
+
+        @Override
+        public void reduce(Stats other) {
+            if (sums == null) {
+                sums = other.sums;
+                counts = other.counts;
+            } else if (other.sums != null) {
+                for (int g = 0; g < 2; g++) {
+                    for (int l = 0; l < levels; l++) {
+                        sums[g][l] += other.sums[g][l];
+                        counts[g][l] += other.counts[g][l];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 행마다 처치군/통제군 인코딩 값을 기록하는 MRTask입니다.
+     * <p>leave-one-out이면 입력 컬럼 순서는 수준, 처치 여부, 반응이며 행 자신이 속한 그룹의 통계에서만 자신을 뺍니다.</p>
+     */
+    static class Encode extends MRTask<Encode> {
+        private final double[][] sums;
+        private final double[][] counts;
+        private final double[] priors;
+        private final double smoothing;
+        private final boolean leaveOneOut;
+
+        Encode(double[][] sums, double[][] counts, double[] priors, double smoothing, boolean leaveOneOut) {
+            this.sums = sums;
+            this.counts = counts;
+            this.priors = priors;
+            this.smoothing = smoothing;
+            this.leaveOneOut = leaveOneOut;
+        }
+
+        @Override
+        public void map(Chunk[] cs, NewChunk[] ncs) {
+            Chunk level = cs[0];
+            for (int i = 0; i < level._len; i++) {
+                int l = level.isNA(i) ? -1 : (int) level.at8(i);
+                int own = -1;
+                double response = 0;
+                if (leaveOneOut && l >= 0 && !cs[1].isNA(i) && !cs[2].isNA(i)) {
+                    own = cs[1].at8(i) != 0 ? TREATED : CONTROL;
+                    response = cs[2].atd(i);
+                }
+                for (int g = 0; g < 2; g++) {
+                    // 출력 순서: 처치군(0번 컬럼), 통제군(1번 컬럼)
+                    int out = g == TREATED ? 0 : 1;
+                    ncs[out].addNum(g == own
+                            ? smoothed(sums, counts, priors, smoothing, g, l, response, 1)
+                            : smoothed(sums, counts, priors, smoothing, g, l, 0, 0));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package aicard.perli.ml.h2o.transform;
+
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+/**
+ * 피처 변환 공통 검증 유틸리티입니다.
+ */
+final class Transforms {
+
+    private Transforms() {
+    }
+
+    /**
+     * @return 프레임의 숫자 컬럼 (없거나 숫자가 아니면 예외)
+     */
+    static Vec numericVec(Frame fr, String column) {
+        Vec vec = fr.vec(column);
+        if (vec == null) throw new IllegalArgumentException("프레임에 컬럼이 없습니다: " + column);
+        if (!vec.isNumeric()) throw new IllegalArgumentException("숫자 컬럼이 아닙니다: " + column);
+        return vec;
+    }
+
+    /**
+     * 범주형 컬럼은 도메인 크기, 0 이상의 정수 컬럼(구간 번호 등)은 최댓값 + 1을 수준 수로 봅니다.
+     *
+     * @return 컬럼의 수준 수
+     */
+    static int levelCount(Frame fr, String column) {
+        Vec vec = fr.vec(column);
+        if (vec == null) throw new IllegalArgumentException("프레임에 컬럼이 없습니다: " + column);
+        if (vec.isCategorical()) return vec.cardinality();
+        if (!vec.isInt() || vec.min() < 0) {
+            throw new IllegalArgumentException("범주형 또는 0 이상의 정수 컬럼이어야 합니다: " + column);
+        }
+        return (int) vec.max() + 1;
+    }
+}
@@ -0,0 +1,123 @@
+package aicard.perli.ml.h2o.tuning;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * <p>하이퍼파라미터 탐색 공간입니다.</p>
+ * <p>파라미터 이름은 H2O 파라미터 객체의 공개 필드명에서 앞의 {@code _}를 뺀 이름(예: {@code ntrees}, {@code max_depth},
+ * {@code learn_rate}, {@code uplift_metric})이며, {@link #apply(Object, Map)}가 같은 이름의 필드에 값을 설정합니다.
+ * 따라서 {@code GBMParameters}와 {@code UpliftDRFParameters}에 같은 방식으로 사용할 수 있습니다.</p>
+ * <pre>{@code
+ * HyperSpace space = new HyperSpace()
+ *         .add("ntrees", 50, 100, 150)
+ *         .add("max_depth", 8, 12, 15)
+ *         .add("uplift_metric", "KL", "Euclidean", "ChiSquared");
+ * List<Map<String, Object>> candidates = space.random(12, 42L);
+ * }</pre>
+ */
+public class HyperSpace {
+
+    private final Map<String, Object[]> values = new LinkedHashMap<>();
+
+    /**
+     * @param name       파라미터 이름 (필드명에서 {@code _} 제외)
+     * @param candidates 후보 값 (숫자, 문자열(열거형 이름), boolean)
+     */
+    public HyperSpace add(String name, Object... candidates) {
+        if (candidates.length == 0) throw new IllegalArgumentException("후보 값이 없습니다: " + name);
+        values.put(name, candidates.clone());
+        return this;
+    }
+
+    /** @return 전체 조합 수 */
+    public int size() {
+        int size = 1;
+        for (Object[] v : values.values()) size = Math.multiplyExact(size, v.length);
+        return size;
+    }
+
+    /**
+     * @return 모든 조합 (격자 탐색, 마지막 파라미터가 가장 빠르게 변함)
+     */
+    public List<Map<String, Object>> grid() {
+        int size = size();
+        List<Map<String, Object>> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) candidates.add(candidate(i));
+        return candidates;
+    }
+
+    /**
+     * 조합 중 {@code count}개를 중복 없이 무작위로 고릅니다. 같은 시드는 같은 후보를 만듭니다.
+     *
+     * @param count 후보 수 (전체 조합 수 이상이면 격자 탐색과 같음)
+     * @param seed  난수 시드
+     */
+    public List<Map<String, Object>> random(int count, long seed) {
+        int size = size();
+        if (count >= size) return grid();
+        // 부분 Fisher-Yates 셔플로 조합 번호를 뽑음
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Map<String, Object>> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(size - i);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+            candidates.add(candidate(order[i]));
+        }
+        return candidates;
+    }
+
+    private Map<String, Object> candidate(int index) {
+        List<String> names = new ArrayList<>(values.keySet());
+        Object[] picked = new Object[names.size()];
+        for (int p = names.size() - 1; p >= 0; p--) {
+            Object[] v = values.get(names.get(p));
+            picked[p] = v[index % v.length];
+            index /= v.length;
+        }
+        Map<String, Object> candidate = new LinkedHashMap<>();
+        for (int p = 0; p < names.size(); p++) candidate.put(names.get(p), picked[p]);
+        return Collections.unmodifiableMap(candidate);
+    }
+
+    /**
+     * 후보 값을 파라미터 객체의 같은 이름 공개 필드({@code _이름})에 설정합니다.
+     * 숫자는 필드 타입(int/long/double/float)에 맞게, 문자열은 열거형 필드면 열거 상수로 변환합니다.
+     *
+     * @param params    H2O 파라미터 객체
+     * @param candidate 파라미터 이름 → 값
+     */
+    public static void apply(Object params, Map<String, Object> candidate) {
+        for (Map.Entry<String, Object> e : candidate.entrySet()) {
+            try {
+                Field field = params.getClass().getField("_" + e.getKey());
+                field.set(params, convert(field.getType(), e.getValue()));
+            } catch (NoSuchFieldException ex) {
+                throw new IllegalArgumentException("파라미터 필드가 없습니다: _" + e.getKey(), ex);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalArgumentException("파라미터 필드에 값을 설정할 수 없습니다: _" + e.getKey(), ex);
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> type, Object value) {
+        if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value.toString());
+        if (value instanceof Number n) {
+            if (type == int.class || type == Integer.class) return n.intValue();
+            if (type == long.class || type == Long.class) return n.longValue();
+            if (type == double.class || type == Double.class) return n.doubleValue();
+            if (type == float.class || type == Float.class) return n.floatValue();
+        }
+        return value;
+    }
+}
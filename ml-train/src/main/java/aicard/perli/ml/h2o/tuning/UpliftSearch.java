@@ -0,0 +1,375 @@
+package aicard.perli.ml.h2o.tuning;
+
+import aicard.perli.common.warmup.ModelWarmUp;
+import aicard.perli.ml.h2o.evaluation.HoldoutData;
+import aicard.perli.ml.h2o.evaluation.UpliftMetrics;
+import aicard.perli.ml.h2o.service.mojo.MojoRowScorer;
+import aicard.perli.ml.h2o.service.mojo.SLearnerScorer;
+import aicard.perli.ml.h2o.util.MojoExporter;
+import hex.Model;
+import hex.ModelBuilder;
+import hex.genmodel.MojoModel;
+import hex.genmodel.MojoReaderBackendFactory;
+import hex.genmodel.MojoReaderBackendFactory.CachingStrategy;
+import hex.tree.SharedTreeModel.SharedTreeParameters;
+import lombok.extern.slf4j.Slf4j;
+import water.fvec.Frame;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>업리프트 모델(V1 GBM S-Learner, V2 UpliftDRF)의 병렬 하이퍼파라미터 탐색기입니다.</p>
+ * <p>{@link HyperSpace}가 만든 후보들을 successive halving 방식으로 평가합니다.
+ * <ul>
+ * <li>첫 단계(rung)는 모든 후보를 트리 수의 {@code 1/eta^(rungs-1)}만 학습하여 빠르게 평가하고,</li>
+ * <li>단계마다 목표 지표(AUUC 또는 Qini) 상위 {@code 1/eta}만 남겨 트리 수를 {@code eta}배로 늘려 다시 학습하며,</li>
+ * <li>마지막 단계에서 원래 트리 수로 학습한 결과를 최종 순위로 사용합니다.</li>
+ * </ul>
+ * 한 단계 안의 후보는 {@code parallelism}개까지 동시에 학습합니다. H2O 학습 자체가 노드의 코어를 나눠 쓰므로
+ * 기본값은 코어 수의 1/4입니다. (-Dperli.tuning.parallelism)</p>
+ * <p>후보마다 학습 시간, MOJO 크기, 검증 프레임의 AUUC/Qini, 예열 후 단건 점수 산출 지연 시간(중앙값)을 기록하며,
+ * MOJO는 파일을 거치지 않고 메모리에서 바로 적재해 {@link MojoRowScorer}/{@link SLearnerScorer}로 검증 행을 점수화합니다.
+ * 학습된 H2O 모델은 평가 직후 DKV에서 제거합니다. 지연 시간은 다른 후보의 학습과 CPU를 나눠 쓰지 않도록
+ * 단계의 학습이 모두 끝난 뒤 후보별로 하나씩 측정하며, 지표가 NaN인 시도는 성공한 시도 중 최하위로 정렬합니다.</p>
+ * <pre>{@code
+ * UpliftSearch<UpliftDRFModel, UpliftDRFParameters> search = new UpliftSearch<>(train, valid,
+ *         H2oTrainServiceV2::defaultParams, UpliftDRF::new, UpliftSearch.ScorerFactory.upliftDrf(),
+ *         "is_recommended", "target");
+ * List<UpliftSearch.Trial> trials = search.run(space.random(12, 42L));
+ * }</pre>
+ *
+ * @param <M> 모델 타입
+ * @param <P> 파라미터 타입
+ */
+@Slf4j
+public class UpliftSearch<M extends Model<M, P, ?>, P extends Model.Parameters> {
+
+    /** 단건 지연 시간 측정 표본 행 수 */
+    private static final int LATENCY_SAMPLE = 256;
+
+    /** 순위 기준 지표 */
+    public enum Objective { AUUC, QINI }
+
+    private final Frame train;
+    private final Supplier<P> baseParams;
+    private final Function<P, ModelBuilder<M, P, ?>> builder;
+    private final ScorerFactory scorerFactory;
+    private final HoldoutData holdout;
+
+    private int parallelism = Integer.getInteger("perli.tuning.parallelism",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 4));
+    private int eta = 3;
+    private int rungs = 2;
+    private Objective objective = Objective.AUUC;
+
+    /**
+     * 검증 프레임을 한 번만 행 배열로 추출해 두고 모든 후보의 평가에 재사용합니다.
+     *
+     * @param train           학습 프레임 (전처리 완료)
+     * @param valid           검증 프레임 (학습 프레임과 같은 컬럼)
+     * @param baseParams      후보마다 새 기본 파라미터를 만드는 함수 (예: {@code H2oTrainServiceV2::defaultParams})
+     * @param builder         파라미터로 모델 빌더를 만드는 함수 (예: {@code UpliftDRF::new})
+     * @param scorerFactory   MOJO 업리프트 점수 산출 방식
+     * @param treatmentColumn 처치 여부 컬럼명
+     * @param responseColumn  반응 컬럼명
+     */
+    public UpliftSearch(Frame train, Frame valid, Supplier<P> baseParams, Function<P, ModelBuilder<M, P, ?>> builder,
+                        ScorerFactory scorerFactory, String treatmentColumn, String responseColumn) {
+        this.train = train;
+        this.baseParams = baseParams;
+        this.builder = builder;
+        this.scorerFactory = scorerFactory;
+        String[] ignored = baseParams.get()._ignored_columns;
+        this.holdout = HoldoutData.of(valid, treatmentColumn, responseColumn, ignored != null ? ignored : new String[0]);
+        log.info("튜닝 검증 데이터 준비: {}행, 피처 {}개", holdout.rows(), holdout.features().length);
+    }
+
+    /** @param parallelism 동시에 학습할 후보 수 */
+    public UpliftSearch<M, P> parallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /** @param eta 단계마다 남길 비율의 역수 (3이면 상위 1/3) */
+    public UpliftSearch<M, P> eta(int eta) {
+        this.eta = Math.max(2, eta);
+        return this;
+    }
+
+    /** @param rungs 단계 수 (1이면 가지치기 없이 전체 트리 수로 한 번만 평가) */
+    public UpliftSearch<M, P> rungs(int rungs) {
+        this.rungs = Math.max(1, rungs);
+        return this;
+    }
+
+    public UpliftSearch<M, P> objective(Objective objective) {
+        this.objective = objective;
+        return this;
+    }
+
+    /**
+     * 후보들을 단계별로 평가합니다.
+     *
+     * @param candidates 하이퍼파라미터 후보 ({@link HyperSpace#grid()} 또는 {@link HyperSpace#random(int, long)})
+     * @return 모든 단계의 시도 결과 (마지막 단계 결과가 목표 지표 내림차순으로 앞에 오고, 이전 단계 결과가 뒤따름)
+     */
+    public List<Trial> run(List<Map<String, Object>> candidates) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "perli-tuning");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Trial> history = new ArrayList<>();
+        try {
+            List<Map<String, Object>> survivors = candidates;
+            for (int rung = 0; rung < rungs && !survivors.isEmpty(); rung++) {
+                double fraction = Math.pow(eta, rung - (rungs - 1));
+                long start = System.currentTimeMillis();
+                List<Trial> ranked = runRung(pool, rung, fraction, survivors);
+                log.info("튜닝 {}단계 완료: 후보 {}개, 트리 비율 {}, 최고 {} ({}ms)", rung + 1, survivors.size(),
+                        String.format("%.3f", fraction), ranked.get(0), System.currentTimeMillis() - start);
+
+                history.addAll(0, ranked);
+                if (rung < rungs - 1) {
+                    int keep = Math.max(1, (int) Math.ceil((double) survivors.size() / eta));
+                    survivors = new ArrayList<>();
+                    for (Trial trial : ranked) {
+                        if (survivors.size() == keep || trial.error != null) break;
+                        survivors.add(trial.hyper);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return history;
+    }
+
+    private List<Trial> runRung(ExecutorService pool, int rung, double fraction, List<Map<String, Object>> candidates)
+            throws InterruptedException {
+        List<Future<Evaluated>> futures = new ArrayList<>(candidates.size());
+        for (Map<String, Object> hyper : candidates) futures.add(pool.submit(() -> evaluate(rung, fraction, hyper)));
+
+        List<Evaluated> evaluated = new ArrayList<>(futures.size());
+        for (Future<Evaluated> future : futures) {
+            try {
+                evaluated.add(future.get());
+            } catch (ExecutionException e) {
+                // evaluate가 예외를 Trial에 담으므로 여기 도달하는 것은 예상치 못한 오류뿐
+                throw new RuntimeException("튜닝 시도 실행 중 오류가 발생했습니다.", e.getCause());
+            }
+        }
+
+        // 단계의 학습이 모두 끝난 뒤 지연 시간을 하나씩 측정하여 다른 후보의 학습과 CPU를 나눠 쓰지 않게 함
+        double[][] sample = latencySample();
+        List<Trial> trials = new ArrayList<>(evaluated.size());
+        for (Evaluated e : evaluated) {
+            Trial trial = e.scorer == null || sample.length == 0 ? e.trial
+                    : e.trial.withLatency(new ModelWarmUp().maxRounds(20).run(sample, e.scorer).lastMedianNanos());
+            if (trial.error == null) log.info("튜닝 시도: {}", trial);
+            trials.add(trial);
+        }
+        trials.sort(ranking(objective));
+        return trials;
+    }
+
+    /**
+     * 실패한 시도를 뒤로 보내고 목표 지표 내림차순으로 정렬하는 비교자입니다. 지표가 NaN인 시도는 성공한 시도 중 가장 뒤에 둡니다.
+     */
+    static Comparator<Trial> ranking(Objective objective) {
+        return Comparator.comparing((Trial t) -> t.error != null).thenComparing(
+                Comparator.comparingDouble((Trial t) -> score(t, objective)).reversed());
+    }
+
+    private static double score(Trial trial, Objective objective) {
+        double score = objective == Objective.QINI ? trial.qini : trial.auuc;
+        return Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+    }
+
+    private double[][] latencySample() {
+        double[][] sample = new double[Math.min(LATENCY_SAMPLE, holdout.rows())][];
+        for (int r = 0; r < sample.length; r++) sample[r] = holdout.row(r, new double[holdout.features().length]);
+        return sample;
+    }
+
+    private Evaluated evaluate(int rung, double fraction, Map<String, Object> hyper) {
+        P params = baseParams.get();
+        int ntrees = 0;
+        M model = null;
+        try {
+            HyperSpace.apply(params, hyper);
+            if (params instanceof SharedTreeParameters tree) {
+                tree._ntrees = Math.max(1, (int) Math.round(tree._ntrees * fraction));
+                ntrees = tree._ntrees;
+            }
+            params._train = train._key;
+
+            long start = System.nanoTime();
+            model = builder.apply(params).trainModel().get();
+            long trainMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            // 파일을 거치지 않고 MOJO를 메모리에서 만들고 적재
+            byte[] mojo = MojoExporter.toBytes(model);
+            MojoModel loaded = MojoModel.load(MojoReaderBackendFactory.createReaderBackend(
+                    new ByteArrayInputStream(mojo), CachingStrategy.MEMORY));
+            ToDoubleFunction<double[]> scorer = scorerFactory.create(loaded, holdout.features());
+
+            int n = holdout.rows();
+            double[] values = new double[holdout.features().length];
+            double[] uplift = new double[n];
+            for (int r = 0; r < n; r++) uplift[r] = scorer.applyAsDouble(holdout.row(r, values));
+            UpliftMetrics metrics = UpliftMetrics.compute(uplift, holdout.treatment(), holdout.response());
+
+            return new Evaluated(new Trial(rung, hyper, ntrees, metrics.auuc(), metrics.qini(), trainMillis,
+                    mojo.length, Double.NaN, null), scorer);
+        } catch (Exception e) {
+            log.warn("튜닝 시도 실패 {}: {}", hyper, e.getMessage());
+            return new Evaluated(new Trial(rung, hyper, ntrees, Double.NaN, Double.NaN, 0, 0, Double.NaN, e.toString()),
+                    null);
+        } finally {
+            if (model != null) model.remove();
+        }
+    }
+
+    /**
+     * 시도 결과를 CSV로 저장합니다.
+     *
+     * @param trials 시도 결과
+     * @param path   저장 경로
+     */
+    public static void writeCsv(List<Trial> trials, Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("rung,hyper,ntrees,auuc,qini,train_ms,mojo_bytes,latency_ns,error");
+            writer.newLine();
+            for (Trial t : trials) {
+                writer.write(String.join(",", String.valueOf(t.rung + 1), quote(t.hyper.toString()),
+                        String.valueOf(t.ntrees), String.valueOf(t.auuc), String.valueOf(t.qini),
+                        String.valueOf(t.trainMillis), String.valueOf(t.mojoBytes), String.valueOf(t.latencyNanos),
+                        t.error == null ? "" : quote(t.error)));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * MOJO 모델과 피처 순서로 행 단위 업리프트 점수 함수를 만드는 방식입니다.
+     */
+    public interface ScorerFactory {
+
+        ToDoubleFunction<double[]> create(MojoModel model, String[] features);
+
+        /** UpliftDRF MOJO의 0번 출력(증분 점수)을 사용 */
+        static ScorerFactory upliftDrf() {
+            return (model, features) -> {
+                MojoRowScorer scorer = new MojoRowScorer(model, features);
+                return values -> scorer.score(values, 0);
+            };
+        }
+
+        /**
+         * 처치 변수를 피처로 학습한 단일 모델의 처치/미처치 점수 차이를 사용 (V1 GBM)
+         *
+         * @param treatmentColumn 처치 변수 컬럼명
+         */
+        static ScorerFactory sLearner(String treatmentColumn) {
+            return (model, features) -> new SLearnerScorer(model, treatmentColumn, features)::uplift;
+        }
+    }
+
+    /**
+     * 지연 시간 측정 전의 시도 결과와 적재된 MOJO 점수 함수입니다. (실패한 시도는 점수 함수가 null)
+     */
+    private static final class Evaluated {
+        final Trial trial;
+        final ToDoubleFunction<double[]> scorer;
+
+        Evaluated(Trial trial, ToDoubleFunction<double[]> scorer) {
+            this.trial = trial;
+            this.scorer = scorer;
+        }
+    }
+
+    /**
+     * 한 후보의 한 단계 평가 결과입니다. 실패한 시도는 {@code error}에 예외 메시지가 있고 지표가 NaN입니다.
+     */
+    public static final class Trial {
+        private final int rung;
+        private final Map<String, Object> hyper;
+        private final int ntrees;
+        private final double auuc;
+        private final double qini;
+        private final long trainMillis;
+        private final long mojoBytes;
+        private final double latencyNanos;
+        private final String error;
+
+        Trial(int rung, Map<String, Object> hyper, int ntrees, double auuc, double qini, long trainMillis,
+              long mojoBytes, double latencyNanos, String error) {
+            this.rung = rung;
+            this.hyper = hyper;
+            this.ntrees = ntrees;
+            this.auuc = auuc;
+            this.qini = qini;
+            this.trainMillis = trainMillis;
+            this.mojoBytes = mojoBytes;
+            this.latencyNanos = latencyNanos;
+            this.error = error;
+        }
+
+        /** @return 지연 시간만 바꾼 같은 시도 결과 */
+        Trial withLatency(double latencyNanos) {
+            return new Trial(rung, hyper, ntrees, auuc, qini, trainMillis, mojoBytes, latencyNanos, error);
+        }
+
+        /** @return 단계 번호 (0부터) */
+        public int rung() { return rung; }
+
+        public Map<String, Object> hyper() { return hyper; }
+
+        /** @return 이 단계에서 학습한 트리 수 (트리 모델이 아니면 0) */
+        public int ntrees() { return ntrees; }
+
+        public double auuc() { return auuc; }
+
+        public double qini() { return qini; }
+
+        public long trainMillis() { return trainMillis; }
+
+        public long mojoBytes() { return mojoBytes; }
+
+        /** @return 예열 후 단건 점수 산출 지연 시간 중앙값 (나노초) */
+        public double latencyNanos() { return latencyNanos; }
+
+        /** @return 실패 사유 (성공이면 null) */
+        public String error() { return error; }
+
+        @Override
+        public String toString() {
+            if (error != null) return hyper + " 실패: " + error;
+            return String.format("%s 트리 %d, AUUC %.6f, Qini %.6f, 학습 %dms, MOJO %,dB, 단건 %.0fns",
+                    hyper, ntrees, auuc, qini, trainMillis, mojoBytes, latencyNanos);
+        }
+    }
+}
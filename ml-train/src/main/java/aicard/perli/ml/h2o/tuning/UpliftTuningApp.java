@@ -0,0 +1,112 @@
+package aicard.perli.ml.h2o.tuning;
+
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.ml.h2o.service.v1.H2oTrainServiceV1;
+import aicard.perli.ml.h2o.service.v2.H2oTrainServiceV2;
+import aicard.perli.ml.h2o.util.ModelPaths;
+import hex.splitframe.ShuffleSplitFrame;
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
+import hex.tree.gbm.GBMModel.GBMParameters;
+import hex.tree.uplift.UpliftDRF;
+import hex.tree.uplift.UpliftDRFModel;
+import hex.tree.uplift.UpliftDRFModel.UpliftDRFParameters;
+import lombok.extern.slf4j.Slf4j;
+import water.Key;
+import water.fvec.Frame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * <p>업리프트 모델 하이퍼파라미터 탐색 실행 메인 클래스입니다.</p>
+ * <p>인자로 {@code v1}(GBM S-Learner) 또는 {@code v2}(UpliftDRF, 기본값)를 받아 학습 데이터를 학습/검증으로 나누고,
+ * {@link UpliftSearch}로 후보를 병렬 평가한 뒤 상위 결과를 로그로 남기고 전체 결과를 {@code tuning/} 아래 CSV로 저장합니다.
+ * 운영 모델 파일은 변경하지 않습니다.</p>
+ * <p>후보 수와 시드는 -Dperli.tuning.candidates(기본 12), -Dperli.tuning.seed로 조정합니다.</p>
+ */
+@Slf4j
+public class UpliftTuningApp {
+
+    private static final double VALID_RATIO = 0.2;
+    private static final long SPLIT_SEED = 20240101L;
+    private static final int TOP = 5;
+
+    public static void main(String[] args) throws Exception {
+        boolean v1 = args.length > 0 && "v1".equalsIgnoreCase(args[0]);
+        int candidates = Integer.getInteger("perli.tuning.candidates", 12);
+        long seed = Long.getLong("perli.tuning.seed", 42L);
+
+        System.setProperty("h2o.ignore.jdk.version", "true");
+        water.H2O.main(new String[]{});
+        log.info("==========================================================");
+        log.info("업리프트 모델 하이퍼파라미터 탐색 ({})", v1 ? "V1 GBM" : "V2 UpliftDRF");
+        log.info("==========================================================");
+
+        Frame fr;
+        String dataPath;
+        if (v1) {
+            dataPath = dataPath("C:/Coding/perli-ai/resources/processed/h2o/v1/train_uplift_v1.csv");
+            fr = new H2oTrainServiceV1().loadFrame(dataPath);
+        } else {
+            dataPath = dataPath("C:/Coding/perli-ai/resources/processed/h2o/v2/train_uplift_v2.csv");
+            H2oTrainServiceV2 service = new H2oTrainServiceV2();
+            fr = service.prepare(service.loadFrame(dataPath));
+        }
+        log.info("튜닝 데이터 소스: {}", dataPath);
+
+        Frame[] parts = ShuffleSplitFrame.shuffleSplitFrame(fr,
+                new Key[]{Key.make("tuning_train"), Key.make("tuning_valid")},
+                new double[]{1 - VALID_RATIO, VALID_RATIO}, SPLIT_SEED);
+        try {
+            // 파생 피처는 분할 후 학습 부분으로만 적합 (-Dperli.h2o.transforms=true)
+            if (!v1) new H2oTrainServiceV2().engineerFeatures(parts[0], parts[1]);
+            List<UpliftSearch.Trial> trials;
+            if (v1) {
+                HyperSpace space = new HyperSpace()
+                        .add("ntrees", 50, 100, 200)
+                        .add("max_depth", 5, 8, 10)
+                        .add("learn_rate", 0.01, 0.05, 0.1)
+                        .add("sample_rate", 0.8, 1.0);
+                trials = new UpliftSearch<GBMModel, GBMParameters>(parts[0], parts[1],
+                        H2oTrainServiceV1::defaultParams, GBM::new,
+                        UpliftSearch.ScorerFactory.sLearner("is_recommended"), "is_recommended", "target")
+                        .run(space.random(candidates, seed));
+            } else {
+                HyperSpace space = new HyperSpace()
+                        .add("ntrees", 50, 100, 150)
+                        .add("max_depth", 8, 12, 15)
+                        .add("uplift_metric", "KL", "Euclidean", "ChiSquared")
+                        .add("sample_rate", 0.632, 0.8);
+                trials = new UpliftSearch<UpliftDRFModel, UpliftDRFParameters>(parts[0], parts[1],
+                        H2oTrainServiceV2::defaultParams, UpliftDRF::new,
+                        UpliftSearch.ScorerFactory.upliftDrf(), "is_recommended", "target")
+                        .run(space.random(candidates, seed));
+            }
+
+            log.info("----------------------------------------------------------");
+            log.info("탐색 결과 상위 {}개", TOP);
+            log.info("----------------------------------------------------------");
+            int finalRung = trials.isEmpty() ? 0 : trials.get(0).rung();
+            for (int i = 0; i < Math.min(TOP, trials.size()) && trials.get(i).rung() == finalRung; i++) {
+                log.info("{}위: {}", i + 1, trials.get(i));
+            }
+
+            Path report = Paths.get(ModelPaths.root(), "tuning", (v1 ? "v1" : "v2") + "_trials.csv");
+            UpliftSearch.writeCsv(trials, report);
+            log.info("탐색 결과 저장: {}", report);
+        } finally {
+            for (Frame part : parts) part.remove();
+            fr.remove();
+        }
+        System.exit(0);
+    }
+
+    /** 바이너리 피처 파일이 있으면 CSV 대신 사용 */
+    private static String dataPath(String csvPath) {
+        String featurePath = FeatureFile.siblingOf(csvPath);
+        return Files.exists(Paths.get(featurePath)) ? featurePath : csvPath;
+    }
+}
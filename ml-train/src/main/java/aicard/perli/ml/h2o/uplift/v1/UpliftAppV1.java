@@ -2,6 +2,7 @@ package aicard.perli.ml.h2o.uplift.v1;
 
 import aicard.perli.ml.h2o.service.v1.H2oInferenceServiceV1;
 import aicard.perli.ml.h2o.service.v1.H2oTrainServiceV1;
+import aicard.perli.ml.h2o.util.ModelPaths;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,7 +20,7 @@ public class UpliftAppV1 {
 
         // 뼈대 데이터 및 V1 모델 ZIP 경로
         String dataPath = "C:/Coding/perli-ai/resources/processed/h2o/v1/train_uplift_v1.csv";
-        String modelPath = "C:/Coding/perli-ai/resources/output/models/h2o/v1/uplift_gbm_model_v1.zip";
+        String modelPath = ModelPaths.v1Model();
 
         // 모델 학습 및 MOJO 조립 절차 수행 (Reflection 기반 버그 우회 포함)
         H2oTrainServiceV1 trainService = new H2oTrainServiceV1();
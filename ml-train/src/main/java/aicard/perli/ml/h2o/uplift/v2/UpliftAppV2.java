@@ -1,10 +1,15 @@
 package aicard.perli.ml.h2o.uplift.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
 import aicard.perli.ml.h2o.service.v1.H2oInferenceServiceV1;
 import aicard.perli.ml.h2o.service.v2.H2oInferenceServiceV2;
 import aicard.perli.ml.h2o.service.v2.H2oTrainServiceV2;
+import aicard.perli.ml.h2o.util.ModelPaths;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 /**
  * <p>[V2] 고도화 모델 테스트 및 V1 비교 분석 메인 클래스입니다.</p>
  * <p>V2 모델을 학습시키고, 동일 고객에 대해 V1과 V2의 예측 결과를 대조하여
@@ -22,13 +27,15 @@ public class UpliftAppV2 {
         log.info("==========================================================");
 
         // 고도화 모델 학습
+        // 바이너리 피처 파일(-Dperli.feature.format=feat로 생성)이 있으면 CSV 파싱 없이 프레임을 직접 적재
         String v2DataPath = "C:/Coding/perli-ai/resources/processed/h2o/v2/train_uplift_v2.csv";
+        String v2FeaturePath = FeatureFile.siblingOf(v2DataPath);
         H2oTrainServiceV2 v2Trainer = new H2oTrainServiceV2();
-        v2Trainer.trainV2(v2DataPath);
+        v2Trainer.trainV2(Files.exists(Paths.get(v2FeaturePath)) ? v2FeaturePath : v2DataPath);
 
         // 경로 설정
-        String v1ModelPath = "C:/Coding/perli-ai/resources/output/models/h2o/v1/uplift_gbm_model_v1.zip";
-        String v2ModelPath = "C:/Coding/perli-ai/resources/output/models/h2o/v2/uplift_drf_model_v2.zip";
+        String v1ModelPath = ModelPaths.v1Model();
+        String v2ModelPath = ModelPaths.v2Model();
 
         // 서비스 로드
         H2oInferenceServiceV1 v1Service = new H2oInferenceServiceV1(v1ModelPath);
@@ -0,0 +1,166 @@
+package aicard.perli.ml.h2o.util;
+
+import hex.Model;
+import hex.ModelBuilder;
+import hex.ScoreKeeper.StoppingMetric;
+import hex.splitframe.ShuffleSplitFrame;
+import hex.tree.SharedTreeModel;
+import hex.tree.SharedTreeModel.SharedTreeParameters;
+import lombok.extern.slf4j.Slf4j;
+import water.Key;
+import water.fvec.Frame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Function;
+
+/**
+ * <p>트리 앙상블(GBM/UpliftDRF) 재학습 모드를 담당하는 학습기입니다.</p>
+ * <p>기본(full) 모드는 기존과 같이 매번 전체 트리를 새로 학습합니다. 증분(incremental) 모드는
+ * <ul>
+ * <li>학습 프레임을 학습/검증으로 분할하고 검증 지표가 {@code stoppingRounds}회 연속 {@code stoppingTolerance} 이상 개선되지 않으면 조기 종료하며,</li>
+ * <li>직전 학습 모델의 바이너리 체크포인트가 있으면 이를 이어받아 트리를 최대 {@code extraTrees}개만 추가합니다.</li>
+ * </ul>
+ * 증분 모드는 트리를 추가할 뿐 새로 쌓인 행만 골라 학습하지 않습니다. 추가 트리도 전달받은 학습 프레임 전체(의 학습 분할)로
+ * 적합하므로, 최근 구간만 반영하려면 호출 측에서 해당 구간으로 거른 프레임을 넘겨야 합니다.
+ * 학습이 끝나면 다음 재학습을 위해 바이너리 체크포인트를 원자적으로 교체 저장합니다. 체크포인트가 호환되지 않으면(컬럼/파라미터 변경 등)
+ * 경고를 남기고 조기 종료가 적용된 전체 학습으로 대체합니다.</p>
+ * <p>설정은 시스템 속성으로 지정합니다.
+ * (-Dperli.h2o.retrain=incremental, -Dperli.h2o.validRatio, -Dperli.h2o.stoppingRounds, -Dperli.h2o.stoppingTolerance,
+ * -Dperli.h2o.scoreTreeInterval, -Dperli.h2o.extraTrees)</p>
+ */
+@Slf4j
+public class IncrementalTrainer {
+
+    /** 학습/검증 분할 시드 */
+    private static final long SPLIT_SEED = 20240101L;
+
+    private boolean incremental = "incremental".equalsIgnoreCase(System.getProperty("perli.h2o.retrain", "full"));
+    private double validRatio = Double.parseDouble(System.getProperty("perli.h2o.validRatio", "0.2"));
+    private int stoppingRounds = Integer.getInteger("perli.h2o.stoppingRounds", 3);
+    private double stoppingTolerance = Double.parseDouble(System.getProperty("perli.h2o.stoppingTolerance", "0.001"));
+    private int scoreTreeInterval = Integer.getInteger("perli.h2o.scoreTreeInterval", 5);
+    private int extraTrees = Integer.getInteger("perli.h2o.extraTrees", 50);
+
+    public IncrementalTrainer incremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /** @param validRatio 검증 프레임 비율 (0 초과 1 미만) */
+    public IncrementalTrainer validRatio(double validRatio) {
+        this.validRatio = validRatio;
+        return this;
+    }
+
+    public IncrementalTrainer stoppingRounds(int stoppingRounds) {
+        this.stoppingRounds = stoppingRounds;
+        return this;
+    }
+
+    /** @param stoppingTolerance 개선으로 인정할 최소 상대 변화량 */
+    public IncrementalTrainer stoppingTolerance(double stoppingTolerance) {
+        this.stoppingTolerance = stoppingTolerance;
+        return this;
+    }
+
+    /** @param scoreTreeInterval 검증 지표를 계산할 트리 간격 */
+    public IncrementalTrainer scoreTreeInterval(int scoreTreeInterval) {
+        this.scoreTreeInterval = scoreTreeInterval;
+        return this;
+    }
+
+    /** @param extraTrees 체크포인트 이어 학습 시 추가할 최대 트리 수 */
+    public IncrementalTrainer extraTrees(int extraTrees) {
+        this.extraTrees = extraTrees;
+        return this;
+    }
+
+    /** @return 증분 모드 여부 */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * 설정된 모드로 모델을 학습합니다.
+     *
+     * @param fr         전처리가 끝난 학습 프레임 (증분 모드에서도 이 프레임 전체로 추가 트리를 학습)
+     * @param params     학습 파라미터 ({@code _train}은 이 메서드가 지정)
+     * @param builder    파라미터로 모델 빌더를 만드는 함수 (예: {@code GBM::new})
+     * @param metric     조기 종료 지표 (증분 모드에서만 사용)
+     * @param checkpoint 바이너리 체크포인트 경로 (증분 모드에서만 사용)
+     * @return 학습된 모델
+     */
+    public <M extends SharedTreeModel<M, P, ?>, P extends SharedTreeParameters> M train(
+            Frame fr, P params, Function<P, ModelBuilder<M, P, ?>> builder, StoppingMetric metric, Path checkpoint)
+            throws IOException {
+        params._train = fr._key;
+        if (!incremental) return builder.apply(params).trainModel().get();
+
+        long start = System.currentTimeMillis();
+        Frame[] parts = ShuffleSplitFrame.shuffleSplitFrame(fr,
+                new Key[]{Key.make(fr._key + "_train"), Key.make(fr._key + "_valid")},
+                new double[]{1 - validRatio, validRatio}, SPLIT_SEED);
+        try {
+            params._train = parts[0]._key;
+            params._valid = parts[1]._key;
+            params._stopping_metric = metric;
+            params._stopping_rounds = stoppingRounds;
+            params._stopping_tolerance = stoppingTolerance;
+            params._score_tree_interval = scoreTreeInterval;
+
+            M model = trainFromCheckpoint(params, builder, checkpoint);
+            saveCheckpoint(model, checkpoint);
+            log.info("증분 학습 완료: 트리 {}개 (검증 비율 {}, 조기 종료 지표 {}, {}ms)", model._output._ntrees, validRatio,
+                    metric, System.currentTimeMillis() - start);
+            return model;
+        } finally {
+            for (Frame part : parts) part.remove();
+        }
+    }
+
+    private <M extends SharedTreeModel<M, P, ?>, P extends SharedTreeParameters> M trainFromCheckpoint(
+            P params, Function<P, ModelBuilder<M, P, ?>> builder, Path checkpoint) {
+        int ntrees = params._ntrees;
+        if (Files.isRegularFile(checkpoint)) {
+            M previous = null;
+            try {
+                previous = Model.importBinaryModel(checkpoint.toString());
+                params._checkpoint = previous._key;
+                // 체크포인트의 트리 수는 누적 기준이므로 기존 트리 수에 추가분을 더함
+                params._ntrees = previous._output._ntrees + extraTrees;
+                log.info("체크포인트 이어 학습: {} (기존 트리 {}개, 최대 {}개 추가)", checkpoint, previous._output._ntrees, extraTrees);
+                return builder.apply(params).trainModel().get();
+            } catch (Exception e) {
+                log.warn("체크포인트 이어 학습 불가, 전체 학습으로 대체합니다: {}", e.getMessage());
+                params._checkpoint = null;
+                params._ntrees = ntrees;
+            } finally {
+                // 새 모델은 체크포인트의 트리를 복제해 만들므로 적재한 직전 모델은 DKV에서 제거
+                if (previous != null) previous.remove();
+            }
+        } else {
+            log.info("체크포인트가 없어 조기 종료 전체 학습을 수행합니다: {}", checkpoint);
+        }
+        return builder.apply(params).trainModel().get();
+    }
+
+    /**
+     * 임시 파일에 바이너리 모델을 쓴 뒤 이름을 바꿔, 쓰는 도중 실패해도 직전 체크포인트가 남도록 교체합니다.
+     */
+    private void saveCheckpoint(Model<?, ?, ?> model, Path checkpoint) throws IOException {
+        Path dir = checkpoint.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            model.exportBinaryModel(tmp.toString(), true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("체크포인트 저장 완료: {}", checkpoint);
+    }
+}
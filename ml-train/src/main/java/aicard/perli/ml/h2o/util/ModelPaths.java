@@ -0,0 +1,77 @@
+package aicard.perli.ml.h2o.util;
+
+/**
+ * <p>H2O 업리프트 모델(MOJO) 파일 경로 모음입니다.</p>
+ * <p>모델 루트 디렉터리는 기본값이 작업 디렉터리 기준 상대 경로({@code resources/output/models/h2o/})이고 -Dperli.model.dir로 바꿀 수 있으며, 학습 서비스/추론 서비스/벤치마크가 같은 경로를 공유합니다.
+ * 각 버전 디렉터리는 {@code MojoModelRegistry}가 감시하는 단위입니다.</p>
+ */
+public final class ModelPaths {
+
+    private static final String DEFAULT_ROOT = "resources/output/models/h2o/";
+
+    /** V1 GBM(S-Learner) 모델 파일명 */
+    public static final String V1_MODEL_FILE = "uplift_gbm_model_v1.zip";
+
+    /** V2 UpliftDRF 모델 파일명 */
+    public static final String V2_MODEL_FILE = "uplift_drf_model_v2.zip";
+
+    /** 추론 서비스 예열 표본 파일명 (각 버전 디렉터리, 학습 시 기록) */
+    public static final String WARMUP_SAMPLE_FILE = "warmup_sample.feat";
+
+    /** 증분 재학습용 바이너리 체크포인트 하위 디렉터리 (레지스트리 감시 대상 아님) */
+    private static final String CHECKPOINT_DIR = "checkpoint/";
+
+    private ModelPaths() {
+    }
+
+    /** @return 모델 루트 디렉터리 ('/'로 끝남) */
+    public static String root() {
+        String root = System.getProperty("perli.model.dir", DEFAULT_ROOT);
+        return root.endsWith("/") ? root : root + "/";
+    }
+
+    /** @return V1 모델 디렉터리 */
+    public static String v1Dir() {
+        return root() + "v1/";
+    }
+
+    /** @return V2 모델 디렉터리 */
+    public static String v2Dir() {
+        return root() + "v2/";
+    }
+
+    /** @return V1 모델 파일 경로 */
+    public static String v1Model() {
+        return v1Dir() + V1_MODEL_FILE;
+    }
+
+    /** @return V2 모델 파일 경로 */
+    public static String v2Model() {
+        return v2Dir() + V2_MODEL_FILE;
+    }
+
+    /** @return V1 예열 표본 경로 */
+    public static String v1WarmUpSample() {
+        return v1Dir() + WARMUP_SAMPLE_FILE;
+    }
+
+    /** @return V2 예열 표본 경로 */
+    public static String v2WarmUpSample() {
+        return v2Dir() + WARMUP_SAMPLE_FILE;
+    }
+
+    /** @return V1 증분 재학습 체크포인트 경로 */
+    public static String v1Checkpoint() {
+        return v1Dir() + CHECKPOINT_DIR + "uplift_gbm_model_v1.bin";
+    }
+
+    /** @return V2 증분 재학습 체크포인트 경로 */
+    public static String v2Checkpoint() {
+        return v2Dir() + CHECKPOINT_DIR + "uplift_drf_model_v2.bin";
+    }
+
+    /** @return V2 검증 데이터 평가 리포트(JSON) 경로 */
+    public static String v2Report() {
+        return v2Dir() + "uplift_drf_model_v2_report.json";
+    }
+}
@@ -0,0 +1,134 @@
+package aicard.perli.ml.h2o.util;
+
+import hex.Model;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * <p>H2O 모델을 MOJO ZIP으로 내보내는 공용 저장기입니다.</p>
+ * <p>H2O 공개 API인 {@code ModelMojoWriter#writeTo(OutputStream, boolean)}를 모델 상세(JSON) 없이 호출하므로
+ * 내부 필드/메서드에 대한 리플렉션이나 {@code --add-opens} 없이 동작하며, 상세 정보 기록 시 필요한 SchemaServer 연결도 요구하지 않습니다.</p>
+ * <p>MOJO는 버퍼링된 스트림으로 같은 디렉터리의 임시 파일({@code .tmp})에 쓰면서 SHA-256을 함께 계산하고,
+ * 해시 파일({@code <모델 파일>.sha256}, sha256sum 형식)을 먼저 교체한 뒤 모델 파일을 원자적으로 이름 변경합니다.
+ * 따라서 {@code MojoModelRegistry}가 쓰기 중인 파일을 보는 일이 없으며, 적재 전 {@link #verify(Path)}로 내용을 검증할 수 있습니다.</p>
+ * <pre>{@code
+ * String sha256 = MojoExporter.export(model, Paths.get(ModelPaths.v2Model()));
+ * }</pre>
+ */
+@Slf4j
+public final class MojoExporter {
+
+    /** 해시 파일 확장자 */
+    public static final String HASH_SUFFIX = ".sha256";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private MojoExporter() {
+    }
+
+    /**
+     * 모델을 MOJO 파일로 내보냅니다. 실패하면 기존 모델 파일은 그대로 남습니다.
+     *
+     * @param model  학습된 H2O 모델
+     * @param target 모델 파일 경로 (예: {@link ModelPaths#v2Model()})
+     * @return MOJO 내용의 SHA-256 (16진수 소문자)
+     */
+    public static String export(Model<?, ?, ?> model, Path target) throws IOException {
+        long start = System.currentTimeMillis();
+        Path dir = target.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE), digest)) {
+            model.getMojo().writeTo(out, false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        writeHash(target, hash);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("MOJO 내보내기 완료: {} ({}B, sha256 {}, {}ms)", target, Files.size(target), hash,
+                System.currentTimeMillis() - start);
+        return hash;
+    }
+
+    /**
+     * 모델을 메모리의 MOJO 바이트로 내보냅니다. (튜닝 등 파일이 필요 없는 평가용)
+     *
+     * @param model 학습된 H2O 모델
+     */
+    public static byte[] toBytes(Model<?, ?, ?> model) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        model.getMojo().writeTo(bos, false);
+        return bos.toByteArray();
+    }
+
+    /**
+     * 모델 파일 옆의 해시 파일과 실제 내용의 SHA-256을 비교합니다.
+     *
+     * @param modelFile 모델 파일 경로
+     * @return 해시 파일이 없거나 일치하면 true, 불일치하면 false
+     */
+    public static boolean verify(Path modelFile) throws IOException {
+        Path hashFile = hashFile(modelFile);
+        if (!Files.isRegularFile(hashFile)) return true;
+        String expected = Files.readString(hashFile, StandardCharsets.US_ASCII).trim().split("\\s+")[0];
+        return expected.equalsIgnoreCase(sha256(modelFile));
+    }
+
+    /**
+     * @param file 대상 파일
+     * @return 파일 내용의 SHA-256 (16진수 소문자)
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /** @return 모델 파일의 해시 파일 경로 */
+    public static Path hashFile(Path modelFile) {
+        return modelFile.resolveSibling(modelFile.getFileName() + HASH_SUFFIX);
+    }
+
+    private static void writeHash(Path target, String hash) throws IOException {
+        Path hashFile = hashFile(target);
+        Path tmp = hashFile.resolveSibling(hashFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(tmp, hash + "  " + target.getFileName() + "\n", StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, hashFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package aicard.perli.ml.h2o.util;
+
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFileWriter;
+import lombok.extern.slf4j.Slf4j;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>학습 프레임의 앞쪽 행을 추론 서비스 예열 표본({@code .feat})으로 기록합니다.</p>
+ * <p>합성 표본(N(0, 1))은 실제 피처 척도와 달라 트리의 일부 분기만 지나가므로, 학습 서비스가 모델 파일 옆에
+ * 실제 피처 행을 남기고 추론 서비스가 {@code ModelWarmUp.sample(Path, String...)}의 기본 표본으로 사용합니다.
+ * 숫자형(범주형 제외) 컬럼만 기록하며 결측은 NaN입니다.</p>
+ */
+@Slf4j
+public final class WarmUpSample {
+
+    /** 기록할 기본 행 수 (-Dperli.warmup.rows) */
+    public static final int DEFAULT_ROWS = Integer.getInteger("perli.warmup.rows", 256);
+
+    private WarmUpSample() {
+    }
+
+    /**
+     * 예열 표본을 기록합니다. 실패해도 학습 결과에 영향을 주지 않도록 경고만 남깁니다.
+     *
+     * @param fr     학습 프레임
+     * @param target 표본 파일 경로 (예: {@link ModelPaths#v2WarmUpSample()})
+     * @param rows   최대 행 수
+     */
+    public static void write(Frame fr, Path target, int rows) {
+        try {
+            List<Vec> vecs = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (String name : fr.names()) {
+                Vec vec = fr.vec(name);
+                if (!vec.isNumeric() || vec.isCategorical()) continue;
+                vecs.add(vec);
+                names.add(name);
+            }
+            ColumnType[] types = new ColumnType[names.size()];
+            Arrays.fill(types, ColumnType.FLOAT64);
+
+            Path dir = target.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            long n = Math.min(rows, fr.numRows());
+            try (FeatureFileWriter writer = new FeatureFileWriter(target, names.toArray(new String[0]), types)) {
+                for (long r = 0; r < n; r++) {
+                    for (int c = 0; c < vecs.size(); c++) {
+                        Vec vec = vecs.get(c);
+                        writer.setDouble(c, vec.isNA(r) ? Double.NaN : vec.at(r));
+                    }
+                    writer.endRow();
+                }
+                writer.commit();
+            }
+            log.info("예열 표본 기록 완료: {} ({}행, {}컬럼)", target, n, names.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("예열 표본 기록 실패 (학습 결과는 유지): {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package aicard.perli.ml.h2o.util.treatment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>업리프트 학습 데이터의 처치 변수({@code is_recommended})를 결정적으로 부여하는 할당기입니다.</p>
+ * <p>처치 여부는 {@code card_id}(와 층 값)의 64비트 해시에 캠페인 시드를 섞어 [0, 1) 구간 값으로 변환한 뒤
+ * 처치 비율과 비교하여 정합니다. 난수 상태를 공유하지 않으므로 행 순서나 스레드/샤드 분할과 무관하게
+ * 같은 카드는 항상 같은 값을 받으며, 같은 시드로 다시 생성한 데이터셋은 비트 단위로 동일합니다.</p>
+ * <p>층(stratum)을 지정하면 층마다 독립된 해시 공간과 개별 처치 비율을 사용합니다.
+ * 지정하지 않은 층은 기본 처치 비율을 따릅니다.</p>
+ * <p>인스턴스는 불변이며 스레드 안전합니다.</p>
+ */
+public final class TreatmentAssigner {
+
+    /** 시드를 지정하지 않았을 때 사용하는 기본 캠페인 시드 */
+    public static final long DEFAULT_SEED = 20240101L;
+
+    /** 기본 처치 비율 */
+    public static final double DEFAULT_RATIO = 0.5;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long seed;
+    private final double ratio;
+    private final Map<String, Double> stratumRatios;
+
+    /**
+     * 층 구분 없이 단일 처치 비율을 사용하는 할당기를 생성합니다.
+     *
+     * @param seed  캠페인 시드
+     * @param ratio 처치 비율 (0~1)
+     */
+    public TreatmentAssigner(long seed, double ratio) {
+        this(seed, ratio, Collections.emptyMap());
+    }
+
+    /**
+     * @param seed          캠페인 시드
+     * @param ratio         기본 처치 비율 (0~1)
+     * @param stratumRatios 층 값별 처치 비율 (없는 층은 기본 비율 사용)
+     */
+    public TreatmentAssigner(long seed, double ratio, Map<String, Double> stratumRatios) {
+        checkRatio(ratio);
+        stratumRatios.values().forEach(TreatmentAssigner::checkRatio);
+        this.seed = seed;
+        this.ratio = ratio;
+        this.stratumRatios = Collections.unmodifiableMap(new HashMap<>(stratumRatios));
+    }
+
+    /**
+     * 시스템 속성으로 할당기를 생성합니다.
+     * <ul>
+     * <li>-Dperli.uplift.seed: 캠페인 시드 (기본: {@value #DEFAULT_SEED})</li>
+     * <li>-Dperli.uplift.ratio: 기본 처치 비율 (기본: {@value #DEFAULT_RATIO})</li>
+     * <li>-Dperli.uplift.stratumRatios: 층별 처치 비율 (예: {@code 1:0.3,2:0.5,3:0.7})</li>
+     * </ul>
+     */
+    public static TreatmentAssigner fromSystemProperties() {
+        long seed = Long.getLong("perli.uplift.seed", DEFAULT_SEED);
+        String ratio = System.getProperty("perli.uplift.ratio");
+        return new TreatmentAssigner(seed, ratio == null ? DEFAULT_RATIO : Double.parseDouble(ratio),
+                parseRatios(System.getProperty("perli.uplift.stratumRatios")));
+    }
+
+    /**
+     * {@code 층:비율} 쌍을 쉼표로 나열한 문자열을 해석합니다.
+     *
+     * @param spec 예: {@code 1:0.3,2:0.5} (null 또는 빈 문자열이면 빈 맵)
+     */
+    public static Map<String, Double> parseRatios(String spec) {
+        Map<String, Double> ratios = new HashMap<>();
+        if (spec == null || spec.isBlank()) return ratios;
+        for (String pair : spec.split(",")) {
+            int sep = pair.lastIndexOf(':');
+            if (sep <= 0) throw new IllegalArgumentException("층별 처치 비율 형식 오류 (층:비율): " + pair);
+            ratios.put(pair.substring(0, sep).trim(), Double.parseDouble(pair.substring(sep + 1).trim()));
+        }
+        return ratios;
+    }
+
+    /**
+     * 층 구분 없이 처치 변수를 부여합니다.
+     *
+     * @return 1(Treatment) 또는 0(Control)
+     */
+    public int assign(CharSequence cardId) {
+        return unit(cardId, null) < ratio ? 1 : 0;
+    }
+
+    /**
+     * 층 내에서 처치 변수를 부여합니다. 층 값이 null이면 {@link #assign(CharSequence)}와 같습니다.
+     *
+     * @return 1(Treatment) 또는 0(Control)
+     */
+    public int assign(CharSequence cardId, String stratum) {
+        if (stratum == null) return assign(cardId);
+        return unit(cardId, stratum) < ratioOf(stratum) ? 1 : 0;
+    }
+
+    /** @return 해당 층에 적용되는 처치 비율 */
+    public double ratioOf(String stratum) {
+        return stratum == null ? ratio : stratumRatios.getOrDefault(stratum, ratio);
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * 카드 ID(와 층 값)를 시드와 섞어 [0, 1) 구간의 균등 분포 값으로 변환합니다.
+     * FNV-1a로 문자를 누적한 뒤 SplitMix64 종료 함수로 비트를 고르게 퍼뜨립니다.
+     */
+    double unit(CharSequence cardId, String stratum) {
+        long h = FNV_OFFSET ^ mix(seed);
+        if (stratum != null) {
+            h = fnv(h, stratum);
+            h = (h ^ 0x1f) * FNV_PRIME; // 층과 카드 ID 경계 구분
+        }
+        h = fnv(h, cardId);
+        return (mix(h) >>> 11) * 0x1.0p-53;
+    }
+
+    private static long fnv(long h, CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void checkRatio(double ratio) {
+        if (!(ratio >= 0 && ratio <= 1)) throw new IllegalArgumentException("처치 비율은 0~1 사이여야 합니다: " + ratio);
+    }
+}
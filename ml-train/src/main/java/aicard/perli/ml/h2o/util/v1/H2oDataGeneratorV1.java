@@ -1,12 +1,13 @@
 package aicard.perli.ml.h2o.util.v1;
 
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Random;
+import java.util.Arrays;
 
 /**
  * <p>업리프트 모델링(Uplift Modeling)을 위한 학습 데이터 확장 유틸리티 클래스입니다.</p>
@@ -14,6 +15,10 @@ import java.util.Random;
  * <p>기본 피처 데이터셋에 처치 변수(Treatment Variable)인 {@code is_recommended} 컬럼을 추가합니다.
  * 이 과정은 S-Learner 알고리즘 구현을 위해 필수적이며, 모델이 추천 여부에 따른 고객 로열티의 변화를
  * 학습할 수 있는 기반을 마련합니다.</p>
+ *
+ * <p>처치 변수는 {@link TreatmentAssigner}가 card_id 해시와 캠페인 시드로 결정하므로 재실행 시 동일한 파일이 생성됩니다.
+ * 시드/비율은 -Dperli.uplift.seed, -Dperli.uplift.ratio로, 층화 기준 컬럼은 -Dperli.uplift.stratum
+ * (층별 비율은 -Dperli.uplift.stratumRatios)로 지정합니다.</p>
  */
 @Slf4j
 public class H2oDataGeneratorV1 {
@@ -37,29 +42,46 @@ public class H2oDataGeneratorV1 {
             }
 
             // 파일 스트림 처리 (Try-with-resources로 리소스 자동 해제)
-            try (BufferedReader br = new BufferedReader(new FileReader(sourcePathStr));
-                 BufferedWriter bw = new BufferedWriter(new FileWriter(targetPathStr))) {
+            try (BufferedReader br = new BufferedReader(new FileReader(sourcePathStr))) {
 
-                // 헤더 처리: 기존 헤더 끝에 'is_recommended' 피처명 추가
+                // 층화 기준 컬럼 확인 (기존 결과 파일을 덮어쓰기 전에 검증)
                 String line = br.readLine();
-                if (line != null) {
-                    bw.write(line + ",is_recommended");
-                    bw.newLine();
+                int stratumIdx = -1;
+                String stratum = System.getProperty("perli.uplift.stratum");
+                if (line != null && stratum != null) {
+                    stratumIdx = Arrays.asList(line.replace("\"", "").split(",")).indexOf(stratum);
+                    if (stratumIdx < 0) throw new IOException("층화 기준 컬럼이 없습니다: " + stratum);
                 }
 
-                // 데이터 처리: 각 로우마다 랜덤하게 0(Control) 또는 1(Treatment) 값을 부여
-                Random rand = new Random();
-                int count = 0;
-                while ((line = br.readLine()) != null) {
-                    // S-Learner 학습의 기초가 되는 이진 노출(Binary Exposure) 변수 생성
-                    int recommended = rand.nextInt(2);
-                    bw.write(line + "," + recommended);
-                    bw.newLine();
-                    count++;
+                try (BufferedWriter bw = new BufferedWriter(new FileWriter(targetPathStr))) {
+                    // 헤더 처리: 기존 헤더 끝에 'is_recommended' 피처명 추가
+                    if (line != null) {
+                        bw.write(line + ",is_recommended");
+                        bw.newLine();
+                    }
+
+                    // 데이터 처리: card_id(0번 컬럼) 해시로 0(Control) 또는 1(Treatment) 값을 부여
+                    TreatmentAssigner assigner = TreatmentAssigner.fromSystemProperties();
+                    int count = 0;
+                    int skipped = 0;
+                    while ((line = br.readLine()) != null) {
+                        // S-Learner 학습의 기초가 되는 이진 노출(Binary Exposure) 변수 생성
+                        String[] cols = line.split(",", Math.max(2, stratumIdx + 2));
+                        // 층화 기준 컬럼까지 값이 없는 잘린 행은 처치 배정 없이 건너뜀
+                        if (cols.length <= stratumIdx) {
+                            skipped++;
+                            continue;
+                        }
+                        int recommended = assigner.assign(cols[0], stratumIdx >= 0 ? cols[stratumIdx] : null);
+                        bw.write(line + "," + recommended);
+                        bw.newLine();
+                        count++;
+                    }
+                    log.info("업리프트 학습용 데이터 생성 완료");
+                    log.info("생성 경로: " + targetPathStr);
+                    log.info("총 데이터 수: " + count + " 건");
+                    if (skipped > 0) log.warn("층화 기준 컬럼이 없는 행 {}건 제외", skipped);
                 }
-                log.info("업리프트 학습용 데이터 생성 완료");
-                log.info("생성 경로: " + targetPathStr);
-                log.info("총 데이터 수: " + count + " 건");
             }
 
         } catch (IOException e) {
@@ -1,21 +1,27 @@
 package aicard.perli.ml.h2o.util.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.*;
-import java.nio.file.*;
-import java.util.*;
-
 /**
  * <p>H2O 업리프트 모델(Uplift Modeling) 전용 데이터 생성기 V2</p>
  * <p>본 클래스는 오직 다음 3가지 데이터만을 결합하여 업리프트 학습용 피처를 생성합니다:
  * 1. <b>train.csv</b>: 카드별 기본 속성(f1, f2, f3) 및 결과값(target) 제공
- * 2. <b>merchants.csv</b>: 가맹점 마스터 정보 (매출 등급 등 속성 추출용)
+ * 2. <b>merchants.csv</b>: 가맹점 마스터 정보 (매출 등급 등 속성 추출용, 가맹점 바이너리 인덱스로 캐시)
  * 3. <b>new_merchant_transactions.csv</b>: 최신 거래 내역 (행동 데이터 추출용)
  * </p>
  * - 가맹점 매출 규모(sales_range)를 반영한 '프리미엄 소비 비중' 피처 추가
  * - S-Learner 학습을 위한 가상 처치 변수(is_recommended) 생성
  * </p>
+ * <p>실제 처리는 {@link UpliftDataPipelineV2}가 수행하며, 가맹점 적재/train.csv 읽기/신규 거래 병렬 집계를 동시에 진행합니다.
+ * 워커 수는 -Dperli.ingest.workers(기본: 가용 코어 수)로 지정합니다.
+ * 신규 거래 건수/합계는 공용 기간 집계({@code CardWindowAggregates})의 최근 윈도우(-Dperli.uplift.recentMonths, 기본 6개월)로 산출합니다.</p>
+ * <p>처치 변수는 {@link TreatmentAssigner}가 card_id 해시와 캠페인 시드로 결정하므로 재실행 시 동일한 파일이 생성됩니다.
+ * 시드/비율은 -Dperli.uplift.seed, -Dperli.uplift.ratio로, 층화 기준 컬럼(예: feature_1)은 -Dperli.uplift.stratum
+ * (층별 비율은 -Dperli.uplift.stratumRatios)로 지정합니다.</p>
+ * <p>-Dperli.feature.format=feat 지정 시 train_uplift_v2.feat 바이너리 피처 파일로도 함께 저장합니다.
+ * (식별자 컬럼은 문자열, 나머지는 반올림 없는 원본 수치로 기록)</p>
  */
 @Slf4j
 public class H2oDataGeneratorV2 {
@@ -28,102 +34,24 @@ public class H2oDataGeneratorV2 {
         String trainFile = inputDir + "train.csv";
         String merchantFile = inputDir + "merchants.csv";
         String newTransFile = inputDir + "new_merchant_transactions.csv";
+        String merchantIndexFile = outputDir + "merchant_index.bin";
         String resultFile = outputDir + "train_uplift_v2.csv";
+        String featureFile = "feat".equalsIgnoreCase(System.getProperty("perli.feature.format"))
+                ? FeatureFile.siblingOf(resultFile) : null;
 
-        try {
-            Files.createDirectories(Paths.get(outputDir));
-
-            // 가맹점 정보 로드 (ID -> 매출 등급)
-            Map<String, String> merchantSalesMap = new HashMap<>();
-            try (BufferedReader br = new BufferedReader(new FileReader(merchantFile))) {
-                String header = br.readLine();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    // 따옴표 제거 후 분리
-                    String[] cols = line.replace("\"", "").split(",");
-                    if (cols.length > 7) {
-                        merchantSalesMap.put(cols[0], cols[7]);
-                    }
-                }
-            }
-
-            log.info("가맹점 매출 데이터 인덱싱 완료");
-
-            // 카드별 최신 소비 행태 집계
-            Map<String, CardUpliftStats> statsMap = new HashMap<>();
-            try (BufferedReader br = new BufferedReader(new FileReader(newTransFile))) {
-                String header = br.readLine().replace("\"", "");
-                List<String> headerList = Arrays.asList(header.split(","));
-
-                int cardIdx = headerList.indexOf("card_id");
-                int mIdx = headerList.indexOf("merchant_id");
-                int amtIdx = headerList.indexOf("purchase_amount");
-
-                String line;
-                while ((line = br.readLine()) != null) {
-                    // 데이터 행에서도 따옴표 제거
-                    String[] cols = line.replace("\"", "").split(",");
-                    try {
-                        String cardId = cols[cardIdx];
-                        String merchantId = cols[mIdx];
-                        String amtStr = cols[amtIdx];
-
-                        double amount = Double.parseDouble(amtStr);
-
-                        CardUpliftStats s = statsMap.getOrDefault(cardId, new CardUpliftStats());
-                        s.txCount++;
-                        s.totalAmt += amount;
-
-                        if ("A".equals(merchantSalesMap.get(merchantId))) {
-                            s.premiumCount++;
-                        }
-                        statsMap.put(cardId, s);
-                    } catch (Exception e) {
-                        // 숫자 변환 실패 시 해당 라인만 스킵
-                        continue;
-                    }
-                }
-            }
+        int workers = Integer.getInteger("perli.ingest.workers", Runtime.getRuntime().availableProcessors());
+        TreatmentAssigner assigner = TreatmentAssigner.fromSystemProperties();
+        String stratumColumn = System.getProperty("perli.uplift.stratum");
 
-            log.info("신규 거래 기반 소비 패턴 집계 완료");
-
-            // 최종 업리프트 데이터셋 생성
-            try (BufferedReader br = new BufferedReader(new FileReader(trainFile));
-                 BufferedWriter bw = new BufferedWriter(new FileWriter(resultFile))) {
-
-                String header = br.readLine();
-                bw.write(header + ",new_tx_count,new_total_amt,premium_ratio,is_recommended");
-                bw.newLine();
-
-                Random rand = new Random();
-                String line;
-                int count = 0;
-                while ((line = br.readLine()) != null) {
-                    String[] cols = line.split(",");
-                    String cardId = cols[1];
-
-                    CardUpliftStats s = statsMap.getOrDefault(cardId, new CardUpliftStats());
-                    int isRecommended = rand.nextInt(2); // 0 또는 1 (S-Learner 필수 변수)
-                    double premiumRatio = s.txCount > 0 ? (double) s.premiumCount / s.txCount : 0;
-
-                    bw.write(String.format("%s,%d,%.4f,%.4f,%d",
-                            line, s.txCount, s.totalAmt, premiumRatio, isRecommended));
-                    bw.newLine();
-                    count++;
-                }
-
-                log.info("train_uplift_v2.csv 생성 완료 (총 " + count + "건)");
-            }
+        try {
+            long startTime = System.currentTimeMillis();
+            UpliftDataPipelineV2 pipeline = new UpliftDataPipelineV2(trainFile, merchantFile, merchantIndexFile, newTransFile,
+                    resultFile, featureFile, workers, assigner, stratumColumn);
+            int count = pipeline.run();
 
+            log.info("train_uplift_v2.csv 생성 완료 (총 " + count + "건, 소요 시간: " + (System.currentTimeMillis() - startTime) / 1000.0 + "초)");
         } catch (Exception e) {
             log.error("데이터 생성 중 오류: " + e.getMessage());
         }
     }
-
-    /** 업리프트 학습용 통계 객체 */
-    static class CardUpliftStats {
-        int txCount = 0;
-        double totalAmt = 0.0;
-        int premiumCount = 0;
-    }
 }
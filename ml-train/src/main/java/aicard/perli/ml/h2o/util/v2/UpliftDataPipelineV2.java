@@ -0,0 +1,472 @@
+package aicard.perli.ml.h2o.util.v2;
+
+import aicard.perli.common.data.aggregate.CardWindowAggregates;
+import aicard.perli.common.data.merchant.MerchantIndex;
+import aicard.perli.common.data.parser.TimestampDecoder;
+import aicard.perli.common.data.store.ColumnType;
+import aicard.perli.common.data.store.FeatureFileWriter;
+import aicard.perli.common.model.EpochCalendar;
+import aicard.perli.common.model.StringDictionary;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>[V2] 업리프트 학습 데이터(train_uplift_v2.csv) 생성 파이프라인입니다.</p>
+ * <p>세 단계를 동시에 실행합니다:
+ * <ul>
+ * <li><b>가맹점 인덱스 적재:</b> {@link MerchantIndex}를 비동기로 적재하며, 그동안 train.csv를 읽어 둡니다.</li>
+ * <li><b>신규 거래 병렬 집계:</b> new_merchant_transactions.csv를 개행 기준 바이트 구간으로 나누어 워커마다 청크 전용 행 버퍼에 파싱하고,
+ * 청크 순서대로 전역 {@link CardWindowAggregates}(카드별 월 버킷 링 버퍼)에 행 단위로 누적합니다. 행 순서대로 누적하므로
+ * 단일 스레드 집계와 같은 값을 얻습니다.</li>
+ * <li><b>결과 기록:</b> {@code String.format} 대신 재사용 {@link StringBuilder}와 소수 4자리 반올림 변환기로 행을 만듭니다.</li>
+ * </ul>
+ * </p>
+ * <p>new_tx_count/new_total_amt는 전체 신규 거래의 최신 월({@link CardWindowAggregates#maxMonth()})을 기준으로 한 최근
+ * {@code recentMonths}개월(-Dperli.uplift.recentMonths, 기본 6) 윈도우 건수/합계입니다. 신규 거래 파일은 최근 2개월분이므로
+ * 기본값에서는 모든 신규 거래가 포함됩니다. premium_ratio의 분자(프리미엄 가맹점 거래 수)는 카드별 전체 신규 거래 기준입니다.</p>
+ * <p>출력 스키마와 수치 표기(소수 4자리, HALF_UP)는 기존 {@link H2oDataGeneratorV2} 출력과 동일합니다.</p>
+ */
+@Slf4j
+public class UpliftDataPipelineV2 {
+
+    /** 워커 1개당 분할할 청크 수 (청크별 처리 시간 편차 흡수용) */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /** 최근 거래 윈도우 (개월) */
+    private static final int RECENT_MONTHS = Integer.getInteger("perli.uplift.recentMonths", 6);
+
+    /** 결과 CSV에 추가되는 컬럼 */
+    private static final String EXTRA_HEADERS = ",new_tx_count,new_total_amt,premium_ratio,is_recommended";
+
+    private final Path trainPath;
+    private final Path merchantPath;
+    private final Path merchantIndexPath;
+    private final Path newTransPath;
+    private final Path resultPath;
+    private final Path featurePath;
+    private final int workers;
+    private final TreatmentAssigner assigner;
+    private final String stratumColumn;
+
+    /**
+     * @param trainPath         train.csv 경로
+     * @param merchantPath      merchants.csv 경로
+     * @param merchantIndexPath 가맹점 바이너리 인덱스 캐시 경로
+     * @param newTransPath      new_merchant_transactions.csv 경로
+     * @param resultPath        결과 CSV 경로 (train_uplift_v2.csv)
+     * @param featurePath       바이너리 피처 파일 경로 (null이면 생성하지 않음)
+     * @param workers           신규 거래 집계 워커 수
+     * @param assigner          처치 변수 할당기 (card_id 해시 기반)
+     * @param stratumColumn     층화 기준 train.csv 컬럼명 (null이면 층 구분 없음)
+     */
+    public UpliftDataPipelineV2(String trainPath, String merchantPath, String merchantIndexPath, String newTransPath,
+                                String resultPath, String featurePath, int workers,
+                                TreatmentAssigner assigner, String stratumColumn) {
+        this.trainPath = Paths.get(trainPath);
+        this.merchantPath = Paths.get(merchantPath);
+        this.merchantIndexPath = Paths.get(merchantIndexPath);
+        this.newTransPath = Paths.get(newTransPath);
+        this.resultPath = Paths.get(resultPath);
+        this.featurePath = featurePath == null ? null : Paths.get(featurePath);
+        this.workers = Math.max(1, workers);
+        this.assigner = assigner;
+        this.stratumColumn = stratumColumn;
+    }
+
+    /**
+     * 파이프라인을 실행합니다.
+     *
+     * @return 결과 행 수
+     */
+    public int run() throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 1);
+        try {
+            CompletableFuture<MerchantIndex> merchants = CompletableFuture.supplyAsync(() -> {
+                try {
+                    MerchantIndex index = MerchantIndex.loadOrBuild(merchantPath, merchantIndexPath);
+                    log.info("가맹점 매출 데이터 인덱싱 완료 (가맹점 수: {})", index.size());
+                    return index;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, pool);
+            CompletableFuture<List<String>> trainLines = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return Files.readAllLines(trainPath, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, pool);
+
+            RecentStats stats = aggregateTransactions(merchants, pool);
+            log.info("신규 거래 기반 소비 패턴 집계 완료 (카드 수: {}, 윈도우 밖 거래: {})", stats.cards.size(),
+                    stats.windows.droppedEvents());
+
+            return writeResult(trainLines.join(), stats);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 신규 거래 파일을 청크로 나누어 병렬 파싱하고 청크 순서대로 기간 집계 상태에 누적합니다.
+     */
+    private RecentStats aggregateTransactions(CompletableFuture<MerchantIndex> merchants,
+                                              ExecutorService pool) throws IOException {
+        RecentStats stats = new RecentStats();
+        try (FileChannel channel = FileChannel.open(newTransPath, StandardOpenOption.READ)) {
+            long dataStart = findNextLineStart(channel, 0);
+            if (dataStart < 0) return stats;
+            int[] columns = headerColumns(channel, dataStart);
+            long[] bounds = splitByLines(channel, dataStart, workers * CHUNKS_PER_WORKER);
+
+            List<CompletableFuture<ChunkStats>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                chunks.add(merchants.thenApplyAsync(index -> {
+                    try {
+                        return aggregateChunk(channel, start, end, columns, index);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, pool));
+            }
+
+            for (CompletableFuture<ChunkStats> chunk : chunks) chunk.join().mergeInto(stats);
+            return stats;
+        }
+    }
+
+    /**
+     * 바이트 구간의 거래 행을 청크 전용 행 버퍼에 파싱합니다. 필드 수가 부족하거나 금액/일시 변환에 실패한 행은 건너뜁니다.
+     */
+    private static ChunkStats aggregateChunk(FileChannel channel, long start, long end, int[] columns,
+                                             MerchantIndex merchants) throws IOException {
+        int cardIdx = columns[0], mIdx = columns[1], amtIdx = columns[2], dateIdx = columns[3];
+        int maxIdx = Math.max(Math.max(cardIdx, dateIdx), Math.max(mIdx, amtIdx));
+        byte premiumRange = MerchantIndex.rangeCode("A");
+        ChunkStats chunk = new ChunkStats();
+        int[] starts = new int[maxIdx + 2];
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                new RangeInputStream(channel, start, end), StandardCharsets.UTF_8), SCAN_BUFFER_SIZE)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                // 따옴표가 있는 행은 기존 규칙과 같이 따옴표를 제거한 뒤 분리
+                if (line.indexOf('"') >= 0) line = line.replace("\"", "");
+                if (fieldStarts(line, starts, maxIdx) <= maxIdx) continue;
+
+                double amount;
+                int month;
+                try {
+                    amount = Double.parseDouble(line.substring(starts[amtIdx], starts[amtIdx + 1] - 1));
+                    month = EpochCalendar.monthIndex(
+                            TimestampDecoder.decode(CharBuffer.wrap(line, starts[dateIdx], starts[dateIdx + 1] - 1)));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                int merchant = merchants.find(CharBuffer.wrap(line, starts[mIdx], starts[mIdx + 1] - 1));
+                boolean premium = merchant >= 0 && merchants.salesRange(merchant) == premiumRange;
+                chunk.add(line.substring(starts[cardIdx], starts[cardIdx + 1] - 1), month, amount, premium);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 행에서 앞쪽 {@code maxIdx + 1}개 필드의 시작 위치를 구합니다. {@code starts[i + 1] - 1}이 i번째 필드의 끝입니다.
+     *
+     * @return 찾은 필드 수
+     */
+    private static int fieldStarts(String line, int[] starts, int maxIdx) {
+        int field = 0;
+        starts[0] = 0;
+        for (int i = 0; i < line.length() && field <= maxIdx; i++) {
+            if (line.charAt(i) == ',') starts[++field] = i + 1;
+        }
+        if (field <= maxIdx) {
+            starts[++field] = line.length() + 1;
+        }
+        return field;
+    }
+
+    /**
+     * train.csv 각 행 뒤에 집계 컬럼을 붙여 기록합니다. 처치 변수는 행 순서와 무관하게 card_id로 결정됩니다.
+     */
+    private int writeResult(List<String> trainLines, RecentStats stats) throws IOException {
+        if (trainLines.isEmpty()) throw new IOException("train.csv가 비어 있습니다: " + trainPath);
+        Path parent = resultPath.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        String header = trainLines.get(0);
+        String[] columns = (header + EXTRA_HEADERS).replace("\"", "").split(",");
+        ColumnType[] types = upliftColumnTypes(columns);
+        int asOfMonth = stats.windows.maxMonth();
+        int stratumIdx = stratumColumn == null ? -1 : Arrays.asList(columns).indexOf(stratumColumn);
+        if (stratumColumn != null && stratumIdx < 0) throw new IOException("층화 기준 컬럼이 없습니다: " + stratumColumn);
+
+        int count = 0;
+        StringBuilder row = new StringBuilder(256);
+        try (BufferedWriter bw = Files.newBufferedWriter(resultPath, StandardCharsets.UTF_8);
+             FeatureFileWriter fw = featurePath == null ? null : new FeatureFileWriter(featurePath, columns, types)) {
+            bw.write(header + EXTRA_HEADERS);
+            bw.newLine();
+
+            for (int r = 1; r < trainLines.size(); r++) {
+                String line = trainLines.get(r);
+                String[] cols = line.split(",");
+                int ord = stats.cards.find(cols[1]);
+                int txCount = ord < 0 ? 0 : stats.windows.windowCount(ord, RECENT_MONTHS, asOfMonth);
+                double totalAmt = ord < 0 ? 0.0 : stats.windows.windowSum(ord, RECENT_MONTHS, asOfMonth);
+                int isRecommended = assigner.assign(cols[1], stratumIdx >= 0 ? cols[stratumIdx] : null); // 0 또는 1 (S-Learner 필수 변수)
+                double premiumRatio = txCount > 0 ? (double) stats.premiumCount(ord) / txCount : 0;
+
+                row.setLength(0);
+                row.append(line).append(',').append(txCount).append(',');
+                appendFixed4(row, totalAmt);
+                row.append(',');
+                appendFixed4(row, premiumRatio);
+                row.append(',').append(isRecommended);
+                bw.append(row);
+                bw.newLine();
+
+                if (fw != null) {
+                    int base = cols.length;
+                    for (int c = 0; c < base; c++) {
+                        if (types[c] == ColumnType.STRING) {
+                            fw.setString(c, cols[c]);
+                        } else {
+                            fw.setDouble(c, Double.parseDouble(cols[c]));
+                        }
+                    }
+                    fw.setInt(base, txCount).setDouble(base + 1, totalAmt)
+                            .setDouble(base + 2, premiumRatio).setInt(base + 3, isRecommended).endRow();
+                }
+                count++;
+            }
+            if (fw != null) fw.commit();
+        }
+        if (featurePath != null) log.info("바이너리 피처 파일 생성 완료: {}", featurePath);
+        return count;
+    }
+
+    /**
+     * {@code String.format("%.4f", value)}와 같은 표기로 값을 붙입니다.
+     * <p>{@link StringBuilder#append(double)}이 만드는 십진 표기(Formatter와 같은 자릿수)를 그 자리에서
+     * 소수 4자리로 반올림(HALF_UP)하므로 중간 문자열이나 {@link java.math.BigDecimal}을 만들지 않습니다.</p>
+     */
+    static void appendFixed4(StringBuilder sb, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append(value);
+            return;
+        }
+        int mark = sb.length();
+        sb.append(value);
+        int end = sb.length();
+
+        // "[-]ddd.ddd[Ed]" 표기를 십진 자릿수 배열과 소수점 위치(pointAt: 정수부 자릿수)로 정규화
+        boolean negative = sb.charAt(mark) == '-';
+        int from = negative ? mark + 1 : mark;
+        int mantissaEnd = end;
+        int exponent = 0;
+        for (int i = from; i < end; i++) {
+            if (sb.charAt(i) == 'E') {
+                mantissaEnd = i;
+                exponent = Integer.parseInt(sb, i + 1, end, 10);
+                break;
+            }
+        }
+        int[] digits = new int[mantissaEnd - from + 1];
+        int n = 0;
+        int pointAt = -1;
+        for (int i = from; i < mantissaEnd; i++) {
+            char c = sb.charAt(i);
+            if (c == '.') pointAt = n;
+            else digits[1 + n++] = c - '0';
+        }
+        pointAt = (pointAt < 0 ? n : pointAt) + exponent;
+        sb.setLength(mark);
+
+        // digits[1..n]이 유효 자릿수, digits[0]은 올림 자리. 소수 넷째 자리(keep번째 자릿수)까지 남기고 다음 자리에서 반올림
+        int keep = pointAt + 4;
+        int last = Math.max(0, Math.min(keep, n));
+        if (keep >= 0 && keep < n && digits[keep + 1] >= 5) {
+            int i = keep;
+            while (i >= 1 && digits[i] == 9) digits[i--] = 0;
+            digits[i]++;
+        }
+
+        if (negative) sb.append('-');
+        int first = digits[0] > 0 ? 0 : 1;
+        if (pointAt + 1 - first <= 0) sb.append('0');
+        for (int i = first; i <= pointAt; i++) sb.append((char) ('0' + (i <= last ? digits[i] : 0)));
+        sb.append('.');
+        for (int i = pointAt + 1; i <= pointAt + 4; i++) sb.append((char) ('0' + (i >= 0 && i <= last ? digits[i] : 0)));
+    }
+
+    /** train.csv 식별자 컬럼은 문자열, 집계 건수/처치 변수는 정수, 나머지는 실수로 저장 */
+    static ColumnType[] upliftColumnTypes(String[] columns) {
+        ColumnType[] types = new ColumnType[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            switch (columns[c]) {
+                case "card_id", "first_active_month" -> types[c] = ColumnType.STRING;
+                case "new_tx_count", "is_recommended" -> types[c] = ColumnType.INT32;
+                default -> types[c] = ColumnType.FLOAT64;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 헤더에서 card_id, merchant_id, purchase_amount, purchase_date 컬럼 위치를 찾습니다.
+     */
+    private static int[] headerColumns(FileChannel channel, long dataStart) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) dataStart);
+        channel.read(buf, 0);
+        String header = new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8).trim().replace("\"", "");
+        List<String> headerList = Arrays.asList(header.split(","));
+        int[] columns = {headerList.indexOf("card_id"), headerList.indexOf("merchant_id"), headerList.indexOf("purchase_amount"),
+                headerList.indexOf("purchase_date")};
+        for (int c : columns) {
+            if (c < 0) throw new IOException("신규 거래 파일에 필수 컬럼이 없습니다: " + header);
+        }
+        return columns;
+    }
+
+    /**
+     * 데이터 구간을 지정한 개수로 균등 분할하되, 각 경계를 다음 개행 직후로 보정합니다.
+     */
+    private static long[] splitByLines(FileChannel channel, long dataStart, int chunks) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = dataStart;
+        bounds[chunks] = size;
+
+        for (int i = 1; i < chunks; i++) {
+            long pos = dataStart + (size - dataStart) * i / chunks;
+            long aligned = pos <= bounds[i - 1] ? bounds[i - 1] : findNextLineStart(channel, pos - 1);
+            bounds[i] = aligned < 0 ? size : aligned;
+        }
+        return bounds;
+    }
+
+    /**
+     * 지정 위치부터 최초의 개행 문자를 찾아 그 다음 바이트 오프셋을 반환합니다. (없으면 -1)
+     */
+    private static long findNextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long pos = from;
+        int read;
+        while ((read = channel.read(buf, pos)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+            buf.clear();
+        }
+        return -1;
+    }
+
+    /**
+     * 업리프트 학습용 카드별 최근 거래 통계입니다. 건수/합계는 월 버킷 기간 집계 상태, 프리미엄 거래 수는 카드 순번 인덱스 배열에 둡니다.
+     */
+    static class RecentStats {
+        final StringDictionary cards = new StringDictionary();
+        final CardWindowAggregates windows = new CardWindowAggregates(cards, new int[]{RECENT_MONTHS}, RECENT_MONTHS);
+        int[] premiumCounts = new int[1024];
+
+        void add(int ord, int month, double amount, boolean premium) {
+            // 승인 비율은 출력하지 않으므로 승인 여부는 모두 승인으로 누적
+            windows.add(ord, month, amount, true);
+            if (premium) {
+                if (ord >= premiumCounts.length) premiumCounts = Arrays.copyOf(premiumCounts, Math.max(ord + 1, premiumCounts.length * 2));
+                premiumCounts[ord]++;
+            }
+        }
+
+        /** @return 카드의 프리미엄 가맹점 거래 수 (순번이 없으면 0) */
+        int premiumCount(int ord) {
+            return ord < 0 || ord >= premiumCounts.length ? 0 : premiumCounts[ord];
+        }
+    }
+
+    /**
+     * 청크 단위 파싱 결과입니다. 금액 합계의 누적 순서를 보존하기 위해 행별 (청크 카드 순번, 월 순번, 금액, 프리미엄 여부)를 보관합니다.
+     */
+    private static class ChunkStats {
+        final StringDictionary cards = new StringDictionary();
+        int[] rowCards = new int[1024];
+        int[] rowMonths = new int[1024];
+        double[] rowAmounts = new double[1024];
+        final BitSet rowPremium = new BitSet();
+        int rows = 0;
+
+        void add(String cardId, int month, double amount, boolean premium) {
+            if (rows == rowCards.length) {
+                rowCards = Arrays.copyOf(rowCards, rows * 2);
+                rowMonths = Arrays.copyOf(rowMonths, rows * 2);
+                rowAmounts = Arrays.copyOf(rowAmounts, rows * 2);
+            }
+            rowCards[rows] = cards.intern(cardId);
+            rowMonths[rows] = month;
+            rowAmounts[rows] = amount;
+            rowPremium.set(rows, premium);
+            rows++;
+        }
+
+        /** 청크 카드를 전역 카드 순번에 연결한 뒤 행 순서대로 누적합니다. */
+        void mergeInto(RecentStats stats) {
+            int[] targets = new int[cards.size()];
+            for (int i = 0; i < targets.length; i++) targets[i] = stats.cards.intern(cards.get(i));
+            for (int r = 0; r < rows; r++) stats.add(targets[rowCards[r]], rowMonths[r], rowAmounts[r], rowPremium.get(r));
+        }
+    }
+
+    /**
+     * {@link FileChannel}의 특정 바이트 구간만 읽는 입력 스트림입니다. (위치 지정 읽기로 여러 워커가 채널 공유)
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long pos;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel; this.pos = start; this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (pos >= end) return -1;
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - pos)), pos);
+            if (n > 0) pos += n;
+            return n;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package aicard.perli.ml.tribuo.ranking.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
 import aicard.perli.ml.tribuo.dto.request.v1.TribuoRequestV1;
 import aicard.perli.ml.tribuo.dto.request.v2.TribuoRequestV2;
 import aicard.perli.ml.tribuo.dto.response.TribuoResponse;
@@ -24,6 +25,8 @@ public class RankingAppV2 {
     public static void main(String[] args) {
         // 경로 설정
         String csvPathV2 = "resources/processed/h2o/v2/train_uplift_v2.csv";
+        // 바이너리 피처 파일 사용 시 숫자 파싱 없이 로드
+        if ("feat".equalsIgnoreCase(System.getProperty("perli.feature.format"))) csvPathV2 = FeatureFile.siblingOf(csvPathV2);
         String modelPathV2 = "resources/output/models/tribuo/v2/tribuo_xgboost_v2.gdpc";
         String modelPathV1 = "resources/output/models/tribuo/v1/card_ranking_model.gdpc";
 
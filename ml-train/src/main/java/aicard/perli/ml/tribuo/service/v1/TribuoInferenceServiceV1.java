@@ -1,5 +1,8 @@
 package aicard.perli.ml.tribuo.service.v1;
 
+import aicard.perli.common.warmup.ModelWarmUp;
+import aicard.perli.ml.tribuo.util.TribuoWarmUpSample;
+import lombok.extern.slf4j.Slf4j;
 import org.tribuo.Feature;
 import org.tribuo.Model;
 import org.tribuo.Prediction;
@@ -14,13 +17,18 @@ import java.util.List;
 /**
  * <p>학습된 Tribuo 랭킹 모델을 사용하여 실시간 카드 점수를 산출하는 서비스입니다.</p>
  * <p>Regressor 소스 규격에 맞춰 예측 결과에서 수치 데이터를 추출합니다.</p>
+ * <p>역직렬화 직후 {@link ModelWarmUp}으로 예측 경로를 예열하며, 예열이 끝나면 {@link #isReady()}가 true가 됩니다.</p>
  */
+@Slf4j
 public class TribuoInferenceServiceV1 {
 
     private final Model<Regressor> model;
     /** Regressor 출력을 생성하기 위한 표준 팩토리입니다. */
     private final RegressionFactory factory = new RegressionFactory();
 
+    /** 로드 및 예열 완료 여부 */
+    private volatile boolean ready;
+
     /**
      * @param modelPath .gdpc 확장자의 학습 완료된 모델 파일 경로
      */
@@ -31,6 +39,29 @@ public class TribuoInferenceServiceV1 {
         } catch (Exception e) {
             throw new RuntimeException("모델 파일을 읽을 수 없습니다: " + modelPath, e);
         }
+        warmUp();
+        this.ready = true;
+    }
+
+    /**
+     * 표본 행으로 예측 경로를 반복 호출하여 지연 시간이 안정될 때까지 예열합니다.
+     */
+    private void warmUp() {
+        if (!ModelWarmUp.isEnabled()) return;
+        try {
+            double[][] sample = TribuoWarmUpSample.of(model, "totalAmount", "txCount", "authRatio", "avgAmount");
+            ModelWarmUp.Result result = new ModelWarmUp().run(sample, v -> predictScore(v[0], v[1], v[2], v[3]));
+            log.info("Tribuo V1 추론 엔진 예열 완료: {}", result);
+        } catch (Exception e) {
+            log.warn("Tribuo V1 추론 엔진 예열 생략: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 모델 로드와 예열을 마쳐 점수 산출 준비가 되었는지 여부
+     */
+    public boolean isReady() {
+        return ready;
     }
 
     /**
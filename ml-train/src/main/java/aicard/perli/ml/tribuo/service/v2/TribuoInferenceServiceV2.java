@@ -1,6 +1,8 @@
 package aicard.perli.ml.tribuo.service.v2;
 
+import aicard.perli.common.warmup.ModelWarmUp;
 import aicard.perli.ml.tribuo.dto.request.v2.TribuoRequestV2;
+import aicard.perli.ml.tribuo.util.TribuoWarmUpSample;
 import lombok.extern.slf4j.Slf4j;
 import org.tribuo.Model;
 import org.tribuo.Prediction;
@@ -14,13 +16,20 @@ import java.io.ObjectInputStream;
  * <p>[V2] XGBoost 모델을 활용한 고도화 실시간 추론 서비스입니다.</p>
  *
  * <p>수혈된 최신 행동 지표 3종과 기본 지표 3종을 결합하여 카드별 랭킹 점수를 산출합니다.</p>
+ * <p>역직렬화 직후 {@link ModelWarmUp}으로 예측 경로를 예열하며, 예열이 끝나면 {@link #isReady()}가 true가 됩니다.</p>
  */
 @Slf4j
 public class TribuoInferenceServiceV2 {
 
+    /** 모델 입력 피처명 (학습 시 순서) */
+    private static final String[] FEATURE_NAMES = {"feature_1", "feature_2", "feature_3", "new_tx_count", "new_total_amt", "premium_ratio"};
+
     /** 메모리에 로드된 XGBoost 모델 */
     private Model<Regressor> model;
 
+    /** 로드 및 예열 완료 여부 */
+    private volatile boolean ready;
+
     /**
      * @param modelPath .gdpc 모델 파일 경로
      */
@@ -31,9 +40,32 @@ public class TribuoInferenceServiceV2 {
             log.info("고도화 엔진 로드 성공");
         } catch (Exception e) {
             log.error("모델 로드 실패: {}", e.getMessage());
+            return;
+        }
+        warmUp();
+        this.ready = true;
+    }
+
+    /**
+     * 표본 행으로 예측 경로를 반복 호출하여 지연 시간이 안정될 때까지 예열합니다.
+     */
+    private void warmUp() {
+        if (!ModelWarmUp.isEnabled()) return;
+        try {
+            ModelWarmUp.Result result = new ModelWarmUp().run(TribuoWarmUpSample.of(model, FEATURE_NAMES), this::predict);
+            log.info("Tribuo V2 추론 엔진 예열 완료: {}", result);
+        } catch (Exception e) {
+            log.warn("Tribuo V2 추론 엔진 예열 생략: {}", e.getMessage());
         }
     }
 
+    /**
+     * @return 모델 로드와 예열을 마쳐 점수 산출 준비가 되었는지 여부
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
     /**
      * <p>V2 전용 요청 객체를 분석하여 추천 점수를 계산합니다.</p>
      *
@@ -43,7 +75,6 @@ public class TribuoInferenceServiceV2 {
     public double predictScoreV2(TribuoRequestV2 request) {
         if (model == null) return 0.0;
 
-        String[] fNames = {"feature_1", "feature_2", "feature_3", "new_tx_count", "new_total_amt", "premium_ratio"};
         double[] fValues = {
                 request.getAuthorizedRatio(),
                 request.getAvgAmount(),
@@ -52,8 +83,14 @@ public class TribuoInferenceServiceV2 {
                 request.getNewTotalAmt(),
                 request.getPremiumRatio()
         };
+        return predict(fValues);
+    }
 
-        ArrayExample<Regressor> example = new ArrayExample<>(new Regressor("Score", Double.NaN), fNames, fValues);
+    /**
+     * {@link #FEATURE_NAMES} 순서의 피처 값으로 점수를 예측합니다.
+     */
+    private double predict(double[] fValues) {
+        ArrayExample<Regressor> example = new ArrayExample<>(new Regressor("Score", Double.NaN), FEATURE_NAMES, fValues);
         Prediction<Regressor> prediction = model.predict(example);
 
         return prediction.getOutput().getValues()[0];
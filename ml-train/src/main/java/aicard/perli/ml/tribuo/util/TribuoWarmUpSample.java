@@ -0,0 +1,39 @@
+package aicard.perli.ml.tribuo.util;
+
+import aicard.perli.common.warmup.ModelWarmUp;
+import org.tribuo.Model;
+import org.tribuo.RealInfo;
+import org.tribuo.VariableInfo;
+
+import java.io.IOException;
+
+/**
+ * <p>Tribuo 추론 서비스 예열 표본 생성기입니다.</p>
+ * <p>모델의 피처 맵({@code RealInfo})에 기록된 학습 데이터 평균/표준편차로 피처별 척도를 맞춘 합성 표본을 만듭니다.
+ * 피처 맵에 없거나 분산 정보가 없는 피처는 평균 0, 표준편차 1을 사용하며, -Dperli.warmup.sample이 지정되면 기록 표본이 우선합니다.</p>
+ */
+public final class TribuoWarmUpSample {
+
+    private TribuoWarmUpSample() {
+    }
+
+    /**
+     * @param model    학습된 Tribuo 모델
+     * @param features 표본 행의 피처 순서
+     * @return 예열 표본 ({@code features} 순서)
+     */
+    public static double[][] of(Model<?> model, String... features) throws IOException {
+        double[] location = new double[features.length];
+        double[] scale = new double[features.length];
+        for (int c = 0; c < features.length; c++) {
+            VariableInfo info = model.getFeatureIDMap().get(features[c]);
+            scale[c] = 1.0;
+            if (info instanceof RealInfo real) {
+                location[c] = real.getMean();
+                double std = Math.sqrt(real.getVariance());
+                if (Double.isFinite(std) && std > 0) scale[c] = std;
+            }
+        }
+        return ModelWarmUp.sample(location, scale, features);
+    }
+}
@@ -1,5 +1,7 @@
 package aicard.perli.ml.tribuo.util.v2;
 
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.common.data.store.FeatureFileReader;
 import lombok.extern.slf4j.Slf4j;
 import org.tribuo.Example;
 import org.tribuo.Feature;
@@ -12,6 +14,7 @@ import org.tribuo.regression.Regressor;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +23,8 @@ import java.util.List;
  *
  * <p>수혈된 최신 행동 데이터(최근 건수, 금액, 프리미엄 비중)를 포함하여 학습용 데이터셋을 구성하며,
  * Tribuo 라이브러리 명세에 따라 {@link EmptyDatasetProvenance}를 사용하여 데이터셋을 초기화합니다.</p>
+ *
+ * <p>경로가 바이너리 피처 파일(.feat)이면 컬럼명 기준으로 매핑하여 숫자 파싱 없이 적재합니다.</p>
  */
 @Slf4j
 public class TribuoDataConverterV2 {
@@ -38,6 +43,12 @@ public class TribuoDataConverterV2 {
         // 라이브러리 규격에 따라 EmptyDatasetProvenance 객체 전달
         MutableDataset<Regressor> dataset = new MutableDataset<>(new EmptyDatasetProvenance(), factory);
 
+        if (FeatureFile.isFeatureFile(csvPath)) {
+            loadFeatureFile(csvPath, dataset);
+            log.info("데이터셋 변환 완료 (총 {} 건)", dataset.size());
+            return dataset;
+        }
+
         try (BufferedReader br = new BufferedReader(new FileReader(csvPath))) {
             br.readLine(); // 헤더 스킵
             String line;
@@ -68,4 +79,32 @@ public class TribuoDataConverterV2 {
         log.info("데이터셋 변환 완료 (총 {} 건)", dataset.size());
         return dataset;
     }
+
+    /**
+     * <p>바이너리 피처 파일의 컬럼을 이름으로 찾아 CSV 경로와 동일한 피처 구성으로 데이터셋에 추가합니다.</p>
+     */
+    private void loadFeatureFile(String path, MutableDataset<Regressor> dataset) throws IOException {
+        try (FeatureFileReader reader = new FeatureFileReader(Paths.get(path))) {
+            int target = reader.requireColumn("target");
+            int f1 = reader.requireColumn("feature_1");
+            int f2 = reader.requireColumn("feature_2");
+            int f3 = reader.requireColumn("feature_3");
+            int nTx = reader.requireColumn("new_tx_count");
+            int nAmt = reader.requireColumn("new_total_amt");
+            int pRatio = reader.requireColumn("premium_ratio");
+
+            for (int r = 0; r < reader.rowCount(); r++) {
+                Regressor label = new Regressor("Score", reader.getNumber(target, r));
+                List<Feature> features = new ArrayList<>();
+                features.add(new Feature("feature_1", reader.getNumber(f1, r)));
+                features.add(new Feature("feature_2", reader.getNumber(f2, r)));
+                features.add(new Feature("feature_3", reader.getNumber(f3, r)));
+                features.add(new Feature("new_tx_count", reader.getNumber(nTx, r)));
+                features.add(new Feature("new_total_amt", reader.getNumber(nAmt, r)));
+                features.add(new Feature("premium_ratio", reader.getNumber(pRatio, r)));
+
+                dataset.add(new ArrayExample<>(label, features));
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpliftEvaluatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("구간 하한은 중복을 합치고 점수는 하한이 점수 이하인 첫 구간에 배정")
+    void testBuckets() {
+        double[] bounds = UpliftEvaluator.bounds(new double[]{1, 2, 2, 2, 3, 4}, 3);
+        assertArrayEquals(new double[]{3, 2, 1}, bounds);
+        assertEquals(0, UpliftEvaluator.bucketOf(bounds, 4));
+        assertEquals(1, UpliftEvaluator.bucketOf(bounds, 2));
+        assertEquals(2, UpliftEvaluator.bucketOf(bounds, 1));
+        assertEquals(0, UpliftEvaluator.bounds(new double[0], 10).length);
+    }
+
+    @Test
+    @DisplayName("구간 수가 충분하면 정확한 AUUC/Qini와 같고 워커 수와 무관")
+    void testEvaluate() throws Exception {
+        int n = 2_000;
+        SplittableRandom random = new SplittableRandom(7L);
+        double[] uplift = new double[n];
+        double[] treatment = new double[n];
+        double[] response = new double[n];
+        for (int r = 0; r < n; r++) {
+            uplift[r] = Math.round(random.nextDouble() * 100) / 100.0;
+            treatment[r] = random.nextInt(2);
+            // 점수가 높을수록 처치 시 반응 확률 증가
+            double p = 0.2 + (treatment[r] == 1 ? 0.5 * uplift[r] : 0);
+            response[r] = random.nextDouble() < p ? 3.5 : 0;
+        }
+        uplift[0] = Double.NaN;
+
+        UpliftReport one = new UpliftEvaluator().buckets(n).workers(1).evaluate(uplift, treatment, response);
+        UpliftReport many = new UpliftEvaluator().buckets(n).workers(4).evaluate(uplift, treatment, response);
+
+        double[] binary = new double[n - 1];
+        for (int r = 1; r < n; r++) binary[r - 1] = response[r] > 0 ? 1 : 0;
+        UpliftMetrics exact = UpliftMetrics.compute(Arrays.copyOfRange(uplift, 1, n),
+                Arrays.copyOfRange(treatment, 1, n), binary);
+
+        assertEquals(n - 1, one.rows());
+        assertEquals(exact.auuc(), one.auuc(), 1e-12);
+        assertEquals(exact.qini(), one.qini(), 1e-12);
+        assertEquals(one.auuc(), many.auuc(), 1e-12);
+        assertEquals(one.qini(), many.qini(), 1e-12);
+        assertTrue(one.qini() > 0);
+
+        assertEquals(10, one.deciles().size());
+        assertTrue(one.deciles().get(0).observedUplift() > one.deciles().get(9).observedUplift());
+        assertEquals(n - 1, one.deciles().stream().mapToLong(UpliftReport.Decile::rows).sum());
+
+        Path report = dir.resolve("report.json");
+        one.write(report);
+        String json = Files.readString(report);
+        assertTrue(json.contains("\"auuc\": " + one.auuc()));
+        assertTrue(json.contains("\"skippedRows\": 1"));
+        assertTrue(json.contains("\"curve\": ["));
+        assertFalse(Files.exists(dir.resolve("report.json.tmp")));
+    }
+}
@@ -0,0 +1,39 @@
+package aicard.perli.ml.h2o.evaluation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpliftMetricsTest {
+
+    // 처치군 반응자와 통제군 비반응자가 앞, 처치군 비반응자와 통제군 반응자가 뒤인 데이터
+    private static final double[] TREATMENT = {1, 0, 1, 0, 1, 0, 1, 0};
+    private static final double[] RESPONSE = {1, 0, 1, 0, 0, 1, 0, 1};
+
+    @Test
+    @DisplayName("업리프트를 올바르게 정렬한 점수가 역순 점수보다 AUUC/Qini가 큼")
+    void testRanking() {
+        double[] good = {8, 7, 6, 5, 4, 3, 2, 1};
+        double[] reversed = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        UpliftMetrics best = UpliftMetrics.compute(good, TREATMENT, RESPONSE);
+        UpliftMetrics worst = UpliftMetrics.compute(reversed, TREATMENT, RESPONSE);
+        assertTrue(best.auuc() > worst.auuc());
+        assertTrue(best.qini() > 0);
+        assertTrue(worst.qini() < 0);
+    }
+
+    @Test
+    @DisplayName("같은 점수 묶음은 입력 순서와 무관하게 같은 결과")
+    void testTies() {
+        double[] tied = {1, 1, 1, 1, 1, 1, 1, 1};
+        UpliftMetrics a = UpliftMetrics.compute(tied, TREATMENT, RESPONSE);
+        UpliftMetrics b = UpliftMetrics.compute(tied, new double[]{0, 1, 0, 1, 0, 1, 0, 1},
+                new double[]{1, 0, 1, 0, 0, 1, 0, 1});
+        assertEquals(a.auuc(), b.auuc(), 1e-12);
+        assertEquals(0.0, a.qini(), 1e-12);
+        assertThrows(IllegalArgumentException.class,
+                () -> UpliftMetrics.compute(new double[2], new double[1], new double[2]));
+    }
+}
@@ -0,0 +1,59 @@
+package aicard.perli.ml.h2o.frame;
+
+import aicard.perli.common.data.aggregate.CardFeatureAggregates;
+import aicard.perli.common.data.loader.CsvDataLoader;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSourceTest {
+
+    @Test
+    @DisplayName("집계 원본은 거래 없는 카드를 제외하고 피처 파일과 같은 값을 노출")
+    void testAggregateSource() {
+        CardFeatureAggregates aggregates = new CardFeatureAggregates();
+        aggregates.addTransaction("C_ID_A", 100.0, 2, true);
+        aggregates.addTransaction("C_ID_A", 300.0, 0, false);
+        aggregates.cards().intern("C_ID_EMPTY");
+        aggregates.addTransaction("C_ID_B", 50.0, 1, true);
+        double[] targets = {0.5, 9.9, -1.0};
+        TreatmentAssigner assigner = new TreatmentAssigner(42L, 0.5);
+
+        ColumnarSource source = ColumnarSource.of(aggregates, targets, assigner);
+
+        String[] headers = CsvDataLoader.featureHeaders();
+        assertEquals(2, source.rows());
+        assertEquals(headers.length + 1, source.columnCount());
+        for (int c = 0; c < headers.length; c++) assertEquals(headers[c], source.name(c));
+        assertEquals("is_recommended", source.name(headers.length));
+        assertTrue(source.isString(0));
+        assertFalse(source.isString(1));
+
+        assertEquals("C_ID_A", source.string(0, 0));
+        assertArrayEquals(new double[]{400.0, 2, 1.0, 300.0, 200.0, 0.5, 0.5, assigner.assign("C_ID_A")}, numbers(source, 0));
+        assertEquals("C_ID_B", source.string(0, 1));
+        assertArrayEquals(new double[]{50.0, 1, 1.0, 50.0, 50.0, 1.0, -1.0, assigner.assign("C_ID_B")}, numbers(source, 1));
+
+        assertEquals(headers.length, ColumnarSource.of(aggregates, targets, null).columnCount());
+    }
+
+    @Test
+    @DisplayName("배열 원본은 컬럼별 행 수가 다르면 거부")
+    void testArraySource() {
+        ColumnarSource source = ColumnarSource.of(new String[]{"a", "b"}, new double[][]{{1, 2, 3}, {4, 5, Double.NaN}});
+        assertEquals(3, source.rows());
+        assertEquals(5, source.number(1, 1));
+        assertTrue(Double.isNaN(source.number(1, 2)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ColumnarSource.of(new String[]{"a", "b"}, new double[][]{{1, 2}, {3}}));
+    }
+
+    private static double[] numbers(ColumnarSource source, int row) {
+        double[] values = new double[source.columnCount() - 1];
+        for (int c = 1; c < source.columnCount(); c++) values[c - 1] = source.number(c, row);
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+package aicard.perli.ml.h2o.transform;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import water.H2O;
+import water.Scope;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단일 노드 H2O 클라우드에서 MRTask 변환을 실제 프레임에 적용해 검증합니다.
+ */
+class TransformFrameTest {
+
+    @BeforeAll
+    static void startCloud() {
+        H2O.main(new String[]{"-name", "perli-transform-test"});
+        H2O.waitForCloudSize(1, 30_000);
+    }
+
+    private static Frame frame(String[] names, double[]... columns) {
+        Vec[] vecs = new Vec[columns.length];
+        for (int c = 0; c < columns.length; c++) vecs[c] = Vec.makeVec(columns[c], Vec.newKey());
+        return new Frame(names, vecs);
+    }
+
+    @Test
+    @DisplayName("분위수 구간화는 값을 거의 같은 크기의 구간으로 나누고 결측을 유지")
+    void testQuantileBinning() {
+        Scope.enter();
+        try {
+            double[] values = new double[1001];
+            for (int i = 0; i < 1000; i++) values[i] = i;
+            values[1000] = Double.NaN;
+            Frame fr = frame(new String[]{"amount"}, values);
+
+            double[] cuts = QuantileBinning.apply(fr, "amount", 4);
+            Vec bins = fr.vec("amount" + QuantileBinning.SUFFIX);
+
+            assertEquals(3, cuts.length);
+            long[] sizes = new long[4];
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(QuantileBinning.bin(cuts, values[i]), (int) bins.at(i));
+                sizes[(int) bins.at(i)]++;
+            }
+            // 경계 오차는 미세 구간 폭(999 / 4096) 이내이므로 구간 크기는 250에서 1 이상 벗어나지 않음
+            for (long size : sizes) assertEquals(250, size, 1);
+            assertTrue(bins.isNA(1000));
+        } finally {
+            Scope.exit();
+        }
+    }
+
+    @Test
+    @DisplayName("leave-one-out 타겟 인코딩은 행 자신의 반응을 소속 그룹 통계에서만 제외")
+    void testLeaveOneOutEncoding() {
+        double[] level = {0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1};
+        double[] treated = {1, 1, 1, 0, 0, 0, 1, 1, 1, 0, 0, 0};
+        double[] response = {1, 1, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1};
+        double smoothing = 2;
+
+        Scope.enter();
+        try {
+            Frame fr = frame(new String[]{"level", "is_recommended", "target"}, level, treated, response);
+            StratifiedTargetEncoder encoder = StratifiedTargetEncoder.fit(fr, "level", "is_recommended", "target", smoothing);
+            String[] names = encoder.apply(fr, true);
+            Vec[] encoded = {fr.vec(names[0]), fr.vec(names[1])};
+
+            for (int row = 0; row < level.length; row++) {
+                for (int g = 0; g < 2; g++) {
+                    // g = 0: 처치군 컬럼, g = 1: 통제군 컬럼
+                    double group = g == 0 ? 1 : 0;
+                    double priorSum = 0;
+                    double priorCount = 0;
+                    double sum = 0;
+                    double count = 0;
+                    for (int other = 0; other < level.length; other++) {
+                        if (treated[other] != group) continue;
+                        priorSum += response[other];
+                        priorCount++;
+                        if (other != row && level[other] == level[row]) {
+                            sum += response[other];
+                            count++;
+                        }
+                    }
+                    double prior = priorSum / priorCount;
+                    double expected = (sum + smoothing * prior) / (count + smoothing);
+                    assertEquals(expected, encoded[g].at(row), 1e-12, names[g] + " row " + row);
+                }
+            }
+
+            // 추론용 인코딩(leave-one-out 미적용)은 수준 전체 통계를 사용
+            assertEquals((2 + smoothing * 0.5) / (3 + smoothing), encoder.encode(0, true), 1e-12);
+            assertEquals((3 + smoothing * 4 / 6) / (3 + smoothing), encoder.encode(1, false), 1e-12);
+        } finally {
+            Scope.exit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package aicard.perli.ml.h2o.transform;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformFunctionsTest {
+
+    @Test
+    @DisplayName("로그 스케일은 부호를 보존하고 비율은 분모 0을 대체값으로 처리")
+    void testLogAndRatio() {
+        assertEquals(Math.log1p(99.0), LogScaleTransform.signedLog1p(99.0), 1e-12);
+        assertEquals(-Math.log1p(99.0), LogScaleTransform.signedLog1p(-99.0), 1e-12);
+        assertEquals(0.0, LogScaleTransform.signedLog1p(0.0));
+
+        assertEquals(2.5, RatioTransform.ratio(5, 2, 0.0));
+        assertEquals(0.0, RatioTransform.ratio(5, 0, 0.0));
+        assertTrue(Double.isNaN(RatioTransform.ratio(5, 0, Double.NaN)));
+    }
+
+    @Test
+    @DisplayName("구간 배정은 경계값을 위 구간에 포함")
+    void testBin() {
+        double[] cuts = {1.0, 2.0, 3.0};
+        assertEquals(0, QuantileBinning.bin(cuts, 0.5));
+        assertEquals(1, QuantileBinning.bin(cuts, 1.0));
+        assertEquals(2, QuantileBinning.bin(cuts, 2.5));
+        assertEquals(3, QuantileBinning.bin(cuts, 9.0));
+        assertEquals(0, QuantileBinning.bin(new double[0], 9.0));
+    }
+
+    @Test
+    @DisplayName("타겟 인코딩은 표본 수에 따라 그룹 평균 쪽으로 수축하고 leave-one-out은 자기 반응을 제외")
+    void testSmoothing() {
+        double[][] sums = {{1, 0}, {8, 2}};
+        double[][] counts = {{4, 4}, {10, 2}};
+        double[] priors = {1.0 / 8, 10.0 / 12};
+
+        assertEquals(0.8, StratifiedTargetEncoder.smoothed(sums, counts, priors, 0, 1, 0, 0, 0), 1e-12);
+        assertEquals((8 + 2 * priors[1]) / 12, StratifiedTargetEncoder.smoothed(sums, counts, priors, 2, 1, 0, 0, 0), 1e-12);
+        assertEquals(7.0 / 9, StratifiedTargetEncoder.smoothed(sums, counts, priors, 0, 1, 0, 1, 1), 1e-12);
+        assertEquals(priors[0], StratifiedTargetEncoder.smoothed(sums, counts, priors, 0, 0, 5, 0, 0));
+        assertEquals(priors[0], StratifiedTargetEncoder.smoothed(sums, counts, priors, 0, 0, -1, 0, 0));
+    }
+}
@@ -0,0 +1,51 @@
+package aicard.perli.ml.h2o.tuning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperSpaceTest {
+
+    enum Metric { KL, Euclidean }
+
+    static class Params {
+        public int _ntrees;
+        public double _sample_rate;
+        public Metric _uplift_metric;
+    }
+
+    @Test
+    @DisplayName("격자 탐색은 모든 조합을, 무작위 탐색은 시드별로 같은 중복 없는 조합을 생성")
+    void testCandidates() {
+        HyperSpace space = new HyperSpace()
+                .add("ntrees", 50, 100, 150)
+                .add("uplift_metric", "KL", "Euclidean");
+
+        List<Map<String, Object>> grid = space.grid();
+        assertEquals(6, grid.size());
+        assertEquals(6, new HashSet<>(grid).size());
+        assertEquals(Map.of("ntrees", 50, "uplift_metric", "Euclidean"), grid.get(1));
+
+        List<Map<String, Object>> random = space.random(4, 7L);
+        assertEquals(4, new HashSet<>(random).size());
+        assertEquals(random, space.random(4, 7L));
+        assertEquals(6, space.random(10, 7L).size());
+    }
+
+    @Test
+    @DisplayName("후보 값은 필드 타입에 맞게 변환되어 설정되고 없는 필드는 거부")
+    void testApply() {
+        Params params = new Params();
+        HyperSpace.apply(params, Map.of("ntrees", 120L, "sample_rate", 1, "uplift_metric", "Euclidean"));
+        assertEquals(120, params._ntrees);
+        assertEquals(1.0, params._sample_rate);
+        assertEquals(Metric.Euclidean, params._uplift_metric);
+
+        assertThrows(IllegalArgumentException.class, () -> HyperSpace.apply(params, Map.of("max_depth", 3)));
+    }
+}
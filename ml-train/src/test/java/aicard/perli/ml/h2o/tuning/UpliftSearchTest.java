@@ -0,0 +1,31 @@
+package aicard.perli.ml.h2o.tuning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpliftSearchTest {
+
+    private static UpliftSearch.Trial trial(String name, double auuc, String error) {
+        return new UpliftSearch.Trial(0, Map.of("name", name), 10, auuc, auuc, 0, 0, Double.NaN, error);
+    }
+
+    @Test
+    @DisplayName("순위는 지표 내림차순이며 NaN 지표는 성공한 시도 중 최하위, 실패한 시도는 그 뒤")
+    void testRanking() {
+        List<UpliftSearch.Trial> trials = new ArrayList<>(List.of(
+                trial("nan", Double.NaN, null), trial("low", 0.1, null),
+                trial("failed", Double.NaN, "error"), trial("high", 0.3, null)));
+        trials.sort(UpliftSearch.ranking(UpliftSearch.Objective.AUUC));
+
+        List<Object> order = new ArrayList<>();
+        for (UpliftSearch.Trial t : trials) order.add(t.hyper().get("name"));
+        assertEquals(List.of("high", "low", "nan", "failed"), order);
+        assertEquals(12.5, trials.get(0).withLatency(12.5).latencyNanos());
+    }
+}
@@ -0,0 +1,35 @@
+package aicard.perli.ml.h2o.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MojoExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("해시 파일이 없으면 통과, sha256sum 형식 해시와 일치 여부로 검증")
+    void testVerify() throws Exception {
+        Path model = dir.resolve("uplift_drf_model_v2.zip");
+        Files.write(model, "abc".getBytes(StandardCharsets.US_ASCII));
+        assertTrue(MojoExporter.verify(model));
+
+        String abc = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertEquals(abc, MojoExporter.sha256(model));
+        assertEquals(dir.resolve("uplift_drf_model_v2.zip.sha256"), MojoExporter.hashFile(model));
+
+        Files.writeString(MojoExporter.hashFile(model), abc + "  uplift_drf_model_v2.zip\n");
+        assertTrue(MojoExporter.verify(model));
+
+        Files.write(model, "abd".getBytes(StandardCharsets.US_ASCII));
+        assertFalse(MojoExporter.verify(model));
+    }
+}
@@ -0,0 +1,60 @@
+package aicard.perli.ml.h2o.util.treatment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreatmentAssignerTest {
+
+    private static final int CARDS = 100_000;
+
+    @Test
+    @DisplayName("같은 시드는 같은 할당, 다른 시드는 다른 할당")
+    void testDeterministic() {
+        TreatmentAssigner a = new TreatmentAssigner(42L, 0.5);
+        TreatmentAssigner b = new TreatmentAssigner(42L, 0.5);
+        TreatmentAssigner other = new TreatmentAssigner(43L, 0.5);
+
+        int differ = 0;
+        for (int i = 0; i < CARDS; i++) {
+            String cardId = String.format("C_ID_%010x", i * 7919L);
+            assertEquals(a.assign(cardId), b.assign(new StringBuilder(cardId)));
+            if (a.assign(cardId) != other.assign(cardId)) differ++;
+        }
+        assertEquals(0.5, (double) differ / CARDS, 0.01);
+    }
+
+    @Test
+    @DisplayName("처치 비율과 층별 비율을 근사")
+    void testRatio() {
+        TreatmentAssigner assigner = new TreatmentAssigner(7L, 0.2, Map.of("3", 0.8));
+
+        int base = 0;
+        int stratum3 = 0;
+        for (int i = 0; i < CARDS; i++) {
+            String cardId = "C_ID_" + Integer.toHexString(i);
+            base += assigner.assign(cardId);
+            stratum3 += assigner.assign(cardId, "3");
+        }
+        assertEquals(0.2, (double) base / CARDS, 0.01);
+        assertEquals(0.8, (double) stratum3 / CARDS, 0.01);
+        assertEquals(0.2, assigner.ratioOf("1"));
+
+        TreatmentAssigner none = new TreatmentAssigner(7L, 0.0);
+        TreatmentAssigner all = new TreatmentAssigner(7L, 1.0);
+        assertEquals(0, none.assign("C_ID_1"));
+        assertEquals(1, all.assign("C_ID_1"));
+        assertThrows(IllegalArgumentException.class, () -> new TreatmentAssigner(7L, 1.5));
+    }
+
+    @Test
+    @DisplayName("층별 비율 설정 문자열 해석")
+    void testParseRatios() {
+        assertEquals(Map.of("1", 0.3, "2", 0.5), TreatmentAssigner.parseRatios("1:0.3, 2:0.5"));
+        assertTrue(TreatmentAssigner.parseRatios(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> TreatmentAssigner.parseRatios("0.3"));
+    }
+}
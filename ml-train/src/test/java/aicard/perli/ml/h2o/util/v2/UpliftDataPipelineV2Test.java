@@ -0,0 +1,83 @@
+package aicard.perli.ml.h2o.util.v2;
+
+import aicard.perli.common.data.store.FeatureFile;
+import aicard.perli.ml.h2o.util.treatment.TreatmentAssigner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpliftDataPipelineV2Test {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("소수 4자리 변환은 String.format(\"%.4f\")와 동일")
+    void testAppendFixed4() {
+        double[] edges = {0.99995, 9.99995, -1e-5, 5e-5, 1.23E7, -0.0, 0.0, Double.NaN, 0.00005, -0.99995,
+                123456.78905, 1e-10, 9.9999E-4, 1.0E21, Double.MIN_VALUE, -Double.MAX_VALUE / 1e290};
+        for (double value : edges) assertFixed4(value);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 100_000; i++) {
+            assertFixed4(random.nextGaussian() * Math.pow(10, random.nextInt(12) - 6));
+            assertFixed4(random.nextInt(2_000_000) / 100_000.0 + 0.00005);
+        }
+    }
+
+    private static void assertFixed4(double value) {
+        StringBuilder sb = new StringBuilder("x");
+        UpliftDataPipelineV2.appendFixed4(sb, value);
+        assertEquals("x" + String.format("%.4f", value), sb.toString(), "value=" + value);
+    }
+
+    @Test
+    @DisplayName("워커 수와 무관하게 같은 CSV와 피처 파일을 생성")
+    void testWorkerCountInvariance() throws Exception {
+        Random random = new Random(7L);
+        StringBuilder train = new StringBuilder("first_active_month,card_id,feature_1,feature_2,feature_3,target\n");
+        for (int c = 0; c < 300; c++) {
+            train.append("2017-0").append(1 + c % 9).append(",C_ID_").append(Integer.toHexString(c)).append(',')
+                    .append(1 + c % 5).append(',').append(1 + c % 3).append(',').append(c % 2).append(',')
+                    .append(random.nextGaussian()).append('\n');
+        }
+        StringBuilder merchants = new StringBuilder("merchant_id,merchant_group_id,merchant_category_id,subsector_id,"
+                + "category_1,most_recent_sales_range,most_recent_purchases_range,category_4\n");
+        for (int m = 0; m < 50; m++) {
+            merchants.append(String.format("M_ID_%010x,%d,%d,%d,N,%c,A,N%n", m * 7919L, m, m % 7, m % 3, (char) ('A' + m % 5)));
+        }
+        StringBuilder trans = new StringBuilder("authorized_flag,card_id,city_id,merchant_id,purchase_amount,purchase_date\n");
+        for (int r = 0; r < 20_000; r++) {
+            trans.append("Y,C_ID_").append(Integer.toHexString(random.nextInt(350))).append(',').append(r % 17).append(',')
+                    .append(String.format("M_ID_%010x", random.nextInt(60) * 7919L)).append(',')
+                    .append(random.nextGaussian() * 0.7).append(',')
+                    .append(String.format("2018-%02d-%02d 12:00:00", 3 + random.nextInt(2), 1 + random.nextInt(28))).append('\n');
+        }
+        Path trainPath = Files.writeString(tempDir.resolve("train.csv"), train);
+        Path merchantPath = Files.writeString(tempDir.resolve("merchants.csv"), merchants);
+        Path transPath = Files.writeString(tempDir.resolve("new_merchant_transactions.csv"), trans);
+
+        Path csv1 = run(trainPath, merchantPath, transPath, 1);
+        Path csv8 = run(trainPath, merchantPath, transPath, 8);
+
+        assertEquals(301, Files.readAllLines(csv1).size());
+        assertArrayEquals(Files.readAllBytes(csv1), Files.readAllBytes(csv8));
+        assertArrayEquals(Files.readAllBytes(Path.of(FeatureFile.siblingOf(csv1.toString()))),
+                Files.readAllBytes(Path.of(FeatureFile.siblingOf(csv8.toString()))));
+    }
+
+    private Path run(Path trainPath, Path merchantPath, Path transPath, int workers) throws Exception {
+        Path result = tempDir.resolve("train_uplift_v2_w" + workers + ".csv");
+        new UpliftDataPipelineV2(trainPath.toString(), merchantPath.toString(),
+                tempDir.resolve("merchant_index_w" + workers + ".bin").toString(), transPath.toString(),
+                result.toString(), FeatureFile.siblingOf(result.toString()), workers,
+                new TreatmentAssigner(TreatmentAssigner.DEFAULT_SEED, TreatmentAssigner.DEFAULT_RATIO), null).run();
+        return result;
+    }
+}